@@ -0,0 +1,112 @@
+package com.algorithms.sort;
+
+import com.benchmarks.InputShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks sorting a batch of many small lists with BatchSorter on different executors. Throughput gives batches
+ * per millisecond and sample time gives the latency percentiles of a whole batch. The CALLER executor sorts every
+ * list on the calling thread, as the point of reference. The VIRTUAL executor needs JDK 21 or later and is looked up
+ * by reflection, so it is left out of the default parameters. Run it on JDK 21+ with {@code -p executorType=VIRTUAL},
+ * or list it with the others, e.g. {@code -p executorType=CALLER,FORK_JOIN,FIXED,VIRTUAL}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BatchSorterBenchmark {
+
+    /**
+     * Executor the lists are sorted on.
+     */
+    public enum ExecutorType {
+        CALLER, FORK_JOIN, FIXED, VIRTUAL
+    }
+
+    @Param({"CALLER", "FORK_JOIN", "FIXED"})
+    ExecutorType executorType;
+
+    @Param({"16", "256"})
+    int listSize;
+
+    @Param({"RANDOM", "NEARLY_SORTED"})
+    InputShape shape;
+
+    // Count of lists in each batch.
+    private static final int LIST_COUNT = 10_000;
+
+    private ExecutorService executorService;
+    private BatchSorter<Integer> sorter;
+    private List<Integer[]> sources;
+    private List<ArrayList<Integer>> lists;
+
+    @Setup(Level.Trial)
+    public void setup() throws ReflectiveOperationException {
+        Executor executor;
+        switch (executorType) {
+            case FORK_JOIN:
+                executor = ForkJoinPool.commonPool();
+                break;
+            case FIXED:
+                executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+                executor = executorService;
+                break;
+            case VIRTUAL:
+                executorService = (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                executor = executorService;
+                break;
+            default:
+                executor = Runnable::run;
+        }
+        sorter = new BatchSorter<>(executor, BatchSorter.DEFAULT_MAX_PENDING);
+        // Each list is arranged by its own seeded Random, so lists differ in order and the branch predictor can not
+        // learn a single pattern across the batch.
+        Random seeds = new Random(42);
+        sources = new ArrayList<>(LIST_COUNT);
+        for (int i = 0; i < LIST_COUNT; i++) sources.add(shape.generateBoxed(listSize, seeds.nextLong()));
+        lists = new ArrayList<>(LIST_COUNT);
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        lists.clear();
+        for (Integer[] source : sources) lists.add(new ArrayList<>(Arrays.asList(source)));
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() throws InterruptedException {
+        if (executorService == null) return;
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    @Benchmark
+    public List<ArrayList<Integer>> batchSorter() throws InterruptedException {
+        return sorter.sortAll(lists).join();
+    }
+}
@@ -0,0 +1,82 @@
+package com.algorithms.sort;
+
+import com.benchmarks.InputShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks sorting log lines by the timestamp parsed out of each of them. Sorting with a comparator parses two
+ * timestamps per comparison, while the keyed sorts parse each line once: KeyedSorter on the parsed LocalDateTime,
+ * RadixSorter on its epoch second, and AdaptiveMergeSorter through its key extractor constructor.
+ * Each invocation sorts a fresh copy of the input, so the copy is excluded from the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class KeyedSorterBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"RANDOM", "SORTED", "NEARLY_SORTED"})
+    InputShape shape;
+
+    private List<String> template;
+    private ArrayList<String> data;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        template = new ArrayList<>(size);
+        LocalDateTime epoch = LocalDateTime.of(2020, 1, 1, 0, 0);
+        for (int second : shape.generate(size)) template.add(epoch.plusSeconds(second) + " request handled");
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        data = new ArrayList<>(template);
+    }
+
+    private static LocalDateTime timestamp(String line) {
+        return LocalDateTime.parse(line.substring(0, line.indexOf(' ')));
+    }
+
+    @Benchmark
+    public ArrayList<String> comparator() {
+        return new AdaptiveMergeSorter<>(data, Comparator.comparing(KeyedSorterBenchmark::timestamp)).sort();
+    }
+
+    @Benchmark
+    public ArrayList<String> keyExtractor() {
+        return new AdaptiveMergeSorter<>(data, KeyedSorterBenchmark::timestamp).sort();
+    }
+
+    @Benchmark
+    public ArrayList<String> keyedSorter() {
+        return KeyedSorter.sortByKey(data, KeyedSorterBenchmark::timestamp);
+    }
+
+    @Benchmark
+    public ArrayList<String> radixLongKey() {
+        return RadixSorter.sortByLongKey(data, line -> timestamp(line).toEpochSecond(ZoneOffset.UTC));
+    }
+}
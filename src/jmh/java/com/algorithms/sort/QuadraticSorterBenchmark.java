@@ -0,0 +1,81 @@
+package com.algorithms.sort;
+
+import com.benchmarks.InputShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the quadratic sorters, bubble and insertion sort, over boxed and primitive input of varying size and
+ * ordering. Sizes stop at 10000, as random or reversed input of 100000 takes billions of comparisons per
+ * invocation. SorterBenchmark covers the n log n sorters at larger sizes.
+ * Each invocation sorts a fresh copy of the input, so the copy is excluded from the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class QuadraticSorterBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "NEARLY_SORTED"})
+    InputShape shape;
+
+    private List<Integer> template;
+    private long[] primitiveTemplate;
+    private ArrayList<Integer> data;
+    private long[] primitiveData;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        template = Arrays.asList(shape.generateBoxed(size));
+        primitiveTemplate = Arrays.stream(shape.generate(size)).asLongStream().toArray();
+        primitiveData = new long[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        data = new ArrayList<>(template);
+        System.arraycopy(primitiveTemplate, 0, primitiveData, 0, size);
+    }
+
+    @Benchmark
+    public ArrayList<Integer> bubbleSort() {
+        return new BubbleSorter<>(data, false).sort();
+    }
+
+    @Benchmark
+    public ArrayList<Integer> insertionSort() {
+        return new InsertionSorter<>(data).sort();
+    }
+
+    @Benchmark
+    public long[] bubbleSortPrimitive() {
+        BubbleSorter.sort(primitiveData);
+        return primitiveData;
+    }
+
+    @Benchmark
+    public long[] insertionSortPrimitive() {
+        InsertionSorter.sort(primitiveData);
+        return primitiveData;
+    }
+}
@@ -0,0 +1,85 @@
+package com.algorithms.sort;
+
+import com.benchmarks.InputShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks finding the k smallest values of int input with Selector and TopK, against sorting all of it.
+ * Each invocation works on a fresh copy of the input, so the copy is excluded from the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SelectorBenchmark {
+
+    @Param({"100000", "1000000"})
+    int size;
+
+    @Param({"10", "100", "10000"})
+    int k;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "NEARLY_SORTED"})
+    InputShape shape;
+
+    private int[] template;
+    private int[] data;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        template = shape.generate(size);
+        data = new int[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        System.arraycopy(template, 0, data, 0, size);
+    }
+
+    @Benchmark
+    public int select() {
+        return Selector.select(data, k - 1);
+    }
+
+    @Benchmark
+    public int[] partialSort() {
+        Selector.partialSort(data, k);
+        return data;
+    }
+
+    @Benchmark
+    public int[] topK() {
+        return TopK.smallest(Arrays.stream(data), k);
+    }
+
+    @Benchmark
+    public List<Integer> topKBoxed() {
+        return TopK.smallest(Arrays.stream(data).boxed(), k);
+    }
+
+    /**
+     * Full sort of the same input as a point of reference for the results above.
+     */
+    @Benchmark
+    public int[] fullSort() {
+        Arrays.sort(data);
+        return data;
+    }
+}
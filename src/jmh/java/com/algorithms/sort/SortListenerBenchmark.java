@@ -0,0 +1,110 @@
+package com.algorithms.sort;
+
+import com.benchmarks.InputShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks insertion sort with SortMetrics and with a SortTraceRecorder attached, against insertionSort with no
+ * listener. Insertion sort emits about n^2 / 2 events of 8 bytes on random or reversed input, so sizes stop at 1000
+ * to keep a trace to a few megabytes. Each invocation records into a fresh recorder, truncating the trace file, so
+ * the file does not grow over the run. The discarding recorder writes to a channel that drops every event, which
+ * separates the cost of the listener from the cost of the disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SortListenerBenchmark {
+
+    // Events the ring buffer of each recorder holds, the recorder default.
+    private static final int RING_CAPACITY = 1 << 16;
+
+    @Param({"100", "1000"})
+    int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "NEARLY_SORTED"})
+    InputShape shape;
+
+    private List<Integer> template;
+    private ArrayList<Integer> data;
+    private SortMetrics metrics;
+    private Path traceFile;
+    private SortTraceRecorder fileRecorder;
+    private SortTraceRecorder discardingRecorder;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        template = Arrays.asList(shape.generateBoxed(size));
+        metrics = new SortMetrics();
+        traceFile = Files.createTempFile("sort", ".trace");
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteTrace() throws IOException {
+        Files.deleteIfExists(traceFile);
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() throws IOException {
+        data = new ArrayList<>(template);
+        fileRecorder = new SortTraceRecorder(traceFile, RING_CAPACITY);
+        discardingRecorder = new SortTraceRecorder(Channels.newChannel(OutputStream.nullOutputStream()),
+                RING_CAPACITY);
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeTrace() throws IOException {
+        fileRecorder.close();
+        discardingRecorder.close();
+    }
+
+    @Benchmark
+    public ArrayList<Integer> insertionSort() {
+        return new InsertionSorter<>(data).sort();
+    }
+
+    @Benchmark
+    public ArrayList<Integer> insertionSortWithMetrics() {
+        InsertionSorter<Integer> sorter = new InsertionSorter<>(data);
+        sorter.setListener(metrics);
+        return sorter.sort();
+    }
+
+    @Benchmark
+    public ArrayList<Integer> insertionSortTraced() {
+        InsertionSorter<Integer> sorter = new InsertionSorter<>(data);
+        sorter.setListener(fileRecorder);
+        return sorter.sort();
+    }
+
+    @Benchmark
+    public ArrayList<Integer> insertionSortTracedDiscarded() {
+        InsertionSorter<Integer> sorter = new InsertionSorter<>(data);
+        sorter.setListener(discardingRecorder);
+        return sorter.sort();
+    }
+}
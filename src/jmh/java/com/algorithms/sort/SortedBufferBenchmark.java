@@ -0,0 +1,102 @@
+package com.algorithms.sort;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks keeping a stream of out-of-order events sorted, one tick per invocation. Each tick adds a batch of
+ * events whose timestamps jitter around a rising clock, then drains as many from the front, so the pending set
+ * stays at the given size. SortedBuffer, fed by batch or one event at a time, is measured against appending to an
+ * ArrayList and sorting it every tick.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SortedBufferBenchmark {
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"16", "1024"})
+    int batch;
+
+    // How far an event's timestamp may lag the clock.
+    private static final int JITTER = 10_000;
+
+    private final Random random = new Random(42);
+    private long clock;
+    private SortedBuffer<Long> buffer;
+    private ArrayList<Long> list;
+    private List<Long> events;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        clock = 0;
+        buffer = new SortedBuffer<>();
+        list = new ArrayList<>();
+        events = new ArrayList<>(batch);
+        for (int i = 0; i < size; i++) {
+            Long event = nextEvent();
+            buffer.add(event);
+            list.add(event);
+        }
+        Collections.sort(list);
+    }
+
+    @Setup(Level.Invocation)
+    public void arrive() {
+        events.clear();
+        for (int i = 0; i < batch; i++) events.add(nextEvent());
+    }
+
+    private Long nextEvent() {
+        return clock++ - random.nextInt(JITTER);
+    }
+
+    @Benchmark
+    public Long sortedBufferBatch() {
+        buffer.addAll(events);
+        Long last = null;
+        for (int i = 0; i < batch; i++) last = buffer.pollFirst();
+        return last;
+    }
+
+    @Benchmark
+    public Long sortedBufferSingle() {
+        for (Long event : events) buffer.add(event);
+        Long last = null;
+        for (int i = 0; i < batch; i++) last = buffer.pollFirst();
+        return last;
+    }
+
+    /**
+     * Re-sorting the whole list every tick, as the point of reference for the results above.
+     */
+    @Benchmark
+    public Long arrayListResort() {
+        list.addAll(events);
+        Collections.sort(list);
+        Long last = list.get(batch - 1);
+        list.subList(0, batch).clear();
+        return last;
+    }
+}
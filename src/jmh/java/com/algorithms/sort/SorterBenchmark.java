@@ -0,0 +1,85 @@
+package com.algorithms.sort;
+
+import com.benchmarks.InputShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the n log n and radix sorters over boxed and primitive input of varying size and ordering.
+ * Each invocation sorts a fresh copy of the input, so the copy is excluded from the measurement.
+ * QuadraticSorterBenchmark covers bubble and insertion sort at smaller sizes, and SortListenerBenchmark measures
+ * the cost of attaching a listener.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SorterBenchmark {
+
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "NEARLY_SORTED"})
+    InputShape shape;
+
+    private List<Integer> template;
+    private long[] primitiveTemplate;
+    private ArrayList<Integer> data;
+    private long[] primitiveData;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        template = Arrays.asList(shape.generateBoxed(size));
+        primitiveTemplate = Arrays.stream(shape.generate(size)).asLongStream().toArray();
+        primitiveData = new long[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        data = new ArrayList<>(template);
+        System.arraycopy(primitiveTemplate, 0, primitiveData, 0, size);
+    }
+
+    @Benchmark
+    public ArrayList<Integer> adaptiveMergeSort() {
+        return new AdaptiveMergeSorter<>(data).sort();
+    }
+
+    @Benchmark
+    public ArrayList<Integer> parallelMergeSort() {
+        return new ParallelMergeSorter<>(data).sort();
+    }
+
+    @Benchmark
+    public long[] radixSortPrimitive() {
+        RadixSorter.sort(primitiveData);
+        return primitiveData;
+    }
+
+    /**
+     * JDK sort over the same input as a point of reference for the results above.
+     */
+    @Benchmark
+    public ArrayList<Integer> collectionsSort() {
+        Collections.sort(data);
+        return data;
+    }
+}
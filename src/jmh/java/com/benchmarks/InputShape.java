@@ -0,0 +1,87 @@
+package com.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Enum to define the ordering of generated benchmark input.
+ * Random: Distinct values in shuffled order.
+ * Sorted: Distinct values in ascending order.
+ * Reversed: Distinct values in descending order.
+ * Nearly Sorted: Ascending values where roughly 1% of the elements have been swapped with a close neighbor.
+ */
+public enum InputShape {
+    RANDOM, SORTED, REVERSED, NEARLY_SORTED;
+
+    // Fixed seed so every fork and every run measures the same input.
+    private static final long SEED = 42L;
+    // Maximum distance an element is moved when generating nearly sorted input.
+    private static final int NEARLY_SORTED_WINDOW = 8;
+
+    /**
+     * Generates the distinct values 0 to size - 1 arranged according to this shape.
+     * @param size count of values to generate.
+     * @return Array of values in the requested ordering.
+     */
+    public int[] generate(int size) {
+        return generate(size, SEED);
+    }
+
+    /**
+     * Generates the distinct values 0 to size - 1 arranged according to this shape, shuffled or perturbed by a
+     * Random with the given seed. Benchmarks over many inputs give each its own seed, so they differ in order.
+     * @param size count of values to generate.
+     * @param seed seed of the Random arranging the values.
+     * @return Array of values in the requested ordering.
+     */
+    public int[] generate(int size, long seed) {
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) values[i] = i;
+        Random random = new Random(seed);
+        switch (this) {
+            case RANDOM:
+                // Fisher-Yates shuffle.
+                for (int i = size - 1; i > 0; i--) swap(values, i, random.nextInt(i + 1));
+                break;
+            case REVERSED:
+                for (int i = 0, j = size - 1; i < j; i++, j--) swap(values, i, j);
+                break;
+            case NEARLY_SORTED:
+                for (int swaps = size / 100; swaps > 0; swaps--) {
+                    int i = random.nextInt(size);
+                    swap(values, i, Math.min(size - 1, i + 1 + random.nextInt(NEARLY_SORTED_WINDOW)));
+                }
+                break;
+            case SORTED:
+                break;
+        }
+        return values;
+    }
+
+    /**
+     * Generates boxed values for benchmarks over generic data structures.
+     * @param size count of values to generate.
+     * @return Array of boxed values in the requested ordering.
+     */
+    public Integer[] generateBoxed(int size) {
+        return generateBoxed(size, SEED);
+    }
+
+    /**
+     * Generates boxed values arranged by a Random with the given seed.
+     * @param size count of values to generate.
+     * @param seed seed of the Random arranging the values.
+     * @return Array of boxed values in the requested ordering.
+     */
+    public Integer[] generateBoxed(int size, long seed) {
+        int[] values = generate(size, seed);
+        Integer[] boxed = new Integer[size];
+        for (int i = 0; i < size; i++) boxed[i] = values[i];
+        return boxed;
+    }
+
+    private static void swap(int[] values, int i, int j) {
+        int temp = values[i];
+        values[i] = values[j];
+        values[j] = temp;
+    }
+}
@@ -0,0 +1,174 @@
+package com.datastructures.trees;
+
+import com.benchmarks.InputShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the operations of a balanced Binary Search Tree over keys inserted in varying orderings.
+ * UnbalancedBinarySearchTreeBenchmark measures the degenerate trees an unbalanced tree builds from sorted and
+ * reversed insertion orders, at sizes small enough for its quadratic cost to finish.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BinarySearchTreeBenchmark {
+
+    // Number of lookups measured per contains invocation.
+    private static final int LOOKUPS = 1024;
+
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    int size;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "NEARLY_SORTED"})
+    InputShape shape;
+
+    private Integer[] keys;
+    private Integer[] sortedKeys;
+    private Integer[] hits;
+    private Integer[] misses;
+    private BinarySearchTree<Integer> tree;
+
+    /**
+     * Supplies a newly built tree to each removal invocation. Kept separate so the rebuild
+     * only runs ahead of the benchmarks that consume the tree.
+     */
+    @State(Scope.Thread)
+    public static class FreshTree {
+        BinarySearchTree<Integer> tree;
+
+        @Setup(Level.Invocation)
+        public void rebuild(BinarySearchTreeBenchmark benchmark) {
+            tree = benchmark.build();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void generate() {
+        keys = shape.generateBoxed(size);
+        sortedKeys = InputShape.SORTED.generateBoxed(size);
+        tree = build();
+        // Lookups are drawn from a shuffled copy so the access pattern does not mirror the insertion order.
+        Integer[] shuffled = InputShape.RANDOM.generateBoxed(size);
+        hits = new Integer[LOOKUPS];
+        misses = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            hits[i] = keys[shuffled[i % size]];
+            // Generated keys are 0 to size - 1, so misses alternate below and above that range to reach
+            // both ends of the tree.
+            misses[i] = (i % 2 == 0) ? -1 - shuffled[i % size] : size + shuffled[i % size];
+        }
+    }
+
+    private BinarySearchTree<Integer> build() {
+        BinarySearchTree<Integer> bst = new BinarySearchTree<>(true);
+        for (Integer key : keys) bst.add(key);
+        return bst;
+    }
+
+    /**
+     * Measures building the whole tree. Reported time covers all size insertions.
+     */
+    @Benchmark
+    public BinarySearchTree<Integer> add() {
+        return build();
+    }
+
+    /**
+     * Measures bulk loading the same keys from sorted order, for comparison with add.
+     */
+    @Benchmark
+    public BinarySearchTree<Integer> fromSorted() {
+        return BinarySearchTree.fromSorted(sortedKeys, true);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void containsHit(Blackhole blackhole) {
+        for (Integer key : hits) blackhole.consume(tree.contains(key));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void containsMiss(Blackhole blackhole) {
+        for (Integer key : misses) blackhole.consume(tree.contains(key));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void select(Blackhole blackhole) {
+        // Hit keys are a permutation of 0 to size - 1, so they double as sorted order indices.
+        for (Integer key : hits) blackhole.consume(tree.select(key));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void rank(Blackhole blackhole) {
+        for (Integer key : hits) blackhole.consume(tree.rank(key));
+    }
+
+    /**
+     * Measures emptying a freshly built tree in insertion order. Reported time covers all size removals.
+     */
+    @Benchmark
+    public BinarySearchTree<Integer> remove(FreshTree fresh) {
+        for (Integer key : keys) fresh.tree.remove(key);
+        return fresh.tree;
+    }
+
+    @Benchmark
+    public List<Integer> traversePreorder() {
+        return tree.traverse(TraversalType.PREORDER);
+    }
+
+    @Benchmark
+    public List<Integer> traverseInorder() {
+        return tree.traverse(TraversalType.INORDER);
+    }
+
+    @Benchmark
+    public List<Integer> traversePostorder() {
+        return tree.traverse(TraversalType.POSTORDER);
+    }
+
+    /**
+     * Measures a full in order walk through the lazy iterator, without materializing a list.
+     */
+    @Benchmark
+    public void iterateInorder(Blackhole blackhole) {
+        Iterator<Integer> iterator = tree.iterator(TraversalType.INORDER);
+        while (iterator.hasNext()) blackhole.consume(iterator.next());
+    }
+
+    /**
+     * Measures reading only the smallest keys, which the lazy stream does without visiting the rest of the tree.
+     */
+    @Benchmark
+    public void streamInorderFirst(Blackhole blackhole) {
+        tree.stream(TraversalType.INORDER).limit(LOOKUPS).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public long streamInorderParallelSum() {
+        return tree.stream(TraversalType.INORDER).parallel().mapToLong(Integer::longValue).sum();
+    }
+}
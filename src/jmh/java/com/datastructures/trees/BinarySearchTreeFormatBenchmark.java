@@ -0,0 +1,89 @@
+package com.datastructures.trees;
+
+import com.algorithms.sort.RecordCodec;
+import com.benchmarks.InputShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares restoring a tree from a saved file with rebuilding it by adding every key, and lookups in a mapped
+ * view with lookups in the loaded tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BinarySearchTreeFormatBenchmark {
+
+    // Number of lookups measured per invocation.
+    private static final int LOOKUPS = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private Path file;
+    private Integer[] keys;
+    private Integer[] lookups;
+    private BinarySearchTree<Integer> tree;
+    private MappedTreeView<Integer> view;
+
+    @Setup
+    public void generate() throws IOException {
+        keys = InputShape.RANDOM.generateBoxed(size);
+        tree = new BinarySearchTree<>(true);
+        for (Integer key : keys) tree.add(key);
+        file = Files.createTempFile("tree", ".bin");
+        BinarySearchTreeFormat.save(tree, RecordCodec.INTEGER, file);
+        view = BinarySearchTreeFormat.map(file, RecordCodec.INTEGER);
+        lookups = Arrays.copyOf(InputShape.RANDOM.generateBoxed(size * 2), LOOKUPS);
+    }
+
+    @TearDown
+    public void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public BinarySearchTree<Integer> load() throws IOException {
+        return BinarySearchTreeFormat.load(file, RecordCodec.INTEGER, true);
+    }
+
+    @Benchmark
+    public BinarySearchTree<Integer> rebuildByAdding() {
+        BinarySearchTree<Integer> rebuilt = new BinarySearchTree<>(true);
+        for (Integer key : keys) rebuilt.add(key);
+        return rebuilt;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void mappedContains(Blackhole blackhole) {
+        for (Integer key : lookups) blackhole.consume(view.contains(key));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void treeContains(Blackhole blackhole) {
+        for (Integer key : lookups) blackhole.consume(tree.contains(key));
+    }
+}
@@ -0,0 +1,137 @@
+package com.datastructures.trees;
+
+import com.benchmarks.InputShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how a read-mostly workload scales with thread count on the Concurrent Binary Search Tree, against
+ * a Binary Search Tree guarded by a single lock. Each operation is a contains 90% of the time, and otherwise an
+ * add or remove of a random key, so the trees stay about half full.
+ * Throughput should grow with threads for the concurrent tree and stay flat, or fall, for the locked tree.
+ * On a machine with few cores the Threads.MAX results match the single threaded ones, so compare across
+ * machines with care.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConcurrentBinarySearchTreeBenchmark {
+
+    // Percentage of operations that are reads.
+    private static final int READ_PERCENT = 90;
+
+    @Param({"1000", "100000"})
+    int size;
+
+    private ConcurrentBinarySearchTree<Integer> concurrentTree;
+    private BinarySearchTree<Integer> lockedTree;
+    // Keys range over twice the initial size so half of all lookups miss.
+    private int keyRange;
+
+    /**
+     * Supplies each benchmark thread its own random source, so threads do not contend on it.
+     */
+    @State(Scope.Thread)
+    public static class ThreadRandom {
+        // Distinct seeds per thread, repeatable between runs.
+        private static final AtomicLong SEEDS = new AtomicLong(42);
+        SplittableRandom random;
+
+        @Setup
+        public void seed() {
+            random = new SplittableRandom(SEEDS.getAndIncrement());
+        }
+    }
+
+    @Setup
+    public void build() {
+        keyRange = size * 2;
+        concurrentTree = new ConcurrentBinarySearchTree<>();
+        lockedTree = new BinarySearchTree<>(true);
+        // The concurrent tree is unbalanced, so keys go in randomly to keep both trees' depth comparable.
+        for (Integer key : InputShape.RANDOM.generateBoxed(keyRange)) {
+            if (key % 2 == 0) {
+                concurrentTree.add(key);
+                lockedTree.add(key);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean concurrentSingleThread(ThreadRandom state) {
+        return concurrentOperation(state.random);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean concurrentFourThreads(ThreadRandom state) {
+        return concurrentOperation(state.random);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean concurrentMaxThreads(ThreadRandom state) {
+        return concurrentOperation(state.random);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean lockedSingleThread(ThreadRandom state) {
+        return lockedOperation(state.random);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean lockedFourThreads(ThreadRandom state) {
+        return lockedOperation(state.random);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean lockedMaxThreads(ThreadRandom state) {
+        return lockedOperation(state.random);
+    }
+
+    /**
+     * Performs one operation of the read-mostly mix on the concurrent tree.
+     */
+    private boolean concurrentOperation(SplittableRandom random) {
+        int operation = random.nextInt(100);
+        Integer key = random.nextInt(keyRange);
+        if (operation < READ_PERCENT) return concurrentTree.contains(key);
+        if (operation % 2 == 0) return concurrentTree.add(key);
+        return concurrentTree.remove(key);
+    }
+
+    /**
+     * Performs one operation of the read-mostly mix on the locked tree. Reads take the lock too, as the
+     * Binary Search Tree is not safe to read while it is being changed.
+     */
+    private boolean lockedOperation(SplittableRandom random) {
+        int operation = random.nextInt(100);
+        Integer key = random.nextInt(keyRange);
+        synchronized (lockedTree) {
+            if (operation < READ_PERCENT) return lockedTree.contains(key);
+            if (operation % 2 == 0) return lockedTree.add(key);
+            return lockedTree.remove(key);
+        }
+    }
+}
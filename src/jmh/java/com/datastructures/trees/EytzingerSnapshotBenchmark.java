@@ -0,0 +1,96 @@
+package com.datastructures.trees;
+
+import com.benchmarks.InputShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares lookups in the Eytzinger snapshots with the trees they are built from and with binary search over a
+ * sorted array. Lookups are random, so at the larger sizes every structure misses the cache on most levels and
+ * the results show how many of those misses each layout avoids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EytzingerSnapshotBenchmark {
+
+    // Number of lookups measured per invocation.
+    private static final int LOOKUPS = 1024;
+
+    @Param({"1000", "100000", "10000000"})
+    int size;
+
+    private int[] lookups;
+    private int[] sortedKeys;
+    private IntEytzingerSnapshot intSnapshot;
+    private IntBinarySearchTree intTree;
+    private EytzingerSnapshot<Integer> snapshot;
+    private BinarySearchTree<Integer> tree;
+
+    @Setup
+    public void generate() {
+        // Even keys are stored, so odd lookups miss.
+        sortedKeys = new int[size];
+        for (int i = 0; i < size; i++) sortedKeys[i] = i * 2;
+        intSnapshot = new IntEytzingerSnapshot(sortedKeys);
+        intTree = new IntBinarySearchTree(size, false);
+        for (int key : InputShape.RANDOM.generate(size)) intTree.add(key * 2);
+        tree = BinarySearchTree.fromSorted(Arrays.stream(sortedKeys).boxed().toArray(Integer[]::new), true);
+        snapshot = new EytzingerSnapshot<>(tree);
+        int[] shuffled = InputShape.RANDOM.generate(size * 2);
+        lookups = Arrays.copyOf(shuffled, LOOKUPS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void intSnapshotContains(Blackhole blackhole) {
+        for (int key : lookups) blackhole.consume(intSnapshot.contains(key));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void intSnapshotFloor(Blackhole blackhole) {
+        for (int key : lookups) blackhole.consume(intSnapshot.floor(key));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void sortedArrayBinarySearch(Blackhole blackhole) {
+        for (int key : lookups) blackhole.consume(Arrays.binarySearch(sortedKeys, key) >= 0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void intTreeContains(Blackhole blackhole) {
+        for (int key : lookups) blackhole.consume(intTree.contains(key));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void snapshotContains(Blackhole blackhole) {
+        for (int key : lookups) blackhole.consume(snapshot.contains(key));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void treeContains(Blackhole blackhole) {
+        for (int key : lookups) blackhole.consume(tree.contains(key));
+    }
+}
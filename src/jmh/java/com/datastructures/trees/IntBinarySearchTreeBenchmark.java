@@ -0,0 +1,92 @@
+package com.datastructures.trees;
+
+import com.benchmarks.InputShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the array backed Int Binary Search Tree, on and off heap, with a balanced Binary Search Tree of
+ * Integers. The gc profiler's gc.alloc.rate.norm on the add benchmarks shows the memory each tree allocates
+ * for size keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IntBinarySearchTreeBenchmark {
+
+    // Number of lookups measured per contains invocation.
+    private static final int LOOKUPS = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    @Param({"false", "true"})
+    boolean offHeap;
+
+    private int[] keys;
+    private int[] hits;
+    private IntBinarySearchTree intTree;
+    private BinarySearchTree<Integer> boxedTree;
+
+    @Setup
+    public void generate() {
+        keys = InputShape.RANDOM.generate(size);
+        intTree = buildIntTree();
+        boxedTree = buildBoxedTree();
+        hits = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) hits[i] = keys[(int) ((long) i * size / LOOKUPS)];
+    }
+
+    private IntBinarySearchTree buildIntTree() {
+        IntBinarySearchTree tree = new IntBinarySearchTree(size, offHeap);
+        for (int key : keys) tree.add(key);
+        return tree;
+    }
+
+    private BinarySearchTree<Integer> buildBoxedTree() {
+        BinarySearchTree<Integer> tree = new BinarySearchTree<>(true);
+        for (int key : keys) tree.add(key);
+        return tree;
+    }
+
+    @Benchmark
+    public IntBinarySearchTree addInt() {
+        return buildIntTree();
+    }
+
+    /**
+     * Does not depend on offHeap, so the two results should match.
+     */
+    @Benchmark
+    public BinarySearchTree<Integer> addBoxed() {
+        return buildBoxedTree();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void containsInt(Blackhole blackhole) {
+        for (int key : hits) blackhole.consume(intTree.contains(key));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void containsBoxed(Blackhole blackhole) {
+        for (int key : hits) blackhole.consume(boxedTree.contains(key));
+    }
+}
@@ -0,0 +1,77 @@
+package com.datastructures.trees;
+
+import com.benchmarks.InputShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks contains on a workload where most lookups miss, with and without the miss filter. Values are inserted
+ * in the given order, so sorted input builds a degenerate tree in which every unfiltered miss walks the whole list,
+ * while a balanced tree shows the saving on a descent of logarithmic depth.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MissFilterBenchmark {
+
+    // Number of lookups measured per invocation.
+    private static final int LOOKUPS = 1024;
+
+    @Param({"1000", "10000"})
+    int size;
+
+    @Param({"RANDOM", "SORTED"})
+    InputShape shape;
+
+    @Param({"false", "true"})
+    boolean balanced;
+
+    @Param({"false", "true"})
+    boolean filtered;
+
+    // Share of lookups for values not in the tree.
+    @Param({"0.9"})
+    double missRate;
+
+    private BinarySearchTree<Integer> tree;
+    private Integer[] lookups;
+
+    @Setup(Level.Trial)
+    public void build() {
+        tree = new BinarySearchTree<>(balanced);
+        // Only even values are stored, so odd lookups miss.
+        for (Integer value : shape.generateBoxed(size)) tree.add(value * 2);
+        if (filtered) tree.enableMissFilter(size, 0.01);
+        Random random = new Random(42);
+        lookups = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            int value = random.nextInt(size) * 2;
+            lookups[i] = random.nextDouble() < missRate ? value + 1 : value;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int contains() {
+        int found = 0;
+        for (Integer lookup : lookups) if (tree.contains(lookup)) found++;
+        return found;
+    }
+}
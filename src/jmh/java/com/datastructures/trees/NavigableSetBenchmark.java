@@ -0,0 +1,88 @@
+package com.datastructures.trees;
+
+import com.benchmarks.InputShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks BinarySearchTree in balanced mode as a NavigableSet against java.util.TreeSet, a red-black tree.
+ * Both are filled with the same values, then measured on neighbour queries, full iteration, iteration of a
+ * sub-set view and the size of a view, which the tree counts from its subtree sizes while TreeSet iterates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NavigableSetBenchmark {
+
+    // Number of queries measured per navigation invocation.
+    private static final int QUERIES = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    @Param({"BINARY_SEARCH_TREE", "TREE_SET"})
+    String implementation;
+
+    private NavigableSet<Integer> set;
+    private Integer[] queries;
+
+    @Setup(Level.Trial)
+    public void fill() {
+        set = implementation.equals("TREE_SET") ? new TreeSet<>() : new BinarySearchTree<>(true);
+        // Only even values are stored, so half the queries fall between two values.
+        for (Integer value : InputShape.RANDOM.generateBoxed(size)) set.add(value * 2);
+        Integer[] shuffled = InputShape.RANDOM.generateBoxed(2 * size);
+        queries = new Integer[QUERIES];
+        for (int i = 0; i < QUERIES; i++) queries[i] = shuffled[i];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public long ceilingAndFloor() {
+        long sum = 0;
+        for (Integer query : queries) {
+            Integer ceiling = set.ceiling(query);
+            Integer floor = set.floor(query);
+            if (ceiling != null) sum += ceiling;
+            if (floor != null) sum += floor;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        for (Integer value : set) sum += value;
+        return sum;
+    }
+
+    @Benchmark
+    public long iterateSubSet() {
+        long sum = 0;
+        for (Integer value : set.subSet(size / 2, size / 2 + 1000)) sum += value;
+        return sum;
+    }
+
+    @Benchmark
+    public int subSetSize() {
+        return set.subSet(size / 2, size + size / 2).size();
+    }
+}
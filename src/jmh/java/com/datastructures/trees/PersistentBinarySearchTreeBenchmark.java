@@ -0,0 +1,91 @@
+package com.datastructures.trees;
+
+import com.benchmarks.InputShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of path copying in the Persistent Binary Search Tree against in place updates of a balanced
+ * Binary Search Tree, and the cost of a consistent copy of each: O(1) for the persistent tree, a full rebuild
+ * for the mutable one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PersistentBinarySearchTreeBenchmark {
+
+    // Number of lookups measured per contains invocation.
+    private static final int LOOKUPS = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private Integer[] keys;
+    private PersistentBinarySearchTree<Integer> persistentTree;
+    private BinarySearchTree<Integer> mutableTree;
+
+    @Setup
+    public void generate() {
+        keys = InputShape.RANDOM.generateBoxed(size);
+        persistentTree = buildPersistent();
+        mutableTree = buildMutable();
+    }
+
+    private PersistentBinarySearchTree<Integer> buildPersistent() {
+        PersistentBinarySearchTree<Integer> tree = new PersistentBinarySearchTree<>();
+        for (Integer key : keys) tree = tree.add(key);
+        return tree;
+    }
+
+    private BinarySearchTree<Integer> buildMutable() {
+        BinarySearchTree<Integer> tree = new BinarySearchTree<>(true);
+        for (Integer key : keys) tree.add(key);
+        return tree;
+    }
+
+    @Benchmark
+    public PersistentBinarySearchTree<Integer> addPersistent() {
+        return buildPersistent();
+    }
+
+    @Benchmark
+    public BinarySearchTree<Integer> addMutable() {
+        return buildMutable();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void containsPersistent(Blackhole blackhole) {
+        for (int i = 0; i < LOOKUPS; i++) blackhole.consume(persistentTree.contains(keys[i % size]));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void containsMutable(Blackhole blackhole) {
+        for (int i = 0; i < LOOKUPS; i++) blackhole.consume(mutableTree.contains(keys[i % size]));
+    }
+
+    /**
+     * A consistent copy of the mutable tree needs every node copied.
+     */
+    @Benchmark
+    public BinarySearchTree<Integer> snapshotMutable() {
+        return BinarySearchTree.fromSorted(mutableTree.iterator(TraversalType.INORDER), mutableTree.getSize(), true);
+    }
+}
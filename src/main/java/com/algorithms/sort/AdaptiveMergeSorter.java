@@ -0,0 +1,571 @@
+package com.algorithms.sort;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Time Complexity: O(n log n) worst case, O(n) on data that is already sorted or reverse sorted.
+ * Adaptive merge sort in the style of TimSort. The data is scanned for natural runs, ascending or strictly
+ * descending (which are reversed in place). Runs shorter than a minimum length are extended with binary
+ * insertion sort, which is cheap on short ranges. Runs are kept on a stack whose lengths shrink at least as
+ * fast as the Fibonacci numbers, so merges stay balanced. Merging switches to galloping (exponential search
+ * followed by a block copy) when one run keeps winning, so long ordered stretches are moved in bulk rather
+ * than compared one element at a time.
+ * The sort is stable. Statistics describing the last sort are available after sort() returns.
+ * Values are ordered by a Comparator, or by their natural ordering when none is given. A sorter constructed with a
+ * key extractor computes each value's key once per sort and merges on the cached keys.
+ */
+public class AdaptiveMergeSorter<T> {
+
+    // Arrays shorter than this are sorted with a single binary insertion sort.
+    private static final int MIN_MERGE = 32;
+    // Consecutive wins by one run after which merging switches to galloping.
+    private static final int MIN_GALLOP = 7;
+    // Run lengths on the stack grow at least as fast as the Fibonacci numbers, so this bounds any int sized input.
+    private static final int MAX_RUN_STACK = 64;
+
+    ArrayList<T> data;
+    // Order of the values.
+    private final Comparator<? super T> comparator;
+    // Caches the key of each value for the sort, or null to compare the values themselves.
+    private final KeyedSorter.KeyOrder<T> keyOrder;
+
+    /**
+     * Count of runs pushed onto the run stack during the last sort.
+     */
+    @Getter
+    private int runCount;
+    /**
+     * Count of runs that were shorter than the minimum run length and extended with binary insertion.
+     */
+    @Getter
+    private int extendedRunCount;
+    /**
+     * Count of merges of adjacent runs performed during the last sort.
+     */
+    @Getter
+    private int mergeCount;
+    /**
+     * Count of times merging entered galloping mode during the last sort.
+     */
+    @Getter
+    private int gallopCount;
+
+    private T[] values;
+    private T[] buffer;
+    private int minGallop;
+    private int stackSize;
+    private final int[] runBase = new int[MAX_RUN_STACK];
+    private final int[] runLength = new int[MAX_RUN_STACK];
+
+    public AdaptiveMergeSorter(T[] data) {
+        this(new ArrayList<>(Arrays.asList(data)));
+    }
+
+    public AdaptiveMergeSorter(ArrayList<T> data) {
+        this(data, (Comparator<? super T>) null);
+    }
+
+    public AdaptiveMergeSorter(T[] data, Comparator<? super T> comparator) {
+        this(new ArrayList<>(Arrays.asList(data)), comparator);
+    }
+
+    /**
+     * Constructs a sorter ordering the data with a comparator.
+     * @param data list to be sorted in place.
+     * @param comparator order of the values, or null for their natural ordering.
+     */
+    public AdaptiveMergeSorter(ArrayList<T> data, Comparator<? super T> comparator) {
+        this(data, comparator != null ? comparator : KeyedSorter.naturalOrder(), null);
+    }
+
+    public <K extends Comparable<? super K>> AdaptiveMergeSorter(T[] data,
+                                                                 Function<? super T, ? extends K> keyExtractor) {
+        this(new ArrayList<>(Arrays.asList(data)), keyExtractor);
+    }
+
+    /**
+     * Constructs a sorter ordering the data by the natural ordering of a key. Keys are computed once per value
+     * on each sort rather than on every comparison.
+     * @param data list to be sorted in place.
+     * @param keyExtractor function computing the key of each value.
+     * @param <K> Comparable key type.
+     */
+    public <K extends Comparable<? super K>> AdaptiveMergeSorter(ArrayList<T> data,
+                                                                 Function<? super T, ? extends K> keyExtractor) {
+        this(data, null, KeyedSorter.keyOrder(keyExtractor, null));
+    }
+
+    private AdaptiveMergeSorter(ArrayList<T> data, Comparator<? super T> comparator, KeyedSorter.KeyOrder<T> keyOrder) {
+        this.data = data;
+        this.comparator = comparator;
+        this.keyOrder = keyOrder;
+    }
+
+    /**
+     * Performs adaptive merge sort on the class data.
+     * @return ArrayList in sorted order as indicated by comparator.
+     * @throws IllegalArgumentException if the comparison is found to be inconsistent.
+     */
+    @SuppressWarnings("unchecked")
+    public ArrayList<T> sort() {
+        runCount = extendedRunCount = mergeCount = gallopCount = 0;
+        // No values to sort or list trivially sorted by nature of having 1 element.
+        if (data == null || data.size() < 2) return data;
+        if (keyOrder != null) {
+            // Sort the values paired with their keys, computed once, then write them back in key order.
+            AdaptiveMergeSorter<KeyedSorter.Keyed<T>> sorter =
+                    new AdaptiveMergeSorter<>(keyOrder.decorate(data), keyOrder.comparator());
+            keyOrder.undecorate(sorter.sort(), data);
+            runCount = sorter.runCount;
+            extendedRunCount = sorter.extendedRunCount;
+            mergeCount = sorter.mergeCount;
+            gallopCount = sorter.gallopCount;
+            return data;
+        }
+        // T erases to Object, so an Object array can stand in for T[].
+        values = data.toArray((T[]) new Object[0]);
+        buffer = (T[]) new Object[Math.min(256, values.length)];
+        minGallop = MIN_GALLOP;
+        stackSize = 0;
+
+        int minRun = minRunLength(values.length);
+        int low = 0;
+        int remaining = values.length;
+        while (remaining != 0) {
+            int length = countRunAndMakeAscending(low);
+            // Extend short runs to the minimum length so the merges that follow are balanced.
+            if (length < minRun) {
+                int forced = Math.min(remaining, minRun);
+                binaryInsertionSort(low, low + forced, low + length);
+                length = forced;
+                extendedRunCount++;
+            }
+            pushRun(low, length);
+            mergeCollapse();
+            low += length;
+            remaining -= length;
+        }
+        mergeForceCollapse();
+
+        for (int i = 0; i < values.length; i++) data.set(i, values[i]);
+        values = buffer = null;
+        return data;
+    }
+
+    /**
+     * Computes the minimum run length. For inputs that are a power of two this is exactly a power of two
+     * dividing the length, otherwise a value close to it, so the final merges are of similar sizes.
+     * @param length count of values being sorted.
+     * @return Minimum run length between MIN_MERGE / 2 and MIN_MERGE.
+     */
+    private static int minRunLength(int length) {
+        int lowBits = 0;
+        while (length >= MIN_MERGE) {
+            lowBits |= (length & 1);
+            length >>= 1;
+        }
+        return length + lowBits;
+    }
+
+    /**
+     * Finds the length of the run starting at low. A strictly descending run is reversed so every run on the
+     * stack is ascending; strictness keeps equal values in their original order.
+     * @param low first index of the run.
+     * @return Length of the run.
+     */
+    private int countRunAndMakeAscending(int low) {
+        int high = low + 1;
+        if (high == values.length) return 1;
+        if (comparator.compare(values[high++], values[low]) < 0) {
+            while (high < values.length && comparator.compare(values[high], values[high - 1]) < 0) high++;
+            reverseRange(low, high);
+        }
+        else {
+            while (high < values.length && comparator.compare(values[high], values[high - 1]) >= 0) high++;
+        }
+        return high - low;
+    }
+
+    private void reverseRange(int low, int high) {
+        for (high--; low < high; low++, high--) {
+            T temp = values[low];
+            values[low] = values[high];
+            values[high] = temp;
+        }
+    }
+
+    /**
+     * Sorts values in [low, high) given that [low, start) is already sorted. The insertion point is found
+     * by binary search, after equal values to keep the sort stable, and the larger values are shifted in one block.
+     */
+    private void binaryInsertionSort(int low, int high, int start) {
+        for (; start < high; start++) {
+            T pivot = values[start];
+            int left = low;
+            int right = start;
+            while (left < right) {
+                int middle = (left + right) >>> 1;
+                if (comparator.compare(pivot, values[middle]) < 0) right = middle;
+                else left = middle + 1;
+            }
+            System.arraycopy(values, left, values, left + 1, start - left);
+            values[left] = pivot;
+        }
+    }
+
+    private void pushRun(int base, int length) {
+        runBase[stackSize] = base;
+        runLength[stackSize] = length;
+        stackSize++;
+        runCount++;
+    }
+
+    /**
+     * Merges runs on the stack until the lengths of the top runs satisfy
+     * runLength[i - 2] > runLength[i - 1] + runLength[i] and runLength[i - 1] > runLength[i].
+     * The invariant is checked on the top four runs, which is required for the stack bound to hold.
+     */
+    private void mergeCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if ((n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1])
+                    || (n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1])) {
+                // Merge the middle run with the smaller of its neighbors.
+                if (runLength[n - 1] < runLength[n + 1]) n--;
+            }
+            else if (runLength[n] > runLength[n + 1]) {
+                return;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Merges all remaining runs once the input has been consumed.
+     */
+    private void mergeForceCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLength[n - 1] < runLength[n + 1]) n--;
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Merges the runs at stack positions index and index + 1.
+     * Values of the first run that are already below the second run, and values of the second run that
+     * are already above the first run, are in their final position and skipped before merging.
+     */
+    private void mergeAt(int index) {
+        int base1 = runBase[index];
+        int length1 = runLength[index];
+        int base2 = runBase[index + 1];
+        int length2 = runLength[index + 1];
+        mergeCount++;
+
+        runLength[index] = length1 + length2;
+        if (index == stackSize - 3) {
+            runBase[index + 1] = runBase[index + 2];
+            runLength[index + 1] = runLength[index + 2];
+        }
+        stackSize--;
+
+        int skipped = gallopRight(values[base2], values, base1, length1, 0);
+        base1 += skipped;
+        length1 -= skipped;
+        if (length1 == 0) return;
+        length2 = gallopLeft(values[base1 + length1 - 1], values, base2, length2, length2 - 1);
+        if (length2 == 0) return;
+
+        // Copy the shorter run aside so the buffer never exceeds half the input.
+        if (length1 <= length2) mergeLow(base1, length1, base2, length2);
+        else mergeHigh(base1, length1, base2, length2);
+    }
+
+    /**
+     * Locates the leftmost position at which key could be inserted into a sorted range, that is the count of
+     * values strictly less than key. The search gallops outward from hint before finishing with a binary search,
+     * so it costs O(log d) for a result d positions from the hint.
+     * @return Offset from base in [0, length].
+     */
+    private int gallopLeft(T key, T[] array, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (comparator.compare(key, array[base + hint]) > 0) {
+            // Gallop right until array[base + hint + lastOffset] < key <= array[base + hint + offset].
+            int maxOffset = length - hint;
+            while (offset < maxOffset && comparator.compare(key, array[base + hint + offset]) > 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) offset = maxOffset;
+            }
+            if (offset > maxOffset) offset = maxOffset;
+            lastOffset += hint;
+            offset += hint;
+        }
+        else {
+            // Gallop left until array[base + hint - offset] < key <= array[base + hint - lastOffset].
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && comparator.compare(key, array[base + hint - offset]) <= 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) offset = maxOffset;
+            }
+            if (offset > maxOffset) offset = maxOffset;
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        }
+        // Binary search in (lastOffset, offset], knowing array[base + lastOffset] < key <= array[base + offset].
+        lastOffset++;
+        while (lastOffset < offset) {
+            int middle = lastOffset + ((offset - lastOffset) >>> 1);
+            if (comparator.compare(key, array[base + middle]) > 0) lastOffset = middle + 1;
+            else offset = middle;
+        }
+        return offset;
+    }
+
+    /**
+     * Like gallopLeft, but locates the rightmost insertion point, that is the count of values less than or
+     * equal to key.
+     * @return Offset from base in [0, length].
+     */
+    private int gallopRight(T key, T[] array, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (comparator.compare(key, array[base + hint]) < 0) {
+            // Gallop left until array[base + hint - offset] <= key < array[base + hint - lastOffset].
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && comparator.compare(key, array[base + hint - offset]) < 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) offset = maxOffset;
+            }
+            if (offset > maxOffset) offset = maxOffset;
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        }
+        else {
+            // Gallop right until array[base + hint + lastOffset] <= key < array[base + hint + offset].
+            int maxOffset = length - hint;
+            while (offset < maxOffset && comparator.compare(key, array[base + hint + offset]) >= 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) offset = maxOffset;
+            }
+            if (offset > maxOffset) offset = maxOffset;
+            lastOffset += hint;
+            offset += hint;
+        }
+        // Binary search in (lastOffset, offset], knowing array[base + lastOffset] <= key < array[base + offset].
+        lastOffset++;
+        while (lastOffset < offset) {
+            int middle = lastOffset + ((offset - lastOffset) >>> 1);
+            if (comparator.compare(key, array[base + middle]) < 0) offset = middle;
+            else lastOffset = middle + 1;
+        }
+        return offset;
+    }
+
+    /**
+     * Merges two adjacent runs front to back, copying the first (shorter) run into the buffer.
+     * Requires values[base2] < values[base1] and the last value of the first run to be greater than every
+     * value of the second run, which mergeAt guarantees.
+     */
+    private void mergeLow(int base1, int length1, int base2, int length2) {
+        T[] temp = ensureBuffer(length1);
+        System.arraycopy(values, base1, temp, 0, length1);
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int destination = base1;
+
+        values[destination++] = values[cursor2++];
+        if (--length2 == 0) {
+            System.arraycopy(temp, cursor1, values, destination, length1);
+            return;
+        }
+        if (length1 == 1) {
+            System.arraycopy(values, cursor2, values, destination, length2);
+            values[destination + length2] = temp[cursor1];
+            return;
+        }
+
+        int gallopThreshold = minGallop;
+        outer:
+        while (true) {
+            int wins1 = 0;
+            int wins2 = 0;
+            // Merge one value at a time until one run wins gallopThreshold times in a row.
+            do {
+                if (comparator.compare(values[cursor2], temp[cursor1]) < 0) {
+                    values[destination++] = values[cursor2++];
+                    wins2++;
+                    wins1 = 0;
+                    if (--length2 == 0) break outer;
+                }
+                else {
+                    values[destination++] = temp[cursor1++];
+                    wins1++;
+                    wins2 = 0;
+                    if (--length1 == 1) break outer;
+                }
+            } while ((wins1 | wins2) < gallopThreshold);
+
+            // Gallop: search for how far each run can be copied in one block, until both blocks are short again.
+            gallopCount++;
+            do {
+                wins1 = gallopRight(values[cursor2], temp, cursor1, length1, 0);
+                if (wins1 != 0) {
+                    System.arraycopy(temp, cursor1, values, destination, wins1);
+                    destination += wins1;
+                    cursor1 += wins1;
+                    length1 -= wins1;
+                    if (length1 <= 1) break outer;
+                }
+                values[destination++] = values[cursor2++];
+                if (--length2 == 0) break outer;
+
+                wins2 = gallopLeft(temp[cursor1], values, cursor2, length2, 0);
+                if (wins2 != 0) {
+                    System.arraycopy(values, cursor2, values, destination, wins2);
+                    destination += wins2;
+                    cursor2 += wins2;
+                    length2 -= wins2;
+                    if (length2 == 0) break outer;
+                }
+                values[destination++] = temp[cursor1++];
+                if (--length1 == 1) break outer;
+                // Galloping paid off, so make it easier to re-enter next time.
+                gallopThreshold--;
+            } while (wins1 >= MIN_GALLOP || wins2 >= MIN_GALLOP);
+            if (gallopThreshold < 0) gallopThreshold = 0;
+            // Penalize leaving galloping mode.
+            gallopThreshold += 2;
+        }
+        minGallop = Math.max(1, gallopThreshold);
+
+        if (length1 == 1) {
+            System.arraycopy(values, cursor2, values, destination, length2);
+            values[destination + length2] = temp[cursor1];
+        }
+        else if (length1 == 0) {
+            throw new IllegalArgumentException("Comparison method violates its general contract");
+        }
+        else {
+            System.arraycopy(temp, cursor1, values, destination, length1);
+        }
+    }
+
+    /**
+     * Merges two adjacent runs back to front, copying the second (shorter) run into the buffer.
+     * Has the same preconditions as mergeLow.
+     */
+    private void mergeHigh(int base1, int length1, int base2, int length2) {
+        T[] temp = ensureBuffer(length2);
+        System.arraycopy(values, base2, temp, 0, length2);
+        int cursor1 = base1 + length1 - 1;
+        int cursor2 = length2 - 1;
+        int destination = base2 + length2 - 1;
+
+        values[destination--] = values[cursor1--];
+        if (--length1 == 0) {
+            System.arraycopy(temp, 0, values, destination - (length2 - 1), length2);
+            return;
+        }
+        if (length2 == 1) {
+            destination -= length1;
+            cursor1 -= length1;
+            System.arraycopy(values, cursor1 + 1, values, destination + 1, length1);
+            values[destination] = temp[cursor2];
+            return;
+        }
+
+        int gallopThreshold = minGallop;
+        outer:
+        while (true) {
+            int wins1 = 0;
+            int wins2 = 0;
+            // Merge one value at a time until one run wins gallopThreshold times in a row.
+            do {
+                if (comparator.compare(temp[cursor2], values[cursor1]) < 0) {
+                    values[destination--] = values[cursor1--];
+                    wins1++;
+                    wins2 = 0;
+                    if (--length1 == 0) break outer;
+                }
+                else {
+                    values[destination--] = temp[cursor2--];
+                    wins2++;
+                    wins1 = 0;
+                    if (--length2 == 1) break outer;
+                }
+            } while ((wins1 | wins2) < gallopThreshold);
+
+            // Gallop: search for how far each run can be copied in one block, until both blocks are short again.
+            gallopCount++;
+            do {
+                wins1 = length1 - gallopRight(temp[cursor2], values, base1, length1, length1 - 1);
+                if (wins1 != 0) {
+                    destination -= wins1;
+                    cursor1 -= wins1;
+                    length1 -= wins1;
+                    System.arraycopy(values, cursor1 + 1, values, destination + 1, wins1);
+                    if (length1 == 0) break outer;
+                }
+                values[destination--] = temp[cursor2--];
+                if (--length2 == 1) break outer;
+
+                wins2 = length2 - gallopLeft(values[cursor1], temp, 0, length2, length2 - 1);
+                if (wins2 != 0) {
+                    destination -= wins2;
+                    cursor2 -= wins2;
+                    length2 -= wins2;
+                    System.arraycopy(temp, cursor2 + 1, values, destination + 1, wins2);
+                    if (length2 <= 1) break outer;
+                }
+                values[destination--] = values[cursor1--];
+                if (--length1 == 0) break outer;
+                // Galloping paid off, so make it easier to re-enter next time.
+                gallopThreshold--;
+            } while (wins1 >= MIN_GALLOP || wins2 >= MIN_GALLOP);
+            if (gallopThreshold < 0) gallopThreshold = 0;
+            // Penalize leaving galloping mode.
+            gallopThreshold += 2;
+        }
+        minGallop = Math.max(1, gallopThreshold);
+
+        if (length2 == 1) {
+            destination -= length1;
+            cursor1 -= length1;
+            System.arraycopy(values, cursor1 + 1, values, destination + 1, length1);
+            values[destination] = temp[cursor2];
+        }
+        else if (length2 == 0) {
+            throw new IllegalArgumentException("Comparison method violates its general contract");
+        }
+        else {
+            System.arraycopy(temp, 0, values, destination - (length2 - 1), length2);
+        }
+    }
+
+    /**
+     * Grows the merge buffer geometrically so it is reallocated O(log n) times at most.
+     * @param capacity minimum capacity required.
+     * @return Buffer of at least the requested capacity.
+     */
+    @SuppressWarnings("unchecked")
+    private T[] ensureBuffer(int capacity) {
+        if (buffer.length < capacity) {
+            int newCapacity = Math.max(capacity, Math.min(buffer.length << 1, values.length >>> 1));
+            buffer = (T[]) new Object[newCapacity];
+        }
+        return buffer;
+    }
+}
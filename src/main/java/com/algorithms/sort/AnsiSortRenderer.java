@@ -0,0 +1,102 @@
+package com.algorithms.sort;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A SortListener that prints a sort to a terminal as it progresses, for teaching and debugging. The data is printed
+ * when the sort starts and after every pass, and every swap is printed with the swapped values highlighted, the
+ * one moved towards the back in green and the one moved towards the front in red, using ANSI color codes.
+ * A live renderer reads the values from the list being sorted. A replay renderer keeps its own copy of the initial
+ * data and applies the swaps to it, so it can render a trace recorded by SortTraceRecorder:
+ * <pre>
+ *     SortTrace.replay(traceFile, AnsiSortRenderer.replay(initialData, System.out));
+ * </pre>
+ * Every event is printed with a single call to the stream. Printing the whole data on every swap makes rendering
+ * O(n) per event, so keep the data small.
+ * @param <T> element type.
+ */
+public class AnsiSortRenderer<T> implements SortListener {
+
+    // ANSI codes to override color in terminal (If supported).
+    private static final String ANSI_GREEN = "\u001B[32m";
+    private static final String ANSI_RESET = "\u001B[0m";
+    private static final String ANSI_RED = "\u001B[31m";
+    // Break to separate data visually.
+    private static final String SEPARATOR = StringUtils.repeat('_', 50);
+
+    private final List<T> values;
+    // True if this renderer applies the swaps to its own copy of the data.
+    private final boolean replay;
+    private final PrintStream printStream;
+
+    private AnsiSortRenderer(List<T> values, boolean replay, PrintStream printStream) {
+        this.values = values;
+        this.replay = replay;
+        this.printStream = printStream;
+    }
+
+    /**
+     * Creates a renderer for a sort in progress.
+     * @param data the list being sorted, read as the sort swaps its values.
+     * @param printStream stream to print to.
+     * @param <T> element type.
+     * @return A renderer to attach to the sorter.
+     */
+    public static <T> AnsiSortRenderer<T> live(List<T> data, PrintStream printStream) {
+        return new AnsiSortRenderer<>(data, false, printStream);
+    }
+
+    /**
+     * Creates a renderer for replaying a recorded sort.
+     * @param initialData the data as it was before the sort. It is copied.
+     * @param printStream stream to print to.
+     * @param <T> element type.
+     * @return A renderer to pass to SortTrace.replay.
+     */
+    public static <T> AnsiSortRenderer<T> replay(List<T> initialData, PrintStream printStream) {
+        return new AnsiSortRenderer<>(new ArrayList<>(initialData), true, printStream);
+    }
+
+    @Override
+    public void sortStarted(int size) {
+        printStream.print(render(-1, -1, new StringBuilder()));
+    }
+
+    @Override
+    public void swapped(int firstIndex, int secondIndex) {
+        if (replay) Collections.swap(values, firstIndex, secondIndex);
+        // The values have already been swapped, so each is printed from its new position.
+        StringBuilder sb = new StringBuilder()
+                .append("Swapping: ").append(values.get(secondIndex))
+                .append(" <-> ").append(values.get(firstIndex)).append(System.lineSeparator());
+        printStream.print(render(secondIndex, firstIndex, sb));
+    }
+
+    @Override
+    public void passCompleted() {
+        printStream.print(render(-1, -1, new StringBuilder()));
+    }
+
+    /**
+     * Appends the current data with any colorings, between separators.
+     * @param greenIndex Index of element to highlight value green.
+     * @param redIndex Index of element to highlight value red.
+     * @param sb builder to append to.
+     * @return The builder.
+     */
+    private StringBuilder render(int greenIndex, int redIndex, StringBuilder sb) {
+        sb.append(SEPARATOR).append(System.lineSeparator());
+        for (int i = 0; i < values.size(); i++) {
+            if (i == greenIndex) sb.append(ANSI_GREEN).append(values.get(i)).append(ANSI_RESET);
+            else if (i == redIndex) sb.append(ANSI_RED).append(values.get(i)).append(ANSI_RESET);
+            else sb.append(values.get(i));
+            sb.append(' ');
+        }
+        return sb.append(System.lineSeparator()).append(SEPARATOR).append(System.lineSeparator());
+    }
+}
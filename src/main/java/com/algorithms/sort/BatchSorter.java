@@ -0,0 +1,176 @@
+package com.algorithms.sort;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Time Complexity: O(n log n) per list, with lists sorted concurrently.
+ * Sorts many independent lists at once on an Executor supplied by the caller, returning a CompletableFuture per
+ * list. Each list is sorted by an algorithm suited to its size: insertion sort over an array for short lists,
+ * where it beats any O(n log n) sort, AdaptiveMergeSorter for most lists, and ParallelMergeSorter on the common
+ * ForkJoinPool for lists large enough to be worth splitting.
+ * At most maxPending lists are submitted and not yet sorted at any time. Submitting more blocks the caller until
+ * a sort finishes, so a fast producer cannot queue an unbounded amount of work in the executor.
+ * Any executor works. Sorting is CPU bound, so a ForkJoinPool or fixed pool sized to the cores runs it well. On
+ * JDK 21 and later, virtual threads let every list have its own thread without sizing a pool:
+ * <pre>
+ *     ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+ *     BatchSorter&lt;Integer&gt; sorter = new BatchSorter&lt;&gt;(executor, 10_000);
+ *     CompletableFuture&lt;List&lt;ArrayList&lt;Integer&gt;&gt;&gt; sorted = sorter.sortAll(lists);
+ * </pre>
+ * The executor belongs to the caller, who shuts it down. A sorter is thread safe: any number of threads may submit
+ * to it, and the bound applies to all of them together. Lists are sorted in place, so a list must not be changed
+ * until its future completes.
+ * @param <T> element type.
+ */
+public class BatchSorter<T> {
+
+    // Default count of lists that may be pending at once.
+    public static final int DEFAULT_MAX_PENDING = 1024;
+    // Lists of this size or smaller are sorted with insertion sort.
+    static final int INSERTION_THRESHOLD = 32;
+    // Lists of this size or larger are sorted with ParallelMergeSorter.
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final Executor executor;
+    /**
+     * Count of lists that may be submitted and not yet sorted at once.
+     */
+    @Getter
+    private final int maxPending;
+    private final Semaphore permits;
+    // Order of the values.
+    private final Comparator<? super T> comparator;
+
+    /**
+     * Constructs a sorter with the default bound that orders values naturally.
+     * @param executor executor to run the sorts on.
+     */
+    public BatchSorter(Executor executor) {
+        this(executor, DEFAULT_MAX_PENDING);
+    }
+
+    /**
+     * Constructs a sorter that orders values naturally.
+     * @param executor executor to run the sorts on.
+     * @param maxPending count of lists that may be submitted and not yet sorted at once.
+     * @throws IllegalArgumentException if maxPending is less than 1.
+     */
+    public BatchSorter(Executor executor, int maxPending) throws IllegalArgumentException {
+        this(executor, maxPending, null);
+    }
+
+    /**
+     * Constructs a sorter.
+     * @param executor executor to run the sorts on.
+     * @param maxPending count of lists that may be submitted and not yet sorted at once.
+     * @param comparator order of the values, or null for their natural ordering.
+     * @throws IllegalArgumentException if maxPending is less than 1.
+     */
+    public BatchSorter(Executor executor, int maxPending, Comparator<? super T> comparator)
+            throws IllegalArgumentException {
+        if (maxPending < 1) throw new IllegalArgumentException("Max pending must be at least 1");
+        this.executor = executor;
+        this.maxPending = maxPending;
+        this.permits = new Semaphore(maxPending);
+        this.comparator = comparator != null ? comparator : KeyedSorter.naturalOrder();
+    }
+
+    /**
+     * Submits a list to be sorted in place, waiting for room if maxPending lists are already pending.
+     * @param data list to be sorted.
+     * @return A future completed with the sorted list, or exceptionally if the sort fails.
+     * @throws InterruptedException if interrupted while waiting for room.
+     * @throws java.util.concurrent.RejectedExecutionException if the executor rejects the sort.
+     */
+    public CompletableFuture<ArrayList<T>> submit(ArrayList<T> data) throws InterruptedException {
+        permits.acquire();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                // Release before the future completes, so callers waiting on it see the room it frees.
+                try {
+                    return sort(data);
+                }
+                finally {
+                    permits.release();
+                }
+            }, executor);
+        }
+        catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Submits every list of a collection, in order, waiting for room as needed.
+     * @param lists lists to be sorted in place.
+     * @return A future completed with the sorted lists in submission order once all are sorted, or exceptionally
+     * if any sort fails.
+     * @throws InterruptedException if interrupted while waiting for room. Lists already submitted are still sorted.
+     */
+    public CompletableFuture<List<ArrayList<T>>> sortAll(Collection<? extends ArrayList<T>> lists)
+            throws InterruptedException {
+        return sortAll(lists.iterator());
+    }
+
+    /**
+     * Submits every list of a stream, in order, waiting for room as needed. The stream is consumed on the calling
+     * thread, no faster than the lists are sorted once maxPending are pending.
+     * @param lists lists to be sorted in place.
+     * @return A future completed with the sorted lists in submission order once all are sorted, or exceptionally
+     * if any sort fails.
+     * @throws InterruptedException if interrupted while waiting for room. Lists already submitted are still sorted.
+     */
+    public CompletableFuture<List<ArrayList<T>>> sortAll(Stream<? extends ArrayList<T>> lists)
+            throws InterruptedException {
+        return sortAll(lists.iterator());
+    }
+
+    private CompletableFuture<List<ArrayList<T>>> sortAll(Iterator<? extends ArrayList<T>> lists)
+            throws InterruptedException {
+        List<CompletableFuture<ArrayList<T>>> futures = new ArrayList<>();
+        while (lists.hasNext()) futures.add(submit(lists.next()));
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<ArrayList<T>> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<ArrayList<T>> future : futures) results.add(future.join());
+            return results;
+        });
+    }
+
+    /**
+     * Sorts a list with the algorithm suited to its size.
+     * @param data list to be sorted in place.
+     * @return The sorted list.
+     */
+    @SuppressWarnings("unchecked")
+    private ArrayList<T> sort(ArrayList<T> data) {
+        int size = data.size();
+        if (size <= INSERTION_THRESHOLD) {
+            // In an array insertion sort shifts values along, rather than swapping list elements a pair at a time.
+            T[] values = (T[]) data.toArray();
+            InsertionSorter.sort(values, 0, size, comparator);
+            for (int i = 0; i < size; i++) data.set(i, values[i]);
+            return data;
+        }
+        if (size < PARALLEL_THRESHOLD) return new AdaptiveMergeSorter<>(data, comparator).sort();
+        return new ParallelMergeSorter<>(data, comparator).sort();
+    }
+
+    /**
+     * Counts the lists submitted and not yet sorted.
+     * @return Count of pending lists.
+     */
+    public int getPending() {
+        return maxPending - permits.availablePermits();
+    }
+}
@@ -3,25 +3,82 @@ package com.algorithms.sort;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.function.Function;
 
-import org.apache.commons.lang3.StringUtils;
+import lombok.Setter;
 
 /**
  * Time Complexity: O(n^2)
  * Bubble sort is an academic sorting algorithm that sorts by bubbling values into their
  * correct places. This should not be reviewed extensively as it has no practical purpose.
+ * Sorting stops early once a pass completes without swapping, so sorted input takes a single pass.
+ * Static entry points sort int, long and double arrays in place without boxing or allocation.
+ * Sorts of the class data report each comparison, swap and pass to an attached SortListener, such as SortMetrics,
+ * and are reported to Flight Recorder as SortEvents. With no listener attached they make no calls.
+ * Visualization prints the sort to the console through an AnsiSortRenderer.
+ * Values are ordered by a Comparator, or by their natural ordering when none is given. A sorter constructed with a
+ * key extractor computes each value's key once per sort, rather than twice on each of the O(n^2) comparisons.
  */
-public class BubbleSorter<T extends Comparable<? super T>> {
+public class BubbleSorter<T> {
     ArrayList<T> data;
     boolean visualize = false;
+    // Order of the values.
+    private final Comparator<? super T> comparator;
+    // Caches the key of each value for the sort, or null to compare the values themselves.
+    private final KeyedSorter.KeyOrder<T> keyOrder;
+    /**
+     * Listener notified of the operations of each sort, or null to notify nothing.
+     */
+    @Setter
+    private SortListener listener;
 
     public BubbleSorter(T[] data, boolean visualize) {
-        this.data = new ArrayList<>(Arrays.asList(data));
-        this.visualize = visualize;
+        this(new ArrayList<>(Arrays.asList(data)), visualize);
     }
 
     public BubbleSorter(ArrayList<T> data, boolean visualize) {
+        this(data, (Comparator<? super T>) null, visualize);
+    }
+
+    public BubbleSorter(T[] data, Comparator<? super T> comparator, boolean visualize) {
+        this(new ArrayList<>(Arrays.asList(data)), comparator, visualize);
+    }
+
+    /**
+     * Constructs a sorter ordering the data with a comparator.
+     * @param data list to be sorted in place.
+     * @param comparator order of the values, or null for their natural ordering.
+     * @param visualize True to print the sort to the console.
+     */
+    public BubbleSorter(ArrayList<T> data, Comparator<? super T> comparator, boolean visualize) {
+        this(data, comparator != null ? comparator : KeyedSorter.naturalOrder(), null, visualize);
+    }
+
+    public <K extends Comparable<? super K>> BubbleSorter(T[] data, Function<? super T, ? extends K> keyExtractor,
+                                                          boolean visualize) {
+        this(new ArrayList<>(Arrays.asList(data)), keyExtractor, visualize);
+    }
+
+    /**
+     * Constructs a sorter ordering the data by the natural ordering of a key. Keys are computed once per value
+     * on each sort rather than on every comparison.
+     * @param data list to be sorted in place.
+     * @param keyExtractor function computing the key of each value.
+     * @param visualize True to print the sort to the console.
+     * @param <K> Comparable key type.
+     */
+    public <K extends Comparable<? super K>> BubbleSorter(ArrayList<T> data,
+                                                          Function<? super T, ? extends K> keyExtractor,
+                                                          boolean visualize) {
+        this(data, null, KeyedSorter.keyOrder(keyExtractor, null), visualize);
+    }
+
+    private BubbleSorter(ArrayList<T> data, Comparator<? super T> comparator, KeyedSorter.KeyOrder<T> keyOrder,
+                         boolean visualize) {
         this.data = data;
+        this.comparator = comparator;
+        this.keyOrder = keyOrder;
         this.visualize = visualize;
     }
 
@@ -32,63 +89,98 @@ public class BubbleSorter<T extends Comparable<? super T>> {
     public ArrayList<T> sort() {
         // No values to sort or list trivially sorted by nature of having 1 element.
         if (data == null || data.size() < 2) return data;
+        if (keyOrder != null) {
+            // Sort the values paired with their keys, computed once, then write them back in key order.
+            // The pairs print as their values, so visualization is unchanged.
+            BubbleSorter<KeyedSorter.Keyed<T>> sorter =
+                    new BubbleSorter<>(keyOrder.decorate(data), keyOrder.comparator(), visualize);
+            sorter.listener = this.listener;
+            keyOrder.undecorate(sorter.sort(), data);
+            return data;
+        }
+        SortListener listener = SortEvent.listen("BubbleSorter",
+                visualize ? SortListener.combine(this.listener, AnsiSortRenderer.live(data, System.out)) : this.listener);
+        if (listener != null) listener.sortStarted(data.size());
 
         // Iterate over the Array from the back to ensure each element is visited. On each iteration, values
         // in outer counter position onward will be sorted.
         for (int outerLoopCounter = data.size(); outerLoopCounter > 1; outerLoopCounter--) {
-            // Prints the current array to the console without highlighting if enabled.
-            if (visualize) {
-                printArray(-1, -1);
-            }
             // Inside loop iterates over elements prior to outer counter and pushes the larger values towards
             // the back of the array. On each outer loop it will move the largest value that has not yet been
             // placed into sorted order in sorted order.
+            boolean swapped = false;
             for (int innerLoopCounter = 0; innerLoopCounter < outerLoopCounter - 1; innerLoopCounter++) {
-                if(data.get(innerLoopCounter).compareTo(data.get(innerLoopCounter+1)) > 0){
-                    // Print the values to be swapped to the console to make the progression easier to understand if enabled.
-                    if (visualize) {
-                        System.out.println("Swapping: " + data.get(innerLoopCounter) + " <-> " + data.get(innerLoopCounter + 1));
-                    }
+                if (listener != null) listener.compared(innerLoopCounter, innerLoopCounter+1);
+                if(comparator.compare(data.get(innerLoopCounter), data.get(innerLoopCounter+1)) > 0){
                     Collections.swap(data, innerLoopCounter, innerLoopCounter+1);
-                    // Print the new array ordering to the console highlighting the changed elements if enabled.
-                    if (visualize) {
-                        printArray(innerLoopCounter+1, innerLoopCounter);
-                    }
+                    if (listener != null) listener.swapped(innerLoopCounter, innerLoopCounter+1);
+                    swapped = true;
                 }
             }
+            if (listener != null) listener.passCompleted();
+            // A pass without swaps means every value is already in order.
+            if (!swapped) break;
         }
+        if (listener != null) listener.sortFinished();
         return data;
     }
 
     /**
-     * Helper function to print the current data array to the console for visualization.
-     * @param greenIndex Index of element to highlight value green.
-     * @param redIndex Index of element to highlight value red.
+     * Performs Bubble Sort on an int array in place.
+     * @param data array to be sorted.
      */
-    private void printArray(int greenIndex, int redIndex) {
-
-        // ANSI codes to override color in terminal (If supported).
-        String ANSI_GREEN = "\u001B[32m";
-        String ANSI_RESET = "\u001B[0m";
-        String ANSI_RED = "\u001B[31m";
-
-        // Break to separate data visually.
-        System.out.println(StringUtils.repeat('_', 50));
-
-        // Print the array with any colorings.
-        for(int i = 0; i < data.size(); i++) {
-            if (i == greenIndex) {
-                System.out.print(ANSI_GREEN + data.get(i) + ANSI_RESET + " ");
+    public static void sort(int[] data) {
+        for (int outerLoopCounter = data.length; outerLoopCounter > 1; outerLoopCounter--) {
+            boolean swapped = false;
+            for (int innerLoopCounter = 0; innerLoopCounter < outerLoopCounter - 1; innerLoopCounter++) {
+                if (data[innerLoopCounter] > data[innerLoopCounter+1]) {
+                    int temp = data[innerLoopCounter];
+                    data[innerLoopCounter] = data[innerLoopCounter+1];
+                    data[innerLoopCounter+1] = temp;
+                    swapped = true;
+                }
             }
-            else if (i == redIndex) {
-                System.out.print(ANSI_RED + data.get(i) + ANSI_RESET + " ");
+            if (!swapped) break;
+        }
+    }
+
+    /**
+     * Performs Bubble Sort on a long array in place.
+     * @param data array to be sorted.
+     */
+    public static void sort(long[] data) {
+        for (int outerLoopCounter = data.length; outerLoopCounter > 1; outerLoopCounter--) {
+            boolean swapped = false;
+            for (int innerLoopCounter = 0; innerLoopCounter < outerLoopCounter - 1; innerLoopCounter++) {
+                if (data[innerLoopCounter] > data[innerLoopCounter+1]) {
+                    long temp = data[innerLoopCounter];
+                    data[innerLoopCounter] = data[innerLoopCounter+1];
+                    data[innerLoopCounter+1] = temp;
+                    swapped = true;
+                }
             }
-            else System.out.print(data.get(i) + " ");
+            if (!swapped) break;
         }
-        System.out.println();
+    }
 
-        // Break to separate data visually.
-        System.out.println(StringUtils.repeat('_', 50));
+    /**
+     * Performs Bubble Sort on a double array in place. Values are ordered as by Double.compare,
+     * so -0.0 sorts before 0.0 and NaN sorts after every other value.
+     * @param data array to be sorted.
+     */
+    public static void sort(double[] data) {
+        for (int outerLoopCounter = data.length; outerLoopCounter > 1; outerLoopCounter--) {
+            boolean swapped = false;
+            for (int innerLoopCounter = 0; innerLoopCounter < outerLoopCounter - 1; innerLoopCounter++) {
+                if (Double.compare(data[innerLoopCounter], data[innerLoopCounter+1]) > 0) {
+                    double temp = data[innerLoopCounter];
+                    data[innerLoopCounter] = data[innerLoopCounter+1];
+                    data[innerLoopCounter+1] = temp;
+                    swapped = true;
+                }
+            }
+            if (!swapped) break;
+        }
     }
 
 }
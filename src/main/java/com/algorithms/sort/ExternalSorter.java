@@ -0,0 +1,426 @@
+package com.algorithms.sort;
+
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Time Complexity: O(n log n) comparisons, O(n log_k(n / m)) bytes of I/O for a memory budget of m and fan-in k.
+ * External merge sort orders datasets that do not fit on the heap. Input is consumed in chunks that fit the
+ * memory budget; each chunk is sorted in memory and spilled to a temporary file as a sorted run. The runs are
+ * then merged k at a time through a heap holding the head of each run, until a single pass writes the output.
+ * Only the current chunk and one I/O buffer per open run are ever held in memory.
+ *
+ * Records are stored in a compact binary format: each value encoded by a RecordCodec, preceded by its encoded
+ * size as a 4 byte int unless the codec has a fixed size. Input and output files use the same format, and
+ * RecordWriter and RecordReader are provided to produce and consume them.
+ * The sort is stable.
+ */
+public class ExternalSorter<T extends Comparable<? super T>> {
+
+    // Default count of runs merged in a single pass.
+    public static final int DEFAULT_MERGE_FACTOR = 64;
+    // Size of the buffer used for each open file.
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+    // Approximate heap cost of a value beyond its encoded bytes: object header, fields and the list slot.
+    private static final int OBJECT_OVERHEAD = 32;
+
+    private final RecordCodec<T> codec;
+    private final long memoryBudget;
+    private final Path tempDirectory;
+    private final int mergeFactor;
+
+    /**
+     * Count of sorted runs spilled to disk during the last sort. Zero when the input fit in memory.
+     */
+    @Getter
+    private int runCount;
+    /**
+     * Count of merge passes over the runs during the last sort, including the final pass to the output.
+     */
+    @Getter
+    private int mergePassCount;
+
+    /**
+     * Constructs a sorter that spills to the default temporary directory.
+     * @param codec codec used to encode values.
+     * @param memoryBudget approximate bytes of heap to fill with values before spilling a run.
+     */
+    public ExternalSorter(RecordCodec<T> codec, long memoryBudget) {
+        this(codec, memoryBudget, null, DEFAULT_MERGE_FACTOR);
+    }
+
+    /**
+     * Constructs a sorter.
+     * @param codec codec used to encode values.
+     * @param memoryBudget approximate bytes of heap to fill with values before spilling a run. The in memory
+     *                     sort copies the chunk, so the heap should have room for about twice this amount.
+     * @param tempDirectory directory for run files, or null for the default temporary directory.
+     * @param mergeFactor maximum count of runs merged in one pass. Each open run holds a 64KB buffer.
+     * @throws IllegalArgumentException if the memory budget is not positive or the merge factor is below 2.
+     */
+    public ExternalSorter(RecordCodec<T> codec, long memoryBudget, Path tempDirectory, int mergeFactor) {
+        if (memoryBudget <= 0) throw new IllegalArgumentException("Memory budget must be positive");
+        if (mergeFactor < 2) throw new IllegalArgumentException("Merge factor must be at least 2");
+        this.codec = codec;
+        this.memoryBudget = memoryBudget;
+        this.tempDirectory = tempDirectory;
+        this.mergeFactor = mergeFactor;
+    }
+
+    /**
+     * Sorts a record file into another record file.
+     * @param input file of records to be sorted.
+     * @param output file to write sorted records to. Replaced if it exists.
+     * @throws IOException if reading, writing or spilling fails.
+     */
+    public void sort(Path input, Path output) throws IOException {
+        try (RecordReader<T> reader = new RecordReader<>(FileChannel.open(input, StandardOpenOption.READ), codec);
+             FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            sort(reader, channel);
+        }
+        catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Sorts values from an iterator, writing them to an output stream as records.
+     * @param input values to be sorted.
+     * @param output stream to write sorted records to. Not closed.
+     * @throws IOException if writing or spilling fails.
+     */
+    public void sort(Iterator<T> input, OutputStream output) throws IOException {
+        sort(input, Channels.newChannel(output));
+    }
+
+    /**
+     * Sorts values from an iterator, writing them to a channel as records.
+     * @param input values to be sorted.
+     * @param output channel to write sorted records to. Not closed.
+     * @throws IOException if writing or spilling fails.
+     */
+    public void sort(Iterator<T> input, WritableByteChannel output) throws IOException {
+        runCount = 0;
+        mergePassCount = 0;
+        // Every file created is tracked so all of them are removed, even if the sort fails part way.
+        List<Path> temporaryFiles = new ArrayList<>();
+        try {
+            List<Path> runs = new ArrayList<>();
+            ArrayList<T> chunk = new ArrayList<>();
+            long chunkSize = 0;
+            while (input.hasNext()) {
+                T value = input.next();
+                chunk.add(value);
+                chunkSize += codec.encodedSize(value) + OBJECT_OVERHEAD;
+                if (chunkSize >= memoryBudget) {
+                    runs.add(spill(chunk, temporaryFiles));
+                    chunk.clear();
+                    chunkSize = 0;
+                }
+            }
+            // Everything fit in memory, so there is nothing to merge.
+            if (runs.isEmpty()) {
+                writeAll(new AdaptiveMergeSorter<>(chunk).sort().iterator(), output);
+                return;
+            }
+            if (!chunk.isEmpty()) runs.add(spill(chunk, temporaryFiles));
+            chunk = null;
+            runCount = runs.size();
+            // Merge groups of runs into longer runs until a single pass can produce the output.
+            while (runs.size() > mergeFactor) {
+                List<Path> mergedRuns = new ArrayList<>();
+                for (int from = 0; from < runs.size(); from += mergeFactor) {
+                    List<Path> group = runs.subList(from, Math.min(runs.size(), from + mergeFactor));
+                    Path mergedRun = createRunFile(temporaryFiles);
+                    mergedRuns.add(mergedRun);
+                    try (FileChannel channel = FileChannel.open(mergedRun, StandardOpenOption.WRITE)) {
+                        merge(group, channel);
+                    }
+                    for (Path run : group) Files.deleteIfExists(run);
+                }
+                runs = mergedRuns;
+            }
+            merge(runs, output);
+        }
+        finally {
+            for (Path file : temporaryFiles) Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Sorts a chunk in memory and writes it to a new run file.
+     * @param chunk values to be spilled.
+     * @param temporaryFiles list the new run file is recorded in.
+     * @return Path of the run file.
+     * @throws IOException if the run cannot be written.
+     */
+    private Path spill(ArrayList<T> chunk, List<Path> temporaryFiles) throws IOException {
+        Path run = createRunFile(temporaryFiles);
+        try (FileChannel channel = FileChannel.open(run, StandardOpenOption.WRITE)) {
+            writeAll(new AdaptiveMergeSorter<>(chunk).sort().iterator(), channel);
+        }
+        return run;
+    }
+
+    private Path createRunFile(List<Path> temporaryFiles) throws IOException {
+        Path run = (tempDirectory == null) ? Files.createTempFile("run", ".bin") : Files.createTempFile(tempDirectory, "run", ".bin");
+        temporaryFiles.add(run);
+        return run;
+    }
+
+    private void writeAll(Iterator<T> values, WritableByteChannel channel) throws IOException {
+        RecordWriter<T> writer = new RecordWriter<>(channel, codec);
+        while (values.hasNext()) writer.write(values.next());
+        writer.flush();
+    }
+
+    /**
+     * Performs a k-way merge of sorted run files. The heap holds one reader per run ordered by its current value,
+     * with ties going to the earlier run so the merge is stable.
+     * @param runs run files to be merged, in the order they were produced.
+     * @param output channel to write merged records to.
+     * @throws IOException if reading or writing fails.
+     */
+    private void merge(List<Path> runs, WritableByteChannel output) throws IOException {
+        mergePassCount++;
+        PriorityQueue<RunCursor<T>> heap = new PriorityQueue<>(runs.size());
+        // Every reader opened, including those polled from the heap or already exhausted, so all are closed.
+        List<RecordReader<T>> readers = new ArrayList<>(runs.size());
+        Throwable failure = null;
+        try {
+            for (int i = 0; i < runs.size(); i++) {
+                RecordReader<T> reader = new RecordReader<>(FileChannel.open(runs.get(i), StandardOpenOption.READ), codec);
+                readers.add(reader);
+                RunCursor<T> cursor = new RunCursor<>(reader, i);
+                if (cursor.advance()) heap.add(cursor);
+                else reader.close();
+            }
+            RecordWriter<T> writer = new RecordWriter<>(output, codec);
+            while (!heap.isEmpty()) {
+                RunCursor<T> cursor = heap.poll();
+                writer.write(cursor.current);
+                // Closing an exhausted run early releases its file. Closing it again at the end does nothing.
+                if (cursor.advance()) heap.add(cursor);
+                else cursor.reader.close();
+            }
+            writer.flush();
+        }
+        catch (UncheckedIOException e) {
+            failure = e.getCause();
+            throw e.getCause();
+        }
+        catch (IOException | RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        }
+        finally {
+            closeAll(readers, failure);
+        }
+    }
+
+    /**
+     * Closes every reader, even when some fail to close. Failures to close are added to the failure that ended
+     * the merge, if any, so they do not hide it. Otherwise the first is thrown once all have been closed.
+     * @param readers readers to close.
+     * @param failure exception the merge is ending with, or null if it succeeded.
+     * @throws IOException if a reader fails to close and the merge succeeded.
+     */
+    private static void closeAll(List<? extends Closeable> readers, Throwable failure) throws IOException {
+        IOException closeFailure = null;
+        for (Closeable reader : readers) {
+            try {
+                reader.close();
+            }
+            catch (IOException e) {
+                if (failure != null) failure.addSuppressed(e);
+                else if (closeFailure == null) closeFailure = e;
+                else closeFailure.addSuppressed(e);
+            }
+        }
+        if (closeFailure != null) throw closeFailure;
+    }
+
+    /**
+     * Head of a run during a merge.
+     */
+    private static class RunCursor<T extends Comparable<? super T>> implements Comparable<RunCursor<T>> {
+        final RecordReader<T> reader;
+        final int runIndex;
+        T current;
+
+        RunCursor(RecordReader<T> reader, int runIndex) {
+            this.reader = reader;
+            this.runIndex = runIndex;
+        }
+
+        boolean advance() {
+            if (!reader.hasNext()) return false;
+            current = reader.next();
+            return true;
+        }
+
+        @Override
+        public int compareTo(RunCursor<T> other) {
+            int comparison = current.compareTo(other.current);
+            return (comparison != 0) ? comparison : Integer.compare(runIndex, other.runIndex);
+        }
+    }
+
+    /**
+     * Writes values to a channel in the record format through a direct buffer.
+     * @param <T> Type of value written.
+     */
+    public static class RecordWriter<T> implements Closeable {
+        private final WritableByteChannel channel;
+        private final RecordCodec<T> codec;
+        private final int fixedSize;
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+
+        public RecordWriter(WritableByteChannel channel, RecordCodec<T> codec) {
+            this.channel = channel;
+            this.codec = codec;
+            this.fixedSize = codec.fixedSize();
+        }
+
+        /**
+         * Appends a value, writing the buffer out to the channel when it fills.
+         * @param value value to be written.
+         * @throws IOException if writing fails.
+         */
+        public void write(T value) throws IOException {
+            int size = (fixedSize >= 0) ? fixedSize : codec.encodedSize(value);
+            int recordSize = (fixedSize >= 0) ? size : Integer.BYTES + size;
+            if (buffer.remaining() < recordSize) {
+                flush();
+                // A record larger than the buffer gets a buffer of its own size.
+                if (buffer.capacity() < recordSize) buffer = ByteBuffer.allocateDirect(recordSize);
+            }
+            if (fixedSize < 0) buffer.putInt(size);
+            codec.encode(value, buffer);
+        }
+
+        /**
+         * Writes any buffered records out to the channel.
+         * @throws IOException if writing fails.
+         */
+        public void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        /**
+         * Flushes and closes the channel.
+         * @throws IOException if writing or closing fails.
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            }
+            finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Reads values from a channel in the record format through a direct buffer.
+     * I/O failures while iterating are rethrown as UncheckedIOException.
+     * @param <T> Type of value read.
+     */
+    public static class RecordReader<T> implements Iterator<T>, Closeable {
+        private final ReadableByteChannel channel;
+        private final RecordCodec<T> codec;
+        private final int fixedSize;
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+        private boolean endOfChannel = false;
+
+        public RecordReader(ReadableByteChannel channel, RecordCodec<T> codec) {
+            this.channel = channel;
+            this.codec = codec;
+            this.fixedSize = codec.fixedSize();
+            // Start with an empty buffer ready to be read from.
+            buffer.flip();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return fill(1);
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            int size = fixedSize;
+            if (size < 0) {
+                require(Integer.BYTES);
+                size = buffer.getInt();
+            }
+            require(size);
+            int end = buffer.position() + size;
+            T value = codec.decode(buffer, size);
+            if (buffer.position() != end) throw new IllegalStateException("Codec did not consume the encoded value");
+            return value;
+        }
+
+        /**
+         * Ensures a record's bytes are buffered, failing if the channel ends part way through.
+         */
+        private void require(int bytes) {
+            if (!fill(bytes)) throw new IllegalStateException("Record file ends part way through a record");
+        }
+
+        /**
+         * Reads from the channel until at least the given count of bytes is buffered or the channel ends.
+         * @param bytes count of bytes required.
+         * @return True if the bytes are available.
+         */
+        private boolean fill(int bytes) {
+            if (buffer.remaining() >= bytes) return true;
+            if (buffer.capacity() < bytes) {
+                ByteBuffer larger = ByteBuffer.allocateDirect(bytes);
+                larger.put(buffer);
+                buffer = larger;
+            }
+            else {
+                buffer.compact();
+            }
+            try {
+                while (buffer.position() < bytes && !endOfChannel) {
+                    if (channel.read(buffer) < 0) endOfChannel = true;
+                }
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            finally {
+                buffer.flip();
+            }
+            return buffer.remaining() >= bytes;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -3,24 +3,79 @@ package com.algorithms.sort;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.Function;
 
+import lombok.Setter;
 
 /**
  * Time Complexity: O(N^2). Runs best on nearly sorted datasets.
  * Insertion sort works by starting at the second value (as the first is trivially sorted) and maintaining
  * list to the left of the outer index that is sorted. On each iteration it takes the current value and
  * places it in sorted position within the sub-list to the left of the outer index.
+ * Static entry points sort int, long and double arrays in place without boxing or allocation.
+ * Sorts of the class data report each comparison, swap and pass to an attached SortListener, such as SortMetrics,
+ * and are reported to Flight Recorder as SortEvents. With no listener attached they make no calls.
+ * For data that arrives over time, SortedBuffer keeps it sorted without sorting it again on every arrival.
+ * Values are ordered by a Comparator, or by their natural ordering when none is given. A sorter constructed with a
+ * key extractor computes each value's key once per sort, rather than twice on each of the O(N^2) comparisons.
  */
-public class InsertionSorter <T extends Comparable<? super T>>{
+public class InsertionSorter <T>{
 
     ArrayList<T> data;
+    // Order of the values.
+    private final Comparator<? super T> comparator;
+    // Caches the key of each value for the sort, or null to compare the values themselves.
+    private final KeyedSorter.KeyOrder<T> keyOrder;
+    /**
+     * Listener notified of the operations of each sort, or null to notify nothing.
+     */
+    @Setter
+    private SortListener listener;
 
     public InsertionSorter(T[] data) {
-        this.data = new ArrayList<>(Arrays.asList(data));
+        this(new ArrayList<>(Arrays.asList(data)));
     }
 
     public InsertionSorter(ArrayList<T> data) {
+        this(data, (Comparator<? super T>) null);
+    }
+
+    public InsertionSorter(T[] data, Comparator<? super T> comparator) {
+        this(new ArrayList<>(Arrays.asList(data)), comparator);
+    }
+
+    /**
+     * Constructs a sorter ordering the data with a comparator.
+     * @param data list to be sorted in place.
+     * @param comparator order of the values, or null for their natural ordering.
+     */
+    public InsertionSorter(ArrayList<T> data, Comparator<? super T> comparator) {
+        this(data, comparator != null ? comparator : KeyedSorter.naturalOrder(), null);
+    }
+
+    public <K extends Comparable<? super K>> InsertionSorter(T[] data,
+                                                             Function<? super T, ? extends K> keyExtractor) {
+        this(new ArrayList<>(Arrays.asList(data)), keyExtractor);
+    }
+
+    /**
+     * Constructs a sorter ordering the data by the natural ordering of a key. Keys are computed once per value
+     * on each sort rather than on every comparison.
+     * @param data list to be sorted in place.
+     * @param keyExtractor function computing the key of each value.
+     * @param <K> Comparable key type.
+     */
+    public <K extends Comparable<? super K>> InsertionSorter(ArrayList<T> data,
+                                                             Function<? super T, ? extends K> keyExtractor) {
+        this(data, null, KeyedSorter.keyOrder(keyExtractor, null));
+    }
+
+    private InsertionSorter(ArrayList<T> data, Comparator<? super T> comparator, KeyedSorter.KeyOrder<T> keyOrder) {
         this.data = data;
+        this.comparator = comparator;
+        this.keyOrder = keyOrder;
     }
 
     /**
@@ -30,11 +85,26 @@ public class InsertionSorter <T extends Comparable<? super T>>{
      * @return Data sorted as an ArrayList<T>
      */
     public ArrayList<T> sort() {
+        if (keyOrder != null && this.data.size() > 1) {
+            // Sort the values paired with their keys, computed once, then write them back in key order.
+            InsertionSorter<KeyedSorter.Keyed<T>> sorter =
+                    new InsertionSorter<>(keyOrder.decorate(this.data), keyOrder.comparator());
+            sorter.listener = this.listener;
+            keyOrder.undecorate(sorter.sort(), this.data);
+            return this.data;
+        }
+        SortListener listener = SortEvent.listen("InsertionSorter", this.listener);
+        if (listener != null) listener.sortStarted(this.data.size());
         for (int outerIndex = 1; outerIndex < this.data.size(); outerIndex++) {
-            for (int innerIndex = outerIndex; innerIndex > 0 && this.isLess(innerIndex, innerIndex-1); innerIndex--) {
+            for (int innerIndex = outerIndex; innerIndex > 0; innerIndex--) {
+                if (listener != null) listener.compared(innerIndex, innerIndex-1);
+                if (!this.isLess(innerIndex, innerIndex-1)) break;
                 Collections.swap(this.data, innerIndex, innerIndex-1);
+                if (listener != null) listener.swapped(innerIndex, innerIndex-1);
             }
+            if (listener != null) listener.passCompleted();
         }
+        if (listener != null) listener.sortFinished();
         return this.data;
     }
 
@@ -45,7 +115,133 @@ public class InsertionSorter <T extends Comparable<? super T>>{
      * @return boolean indicating comparison result.
      */
     private boolean isLess(int index, int compareIndex) {
-        return this.data.get(index).compareTo(this.data.get(compareIndex)) < 0;
+        return comparator.compare(this.data.get(index), this.data.get(compareIndex)) < 0;
+    }
+
+    /**
+     * Performs insertion sort on a range of an array in place. Used to finish small partitions
+     * for the divide and conquer sorters, where insertion sort beats further splitting.
+     * @param data array to be sorted.
+     * @param fromIndex first index of the range, inclusive.
+     * @param toIndex last index of the range, exclusive.
+     * @param <E> Comparable type.
+     * @throws IndexOutOfBoundsException if the range is outside the array.
+     */
+    public static <E extends Comparable<? super E>> void sort(E[] data, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, data.length);
+        for (int outerIndex = fromIndex + 1; outerIndex < toIndex; outerIndex++) {
+            E value = data[outerIndex];
+            int innerIndex = outerIndex;
+            for (; innerIndex > fromIndex && value.compareTo(data[innerIndex-1]) < 0; innerIndex--) {
+                data[innerIndex] = data[innerIndex-1];
+            }
+            data[innerIndex] = value;
+        }
+    }
+
+    /**
+     * Performs insertion sort on a range of an array in place, in the order of a comparator.
+     * @param data array to be sorted.
+     * @param fromIndex first index of the range, inclusive.
+     * @param toIndex last index of the range, exclusive.
+     * @param comparator order of the values.
+     * @param <E> element type.
+     * @throws IndexOutOfBoundsException if the range is outside the array.
+     */
+    public static <E> void sort(E[] data, int fromIndex, int toIndex, Comparator<? super E> comparator) {
+        Objects.checkFromToIndex(fromIndex, toIndex, data.length);
+        for (int outerIndex = fromIndex + 1; outerIndex < toIndex; outerIndex++) {
+            E value = data[outerIndex];
+            int innerIndex = outerIndex;
+            for (; innerIndex > fromIndex && comparator.compare(value, data[innerIndex-1]) < 0; innerIndex--) {
+                data[innerIndex] = data[innerIndex-1];
+            }
+            data[innerIndex] = value;
+        }
+    }
+
+    /**
+     * Performs insertion sort on an int array in place.
+     * @param data array to be sorted.
+     */
+    public static void sort(int[] data) {
+        sort(data, 0, data.length);
+    }
+
+    /**
+     * Performs insertion sort on a range of an int array in place. Rather than swapping neighbors, the
+     * value being placed is held aside while larger values are shifted one position to the right.
+     * @param data array to be sorted.
+     * @param fromIndex first index of the range, inclusive.
+     * @param toIndex last index of the range, exclusive.
+     * @throws IndexOutOfBoundsException if the range is outside the array.
+     */
+    public static void sort(int[] data, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, data.length);
+        for (int outerIndex = fromIndex + 1; outerIndex < toIndex; outerIndex++) {
+            int value = data[outerIndex];
+            int innerIndex = outerIndex;
+            for (; innerIndex > fromIndex && value < data[innerIndex-1]; innerIndex--) {
+                data[innerIndex] = data[innerIndex-1];
+            }
+            data[innerIndex] = value;
+        }
+    }
+
+    /**
+     * Performs insertion sort on a long array in place.
+     * @param data array to be sorted.
+     */
+    public static void sort(long[] data) {
+        sort(data, 0, data.length);
+    }
+
+    /**
+     * Performs insertion sort on a range of a long array in place. Rather than swapping neighbors, the
+     * value being placed is held aside while larger values are shifted one position to the right.
+     * @param data array to be sorted.
+     * @param fromIndex first index of the range, inclusive.
+     * @param toIndex last index of the range, exclusive.
+     * @throws IndexOutOfBoundsException if the range is outside the array.
+     */
+    public static void sort(long[] data, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, data.length);
+        for (int outerIndex = fromIndex + 1; outerIndex < toIndex; outerIndex++) {
+            long value = data[outerIndex];
+            int innerIndex = outerIndex;
+            for (; innerIndex > fromIndex && value < data[innerIndex-1]; innerIndex--) {
+                data[innerIndex] = data[innerIndex-1];
+            }
+            data[innerIndex] = value;
+        }
+    }
+
+    /**
+     * Performs insertion sort on a double array in place.
+     * @param data array to be sorted.
+     */
+    public static void sort(double[] data) {
+        sort(data, 0, data.length);
+    }
+
+    /**
+     * Performs insertion sort on a range of a double array in place. Values are ordered as by
+     * Double.compare, so -0.0 sorts before 0.0 and NaN sorts after every other value.
+     * @param data array to be sorted.
+     * @param fromIndex first index of the range, inclusive.
+     * @param toIndex last index of the range, exclusive.
+     * @throws IndexOutOfBoundsException if the range is outside the array.
+     */
+    public static void sort(double[] data, int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, data.length);
+        for (int outerIndex = fromIndex + 1; outerIndex < toIndex; outerIndex++) {
+            double value = data[outerIndex];
+            int innerIndex = outerIndex;
+            for (; innerIndex > fromIndex && Double.compare(value, data[innerIndex-1]) < 0; innerIndex--) {
+                data[innerIndex] = data[innerIndex-1];
+            }
+            data[innerIndex] = value;
+        }
     }
 
 }
@@ -0,0 +1,174 @@
+package com.algorithms.sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Time Complexity: O(n) key computations and O(n log n) comparisons of the keys.
+ * Sorts objects by a key derived from each of them, computing every key exactly once. Sorting with
+ * Comparator.comparing(keyExtractor) computes both keys again on every comparison, so an expensive key, such as a
+ * parsed timestamp or a normalized string, is computed O(n log n) times, or O(n^2) times under insertion sort.
+ * Here each object is paired with its key (decorate), the pairs are sorted on the cached keys with
+ * AdaptiveMergeSorter (sort), and the objects are written back in key order (undecorate). The sort is stable.
+ * Primitive keys avoid the pairs and comparisons altogether: RadixSorter.sortByIntKey, sortByLongKey and
+ * sortByDoubleKey also compute each key once, then radix sort the keys with the objects alongside.
+ * The key extractor constructors of the sorters decorate their data the same way.
+ */
+public class KeyedSorter {
+
+    // Comparator.naturalOrder() is a singleton, so trees and sorters using it compare equal.
+    private static final Comparator<Comparable<Object>> NATURAL_ORDER = Comparator.naturalOrder();
+
+    private KeyedSorter() {
+    }
+
+    /**
+     * Sorts objects by the natural ordering of a key. The key is extracted once per object.
+     * @param data array to be sorted in place.
+     * @param keyExtractor function computing the key of each object.
+     * @param <T> Object type.
+     * @param <K> Comparable key type.
+     */
+    public static <T, K extends Comparable<? super K>> void sortByKey(T[] data,
+                                                                      Function<? super T, ? extends K> keyExtractor) {
+        sortByKey(data, keyExtractor, null);
+    }
+
+    /**
+     * Sorts objects by a key in the order of a comparator. The key is extracted once per object.
+     * @param data array to be sorted in place.
+     * @param keyExtractor function computing the key of each object.
+     * @param keyComparator order of the keys, or null for their natural ordering.
+     * @param <T> Object type.
+     * @param <K> Key type.
+     */
+    public static <T, K> void sortByKey(T[] data, Function<? super T, ? extends K> keyExtractor,
+                                        Comparator<? super K> keyComparator) {
+        sort(Arrays.asList(data), keyOrder(keyExtractor, keyComparator));
+    }
+
+    /**
+     * Sorts a list by the natural ordering of a key. The key is extracted once per element.
+     * @param data list to be sorted in place.
+     * @param keyExtractor function computing the key of each element.
+     * @param <T> Element type.
+     * @param <K> Comparable key type.
+     * @return The sorted list.
+     */
+    public static <T, K extends Comparable<? super K>> ArrayList<T> sortByKey(
+            ArrayList<T> data, Function<? super T, ? extends K> keyExtractor) {
+        return sortByKey(data, keyExtractor, null);
+    }
+
+    /**
+     * Sorts a list by a key in the order of a comparator. The key is extracted once per element.
+     * @param data list to be sorted in place.
+     * @param keyExtractor function computing the key of each element.
+     * @param keyComparator order of the keys, or null for their natural ordering.
+     * @param <T> Element type.
+     * @param <K> Key type.
+     * @return The sorted list.
+     */
+    public static <T, K> ArrayList<T> sortByKey(ArrayList<T> data, Function<? super T, ? extends K> keyExtractor,
+                                                Comparator<? super K> keyComparator) {
+        sort(data, keyOrder(keyExtractor, keyComparator));
+        return data;
+    }
+
+    private static <T> void sort(List<T> data, KeyOrder<T> keyOrder) {
+        if (data.size() < 2) return;
+        ArrayList<Keyed<T>> keyed = keyOrder.decorate(data);
+        keyOrder.undecorate(new AdaptiveMergeSorter<>(keyed, keyOrder.comparator()).sort(), data);
+    }
+
+    /**
+     * Provides the natural ordering as a comparator of any type, for sorters whose values are not known to be
+     * Comparable at compile time. Comparing values that are not Comparable throws ClassCastException.
+     * @param <T> value type.
+     * @return The natural ordering.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Comparator<? super T> naturalOrder() {
+        return (Comparator<? super T>) (Comparator<?>) NATURAL_ORDER;
+    }
+
+    /**
+     * Creates the decoration for sorting by a key.
+     * @param keyExtractor function computing the key of each value.
+     * @param keyComparator order of the keys, or null for their natural ordering.
+     * @param <T> value type.
+     * @param <K> key type.
+     * @return The key order.
+     */
+    static <T, K> KeyOrder<T> keyOrder(Function<? super T, ? extends K> keyExtractor,
+                                       Comparator<? super K> keyComparator) {
+        Comparator<? super K> order = keyComparator != null ? keyComparator : naturalOrder();
+        @SuppressWarnings("unchecked")
+        Comparator<Keyed<T>> comparator = (first, second) -> order.compare((K) first.key, (K) second.key);
+        return new KeyOrder<>(keyExtractor, comparator);
+    }
+
+    /**
+     * A value paired with its key. Prints as the value, so a renderer attached to a keyed sort shows the values.
+     * @param <T> value type.
+     */
+    static final class Keyed<T> {
+        final Object key;
+        final T value;
+
+        Keyed(Object key, T value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(value);
+        }
+    }
+
+    /**
+     * Decorates values with their keys and orders the pairs by key.
+     * @param <T> value type.
+     */
+    static final class KeyOrder<T> {
+        private final Function<? super T, ?> keyExtractor;
+        private final Comparator<Keyed<T>> comparator;
+
+        private KeyOrder(Function<? super T, ?> keyExtractor, Comparator<Keyed<T>> comparator) {
+            this.keyExtractor = keyExtractor;
+            this.comparator = comparator;
+        }
+
+        /**
+         * Pairs each value with its key, computing the keys in order.
+         * @param values values to decorate.
+         * @return The pairs, in the order of the values.
+         */
+        ArrayList<Keyed<T>> decorate(List<? extends T> values) {
+            ArrayList<Keyed<T>> keyed = new ArrayList<>(values.size());
+            for (T value : values) keyed.add(new Keyed<>(keyExtractor.apply(value), value));
+            return keyed;
+        }
+
+        /**
+         * Order of the pairs by their keys.
+         * @return The comparator.
+         */
+        Comparator<Keyed<T>> comparator() {
+            return comparator;
+        }
+
+        /**
+         * Writes the values of sorted pairs back over the original data.
+         * @param sorted pairs in sorted order.
+         * @param target list of the same size to receive the values.
+         */
+        void undecorate(List<Keyed<T>> sorted, List<T> target) {
+            for (int i = 0; i < sorted.size(); i++) target.set(i, sorted.get(i).value);
+        }
+    }
+}
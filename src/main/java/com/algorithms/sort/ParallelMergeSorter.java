@@ -0,0 +1,277 @@
+package com.algorithms.sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Time Complexity: O(n log n) work, O(log^2 n) span.
+ * Parallel merge sort splits the data in half recursively, sorts both halves concurrently on a ForkJoinPool
+ * and merges them. Partitions at or below the threshold are finished with insertion sort, which is faster
+ * than splitting further on small inputs. The merge is itself parallel: the larger run is split at its
+ * middle element, the matching split point in the other run is found by binary search, and both halves are
+ * merged concurrently. Without this the final merges would run on a single thread and cap the speedup.
+ * The sort is stable. Values are ordered by a Comparator, or by their natural ordering when none is given. A sorter
+ * constructed with a key extractor computes each value's key once per sort and merges on the cached keys.
+ */
+public class ParallelMergeSorter<T> {
+
+    // Partitions of this size or smaller are sorted with insertion sort by default.
+    public static final int DEFAULT_THRESHOLD = 32;
+    // Below this size work stays on the current thread, as forking costs more than it saves.
+    private static final int MIN_PARALLEL_SIZE = 1 << 13;
+
+    ArrayList<T> data;
+    int threshold;
+    ForkJoinPool pool;
+    // Order of the values.
+    private final Comparator<? super T> comparator;
+    // Caches the key of each value for the sort, or null to compare the values themselves.
+    private final KeyedSorter.KeyOrder<T> keyOrder;
+
+    public ParallelMergeSorter(T[] data) {
+        this(new ArrayList<>(Arrays.asList(data)));
+    }
+
+    public ParallelMergeSorter(ArrayList<T> data) {
+        this(data, DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    public ParallelMergeSorter(T[] data, int threshold, ForkJoinPool pool) {
+        this(new ArrayList<>(Arrays.asList(data)), threshold, pool);
+    }
+
+    /**
+     * Constructs a sorter over the given data.
+     * @param data list to be sorted in place.
+     * @param threshold partition size at or below which insertion sort is used.
+     * @param pool ForkJoinPool to run the sort on.
+     * @throws IllegalArgumentException if the threshold is less than 1.
+     */
+    public ParallelMergeSorter(ArrayList<T> data, int threshold, ForkJoinPool pool) throws IllegalArgumentException {
+        this(data, (Comparator<? super T>) null, threshold, pool);
+    }
+
+    public ParallelMergeSorter(ArrayList<T> data, Comparator<? super T> comparator) {
+        this(data, comparator, DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a sorter ordering the data with a comparator.
+     * @param data list to be sorted in place.
+     * @param comparator order of the values, or null for their natural ordering.
+     * @param threshold partition size at or below which insertion sort is used.
+     * @param pool ForkJoinPool to run the sort on.
+     * @throws IllegalArgumentException if the threshold is less than 1.
+     */
+    public ParallelMergeSorter(ArrayList<T> data, Comparator<? super T> comparator, int threshold, ForkJoinPool pool)
+            throws IllegalArgumentException {
+        this(data, comparator != null ? comparator : KeyedSorter.naturalOrder(), null, threshold, pool);
+    }
+
+    public <K extends Comparable<? super K>> ParallelMergeSorter(ArrayList<T> data,
+                                                                 Function<? super T, ? extends K> keyExtractor) {
+        this(data, keyExtractor, DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a sorter ordering the data by the natural ordering of a key. Keys are computed once per value
+     * on each sort rather than on every comparison.
+     * @param data list to be sorted in place.
+     * @param keyExtractor function computing the key of each value.
+     * @param threshold partition size at or below which insertion sort is used.
+     * @param pool ForkJoinPool to run the sort on.
+     * @param <K> Comparable key type.
+     * @throws IllegalArgumentException if the threshold is less than 1.
+     */
+    public <K extends Comparable<? super K>> ParallelMergeSorter(ArrayList<T> data,
+                                                                 Function<? super T, ? extends K> keyExtractor,
+                                                                 int threshold, ForkJoinPool pool)
+            throws IllegalArgumentException {
+        this(data, null, KeyedSorter.keyOrder(keyExtractor, null), threshold, pool);
+    }
+
+    private ParallelMergeSorter(ArrayList<T> data, Comparator<? super T> comparator, KeyedSorter.KeyOrder<T> keyOrder,
+                                int threshold, ForkJoinPool pool) throws IllegalArgumentException {
+        if (threshold < 1) throw new IllegalArgumentException("Threshold must be at least 1");
+        this.data = data;
+        this.comparator = comparator;
+        this.keyOrder = keyOrder;
+        this.threshold = threshold;
+        this.pool = pool;
+    }
+
+    /**
+     * Performs parallel merge sort on the class data.
+     * @return ArrayList in sorted order as indicated by comparator.
+     */
+    @SuppressWarnings("unchecked")
+    public ArrayList<T> sort() {
+        // No values to sort or list trivially sorted by nature of having 1 element.
+        if (data == null || data.size() < 2) return data;
+        if (keyOrder != null) {
+            // Sort the values paired with their keys, computed once, then write them back in key order.
+            keyOrder.undecorate(new ParallelMergeSorter<>(keyOrder.decorate(data), keyOrder.comparator(), threshold,
+                    pool).sort(), data);
+            return data;
+        }
+        // T erases to Object, so an Object array can stand in for T[].
+        T[] values = data.toArray((T[]) new Object[0]);
+        T[] buffer = (T[]) new Object[values.length];
+        // Large inputs are split finely enough to keep every worker busy, small ones are not split at all.
+        int parallelSize = Math.max(MIN_PARALLEL_SIZE, values.length / (pool.getParallelism() << 2));
+        pool.invoke(new SortTask(values, buffer, 0, values.length, false, parallelSize));
+        for (int i = 0; i < values.length; i++) data.set(i, values[i]);
+        return data;
+    }
+
+    /**
+     * Sorts a range of the values array, leaving the result in either the values array or the buffer.
+     * The two arrays alternate roles at each level of the recursion so every merge reads from one
+     * and writes to the other without an extra copy.
+     */
+    private class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final T[] values;
+        final T[] buffer;
+        final int fromIndex;
+        final int toIndex;
+        final boolean intoBuffer;
+        final int parallelSize;
+
+        SortTask(T[] values, T[] buffer, int fromIndex, int toIndex, boolean intoBuffer, int parallelSize) {
+            this.values = values;
+            this.buffer = buffer;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.intoBuffer = intoBuffer;
+            this.parallelSize = parallelSize;
+        }
+
+        @Override
+        protected void compute() {
+            int length = toIndex - fromIndex;
+            // Leaf partitions are sorted in place and copied over if the caller expects them in the buffer.
+            if (length <= threshold) {
+                InsertionSorter.sort(values, fromIndex, toIndex, comparator);
+                if (intoBuffer) System.arraycopy(values, fromIndex, buffer, fromIndex, length);
+                return;
+            }
+            int middle = (fromIndex + toIndex) >>> 1;
+            // Halves are sorted into the opposite array so they can be merged into the requested one.
+            SortTask left = new SortTask(values, buffer, fromIndex, middle, !intoBuffer, parallelSize);
+            SortTask right = new SortTask(values, buffer, middle, toIndex, !intoBuffer, parallelSize);
+            T[] source = intoBuffer ? values : buffer;
+            T[] destination = intoBuffer ? buffer : values;
+            MergeTask merge = new MergeTask(source, fromIndex, middle, middle, toIndex, destination, fromIndex, parallelSize);
+            if (length > parallelSize) {
+                invokeAll(left, right);
+                merge.invoke();
+            }
+            else {
+                left.compute();
+                right.compute();
+                merge.compute();
+            }
+        }
+    }
+
+    /**
+     * Merges two adjacent sorted runs of the source array into the destination array.
+     */
+    private class MergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final T[] source;
+        final int leftFrom;
+        final int leftTo;
+        final int rightFrom;
+        final int rightTo;
+        final T[] destination;
+        final int destinationFrom;
+        final int parallelSize;
+
+        MergeTask(T[] source, int leftFrom, int leftTo, int rightFrom, int rightTo,
+                  T[] destination, int destinationFrom, int parallelSize) {
+            this.source = source;
+            this.leftFrom = leftFrom;
+            this.leftTo = leftTo;
+            this.rightFrom = rightFrom;
+            this.rightTo = rightTo;
+            this.destination = destination;
+            this.destinationFrom = destinationFrom;
+            this.parallelSize = parallelSize;
+        }
+
+        @Override
+        protected void compute() {
+            int leftLength = leftTo - leftFrom;
+            int rightLength = rightTo - rightFrom;
+            if (leftLength + rightLength <= parallelSize) {
+                mergeSequentially();
+                return;
+            }
+            // Split the larger run at its middle and find where that value belongs in the smaller run.
+            // Equal values from the left run must stay ahead of those from the right run to keep the sort stable.
+            int leftSplit;
+            int rightSplit;
+            if (leftLength >= rightLength) {
+                leftSplit = (leftFrom + leftTo) >>> 1;
+                rightSplit = lowerBound(source, rightFrom, rightTo, source[leftSplit], comparator);
+            }
+            else {
+                rightSplit = (rightFrom + rightTo) >>> 1;
+                leftSplit = upperBound(source, leftFrom, leftTo, source[rightSplit], comparator);
+            }
+            int destinationSplit = destinationFrom + (leftSplit - leftFrom) + (rightSplit - rightFrom);
+            invokeAll(
+                    new MergeTask(source, leftFrom, leftSplit, rightFrom, rightSplit, destination, destinationFrom, parallelSize),
+                    new MergeTask(source, leftSplit, leftTo, rightSplit, rightTo, destination, destinationSplit, parallelSize));
+        }
+
+        /**
+         * Standard two way merge taking from the left run on ties.
+         */
+        private void mergeSequentially() {
+            int left = leftFrom;
+            int right = rightFrom;
+            int output = destinationFrom;
+            while (left < leftTo && right < rightTo) {
+                destination[output++] = (comparator.compare(source[right], source[left]) < 0) ? source[right++] : source[left++];
+            }
+            System.arraycopy(source, left, destination, output, leftTo - left);
+            output += leftTo - left;
+            System.arraycopy(source, right, destination, output, rightTo - right);
+        }
+    }
+
+    /**
+     * Finds the first index in a sorted range holding a value not less than the key.
+     * @return Index in [fromIndex, toIndex].
+     */
+    private static <E> int lowerBound(E[] values, int fromIndex, int toIndex, E key, Comparator<? super E> order) {
+        while (fromIndex < toIndex) {
+            int middle = (fromIndex + toIndex) >>> 1;
+            if (order.compare(values[middle], key) < 0) fromIndex = middle + 1;
+            else toIndex = middle;
+        }
+        return fromIndex;
+    }
+
+    /**
+     * Finds the first index in a sorted range holding a value greater than the key.
+     * @return Index in [fromIndex, toIndex].
+     */
+    private static <E> int upperBound(E[] values, int fromIndex, int toIndex, E key, Comparator<? super E> order) {
+        while (fromIndex < toIndex) {
+            int middle = (fromIndex + toIndex) >>> 1;
+            if (order.compare(values[middle], key) <= 0) fromIndex = middle + 1;
+            else toIndex = middle;
+        }
+        return fromIndex;
+    }
+}
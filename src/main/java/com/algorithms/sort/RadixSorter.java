@@ -0,0 +1,399 @@
+package com.algorithms.sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Time Complexity: O(w * n) for keys of w digits.
+ * Radix sorts order values by the digits of their keys instead of comparing them, so the cost grows linearly
+ * with the input. Integer keys are sorted least significant digit first (LSD): one stable counting sort per
+ * byte, with the sign bit flipped on the top byte so negative values order before positive ones. Passes where
+ * every key has the same byte are skipped. String keys are sorted most significant digit first (MSD): values are
+ * bucketed by their leading character and each bucket is sorted on the next character. Each UTF-16 character
+ * is treated as two byte-sized digits, which gives the same order as String.compareTo.
+ * The keyed variants compute each key once and sort objects by it. Double keys are mapped to longs in the same
+ * order. KeyedSorter does the same for keys of any Comparable type. All sorts are stable.
+ */
+public class RadixSorter {
+
+    // Bits per digit and the resulting count of buckets per pass.
+    private static final int DIGIT_BITS = 8;
+    private static final int RADIX = 1 << DIGIT_BITS;
+    private static final int DIGIT_MASK = RADIX - 1;
+    // Arrays of primitives up to this size are sorted with insertion sort, which beats the counting passes.
+    private static final int INSERTION_THRESHOLD = 64;
+    // String buckets up to this size are finished with insertion sort rather than further bucketing.
+    private static final int STRING_INSERTION_THRESHOLD = 16;
+
+    private RadixSorter() {
+    }
+
+    /**
+     * Sorts an int array in place.
+     * @param data array to be sorted.
+     */
+    public static void sort(int[] data) {
+        if (data.length <= INSERTION_THRESHOLD) {
+            InsertionSorter.sort(data);
+            return;
+        }
+        sortIntKeys(data, null);
+    }
+
+    /**
+     * Sorts a long array in place.
+     * @param data array to be sorted.
+     */
+    public static void sort(long[] data) {
+        if (data.length <= INSERTION_THRESHOLD) {
+            InsertionSorter.sort(data);
+            return;
+        }
+        sortLongKeys(data, null);
+    }
+
+    /**
+     * Sorts a String array in place in the order defined by String.compareTo.
+     * @param data array to be sorted. Must not contain null.
+     */
+    public static void sort(String[] data) {
+        sortStringKeys(data, null);
+    }
+
+    /**
+     * Sorts objects by an int key. The key is extracted once per object.
+     * @param data array to be sorted in place.
+     * @param keyExtractor function computing the key of each object.
+     * @param <T> Object type.
+     */
+    public static <T> void sortByIntKey(T[] data, ToIntFunction<? super T> keyExtractor) {
+        int[] keys = new int[data.length];
+        for (int i = 0; i < data.length; i++) keys[i] = keyExtractor.applyAsInt(data[i]);
+        sortIntKeys(keys, data);
+    }
+
+    /**
+     * Sorts a list by an int key. The key is extracted once per element.
+     * @param data list to be sorted in place.
+     * @param keyExtractor function computing the key of each element.
+     * @param <T> Element type.
+     * @return The sorted list.
+     */
+    public static <T> ArrayList<T> sortByIntKey(ArrayList<T> data, ToIntFunction<? super T> keyExtractor) {
+        Object[] values = data.toArray();
+        int[] keys = new int[values.length];
+        for (int i = 0; i < values.length; i++) keys[i] = keyExtractor.applyAsInt(data.get(i));
+        sortIntKeys(keys, values);
+        return copyBack(values, data);
+    }
+
+    /**
+     * Sorts objects by a long key. The key is extracted once per object.
+     * @param data array to be sorted in place.
+     * @param keyExtractor function computing the key of each object.
+     * @param <T> Object type.
+     */
+    public static <T> void sortByLongKey(T[] data, ToLongFunction<? super T> keyExtractor) {
+        long[] keys = new long[data.length];
+        for (int i = 0; i < data.length; i++) keys[i] = keyExtractor.applyAsLong(data[i]);
+        sortLongKeys(keys, data);
+    }
+
+    /**
+     * Sorts a list by a long key. The key is extracted once per element.
+     * @param data list to be sorted in place.
+     * @param keyExtractor function computing the key of each element.
+     * @param <T> Element type.
+     * @return The sorted list.
+     */
+    public static <T> ArrayList<T> sortByLongKey(ArrayList<T> data, ToLongFunction<? super T> keyExtractor) {
+        Object[] values = data.toArray();
+        long[] keys = new long[values.length];
+        for (int i = 0; i < values.length; i++) keys[i] = keyExtractor.applyAsLong(data.get(i));
+        sortLongKeys(keys, values);
+        return copyBack(values, data);
+    }
+
+    /**
+     * Sorts objects by a double key. The key is extracted once per object. Keys are ordered as by Double.compare,
+     * so -0.0 sorts before 0.0 and NaN sorts after every other value.
+     * @param data array to be sorted in place.
+     * @param keyExtractor function computing the key of each object.
+     * @param <T> Object type.
+     */
+    public static <T> void sortByDoubleKey(T[] data, ToDoubleFunction<? super T> keyExtractor) {
+        long[] keys = new long[data.length];
+        for (int i = 0; i < data.length; i++) keys[i] = sortableBits(keyExtractor.applyAsDouble(data[i]));
+        sortLongKeys(keys, data);
+    }
+
+    /**
+     * Sorts a list by a double key. The key is extracted once per element. Keys are ordered as by Double.compare,
+     * so -0.0 sorts before 0.0 and NaN sorts after every other value.
+     * @param data list to be sorted in place.
+     * @param keyExtractor function computing the key of each element.
+     * @param <T> Element type.
+     * @return The sorted list.
+     */
+    public static <T> ArrayList<T> sortByDoubleKey(ArrayList<T> data, ToDoubleFunction<? super T> keyExtractor) {
+        Object[] values = data.toArray();
+        long[] keys = new long[values.length];
+        for (int i = 0; i < values.length; i++) keys[i] = sortableBits(keyExtractor.applyAsDouble(data.get(i)));
+        sortLongKeys(keys, values);
+        return copyBack(values, data);
+    }
+
+    /**
+     * Maps a double to a long whose signed order matches Double.compare. Negative values have every bit but the
+     * sign flipped, which reverses their order, and NaN is collapsed to its canonical form.
+     */
+    private static long sortableBits(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Sorts objects by a String key. The key is extracted once per object.
+     * @param data array to be sorted in place.
+     * @param keyExtractor function computing the key of each object. Must not return null.
+     * @param <T> Object type.
+     */
+    public static <T> void sortByStringKey(T[] data, Function<? super T, String> keyExtractor) {
+        String[] keys = new String[data.length];
+        for (int i = 0; i < data.length; i++) keys[i] = keyExtractor.apply(data[i]);
+        sortStringKeys(keys, data);
+    }
+
+    /**
+     * Sorts a list by a String key. The key is extracted once per element.
+     * @param data list to be sorted in place.
+     * @param keyExtractor function computing the key of each element. Must not return null.
+     * @param <T> Element type.
+     * @return The sorted list.
+     */
+    public static <T> ArrayList<T> sortByStringKey(ArrayList<T> data, Function<? super T, String> keyExtractor) {
+        Object[] values = data.toArray();
+        String[] keys = new String[values.length];
+        for (int i = 0; i < values.length; i++) keys[i] = keyExtractor.apply(data.get(i));
+        sortStringKeys(keys, values);
+        return copyBack(values, data);
+    }
+
+    /**
+     * Helper function to write sorted values back into the list they were taken from.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> ArrayList<T> copyBack(Object[] values, ArrayList<T> data) {
+        for (int i = 0; i < values.length; i++) data.set(i, (T) values[i]);
+        return data;
+    }
+
+    /**
+     * LSD radix sort of int keys, permuting the optional values alongside them.
+     * @param keys keys to be sorted.
+     * @param values values to be reordered with their keys, or null.
+     */
+    private static void sortIntKeys(int[] keys, Object[] values) {
+        int length = keys.length;
+        if (length < 2) return;
+        int passes = Integer.BYTES;
+        // Histograms for every pass are gathered in a single read of the keys.
+        int[][] counts = new int[passes][RADIX];
+        for (int key : keys) {
+            for (int pass = 0; pass < passes; pass++) counts[pass][intDigit(key, pass)]++;
+        }
+        int[] keySource = keys;
+        int[] keyTarget = new int[length];
+        Object[] valueSource = values;
+        Object[] valueTarget = (values == null) ? null : new Object[length];
+        for (int pass = 0; pass < passes; pass++) {
+            int[] count = counts[pass];
+            // Every key shares this digit, so the pass would not change the order.
+            if (count[intDigit(keySource[0], pass)] == length) continue;
+            toOffsets(count);
+            for (int i = 0; i < length; i++) {
+                int position = count[intDigit(keySource[i], pass)]++;
+                keyTarget[position] = keySource[i];
+                if (valueSource != null) valueTarget[position] = valueSource[i];
+            }
+            int[] keySwap = keySource;
+            keySource = keyTarget;
+            keyTarget = keySwap;
+            Object[] valueSwap = valueSource;
+            valueSource = valueTarget;
+            valueTarget = valueSwap;
+        }
+        // After an odd number of scattering passes the result sits in the scratch arrays.
+        if (keySource != keys) {
+            System.arraycopy(keySource, 0, keys, 0, length);
+            if (values != null) System.arraycopy(valueSource, 0, values, 0, length);
+        }
+    }
+
+    /**
+     * LSD radix sort of long keys, permuting the optional values alongside them.
+     * @param keys keys to be sorted.
+     * @param values values to be reordered with their keys, or null.
+     */
+    private static void sortLongKeys(long[] keys, Object[] values) {
+        int length = keys.length;
+        if (length < 2) return;
+        int passes = Long.BYTES;
+        // Histograms for every pass are gathered in a single read of the keys.
+        int[][] counts = new int[passes][RADIX];
+        for (long key : keys) {
+            for (int pass = 0; pass < passes; pass++) counts[pass][longDigit(key, pass)]++;
+        }
+        long[] keySource = keys;
+        long[] keyTarget = new long[length];
+        Object[] valueSource = values;
+        Object[] valueTarget = (values == null) ? null : new Object[length];
+        for (int pass = 0; pass < passes; pass++) {
+            int[] count = counts[pass];
+            // Every key shares this digit, so the pass would not change the order.
+            if (count[longDigit(keySource[0], pass)] == length) continue;
+            toOffsets(count);
+            for (int i = 0; i < length; i++) {
+                int position = count[longDigit(keySource[i], pass)]++;
+                keyTarget[position] = keySource[i];
+                if (valueSource != null) valueTarget[position] = valueSource[i];
+            }
+            long[] keySwap = keySource;
+            keySource = keyTarget;
+            keyTarget = keySwap;
+            Object[] valueSwap = valueSource;
+            valueSource = valueTarget;
+            valueTarget = valueSwap;
+        }
+        // After an odd number of scattering passes the result sits in the scratch arrays.
+        if (keySource != keys) {
+            System.arraycopy(keySource, 0, keys, 0, length);
+            if (values != null) System.arraycopy(valueSource, 0, values, 0, length);
+        }
+    }
+
+    /**
+     * Extracts a byte of an int key. The sign bit is flipped on the most significant byte so that
+     * negative keys, whose top bit is set, order before positive keys.
+     */
+    private static int intDigit(int key, int pass) {
+        int digit = (key >>> (pass * DIGIT_BITS)) & DIGIT_MASK;
+        return (pass == Integer.BYTES - 1) ? digit ^ (RADIX >>> 1) : digit;
+    }
+
+    /**
+     * Extracts a byte of a long key, flipping the sign bit on the most significant byte.
+     */
+    private static int longDigit(long key, int pass) {
+        int digit = (int) (key >>> (pass * DIGIT_BITS)) & DIGIT_MASK;
+        return (pass == Long.BYTES - 1) ? digit ^ (RADIX >>> 1) : digit;
+    }
+
+    /**
+     * Converts a histogram of digit counts into the starting offset of each digit's bucket.
+     */
+    private static void toOffsets(int[] count) {
+        int offset = 0;
+        for (int digit = 0; digit < count.length; digit++) {
+            int bucketSize = count[digit];
+            count[digit] = offset;
+            offset += bucketSize;
+        }
+    }
+
+    /**
+     * MSD radix sort of String keys, permuting the optional values alongside them.
+     * Ranges still to be sorted are kept on an explicit stack, so long common prefixes cannot overflow the
+     * call stack, and a single histogram is reused for every range.
+     * @param keys keys to be sorted.
+     * @param values values to be reordered with their keys, or null.
+     */
+    private static void sortStringKeys(String[] keys, Object[] values) {
+        int length = keys.length;
+        if (length < 2) return;
+        String[] keyBuffer = new String[length];
+        Object[] valueBuffer = (values == null) ? null : new Object[length];
+        // Bucket 0 holds keys that have ended; buckets 1 to RADIX hold the digit values.
+        int[] count = new int[RADIX + 2];
+        // Pending ranges as (from, to, digit) triples.
+        int[] stack = new int[3 * 64];
+        int stackSize = 0;
+        stack[stackSize++] = 0;
+        stack[stackSize++] = length;
+        stack[stackSize++] = 0;
+        while (stackSize > 0) {
+            int digitIndex = stack[--stackSize];
+            int to = stack[--stackSize];
+            int from = stack[--stackSize];
+            if (to - from <= STRING_INSERTION_THRESHOLD) {
+                insertionSortStrings(keys, values, from, to, digitIndex);
+                continue;
+            }
+            Arrays.fill(count, 0);
+            for (int i = from; i < to; i++) count[stringDigit(keys[i], digitIndex) + 2]++;
+            for (int bucket = 0; bucket < RADIX + 1; bucket++) count[bucket + 1] += count[bucket];
+            for (int i = from; i < to; i++) {
+                int position = count[stringDigit(keys[i], digitIndex) + 1]++;
+                keyBuffer[position] = keys[i];
+                if (values != null) valueBuffer[position] = values[i];
+            }
+            System.arraycopy(keyBuffer, 0, keys, from, to - from);
+            if (values != null) System.arraycopy(valueBuffer, 0, values, from, to - from);
+            // count[bucket] now holds the end of each bucket. Ended keys are equal, so bucket 0 is done.
+            for (int bucket = 1; bucket <= RADIX; bucket++) {
+                int bucketFrom = from + count[bucket - 1];
+                int bucketTo = from + count[bucket];
+                if (bucketTo - bucketFrom < 2) continue;
+                if (stackSize + 3 > stack.length) stack = Arrays.copyOf(stack, stack.length << 1);
+                stack[stackSize++] = bucketFrom;
+                stack[stackSize++] = bucketTo;
+                stack[stackSize++] = digitIndex + 1;
+            }
+        }
+    }
+
+    /**
+     * Extracts the digit at the given index of a String key. Each character supplies two digits, high byte first.
+     * @return Digit in [0, RADIX), or -1 once the key has ended.
+     */
+    private static int stringDigit(String key, int digitIndex) {
+        int charIndex = digitIndex >>> 1;
+        if (charIndex >= key.length()) return -1;
+        char character = key.charAt(charIndex);
+        return ((digitIndex & 1) == 0) ? character >>> DIGIT_BITS : character & DIGIT_MASK;
+    }
+
+    /**
+     * Insertion sort for small buckets of String keys, which all share their first digitIndex digits.
+     */
+    private static void insertionSortStrings(String[] keys, Object[] values, int from, int to, int digitIndex) {
+        int offset = digitIndex >>> 1;
+        for (int outerIndex = from + 1; outerIndex < to; outerIndex++) {
+            String key = keys[outerIndex];
+            Object value = (values == null) ? null : values[outerIndex];
+            int innerIndex = outerIndex;
+            for (; innerIndex > from && compareFrom(key, keys[innerIndex - 1], offset) < 0; innerIndex--) {
+                keys[innerIndex] = keys[innerIndex - 1];
+                if (values != null) values[innerIndex] = values[innerIndex - 1];
+            }
+            keys[innerIndex] = key;
+            if (values != null) values[innerIndex] = value;
+        }
+    }
+
+    /**
+     * Compares two Strings that are known to share their first offset characters.
+     */
+    private static int compareFrom(String first, String second, int offset) {
+        int limit = Math.min(first.length(), second.length());
+        for (int i = offset; i < limit; i++) {
+            int difference = first.charAt(i) - second.charAt(i);
+            if (difference != 0) return difference;
+        }
+        return first.length() - second.length();
+    }
+}
@@ -0,0 +1,130 @@
+package com.algorithms.sort;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts values to and from a compact binary form so they can be written to disk.
+ * Implementations must encode exactly encodedSize(value) bytes and decode exactly the bytes they encoded.
+ * Callers store the encoded size with each value unless the codec reports a fixed size, so codecs do not need to
+ * write their own length.
+ * @param <T> Type of value encoded.
+ */
+public interface RecordCodec<T> {
+
+    /**
+     * Computes the number of bytes encode will write for a value.
+     * @param value value to be encoded.
+     * @return Size of the encoded value in bytes.
+     */
+    int encodedSize(T value);
+
+    /**
+     * Writes a value at the buffer's position, advancing it by encodedSize(value) bytes.
+     * @param value value to be encoded.
+     * @param buffer buffer with at least encodedSize(value) bytes remaining.
+     */
+    void encode(T value, ByteBuffer buffer);
+
+    /**
+     * Reads a value at the buffer's position, advancing it past the encoded bytes.
+     * @param buffer buffer positioned at an encoded value.
+     * @param size size of the encoded value in bytes, as returned by encodedSize when it was written.
+     * @return The decoded value.
+     */
+    T decode(ByteBuffer buffer, int size);
+
+    /**
+     * Indicates every value encodes to the same number of bytes, in which case sizes need not be stored.
+     * @return The size of every encoded value in bytes, or -1 if values vary in size.
+     */
+    default int fixedSize() {
+        return -1;
+    }
+
+    /**
+     * Encodes Integers as 4 big-endian bytes.
+     */
+    RecordCodec<Integer> INTEGER = new RecordCodec<>() {
+        @Override
+        public int encodedSize(Integer value) {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public int fixedSize() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(Integer value, ByteBuffer buffer) {
+            buffer.putInt(value);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer, int size) {
+            return buffer.getInt();
+        }
+    };
+
+    /**
+     * Encodes Longs as 8 big-endian bytes.
+     */
+    RecordCodec<Long> LONG = new RecordCodec<>() {
+        @Override
+        public int encodedSize(Long value) {
+            return Long.BYTES;
+        }
+
+        @Override
+        public int fixedSize() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void encode(Long value, ByteBuffer buffer) {
+            buffer.putLong(value);
+        }
+
+        @Override
+        public Long decode(ByteBuffer buffer, int size) {
+            return buffer.getLong();
+        }
+    };
+
+    /**
+     * Encodes Strings as UTF-8. The length is not written, as the encoded size is stored alongside each value.
+     */
+    RecordCodec<String> STRING = new RecordCodec<>() {
+        @Override
+        public int encodedSize(String value) {
+            int size = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char character = value.charAt(i);
+                if (character < 0x80) size += 1;
+                else if (character < 0x800) size += 2;
+                else if (Character.isHighSurrogate(character) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    size += 4;
+                    i++;
+                }
+                // Unpaired surrogates are replaced with a single byte '?' by the encoder.
+                else if (Character.isSurrogate(character)) size += 1;
+                else size += 3;
+            }
+            return size;
+        }
+
+        @Override
+        public void encode(String value, ByteBuffer buffer) {
+            buffer.put(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String decode(ByteBuffer buffer, int size) {
+            byte[] bytes = new byte[size];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+}
@@ -0,0 +1,380 @@
+package com.algorithms.sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Time Complexity: O(n) for select, O(n + k log k) for partialSort.
+ * Selection finds the value that would sit at index k if the data were sorted, without sorting it. Introselect
+ * partitions around a pivot and continues only into the side holding index k, as quickselect does, so the work
+ * shrinks geometrically and is linear on average. Pivots are the median of three sampled values. Should the
+ * partitions stay unbalanced for more than 2 log2(n) rounds, pivots switch to the median of medians of groups of
+ * five, which guarantees linear time on any input. Partitioning is three way, so runs of equal values are settled
+ * in one round rather than degrading to quadratic time.
+ * Partial sorting selects index k - 1 and then sorts the k smallest values, leaving the rest in no particular
+ * order. Both rearrange the data in place. Neither is stable.
+ * For the k largest or smallest values of a stream too large to hold in memory, use TopK.
+ */
+public class Selector {
+
+    // Ranges up to this size are finished with insertion sort.
+    private static final int INSERTION_THRESHOLD = 16;
+    // Size of the groups whose medians are taken when falling back to the median of medians.
+    private static final int GROUP_SIZE = 5;
+
+    private Selector() {
+    }
+
+    /**
+     * Rearranges an array so the value at index k is the one a sort would put there, every value before it is
+     * less than or equal to it and every value after it is greater than or equal to it.
+     * @param data array to be rearranged in place.
+     * @param k index to select, from 0 for the minimum to length - 1 for the maximum.
+     * @param <T> Comparable type.
+     * @return The k-th smallest value, counting from 0.
+     * @throws IndexOutOfBoundsException if k is outside the array.
+     */
+    public static <T extends Comparable<? super T>> T select(T[] data, int k) {
+        Objects.checkIndex(k, data.length);
+        select(data, 0, data.length, k);
+        return data[k];
+    }
+
+    /**
+     * Rearranges a list so the value at index k is the one a sort would put there, as select does for arrays.
+     * @param data list to be rearranged in place.
+     * @param k index to select.
+     * @param <T> Comparable type.
+     * @return The k-th smallest value, counting from 0.
+     * @throws IndexOutOfBoundsException if k is outside the list.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Comparable<? super T>> T select(ArrayList<T> data, int k) {
+        Objects.checkIndex(k, data.size());
+        // T erases to Comparable, so a Comparable array can stand in for T[].
+        T[] values = data.toArray((T[]) new Comparable<?>[0]);
+        select(values, 0, values.length, k);
+        for (int i = 0; i < values.length; i++) data.set(i, values[i]);
+        return values[k];
+    }
+
+    /**
+     * Rearranges an array so its first k values are the k smallest, in sorted order.
+     * @param data array to be rearranged in place.
+     * @param k count of values to sort, from 0 to the length of the array.
+     * @param <T> Comparable type.
+     * @throws IndexOutOfBoundsException if k is negative or greater than the length.
+     */
+    public static <T extends Comparable<? super T>> void partialSort(T[] data, int k) {
+        Objects.checkFromToIndex(0, k, data.length);
+        if (k == 0) return;
+        select(data, 0, data.length, k - 1);
+        Arrays.sort(data, 0, k - 1);
+    }
+
+    /**
+     * Rearranges a list so its first k values are the k smallest, in sorted order.
+     * @param data list to be rearranged in place.
+     * @param k count of values to sort, from 0 to the size of the list.
+     * @param <T> Comparable type.
+     * @throws IndexOutOfBoundsException if k is negative or greater than the size.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Comparable<? super T>> void partialSort(ArrayList<T> data, int k) {
+        Objects.checkFromToIndex(0, k, data.size());
+        T[] values = data.toArray((T[]) new Comparable<?>[0]);
+        partialSort(values, k);
+        for (int i = 0; i < values.length; i++) data.set(i, values[i]);
+    }
+
+    /**
+     * Rearranges an int array so the value at index k is the one a sort would put there, every value before it
+     * is less than or equal to it and every value after it is greater than or equal to it.
+     * @param data array to be rearranged in place.
+     * @param k index to select, from 0 for the minimum to length - 1 for the maximum.
+     * @return The k-th smallest value, counting from 0.
+     * @throws IndexOutOfBoundsException if k is outside the array.
+     */
+    public static int select(int[] data, int k) {
+        Objects.checkIndex(k, data.length);
+        select(data, 0, data.length, k);
+        return data[k];
+    }
+
+    /**
+     * Rearranges an int array so its first k values are the k smallest, in sorted order.
+     * @param data array to be rearranged in place.
+     * @param k count of values to sort, from 0 to the length of the array.
+     * @throws IndexOutOfBoundsException if k is negative or greater than the length.
+     */
+    public static void partialSort(int[] data, int k) {
+        Objects.checkFromToIndex(0, k, data.length);
+        if (k == 0) return;
+        select(data, 0, data.length, k - 1);
+        Arrays.sort(data, 0, k - 1);
+    }
+
+    /**
+     * Rearranges a long array so the value at index k is the one a sort would put there, every value before it
+     * is less than or equal to it and every value after it is greater than or equal to it.
+     * @param data array to be rearranged in place.
+     * @param k index to select, from 0 for the minimum to length - 1 for the maximum.
+     * @return The k-th smallest value, counting from 0.
+     * @throws IndexOutOfBoundsException if k is outside the array.
+     */
+    public static long select(long[] data, int k) {
+        Objects.checkIndex(k, data.length);
+        select(data, 0, data.length, k);
+        return data[k];
+    }
+
+    /**
+     * Rearranges a long array so its first k values are the k smallest, in sorted order.
+     * @param data array to be rearranged in place.
+     * @param k count of values to sort, from 0 to the length of the array.
+     * @throws IndexOutOfBoundsException if k is negative or greater than the length.
+     */
+    public static void partialSort(long[] data, int k) {
+        Objects.checkFromToIndex(0, k, data.length);
+        if (k == 0) return;
+        select(data, 0, data.length, k - 1);
+        Arrays.sort(data, 0, k - 1);
+    }
+
+    /**
+     * Rearranges a double array so the value at index k is the one a sort would put there, every value before it
+     * is less than or equal to it and every value after it is greater than or equal to it. Values are ordered as by
+     * Double.compare, so -0.0 sorts before 0.0 and NaN sorts after every other value.
+     * @param data array to be rearranged in place.
+     * @param k index to select, from 0 for the minimum to length - 1 for the maximum.
+     * @return The k-th smallest value, counting from 0.
+     * @throws IndexOutOfBoundsException if k is outside the array.
+     */
+    public static double select(double[] data, int k) {
+        Objects.checkIndex(k, data.length);
+        select(data, 0, data.length, k);
+        return data[k];
+    }
+
+    /**
+     * Rearranges a double array so its first k values are the k smallest, in sorted order. Values are ordered as by
+     * Double.compare, so -0.0 sorts before 0.0 and NaN sorts after every other value.
+     * @param data array to be rearranged in place.
+     * @param k count of values to sort, from 0 to the length of the array.
+     * @throws IndexOutOfBoundsException if k is negative or greater than the length.
+     */
+    public static void partialSort(double[] data, int k) {
+        Objects.checkFromToIndex(0, k, data.length);
+        if (k == 0) return;
+        select(data, 0, data.length, k - 1);
+        Arrays.sort(data, 0, k - 1);
+    }
+
+    /**
+     * Introselect over the range [from, to), which must contain k.
+     */
+    private static <T extends Comparable<? super T>> void select(T[] data, int from, int to, int k) {
+        // Rounds of median of three pivots allowed before switching to the median of medians.
+        int budget = 2 * (31 - Integer.numberOfLeadingZeros(to - from));
+        while (to - from > INSERTION_THRESHOLD) {
+            int pivotIndex = (budget-- > 0) ? medianOfThree(data, from, (from + to) >>> 1, to - 1)
+                    : medianOfMedians(data, from, to);
+            T pivot = data[pivotIndex];
+            // Partition into [from, less) below the pivot, [less, greater) equal to it and [greater, to) above it.
+            int less = from;
+            int greater = to;
+            for (int i = from; i < greater; ) {
+                int comparison = data[i].compareTo(pivot);
+                if (comparison < 0) swap(data, less++, i++);
+                else if (comparison > 0) swap(data, i, --greater);
+                else i++;
+            }
+            if (k < less) to = less;
+            else if (k >= greater) from = greater;
+            else return;
+        }
+        InsertionSorter.sort(data, from, to);
+    }
+
+    private static <T extends Comparable<? super T>> int medianOfThree(T[] data, int a, int b, int c) {
+        if (data[a].compareTo(data[b]) < 0) {
+            if (data[b].compareTo(data[c]) < 0) return b;
+            return data[a].compareTo(data[c]) < 0 ? c : a;
+        }
+        if (data[a].compareTo(data[c]) < 0) return a;
+        return data[b].compareTo(data[c]) < 0 ? c : b;
+    }
+
+    /**
+     * Moves the median of each group of five to the front of the range and selects the median of those.
+     * @return Index of a pivot with at least 30% of the range on each side.
+     */
+    private static <T extends Comparable<? super T>> int medianOfMedians(T[] data, int from, int to) {
+        int medians = from;
+        for (int start = from; start < to; start += GROUP_SIZE) {
+            int end = Math.min(start + GROUP_SIZE, to);
+            InsertionSorter.sort(data, start, end);
+            swap(data, medians++, (start + end - 1) >>> 1);
+        }
+        int middle = (from + medians) >>> 1;
+        select(data, from, medians, middle);
+        return middle;
+    }
+
+    private static void swap(Object[] data, int i, int j) {
+        Object temp = data[i];
+        data[i] = data[j];
+        data[j] = temp;
+    }
+
+    /**
+     * Introselect over the range [from, to), which must contain k.
+     */
+    private static void select(int[] data, int from, int to, int k) {
+        int budget = 2 * (31 - Integer.numberOfLeadingZeros(to - from));
+        while (to - from > INSERTION_THRESHOLD) {
+            int pivotIndex = (budget-- > 0) ? medianOfThree(data, from, (from + to) >>> 1, to - 1)
+                    : medianOfMedians(data, from, to);
+            int pivot = data[pivotIndex];
+            int less = from;
+            int greater = to;
+            for (int i = from; i < greater; ) {
+                if (data[i] < pivot) swap(data, less++, i++);
+                else if (data[i] > pivot) swap(data, i, --greater);
+                else i++;
+            }
+            if (k < less) to = less;
+            else if (k >= greater) from = greater;
+            else return;
+        }
+        InsertionSorter.sort(data, from, to);
+    }
+
+    private static int medianOfThree(int[] data, int a, int b, int c) {
+        if (data[a] < data[b]) {
+            if (data[b] < data[c]) return b;
+            return data[a] < data[c] ? c : a;
+        }
+        if (data[a] < data[c]) return a;
+        return data[b] < data[c] ? c : b;
+    }
+
+    private static int medianOfMedians(int[] data, int from, int to) {
+        int medians = from;
+        for (int start = from; start < to; start += GROUP_SIZE) {
+            int end = Math.min(start + GROUP_SIZE, to);
+            InsertionSorter.sort(data, start, end);
+            swap(data, medians++, (start + end - 1) >>> 1);
+        }
+        int middle = (from + medians) >>> 1;
+        select(data, from, medians, middle);
+        return middle;
+    }
+
+    private static void swap(int[] data, int i, int j) {
+        int temp = data[i];
+        data[i] = data[j];
+        data[j] = temp;
+    }
+
+    /**
+     * Introselect over the range [from, to), which must contain k.
+     */
+    private static void select(long[] data, int from, int to, int k) {
+        int budget = 2 * (31 - Integer.numberOfLeadingZeros(to - from));
+        while (to - from > INSERTION_THRESHOLD) {
+            int pivotIndex = (budget-- > 0) ? medianOfThree(data, from, (from + to) >>> 1, to - 1)
+                    : medianOfMedians(data, from, to);
+            long pivot = data[pivotIndex];
+            int less = from;
+            int greater = to;
+            for (int i = from; i < greater; ) {
+                if (data[i] < pivot) swap(data, less++, i++);
+                else if (data[i] > pivot) swap(data, i, --greater);
+                else i++;
+            }
+            if (k < less) to = less;
+            else if (k >= greater) from = greater;
+            else return;
+        }
+        InsertionSorter.sort(data, from, to);
+    }
+
+    private static int medianOfThree(long[] data, int a, int b, int c) {
+        if (data[a] < data[b]) {
+            if (data[b] < data[c]) return b;
+            return data[a] < data[c] ? c : a;
+        }
+        if (data[a] < data[c]) return a;
+        return data[b] < data[c] ? c : b;
+    }
+
+    private static int medianOfMedians(long[] data, int from, int to) {
+        int medians = from;
+        for (int start = from; start < to; start += GROUP_SIZE) {
+            int end = Math.min(start + GROUP_SIZE, to);
+            InsertionSorter.sort(data, start, end);
+            swap(data, medians++, (start + end - 1) >>> 1);
+        }
+        int middle = (from + medians) >>> 1;
+        select(data, from, medians, middle);
+        return middle;
+    }
+
+    private static void swap(long[] data, int i, int j) {
+        long temp = data[i];
+        data[i] = data[j];
+        data[j] = temp;
+    }
+
+    /**
+     * Introselect over the range [from, to), which must contain k.
+     */
+    private static void select(double[] data, int from, int to, int k) {
+        int budget = 2 * (31 - Integer.numberOfLeadingZeros(to - from));
+        while (to - from > INSERTION_THRESHOLD) {
+            int pivotIndex = (budget-- > 0) ? medianOfThree(data, from, (from + to) >>> 1, to - 1)
+                    : medianOfMedians(data, from, to);
+            double pivot = data[pivotIndex];
+            int less = from;
+            int greater = to;
+            for (int i = from; i < greater; ) {
+                if (Double.compare(data[i], pivot) < 0) swap(data, less++, i++);
+                else if (Double.compare(data[i], pivot) > 0) swap(data, i, --greater);
+                else i++;
+            }
+            if (k < less) to = less;
+            else if (k >= greater) from = greater;
+            else return;
+        }
+        InsertionSorter.sort(data, from, to);
+    }
+
+    private static int medianOfThree(double[] data, int a, int b, int c) {
+        if (Double.compare(data[a], data[b]) < 0) {
+            if (Double.compare(data[b], data[c]) < 0) return b;
+            return Double.compare(data[a], data[c]) < 0 ? c : a;
+        }
+        if (Double.compare(data[a], data[c]) < 0) return a;
+        return Double.compare(data[b], data[c]) < 0 ? c : b;
+    }
+
+    private static int medianOfMedians(double[] data, int from, int to) {
+        int medians = from;
+        for (int start = from; start < to; start += GROUP_SIZE) {
+            int end = Math.min(start + GROUP_SIZE, to);
+            InsertionSorter.sort(data, start, end);
+            swap(data, medians++, (start + end - 1) >>> 1);
+        }
+        int middle = (from + medians) >>> 1;
+        select(data, from, medians, middle);
+        return middle;
+    }
+
+    private static void swap(double[] data, int i, int j) {
+        double temp = data[i];
+        data[i] = data[j];
+        data[j] = temp;
+    }
+}
@@ -0,0 +1,82 @@
+package com.algorithms.sort;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a single sort by an instrumented sorter. It is disabled unless a recording enables
+ * com.algorithms.sort.Sort, and the sorters only count operations for it while it is enabled.
+ * A threshold on the event's duration limits recording to the slow sorts.
+ */
+@Name("com.algorithms.sort.Sort")
+@Label("Sort")
+@Category({"Algorithms", "Sort"})
+@Description("A sort by an instrumented sorter, with the operations it performed")
+final class SortEvent extends Event {
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Size")
+    int size;
+
+    @Label("Comparisons")
+    long comparisons;
+
+    @Label("Swaps")
+    long swaps;
+
+    @Label("Passes")
+    long passes;
+
+    @Label("Comparisons per Element")
+    @Description("Close to log2(size) for an n log n sort, growing towards size / 2 when the sort goes quadratic")
+    double comparisonsPerElement;
+
+    /**
+     * Chooses the listener for a single sort, adding a listener that records this event while a recording has it
+     * enabled.
+     * @param algorithm name of the sorter.
+     * @param attached listener attached to the sorter, or null.
+     * @return The listener to notify during the sort, or null when there is nothing to notify.
+     */
+    static SortListener listen(String algorithm, SortListener attached) {
+        SortEvent event = new SortEvent();
+        if (!event.isEnabled()) return attached;
+        event.algorithm = algorithm;
+        return SortListener.combine(attached, new Recorder(event));
+    }
+
+    /**
+     * Counts the operations of one sort and commits the event when it finishes.
+     */
+    private static final class Recorder extends SortMetrics {
+        private final SortEvent event;
+
+        Recorder(SortEvent event) {
+            this.event = event;
+        }
+
+        @Override
+        public void sortStarted(int size) {
+            super.sortStarted(size);
+            event.size = size;
+            event.begin();
+        }
+
+        @Override
+        public void sortFinished() {
+            event.end();
+            if (event.shouldCommit()) {
+                event.comparisons = getComparisons();
+                event.swaps = getSwaps();
+                event.passes = getPasses();
+                event.comparisonsPerElement = getComparisonsPerElement();
+                event.commit();
+            }
+        }
+    }
+}
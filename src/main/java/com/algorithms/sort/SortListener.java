@@ -0,0 +1,89 @@
+package com.algorithms.sort;
+
+/**
+ * Receives the operations of an instrumented sorter as they happen, by index into the data being sorted.
+ * Attach a listener with a sorter's setListener. Sorters check for a listener once per operation and make no
+ * calls when none is attached, so an unattached listener costs nothing.
+ * Listeners are called on the sorting thread, in the middle of the sort, and should return quickly. Heavier
+ * work, such as writing a trace, belongs on another thread as in SortTraceRecorder.
+ * Every method does nothing by default, so implementations override only the events they need.
+ */
+public interface SortListener {
+
+    /**
+     * Called once before a sort starts.
+     * @param size number of elements being sorted.
+     */
+    default void sortStarted(int size) {
+    }
+
+    /**
+     * Called for each comparison between two elements.
+     * @param firstIndex index of the first element compared.
+     * @param secondIndex index of the second element compared.
+     */
+    default void compared(int firstIndex, int secondIndex) {
+    }
+
+    /**
+     * Called after two elements have been swapped.
+     * @param firstIndex index of one swapped element.
+     * @param secondIndex index of the other swapped element.
+     */
+    default void swapped(int firstIndex, int secondIndex) {
+    }
+
+    /**
+     * Called after each pass over the data, which is an outer loop iteration for the quadratic sorters.
+     */
+    default void passCompleted() {
+    }
+
+    /**
+     * Called once after a sort has finished.
+     */
+    default void sortFinished() {
+    }
+
+    /**
+     * Combines two listeners into one that forwards every event to both, first to first.
+     * @param first first listener, or null.
+     * @param second second listener, or null.
+     * @return A listener forwarding to both, or the other listener if either is null.
+     */
+    static SortListener combine(SortListener first, SortListener second) {
+        if (first == null) return second;
+        if (second == null) return first;
+        return new SortListener() {
+            @Override
+            public void sortStarted(int size) {
+                first.sortStarted(size);
+                second.sortStarted(size);
+            }
+
+            @Override
+            public void compared(int firstIndex, int secondIndex) {
+                first.compared(firstIndex, secondIndex);
+                second.compared(firstIndex, secondIndex);
+            }
+
+            @Override
+            public void swapped(int firstIndex, int secondIndex) {
+                first.swapped(firstIndex, secondIndex);
+                second.swapped(firstIndex, secondIndex);
+            }
+
+            @Override
+            public void passCompleted() {
+                first.passCompleted();
+                second.passCompleted();
+            }
+
+            @Override
+            public void sortFinished() {
+                first.sortFinished();
+                second.sortFinished();
+            }
+        };
+    }
+}
@@ -0,0 +1,76 @@
+package com.algorithms.sort;
+
+import lombok.Getter;
+
+/**
+ * A SortListener counting the work done by instrumented sorters, accumulated over every sort run while it is
+ * attached. Attach an instance with a sorter's setListener, alone or combined with other listeners through
+ * SortListener.combine.
+ * Comparisons grow as n log n for a well behaved sort and as n^2 for a quadratic one, so comparisons per
+ * element separate the two: it stays near log2(n) in the first case and grows towards n / 2 in the second.
+ * Instances are not thread safe. Share one between sorters on a single thread only.
+ */
+public class SortMetrics implements SortListener {
+
+    /**
+     * Count of sorts counted.
+     */
+    @Getter
+    private long sorts;
+    /**
+     * Total number of elements over the counted sorts.
+     */
+    @Getter
+    private long elements;
+    /**
+     * Count of comparisons between two elements.
+     */
+    @Getter
+    private long comparisons;
+    /**
+     * Count of swaps of two elements.
+     */
+    @Getter
+    private long swaps;
+    /**
+     * Count of passes over the data, which is an outer loop iteration for the quadratic sorters.
+     */
+    @Getter
+    private long passes;
+
+    /**
+     * Calculates the average number of comparisons made per element sorted.
+     * @return Comparisons divided by elements, or 0 if nothing has been sorted.
+     */
+    public double getComparisonsPerElement() {
+        return elements == 0 ? 0 : (double) comparisons / elements;
+    }
+
+    /**
+     * Clears every count.
+     */
+    public void reset() {
+        sorts = elements = comparisons = swaps = passes = 0;
+    }
+
+    @Override
+    public void sortStarted(int size) {
+        sorts++;
+        elements += size;
+    }
+
+    @Override
+    public void compared(int firstIndex, int secondIndex) {
+        comparisons++;
+    }
+
+    @Override
+    public void swapped(int firstIndex, int secondIndex) {
+        swaps++;
+    }
+
+    @Override
+    public void passCompleted() {
+        passes++;
+    }
+}
@@ -0,0 +1,122 @@
+package com.algorithms.sort;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary trace files of sorter operations, as written by SortTraceRecorder, and their replay.
+ * A trace starts with an 8 byte header, the magic number 0x53525454 ("SRTT") and the format version, followed by
+ * one big-endian long per event. The top two bits of each event hold its type:
+ * <pre>
+ *     0  compare        bits 61-31 first index, bits 30-0 second index
+ *     1  swap           bits 61-31 first index, bits 30-0 second index
+ *     2  pass complete  no payload
+ *     3  control        bits 61-31 0 for sort started with the size in bits 30-0, or 1 for sort finished
+ * </pre>
+ * A trace may hold any number of sorts one after another. Events carry indices only, so replaying a trace to
+ * something that shows values, such as AnsiSortRenderer, requires the initial data.
+ */
+public final class SortTrace {
+
+    // Identifies a trace file, "SRTT" in ASCII.
+    static final int MAGIC = 0x53525454;
+    // Version of the layout written by SortTraceRecorder.
+    static final int VERSION = 1;
+    // Size of the file header in bytes.
+    static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private static final int COMPARE = 0;
+    private static final int SWAP = 1;
+    private static final int PASS = 2;
+    private static final int CONTROL = 3;
+    private static final int SORT_STARTED = 0;
+    private static final int SORT_FINISHED = 1;
+    private static final long INDEX_MASK = Integer.MAX_VALUE;
+    // Size of the buffer used when reading.
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    private SortTrace() {
+    }
+
+    private static long encode(int type, int first, int second) {
+        return ((long) type << 62) | ((first & INDEX_MASK) << 31) | (second & INDEX_MASK);
+    }
+
+    static long compare(int firstIndex, int secondIndex) {
+        return encode(COMPARE, firstIndex, secondIndex);
+    }
+
+    static long swap(int firstIndex, int secondIndex) {
+        return encode(SWAP, firstIndex, secondIndex);
+    }
+
+    static long passComplete() {
+        return encode(PASS, 0, 0);
+    }
+
+    static long sortStarted(int size) {
+        return encode(CONTROL, SORT_STARTED, size);
+    }
+
+    static long sortFinished() {
+        return encode(CONTROL, SORT_FINISHED, 0);
+    }
+
+    /**
+     * Reads a trace file and sends each event to the listener in the order it was recorded.
+     * @param file path of the trace.
+     * @param listener listener to receive the events.
+     * @throws IOException if reading fails or the file is not a valid trace.
+     */
+    public static void replay(Path file, SortListener listener) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+            // Start empty and ready to read, as fill expects.
+            buffer.flip();
+            if (!fill(channel, buffer, HEADER_SIZE)) throw new IOException("Not a sort trace file");
+            if (buffer.getInt() != MAGIC) throw new IOException("Not a sort trace file");
+            int version = buffer.getInt();
+            if (version != VERSION) throw new IOException("Unsupported sort trace version " + version);
+            while (fill(channel, buffer, Long.BYTES)) {
+                while (buffer.remaining() >= Long.BYTES) dispatch(buffer.getLong(), listener);
+            }
+            if (buffer.hasRemaining()) throw new IOException("Truncated sort trace file");
+        }
+    }
+
+    /**
+     * Reads from the channel until the buffer holds at least the given number of bytes or the channel ends.
+     * @return True if the buffer holds enough bytes, ready to read.
+     */
+    private static boolean fill(FileChannel channel, ByteBuffer buffer, int needed) throws IOException {
+        buffer.compact();
+        while (buffer.position() < needed && channel.read(buffer) >= 0) {
+            // Keep reading until enough bytes arrive or the file ends.
+        }
+        buffer.flip();
+        return buffer.remaining() >= needed;
+    }
+
+    private static void dispatch(long event, SortListener listener) throws IOException {
+        int first = (int) ((event >>> 31) & INDEX_MASK);
+        int second = (int) (event & INDEX_MASK);
+        switch ((int) (event >>> 62)) {
+            case COMPARE:
+                listener.compared(first, second);
+                break;
+            case SWAP:
+                listener.swapped(first, second);
+                break;
+            case PASS:
+                listener.passCompleted();
+                break;
+            default:
+                if (first == SORT_STARTED) listener.sortStarted(second);
+                else if (first == SORT_FINISHED) listener.sortFinished();
+                else throw new IOException("Corrupt sort trace file");
+        }
+    }
+}
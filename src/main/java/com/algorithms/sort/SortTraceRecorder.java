@@ -0,0 +1,195 @@
+package com.algorithms.sort;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A SortListener that writes every event to a trace file in the SortTrace format without doing any I/O on the
+ * sorting thread. Each event is encoded as a single long and stored in a ring buffer, which costs an array store
+ * and an ordered write of the ring's tail. A background thread drains the ring into the file in large writes.
+ * If the writer falls a full ring behind, the sorting thread waits for space rather than dropping events, so a
+ * trace is always complete.
+ * A recorder receives events from one sorting thread at a time. Close it once tracing is done to write out the
+ * remaining events and release the file.
+ */
+public class SortTraceRecorder implements SortListener, Closeable {
+
+    // Default number of events the ring buffer holds.
+    private static final int DEFAULT_CAPACITY = 1 << 16;
+    // Size of the buffer the writer encodes events into.
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+    // How long the writer sleeps when the ring is empty.
+    private static final long IDLE_PARK_NANOS = 100_000;
+
+    private final long[] ring;
+    private final int mask;
+    private final WritableByteChannel channel;
+    private final Thread writer;
+    // Count of events published by the sorting thread. Only the sorting thread writes it.
+    private final AtomicLong published = new AtomicLong();
+    // Count of events taken by the writer. Only the writer writes it.
+    private final AtomicLong consumed = new AtomicLong();
+    // Sorting thread's copies of its own tail and of the last consumed count it read.
+    private long tail = 0;
+    private long cachedConsumed = 0;
+    private volatile boolean closed = false;
+    // First failure of the writer, reported by close.
+    private volatile IOException failure;
+
+    /**
+     * Constructs a recorder writing to a file, replacing any existing file, with the default ring capacity.
+     * @param file path of the trace file.
+     * @throws IOException if the file can not be opened.
+     */
+    public SortTraceRecorder(Path file) throws IOException {
+        this(file, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a recorder writing to a file, replacing any existing file.
+     * @param file path of the trace file.
+     * @param capacity number of events the ring buffer holds, a power of two.
+     * @throws IOException if the file can not be opened.
+     * @throws IllegalArgumentException if capacity is not a positive power of two.
+     */
+    public SortTraceRecorder(Path file, int capacity) throws IOException, IllegalArgumentException {
+        this(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE), checkCapacity(capacity));
+    }
+
+    /**
+     * Constructs a recorder writing to a channel, which it closes once done. A channel that discards what it is
+     * given measures the cost of recording events apart from the cost of storing them.
+     * @param channel channel the trace is written to.
+     * @param capacity number of events the ring buffer holds, a power of two.
+     * @throws IllegalArgumentException if capacity is not a positive power of two.
+     */
+    public SortTraceRecorder(WritableByteChannel channel, int capacity) throws IllegalArgumentException {
+        this.ring = new long[checkCapacity(capacity)];
+        this.mask = capacity - 1;
+        this.channel = channel;
+        this.writer = new Thread(this::drain, "sort-trace-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Validates a ring capacity, before the file is opened so a bad capacity does not leave it open.
+     */
+    private static int checkCapacity(int capacity) throws IllegalArgumentException {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two");
+        }
+        return capacity;
+    }
+
+    @Override
+    public void sortStarted(int size) {
+        if (closed) throw new IllegalStateException("Recorder is closed");
+        put(SortTrace.sortStarted(size));
+    }
+
+    @Override
+    public void compared(int firstIndex, int secondIndex) {
+        put(SortTrace.compare(firstIndex, secondIndex));
+    }
+
+    @Override
+    public void swapped(int firstIndex, int secondIndex) {
+        put(SortTrace.swap(firstIndex, secondIndex));
+    }
+
+    @Override
+    public void passCompleted() {
+        put(SortTrace.passComplete());
+    }
+
+    @Override
+    public void sortFinished() {
+        put(SortTrace.sortFinished());
+    }
+
+    /**
+     * Stores an event in the ring and publishes it to the writer, waiting if the ring is full.
+     * @param event encoded event.
+     */
+    private void put(long event) {
+        if (tail - cachedConsumed == ring.length) {
+            // Only read the writer's progress when the ring looks full, and wait for it to make room if it is.
+            while (tail - (cachedConsumed = consumed.get()) == ring.length) Thread.yield();
+        }
+        ring[(int) tail & mask] = event;
+        // An ordered store makes the event visible to the writer without a full fence.
+        published.lazySet(++tail);
+    }
+
+    /**
+     * Body of the writer thread. Drains published events into the file until the recorder is closed and the ring
+     * is empty. After a write fails, events are still drained, and discarded, so the sorting thread never blocks.
+     */
+    private void drain() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+        buffer.putInt(SortTrace.MAGIC).putInt(SortTrace.VERSION);
+        long head = 0;
+        while (true) {
+            // Read closed before the tail, so every event published before close is seen.
+            boolean finishing = closed;
+            long available = published.get();
+            if (head == available) {
+                write(buffer);
+                if (finishing) return;
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            for (; head < available; head++) {
+                if (buffer.remaining() < Long.BYTES) write(buffer);
+                buffer.putLong(ring[(int) head & mask]);
+            }
+            consumed.lazySet(head);
+        }
+    }
+
+    /**
+     * Writes out and clears the buffer, recording the first failure.
+     */
+    private void write(ByteBuffer buffer) {
+        buffer.flip();
+        try {
+            while (failure == null && buffer.hasRemaining()) channel.write(buffer);
+        }
+        catch (IOException e) {
+            failure = e;
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Waits for the writer to write out every recorded event, then closes the file or channel.
+     * @throws IOException if writing the trace failed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        LockSupport.unpark(writer);
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            }
+            catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+        channel.close();
+        if (failure != null) throw failure;
+    }
+}
@@ -0,0 +1,261 @@
+package com.algorithms.sort;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Time Complexity: O(log n) comparisons and O(n) moves per add, O(m log m + n) per batch of m, O(1) per poll.
+ * Keeps data that arrives over time in sorted order, so it never has to be sorted again from scratch.
+ * Unlike InsertionSorter, which walks each value into place with one swap per step, an add finds its position
+ * by binary search and makes room by moving the following (or preceding) elements in a single System.arraycopy.
+ * Values arriving in order are appended after one comparison. A batch is sorted on its own and merged in from the
+ * back, so only the elements greater than its smallest value are moved.
+ * Elements live in one array with free space at both ends: pollFirst leaves space at the front, which adds near
+ * the front reuse, so the buffer also works as a priority queue for out-of-order events drained from the front.
+ * Equal values keep their arrival order. The view is a live read-only List of the current contents.
+ * A buffer is not thread safe.
+ * @param <T> Comparable type.
+ */
+public class SortedBuffer<T extends Comparable<? super T>> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    // Largest array size the JVM reliably allocates.
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    // Elements in sorted order occupy elements[head, head + size).
+    private Object[] elements;
+    private int head = 0;
+    private int size = 0;
+    private final View view = new View();
+
+    /**
+     * Constructs an empty buffer with the default capacity.
+     */
+    public SortedBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty buffer.
+     * @param initialCapacity number of elements the buffer holds before it grows.
+     * @throws IllegalArgumentException if initialCapacity is negative.
+     */
+    public SortedBuffer(int initialCapacity) throws IllegalArgumentException {
+        if (initialCapacity < 0) throw new IllegalArgumentException("Initial capacity must not be negative");
+        this.elements = new Object[Math.max(initialCapacity, 1)];
+    }
+
+    /**
+     * Adds a value in sorted position, after any equal values.
+     * @param value value to add.
+     * @throws NullPointerException if value is null.
+     */
+    public void add(T value) {
+        if (value == null) throw new NullPointerException();
+        int offset = insertionPoint(value);
+        if (head > 0 && offset < size - offset) {
+            // Fewer elements precede the position than follow it, so shift those into the free space at the front.
+            System.arraycopy(elements, head, elements, head - 1, offset);
+            head--;
+        }
+        else {
+            makeRoomAtBack(1);
+            System.arraycopy(elements, head + offset, elements, head + offset + 1, size - offset);
+        }
+        elements[head + offset] = value;
+        size++;
+        view.modified();
+    }
+
+    /**
+     * Adds every value of a batch. The batch is sorted and merged in from the back in a single pass, which beats
+     * adding its values one by one once it holds more than a few.
+     * @param values values to add.
+     * @throws NullPointerException if values or any of its values is null.
+     */
+    @SuppressWarnings("unchecked")
+    public void addAll(Collection<? extends T> values) {
+        Object[] batch = values.toArray();
+        int count = batch.length;
+        for (Object value : batch) if (value == null) throw new NullPointerException();
+        if (count == 0) return;
+        if (count == 1) {
+            add((T) batch[0]);
+            return;
+        }
+        // Sorting Objects is stable, so equal values in the batch keep their order.
+        Arrays.sort(batch);
+        makeRoomAtBack(count);
+        int existing = head + size - 1;
+        int incoming = count - 1;
+        int target = head + size + count - 1;
+        // Fill from the back with the larger candidate, taking the batch's on ties so values already in the buffer
+        // stay first. Existing elements below the smallest batch value are never touched.
+        while (incoming >= 0) {
+            if (existing >= head && ((T) batch[incoming]).compareTo((T) elements[existing]) < 0) {
+                elements[target--] = elements[existing--];
+            }
+            else {
+                elements[target--] = batch[incoming--];
+            }
+        }
+        size += count;
+        view.modified();
+    }
+
+    /**
+     * Finds the position of the first element greater than a value.
+     * @param value value to place.
+     * @return Offset from head, between 0 and size.
+     */
+    private int insertionPoint(T value) {
+        // Values arriving in order go to the end after a single comparison.
+        if (size == 0 || value.compareTo(elementAt(size - 1)) >= 0) return size;
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (value.compareTo(elementAt(mid)) < 0) high = mid;
+            else low = mid + 1;
+        }
+        return low;
+    }
+
+    /**
+     * Ensures the array has room for count more elements after the last one, either by moving the elements to the
+     * front of the array or by growing it. Moving is only done while it leaves at least half the array free, so
+     * its cost is repaid by the adds it makes room for.
+     * @param count number of slots needed.
+     */
+    private void makeRoomAtBack(int count) {
+        if ((long) head + size + count <= elements.length) return;
+        long required = (long) size + count;
+        if (required > MAX_CAPACITY) throw new OutOfMemoryError("Required buffer size too large");
+        if (required <= elements.length / 2) {
+            System.arraycopy(elements, head, elements, 0, size);
+            // Clear the slots only the old range used, so the buffer does not hold on to removed values.
+            Arrays.fill(elements, Math.max(head, size), head + size, null);
+        }
+        else {
+            int capacity = (int) Math.min(MAX_CAPACITY, Math.max(required, 2L * elements.length));
+            Object[] grown = new Object[capacity];
+            System.arraycopy(elements, head, grown, 0, size);
+            elements = grown;
+        }
+        head = 0;
+    }
+
+    /**
+     * Retrieves and removes the smallest value.
+     * @return The smallest value, or null if the buffer is empty.
+     */
+    public T pollFirst() {
+        if (size == 0) return null;
+        T value = elementAt(0);
+        elements[head] = null;
+        size--;
+        head = size == 0 ? 0 : head + 1;
+        view.modified();
+        return value;
+    }
+
+    /**
+     * Retrieves and removes the largest value.
+     * @return The largest value, or null if the buffer is empty.
+     */
+    public T pollLast() {
+        if (size == 0) return null;
+        T value = elementAt(size - 1);
+        elements[head + size - 1] = null;
+        size--;
+        if (size == 0) head = 0;
+        view.modified();
+        return value;
+    }
+
+    /**
+     * Retrieves the smallest value without removing it.
+     * @return The smallest value, or null if the buffer is empty.
+     */
+    public T peekFirst() {
+        return size == 0 ? null : elementAt(0);
+    }
+
+    /**
+     * Retrieves the largest value without removing it.
+     * @return The largest value, or null if the buffer is empty.
+     */
+    public T peekLast() {
+        return size == 0 ? null : elementAt(size - 1);
+    }
+
+    /**
+     * Retrieves the value at a position in sorted order.
+     * @param index position, 0 for the smallest value.
+     * @return The value.
+     * @throws IndexOutOfBoundsException if index is not below size.
+     */
+    public T get(int index) {
+        return elementAt(Objects.checkIndex(index, size));
+    }
+
+    @SuppressWarnings("unchecked")
+    private T elementAt(int offset) {
+        return (T) elements[head + offset];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every value, keeping the current capacity.
+     */
+    public void clear() {
+        Arrays.fill(elements, head, head + size, null);
+        head = 0;
+        size = 0;
+        view.modified();
+    }
+
+    /**
+     * Provides a read-only view of the values in sorted order. The view reflects later changes to the buffer
+     * and supports constant time random access. Its iterators are fail-fast: they throw
+     * ConcurrentModificationException if the buffer is changed while iterating.
+     * @return The view.
+     */
+    public List<T> view() {
+        return view;
+    }
+
+    /**
+     * Live view of the buffer. AbstractList supplies the iterators and rejects modification.
+     */
+    private final class View extends AbstractList<T> implements RandomAccess {
+
+        @Override
+        public T get(int index) {
+            return SortedBuffer.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Records a change to the buffer, so open iterators fail fast.
+         */
+        void modified() {
+            modCount++;
+        }
+    }
+}
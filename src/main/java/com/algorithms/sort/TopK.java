@@ -0,0 +1,318 @@
+package com.algorithms.sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Time Complexity: O(n log k) time and O(k) memory.
+ * Finds the k largest or smallest values of a sequence in a single pass, without holding the sequence in memory.
+ * The best k values seen so far are kept in a binary heap with the worst of them at the root, so each new value is
+ * compared with the root and only values that beat it pay for a sift down. Once the input is consumed, the heap is
+ * sorted in place, heap sort style, to return the values best first.
+ * Streams are consumed through their iterators, so parallel streams are read sequentially. Equal values are
+ * interchangeable: which of several equal values are returned is unspecified.
+ * For data already in an array, Selector.partialSort does the same job in O(n + k log k).
+ */
+public class TopK {
+
+    private TopK() {
+    }
+
+    /**
+     * Finds the k largest values.
+     * @param values values to consume. Must not contain null.
+     * @param k count of values to keep.
+     * @param <T> Comparable type.
+     * @return Up to k values in descending order, fewer if the input holds fewer.
+     * @throws IllegalArgumentException if k is negative.
+     */
+    public static <T extends Comparable<? super T>> List<T> largest(Iterator<? extends T> values, int k)
+            throws IllegalArgumentException {
+        return top(values, k, Comparator.<T>naturalOrder());
+    }
+
+    /**
+     * Finds the k largest values of a stream.
+     * @param values values to consume. Must not contain null.
+     * @param k count of values to keep.
+     * @param <T> Comparable type.
+     * @return Up to k values in descending order, fewer if the stream holds fewer.
+     * @throws IllegalArgumentException if k is negative.
+     */
+    public static <T extends Comparable<? super T>> List<T> largest(Stream<? extends T> values, int k)
+            throws IllegalArgumentException {
+        return largest(values.iterator(), k);
+    }
+
+    /**
+     * Finds the k smallest values.
+     * @param values values to consume. Must not contain null.
+     * @param k count of values to keep.
+     * @param <T> Comparable type.
+     * @return Up to k values in ascending order, fewer if the input holds fewer.
+     * @throws IllegalArgumentException if k is negative.
+     */
+    public static <T extends Comparable<? super T>> List<T> smallest(Iterator<? extends T> values, int k)
+            throws IllegalArgumentException {
+        return top(values, k, Comparator.<T>reverseOrder());
+    }
+
+    /**
+     * Finds the k smallest values of a stream.
+     * @param values values to consume. Must not contain null.
+     * @param k count of values to keep.
+     * @param <T> Comparable type.
+     * @return Up to k values in ascending order, fewer if the stream holds fewer.
+     * @throws IllegalArgumentException if k is negative.
+     */
+    public static <T extends Comparable<? super T>> List<T> smallest(Stream<? extends T> values, int k)
+            throws IllegalArgumentException {
+        return smallest(values.iterator(), k);
+    }
+
+    /**
+     * Keeps the k values ranked highest by the comparator.
+     * @param values values to consume.
+     * @param k count of values to keep.
+     * @param order order in which later values rank higher.
+     * @return The kept values, highest first.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> top(Iterator<? extends T> values, int k, Comparator<? super T> order) {
+        checkK(k);
+        // Heap of the best values so far, with the lowest ranked at the root.
+        Object[] heap = new Object[Math.min(k, 1024)];
+        int size = 0;
+        while (values.hasNext()) {
+            T value = values.next();
+            if (size < k) {
+                if (size == heap.length) heap = Arrays.copyOf(heap, (int) Math.min(k, 2L * size));
+                // Sift up the new value from the bottom.
+                int child = size++;
+                while (child > 0) {
+                    int parent = (child - 1) >>> 1;
+                    if (order.compare(value, (T) heap[parent]) >= 0) break;
+                    heap[child] = heap[parent];
+                    child = parent;
+                }
+                heap[child] = value;
+            }
+            else if (k > 0 && order.compare(value, (T) heap[0]) > 0) {
+                siftDown(heap, value, size, order);
+            }
+        }
+        // Repeatedly move the lowest ranked value to the end, so the array ends up highest first.
+        for (int end = size - 1; end > 0; end--) {
+            T last = (T) heap[end];
+            heap[end] = heap[0];
+            siftDown(heap, last, end, order);
+        }
+        List<T> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) result.add((T) heap[i]);
+        return result;
+    }
+
+    /**
+     * Places a value at the root of a heap and sifts it down to restore the heap.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void siftDown(Object[] heap, T value, int size, Comparator<? super T> order) {
+        int parent = 0;
+        int child;
+        while ((child = 2 * parent + 1) < size) {
+            if (child + 1 < size && order.compare((T) heap[child + 1], (T) heap[child]) < 0) child++;
+            if (order.compare(value, (T) heap[child]) <= 0) break;
+            heap[parent] = heap[child];
+            parent = child;
+        }
+        heap[parent] = value;
+    }
+
+    /**
+     * Finds the k largest values of an int stream.
+     * @param values values to consume.
+     * @param k count of values to keep.
+     * @return Up to k values in descending order, fewer if the stream holds fewer.
+     * @throws IllegalArgumentException if k is negative.
+     */
+    public static int[] largest(IntStream values, int k) throws IllegalArgumentException {
+        return top(values.iterator(), k, true);
+    }
+
+    /**
+     * Finds the k smallest values of an int stream.
+     * @param values values to consume.
+     * @param k count of values to keep.
+     * @return Up to k values in ascending order, fewer if the stream holds fewer.
+     * @throws IllegalArgumentException if k is negative.
+     */
+    public static int[] smallest(IntStream values, int k) throws IllegalArgumentException {
+        return top(values.iterator(), k, false);
+    }
+
+    private static int[] top(PrimitiveIterator.OfInt values, int k, boolean largest) {
+        checkK(k);
+        // Largest values are kept as is and smallest values negated bitwise, which reverses the order of every
+        // int, so both keep a min heap of the best values.
+        int flip = largest ? 0 : -1;
+        int[] heap = new int[Math.min(k, 1024)];
+        int size = 0;
+        while (values.hasNext()) {
+            int value = values.nextInt() ^ flip;
+            if (size < k) {
+                if (size == heap.length) heap = Arrays.copyOf(heap, (int) Math.min(k, 2L * size));
+                int child = size++;
+                while (child > 0) {
+                    int parent = (child - 1) >>> 1;
+                    if (value >= heap[parent]) break;
+                    heap[child] = heap[parent];
+                    child = parent;
+                }
+                heap[child] = value;
+            }
+            else if (k > 0 && value > heap[0]) {
+                siftDown(heap, value, size);
+            }
+        }
+        for (int end = size - 1; end > 0; end--) {
+            int last = heap[end];
+            heap[end] = heap[0];
+            siftDown(heap, last, end);
+        }
+        int[] result = Arrays.copyOf(heap, size);
+        for (int i = 0; i < size; i++) result[i] ^= flip;
+        return result;
+    }
+
+    private static void siftDown(int[] heap, int value, int size) {
+        int parent = 0;
+        int child;
+        while ((child = 2 * parent + 1) < size) {
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (value <= heap[child]) break;
+            heap[parent] = heap[child];
+            parent = child;
+        }
+        heap[parent] = value;
+    }
+
+    /**
+     * Finds the k largest values of a long stream.
+     * @param values values to consume.
+     * @param k count of values to keep.
+     * @return Up to k values in descending order, fewer if the stream holds fewer.
+     * @throws IllegalArgumentException if k is negative.
+     */
+    public static long[] largest(LongStream values, int k) throws IllegalArgumentException {
+        return top(values.iterator(), k, true);
+    }
+
+    /**
+     * Finds the k smallest values of a long stream.
+     * @param values values to consume.
+     * @param k count of values to keep.
+     * @return Up to k values in ascending order, fewer if the stream holds fewer.
+     * @throws IllegalArgumentException if k is negative.
+     */
+    public static long[] smallest(LongStream values, int k) throws IllegalArgumentException {
+        return top(values.iterator(), k, false);
+    }
+
+    private static long[] top(PrimitiveIterator.OfLong values, int k, boolean largest) {
+        checkK(k);
+        // As for ints, smallest values are negated bitwise so both keep a min heap of the best values.
+        long flip = largest ? 0 : -1;
+        long[] heap = new long[Math.min(k, 1024)];
+        int size = 0;
+        while (values.hasNext()) {
+            long value = values.nextLong() ^ flip;
+            if (size < k) {
+                if (size == heap.length) heap = Arrays.copyOf(heap, (int) Math.min(k, 2L * size));
+                int child = size++;
+                while (child > 0) {
+                    int parent = (child - 1) >>> 1;
+                    if (value >= heap[parent]) break;
+                    heap[child] = heap[parent];
+                    child = parent;
+                }
+                heap[child] = value;
+            }
+            else if (k > 0 && value > heap[0]) {
+                siftDown(heap, value, size);
+            }
+        }
+        for (int end = size - 1; end > 0; end--) {
+            long last = heap[end];
+            heap[end] = heap[0];
+            siftDown(heap, last, end);
+        }
+        long[] result = Arrays.copyOf(heap, size);
+        for (int i = 0; i < size; i++) result[i] ^= flip;
+        return result;
+    }
+
+    private static void siftDown(long[] heap, long value, int size) {
+        int parent = 0;
+        int child;
+        while ((child = 2 * parent + 1) < size) {
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (value <= heap[child]) break;
+            heap[parent] = heap[child];
+            parent = child;
+        }
+        heap[parent] = value;
+    }
+
+    /**
+     * Finds the k largest values of a double stream. Values are ordered as by Double.compare, so NaN ranks above
+     * every other value and 0.0 above -0.0.
+     * @param values values to consume.
+     * @param k count of values to keep.
+     * @return Up to k values in descending order, fewer if the stream holds fewer.
+     * @throws IllegalArgumentException if k is negative.
+     */
+    public static double[] largest(DoubleStream values, int k) throws IllegalArgumentException {
+        return toDoubles(top(values.mapToLong(TopK::sortableBits).iterator(), k, true));
+    }
+
+    /**
+     * Finds the k smallest values of a double stream. Values are ordered as by Double.compare, so NaN ranks above
+     * every other value and -0.0 below 0.0.
+     * @param values values to consume.
+     * @param k count of values to keep.
+     * @return Up to k values in ascending order, fewer if the stream holds fewer.
+     * @throws IllegalArgumentException if k is negative.
+     */
+    public static double[] smallest(DoubleStream values, int k) throws IllegalArgumentException {
+        return toDoubles(top(values.mapToLong(TopK::sortableBits).iterator(), k, false));
+    }
+
+    /**
+     * Maps a double to a long whose signed order matches Double.compare. Negative values have every bit but the
+     * sign flipped, which reverses their order, and NaN is collapsed to its canonical form.
+     */
+    private static long sortableBits(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    private static double[] toDoubles(long[] bits) {
+        double[] result = new double[bits.length];
+        for (int i = 0; i < bits.length; i++) {
+            result[i] = Double.longBitsToDouble(bits[i] ^ ((bits[i] >> 63) & Long.MAX_VALUE));
+        }
+        return result;
+    }
+
+    private static void checkK(int k) throws IllegalArgumentException {
+        if (k < 0) throw new IllegalArgumentException("k must not be negative");
+    }
+}
@@ -3,21 +3,55 @@ package com.datastructures.trees;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Queue;
-import java.util.Stack;
+import java.util.SortedSet;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.ArrayDeque;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This class implements a binary search tree data structure.
  * Binary search trees maintain the invariant each node to the left is smaller than the
  * current node and each node to the right is larger than the current node.
  * In this implementation, there are no duplicates.
- * @param <T> Comparable type.
+ * The tree may optionally be constructed in balanced mode, in which case it is maintained as an AVL tree:
+ * after every insertion or removal the subtree heights of each node's children are kept within one of each
+ * other by rotations. This guarantees O(log n) operations regardless of insertion order.
+ * Every node also records the size of its subtree, so order statistics (select, rank and range counts)
+ * take a single descent rather than a traversal.
+ * Metrics describing the tree's shape and the depth of its descents can be enabled with setMetricsEnabled.
+ * While disabled, which is the default, operations do no extra work.
+ * Values are ordered by their natural ordering, or by a Comparator given at construction, as in TreeMap. Without
+ * a comparator the values must be Comparable, or adding them throws ClassCastException.
+ * The tree is a NavigableSet, so it can stand in for a TreeSet. Navigation (lower, floor, ceiling, higher, first,
+ * last and the polls) takes a single descent, O(log n) in balanced mode. Iteration steps from node to node through
+ * the parent links, in O(1) amortized time per step with no stack, and supports removal. Sub-set and descending
+ * views are live, and count their size from the subtree sizes in O(height) rather than by iterating.
+ * For workloads where most contains calls miss, enableMissFilter keeps a cuckoo filter of the values alongside
+ * the tree, which answers most misses with two bucket probes and no descent at all.
+ * @param <T> value type.
  */
-public class BinarySearchTree<T extends Comparable<T>> {
+public class BinarySearchTree<T> extends AbstractSet<T> implements NavigableSet<T> {
 
     /**
      * Constants to facilitate printing the tree.
@@ -27,13 +61,6 @@ public class BinarySearchTree<T extends Comparable<T>> {
     private static final String PRINT_LEFT_CHILD_SIBLING_EDGE = "├──Left Child: ";
     private static final String PRINT_LEFT_CHILD_EDGE = "└──Left Child: ";
 
-    /**
-     * String constants to clarify comparator output.
-     */
-    private static final String LESS_THAN = "LESS_THAN";
-    private static final String GREATER_THAN = "GREATER_THAN";
-    private static final String EQUAL_TO = "EQUAL_TO";
-
     /**
      * The node class represents a single node within the BST.
      * This is declared within the BST class to cascade the comparable type T.
@@ -44,40 +71,24 @@ public class BinarySearchTree<T extends Comparable<T>> {
         T data;
         Node left;
         Node right;
+        // Link back to the parent so mutations can retrace their path, and iterators step to the next node,
+        // without recursion or an explicit stack.
+        Node parent;
+        // Height of the subtree rooted at this node. Only maintained in balanced mode.
+        int height = 1;
+        // Count of nodes in the subtree rooted at this node, including itself. Always maintained.
+        int subtreeSize = 1;
 
         /**
-         * Constructs a node with a left child, right child, and data member.
-         * @param left the child with a data member smaller than the current node if one is provided.
-         * @param right The child with a data member larger than the current node if one is provided.
+         * Constructs a leaf node with a parent and data member.
+         * @param parent the node this node hangs from, or null for the root.
          * @param data Comparable data value.
          */
-        public Node(Node left, Node right, T data) {
-            this.left = left;
-            this.right = right;
+        public Node(Node parent, T data) {
+            this.parent = parent;
             this.data = data;
         }
 
-        /**
-         * Attempts to add a child node maintaining the BST invariant.
-         * @param node New node to be added.
-         * @return True / False indicating whether the node was added.
-         */
-        public boolean addChild(Node node) {
-            // Adds right child
-            if (this.right == null && this.data.compareTo(node.data) < 0) {
-                this.right = node;
-                return true;
-            }
-            // Adds left child
-            else if (this.left == null && this.data.compareTo(node.data) > 0) {
-                this.left = node;
-                return true;
-
-            }
-            // Child cannot be added while maintaining BST invariant
-            return false;
-        }
-
         /**
          * Returns the string representation of the given node.
          * @return String value of the data contents for the tree.
@@ -91,304 +102,1938 @@ public class BinarySearchTree<T extends Comparable<T>> {
     @Getter
     private int size = 0;
     private Node root = null;
+    // Count of structural changes, checked by iterators and spliterators to fail fast.
+    private int modCount = 0;
+    // Indicates the tree rebalances itself on insertion and removal.
+    @Getter
+    private final boolean balanced;
+    /**
+     * Order of the values, or null for their natural ordering.
+     */
+    @Getter
+    private final Comparator<? super T> comparator;
+    // Operation counters, or null while metrics are disabled.
+    private TreeMetrics.Counters metricsCounters = null;
+    // Filter of the hash codes of the values, answering definite misses of contains, or null while disabled.
+    private CuckooFilter missFilter = null;
+    private ToIntFunction<? super T> missFilterHash;
+    private MissFilterStats.Counters missFilterCounters;
+
+    /**
+     * Constructs an empty tree that does not rebalance itself.
+     */
+    public BinarySearchTree() {
+        this(false);
+    }
+
+    /**
+     * Constructs an empty tree.
+     * @param balanced True to maintain the tree as an AVL tree, keeping its height logarithmic in its size.
+     */
+    public BinarySearchTree(boolean balanced) {
+        this(null, balanced);
+    }
+
+    /**
+     * Constructs an empty tree ordered by a comparator that does not rebalance itself.
+     * @param comparator order of the values, or null for their natural ordering.
+     */
+    public BinarySearchTree(Comparator<? super T> comparator) {
+        this(comparator, false);
+    }
+
+    /**
+     * Constructs an empty tree ordered by a comparator. Values the comparator finds equal are duplicates.
+     * @param comparator order of the values, or null for their natural ordering.
+     * @param balanced True to maintain the tree as an AVL tree, keeping its height logarithmic in its size.
+     */
+    public BinarySearchTree(Comparator<? super T> comparator, boolean balanced) {
+        this.comparator = comparator;
+        this.balanced = balanced;
+    }
+
+    /**
+     * Compares two values with the comparator, or by their natural ordering when there is none.
+     * @return A negative number, zero or a positive number as first is less than, equal to or greater than second.
+     */
+    @SuppressWarnings("unchecked")
+    private int compare(T first, T second) {
+        return comparator == null ? ((Comparable<? super T>) first).compareTo(second) : comparator.compare(first, second);
+    }
+
+    /**
+     * Builds a perfectly balanced tree that does not rebalance itself, from values in strictly ascending order.
+     * @param values sorted values.
+     * @param <T> Comparable type.
+     * @return A tree of minimum height holding the values.
+     * @throws IllegalArgumentException if the values are not in strictly ascending order.
+     */
+    public static <T extends Comparable<T>> BinarySearchTree<T> fromSorted(T[] values) throws IllegalArgumentException {
+        return fromSorted(values, false);
+    }
+
+    /**
+     * Builds a perfectly balanced tree from values in strictly ascending order.
+     * @param values sorted values.
+     * @param balanced True to keep the tree balanced through later insertions and removals.
+     * @param <T> Comparable type.
+     * @return A tree of minimum height holding the values.
+     * @throws IllegalArgumentException if the values are not in strictly ascending order.
+     */
+    public static <T extends Comparable<T>> BinarySearchTree<T> fromSorted(T[] values, boolean balanced)
+            throws IllegalArgumentException {
+        return fromSorted(Arrays.asList(values), balanced);
+    }
+
+    /**
+     * Builds a perfectly balanced tree that does not rebalance itself, from values in strictly ascending order.
+     * @param values sorted values.
+     * @param <T> Comparable type.
+     * @return A tree of minimum height holding the values.
+     * @throws IllegalArgumentException if the values are not in strictly ascending order.
+     */
+    public static <T extends Comparable<T>> BinarySearchTree<T> fromSorted(List<T> values)
+            throws IllegalArgumentException {
+        return fromSorted(values, false);
+    }
+
+    /**
+     * Builds a perfectly balanced tree from values in strictly ascending order.
+     * @param values sorted values.
+     * @param balanced True to keep the tree balanced through later insertions and removals.
+     * @param <T> Comparable type.
+     * @return A tree of minimum height holding the values.
+     * @throws IllegalArgumentException if the values are not in strictly ascending order.
+     */
+    public static <T extends Comparable<T>> BinarySearchTree<T> fromSorted(List<T> values, boolean balanced)
+            throws IllegalArgumentException {
+        return fromSorted(values.iterator(), values.size(), balanced);
+    }
+
+    /**
+     * Builds a perfectly balanced tree that does not rebalance itself, from values in strictly ascending order.
+     * @param values iterator over sorted values. Only the first count values are read.
+     * @param count number of values to read.
+     * @param <T> Comparable type.
+     * @return A tree of minimum height holding the values.
+     * @throws IllegalArgumentException if count is negative, the iterator holds fewer than count values or
+     * the values are not in strictly ascending order.
+     */
+    public static <T extends Comparable<T>> BinarySearchTree<T> fromSorted(Iterator<? extends T> values, int count)
+            throws IllegalArgumentException {
+        return fromSorted(values, count, false);
+    }
+
+    /**
+     * Builds a perfectly balanced tree from values in strictly ascending order.
+     * Values are read once, in order, and placed straight into their final positions, so the build takes O(n)
+     * time with no comparisons beyond checking the order. The count is needed up front to shape the tree.
+     * @param values iterator over sorted values. Only the first count values are read.
+     * @param count number of values to read.
+     * @param balanced True to keep the tree balanced through later insertions and removals.
+     * @param <T> Comparable type.
+     * @return A tree of minimum height holding the values.
+     * @throws IllegalArgumentException if count is negative, the iterator holds fewer than count values or
+     * the values are not in strictly ascending order.
+     */
+    public static <T extends Comparable<T>> BinarySearchTree<T> fromSorted(Iterator<? extends T> values, int count,
+                                                                           boolean balanced)
+            throws IllegalArgumentException {
+        if (count < 0) throw new IllegalArgumentException("Count must not be negative");
+        BinarySearchTree<T> tree = new BinarySearchTree<>(balanced);
+        tree.loadSorted(values, count);
+        return tree;
+    }
 
     /**
      * Indicates if any nodes exist in the BST.
      * @return Boolean indicating if the tree is empty.
      */
+    @Override
     public boolean isEmpty() {
         return getSize() == 0;
     }
 
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Order of the values, as for a SortedSet.
+     * @return The comparator, or null for natural ordering.
+     */
+    @Override
+    public Comparator<? super T> comparator() {
+        return comparator;
+    }
+
     /**
      * Determines if a given value exists in the BST.
      * @param data the data to search.
      * @return boolean indicating if a node with the data is found.
+     * @throws ClassCastException if data can not be compared with the values in the tree.
      */
-    public boolean contains(T data) {
-        Node currentNode = root;
-        while (currentNode != null && !hasData(currentNode, data)) {
-            currentNode = data.compareTo(currentNode.data) > 0 ? currentNode.right : currentNode.left;
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(Object data) {
+        if (missFilter != null && !missFilter.mightContain(missFilterHash.applyAsInt((T) data))) {
+            // One comparison still checks the value can be ordered with the tree's, so the filter does not turn a
+            // ClassCastException into false.
+            if (root != null) compare((T) data, root.data);
+            missFilterCounters.lookedUp(false, false);
+            // Counted as a lookup that compared against no node, so metrics still count every call.
+            if (metricsCounters != null) metricsCounters.descended(TreeMetrics.Operation.CONTAINS, 0, size);
+            return false;
         }
-        return hasData(currentNode, data);
+        boolean found = findNode((T) data, TreeMetrics.Operation.CONTAINS) != null;
+        if (missFilter != null) missFilterCounters.lookedUp(true, found);
+        return found;
     }
 
     /**
-     * Helper function to determine if a node has a given value stored as data.
-     * @param node the node under consideration.
-     * @param data the data under consideration.
-     * @return boolean indicating if the node's data matches the given data.
+     * Locates the node holding the given value with a single comparison per level.
+     * @param data the data to search.
+     * @return Node containing the data, or null if it does not exist in the tree.
      */
-    private boolean hasData(Node node, T data) {
-        return node != null && node.data.compareTo(data) == 0;
+    private Node findNode(T data) {
+        return findNode(data, null);
     }
 
     /**
-     * Adds the given data to the BST.
-     * @param data to be added to tree.
-     * @return boolean indicating if the data was added to the tree.
+     * Locates the node holding the given value, counting the descent for an operation while metrics are enabled.
+     * The depth is counted in the same descent, so metrics cost no extra comparisons.
+     * @param data the data to search.
+     * @param operation the operation to count, or null to count nothing.
+     * @return Node containing the data, or null if it does not exist in the tree.
      */
-    public boolean add(T data) {
-        if (contains(data)) return false;
-        if (root == null) return addRoot(data);
-        // Traverse the BST to find the insertion point
+    private Node findNode(T data, TreeMetrics.Operation operation) {
+        int depth = 0;
         Node currentNode = root;
-        Node previousNode = root;
         while (currentNode != null) {
-            previousNode = currentNode;
-            currentNode = (data.compareTo(currentNode.data) > 0 ? currentNode.right : currentNode.left);
-        }
-        if (previousNode.addChild(new Node(null, null, data))) {
-            size++;
-            return true;
+            depth++;
+            int comparison = compare(data, currentNode.data);
+            if (comparison == 0) break;
+            currentNode = comparison < 0 ? currentNode.left : currentNode.right;
         }
-        return false;
+        if (operation != null && metricsCounters != null) metricsCounters.descended(operation, depth, size);
+        return currentNode;
     }
 
     /**
-     * Helper function to add the root to an empty tree.
-     * @param data value for the root node.
-     * @return boolean indicating success or failure.
+     * Adds the given data to the BST.
+     * The insertion point is found in a single descent that also detects duplicates, so each level
+     * costs one comparison and the only allocation is the new node.
+     * @param data to be added to tree.
+     * @return boolean indicating if the data was added to the tree.
      */
-    private boolean addRoot(T data) {
+    @Override
+    public boolean add(T data) {
         if (root == null) {
-            root = new Node(null, null, data);
+            if (metricsCounters != null) metricsCounters.descended(TreeMetrics.Operation.ADD, 0, size);
+            root = new Node(null, data);
             size++;
+            modCount++;
+            if (missFilter != null) addToMissFilter(data);
             return true;
         }
-        return false;
+        // Traverse the BST to find the insertion point
+        Node currentNode = root;
+        Node parentNode;
+        int comparison;
+        int depth = 0;
+        do {
+            depth++;
+            parentNode = currentNode;
+            comparison = compare(data, currentNode.data);
+            if (comparison == 0) break;
+            currentNode = comparison < 0 ? currentNode.left : currentNode.right;
+        } while (currentNode != null);
+        if (metricsCounters != null) metricsCounters.descended(TreeMetrics.Operation.ADD, depth, size);
+        if (comparison == 0) return false;
+        Node node = new Node(parentNode, data);
+        if (comparison < 0) {
+            parentNode.left = node;
+        }
+        else {
+            parentNode.right = node;
+        }
+        size++;
+        modCount++;
+        adjustSubtreeSizes(parentNode, 1);
+        if (balanced) retrace(parentNode);
+        if (missFilter != null) addToMissFilter(data);
+        return true;
     }
 
     /**
      * Removes the node with the provided data value from the BST.
      * @param data to be removed.
      * @return Boolean indicating success or failure of removal.
+     * @throws ClassCastException if data can not be compared with the values in the tree.
      */
-    public boolean remove(T data) {
-        if (contains(data)) {
-            root = remove(root, data);
-            size--;
-            return true;
-        }
-        return false;
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(Object data) {
+        Node node = findNode((T) data, TreeMetrics.Operation.REMOVE);
+        if (node == null) return false;
+        deleteNode(node);
+        return true;
     }
 
     /**
-     * Recursive removal function to locate and remove node.
-     * @param node current node under consideration.
-     * @param data value to be removed.
-     * @return Recursively returns node to rebuild tree.
+     * Removes every value in O(1), leaving the nodes to the garbage collector.
+     */
+    @Override
+    public void clear() {
+        root = null;
+        size = 0;
+        modCount++;
+        if (missFilter != null) missFilter.clear();
+    }
+
+    /**
+     * Removes a node found in the tree and records the modification.
+     * @param node the node to be removed.
+     */
+    private void deleteNode(Node node) {
+        // Read before unlinking, as a node with two children takes its successor's value.
+        if (missFilter != null) missFilter.remove(missFilterHash.applyAsInt(node.data));
+        removeNode(node);
+        size--;
+        modCount++;
+    }
+
+    /**
+     * Removes a node found in the tree, if any.
+     * @param node the node to be removed, or null.
+     * @return The value the node held, or null if node is null.
      */
-    private Node remove(Node node, T data) {
+    private T pollNode(Node node) {
         if (node == null) return null;
-        String compareResult = comparatorToString(data.compareTo(node.data));
-        switch(compareResult) {
-            case LESS_THAN:
-                node.left = remove(node.left, data);
-                break;
-            case GREATER_THAN:
-                node.right = remove(node.right, data);
-                break;
-            case EQUAL_TO:
-                if (node.left == null) {
-                    return node.right;
-                }
-                else if (node.right == null) {
-                    return node.left;
-                }
-                else {
-                    Node tempNode = findMin(node.right);
-                    node.data = tempNode.data;
-                    node.right = remove(node.right, tempNode.data);
-                }
+        T data = node.data;
+        deleteNode(node);
+        return data;
+    }
+
+    /**
+     * Unlinks a node from the tree without recursion.
+     * A node with two children takes the value of its in order successor, and the successor,
+     * which has no left child, is unlinked in its place.
+     * @param node the node to be removed.
+     */
+    private void removeNode(Node node) {
+        if (node.left != null && node.right != null) {
+            Node successor = findMin(node.right);
+            node.data = successor.data;
+            node = successor;
         }
-        return node;
+        Node replacement = (node.left != null) ? node.left : node.right;
+        Node parentNode = node.parent;
+        if (replacement != null) replacement.parent = parentNode;
+        replaceChild(parentNode, node, replacement);
+        // Clear the unlinked node's links so it does not retain the rest of the tree.
+        node.parent = node.left = node.right = null;
+        adjustSubtreeSizes(parentNode, -1);
+        if (balanced && parentNode != null) retrace(parentNode);
     }
 
     /**
-     * Locates the minimum node in the BST rooted at node.
-     * @param node current node under consideration.
-     * @return Node representing the minimum data value.
+     * Adds every value of the other tree to this one. When the trees are of comparable size they are merged in
+     * order and this tree is rebuilt perfectly balanced from the merge, in O(n + m) time. The rebuild replaces all
+     * n nodes, so when the other tree is small, when m log2(n + m) is below n + m, its values are instead added
+     * one by one in O(m log(n + m)).
+     * @param other tree whose values are added.
+     * @return Boolean indicating if any value was added.
+     * @throws IllegalArgumentException if the trees are not ordered by the same comparator.
      */
-    private Node findMin(Node node) {
-        while (node.left != null) node = node.left;
-        return node;
+    public boolean addAll(BinarySearchTree<T> other) throws IllegalArgumentException {
+        checkSameOrder(other);
+        if (other == this || other.size == 0) return false;
+        long total = (long) size + other.size;
+        int log2 = Long.SIZE - Long.numberOfLeadingZeros(total);
+        if ((long) other.size * log2 < total) {
+            boolean changed = false;
+            for (T value : other) changed |= add(value);
+            return changed;
+        }
+        int count = countMerged(other, SetOperation.UNION);
+        if (count == size) return false;
+        loadSorted(mergeIterator(other, SetOperation.UNION), count);
+        return true;
     }
 
     /**
-     * Calculates the height of the BST.
-     * @return int height of longest branch in tree.
+     * Adds every value of a collection. Another tree in the same order is added as by addAll(BinarySearchTree),
+     * merged in O(n + m) unless it is small, and any other collection is added one value at a time.
+     * @param values values to add.
+     * @return Boolean indicating if any value was added.
      */
-    public int height() {
-        return height(root);
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean addAll(Collection<? extends T> values) {
+        if (values instanceof BinarySearchTree
+                && Objects.equals(comparator, ((BinarySearchTree<?>) values).comparator)) {
+            return addAll((BinarySearchTree<T>) values);
+        }
+        return super.addAll(values);
     }
 
     /**
-     * Recursive helper function to traverse the BST returning the max of the subtree rooted at
-     * the left child and the subtree rooted at the right child plus 1 for the current node.
-     * @param node The current node under consideration.
-     * @return integer value representing the height of the tree.
+     * Creates a tree of the values in either this tree or the other, in O(n + m) time.
+     * @param other tree to combine with.
+     * @return A new, perfectly balanced tree in the same mode as this one.
+     * @throws IllegalArgumentException if the trees are not ordered by the same comparator.
      */
-    private int height(Node node) {
-        if (node == null) return 0;
-        return Math.max(height(node.left), height(node.right)) + 1;
+    public BinarySearchTree<T> union(BinarySearchTree<T> other) throws IllegalArgumentException {
+        return merge(other, SetOperation.UNION);
     }
 
     /**
-     * Helper Function to print the current tree.
-     * @param printStream Output stream object to print string data.
+     * Creates a tree of the values in both this tree and the other, in O(n + m) time.
+     * @param other tree to combine with.
+     * @return A new, perfectly balanced tree in the same mode as this one.
+     * @throws IllegalArgumentException if the trees are not ordered by the same comparator.
      */
-    public void printTree(PrintStream printStream) {
-        StringBuilder sb = new StringBuilder();
-        preOrderPrintTraversal(sb, "", "", this.root);
-        printStream.print(sb.toString());
+    public BinarySearchTree<T> intersect(BinarySearchTree<T> other) throws IllegalArgumentException {
+        return merge(other, SetOperation.INTERSECTION);
+    }
+
+    /**
+     * Creates a tree of the values in this tree that are not in the other, in O(n + m) time.
+     * @param other tree whose values are excluded.
+     * @return A new, perfectly balanced tree in the same mode as this one.
+     * @throws IllegalArgumentException if the trees are not ordered by the same comparator.
+     */
+    public BinarySearchTree<T> difference(BinarySearchTree<T> other) throws IllegalArgumentException {
+        return merge(other, SetOperation.DIFFERENCE);
+    }
+
+    /**
+     * Builds a new tree from an in order merge of this tree and the other. The merge runs twice, first to
+     * count the result so the tree can be shaped, then to fill it, which avoids buffering the values.
+     * @param other tree to combine with.
+     * @param operation set operation the merge performs.
+     * @return A new, perfectly balanced tree in the same mode and order as this one.
+     */
+    private BinarySearchTree<T> merge(BinarySearchTree<T> other, SetOperation operation) {
+        int count = countMerged(other, operation);
+        BinarySearchTree<T> tree = new BinarySearchTree<>(comparator, balanced);
+        tree.loadSorted(mergeIterator(other, operation), count);
+        return tree;
+    }
+
+    /**
+     * Counts the values a merge of this tree and the other produces.
+     * @param other tree on the right of the operation.
+     * @param operation set operation the merge performs.
+     * @return Count of values in the result.
+     */
+    private int countMerged(BinarySearchTree<T> other, SetOperation operation) {
+        int count = 0;
+        for (Iterator<T> merged = mergeIterator(other, operation); merged.hasNext(); merged.next()) count++;
+        return count;
     }
 
     /**
-     * Performs a preorder traversal to print tree structure. this may be
-     * used as a visual verification of the tree.
-     * @param sb Output value String builder to accumulate string.
-     * @param padding left padding to be applied.
-     * @param pointer Edge pointer in tree structure.
-     * @param node Current node under consideration.
+     * Starts an in order merge of this tree and the other. Merging relies on both iterating in the same order.
+     * @param other tree on the right of the operation.
+     * @param operation set operation the merge performs.
+     * @return Iterator over the result.
+     * @throws IllegalArgumentException if the trees are not ordered by the same comparator.
      */
-    private void preOrderPrintTraversal(StringBuilder sb,  String padding, String pointer, Node node) {
-        if (node == null) return;
-        // Create the string for the current node. This consists of the padding from the left,
-        // a pointer bar, the node value, and a newline to begin the next node.
-        sb.append(padding + pointer + node + "\n");
-        // Current padding begins string for next node at correct level.
-        StringBuilder paddingBuilder = new StringBuilder(padding);
-        // Add the padding symbol "|" to start the node.
-        paddingBuilder.append(PRINT_PADDING);
-        // Both children will get the base padding as the children exist at the same level.
-        String paddingForChildren = paddingBuilder.toString();
-        // Add lines to represent branches pointing to the children
-        String branchForRight = PRINT_RIGHT_CHILD_EDGE;
-        String branchForLeft = (node.right != null) ? PRINT_LEFT_CHILD_SIBLING_EDGE : PRINT_LEFT_CHILD_EDGE;
-        // Process children
-        preOrderPrintTraversal(sb, paddingForChildren, branchForLeft, node.left);
-        preOrderPrintTraversal(sb, paddingForChildren, branchForRight, node.right);
+    private Iterator<T> mergeIterator(BinarySearchTree<T> other, SetOperation operation)
+            throws IllegalArgumentException {
+        checkSameOrder(other);
+        return new MergeIterator<>(iterator(TraversalType.INORDER), other.iterator(TraversalType.INORDER), operation,
+                this::compare);
     }
 
     /**
-     * Helper function to get a string representation of comparator results. This is only
-     * done for readability.
-     * @param comparatorResult The integer returned by compareTo.
-     * @return String constant representing relationship.
+     * Checks the other tree iterates in the same order as this one.
+     * @param other tree to check.
+     * @throws IllegalArgumentException if the trees are not ordered by the same comparator.
      */
-    private String comparatorToString(int comparatorResult) throws IllegalArgumentException {
-        switch(comparatorResult) {
-            case -1:
-                return LESS_THAN;
-            case 0:
-                return EQUAL_TO;
-            case 1:
-                return GREATER_THAN;
+    private void checkSameOrder(BinarySearchTree<T> other) throws IllegalArgumentException {
+        if (!Objects.equals(comparator, other.comparator)) {
+            throw new IllegalArgumentException("Trees are not ordered by the same comparator");
         }
-        throw new IllegalArgumentException("Invalid comparator value provided");
     }
 
     /**
-     * Helper function to route Binary Search Tree traversals.
-     * Helpers that perform traversal could be combined but left separated for clarity.
-     * @param type of traversal to perform (Preorder, Inorder, Postorder)
-     * @return List of values retrieved from tree in ordering requested.
-     * @throws IllegalArgumentException if an incorrect traversal is provided.
+     * Replaces the contents of this tree with a perfectly balanced tree built from sorted values.
+     * The new nodes are all built before the tree is changed, so a failure leaves the tree as it was, and the
+     * values may come from iterating this tree.
+     * @param values iterator over values in strictly ascending order.
+     * @param count number of values to read.
+     * @throws IllegalArgumentException if the iterator holds fewer than count values or they are not in order.
      */
-    public List<T> traverse(TraversalType type) throws IllegalArgumentException {
-        // Breaks aren't necessary on switch statement because returns make subsequent
-        // cases unreachable
-        switch(type) {
-            case PREORDER:
-                return preorderTraversal();
-            case INORDER:
-                return inorderTraversal();
-            case POSTORDER:
-                return postorderTraversal();
+    private void loadSorted(Iterator<? extends T> values, int count) throws IllegalArgumentException {
+        Node newRoot = new SortedBuilder(values).build(count);
+        root = newRoot;
+        size = count;
+        modCount++;
+        if (missFilter != null) rebuildMissFilter(Math.max(count, missFilter.size()));
+    }
+
+    /**
+     * Points the parent link that referenced oldChild at newChild. A null parent indicates oldChild is the root.
+     * @param parentNode parent of oldChild, or null.
+     * @param oldChild child being replaced.
+     * @param newChild replacement child, which may be null.
+     */
+    private void replaceChild(Node parentNode, Node oldChild, Node newChild) {
+        if (parentNode == null) {
+            root = newChild;
+        }
+        else if (parentNode.left == oldChild) {
+            parentNode.left = newChild;
+        }
+        else {
+            parentNode.right = newChild;
         }
-        throw new IllegalArgumentException("Invalid traversal type provided");
     }
 
     /**
-     * Performs an iterative in preorder traversal.
-     * @return List of elements in order visited by preorder traversal.
+     * Adds delta to the subtree size of the given node and every ancestor. Unlike the AVL retrace this can not
+     * stop early, as every ancestor's subtree gained or lost the node.
+     * @param node lowest node whose subtree changed, or null.
+     * @param delta change in size.
      */
-    private List<T> preorderTraversal() {
-        List<T> result = new ArrayList<T>();
-        if (root == null) return result;
-        Queue<Node> queue = new ArrayDeque<>();
-        queue.offer(root);
-        while (!queue.isEmpty()) {
-            Node currentNode = queue.poll();
-            result.add(currentNode.data);
-            if (currentNode.left != null) {
-                queue.offer(currentNode.left);
+    private void adjustSubtreeSizes(Node node, int delta) {
+        for (; node != null; node = node.parent) node.subtreeSize += delta;
+    }
+
+    /**
+     * Recomputes the stored subtree size of a node from the stored sizes of its children.
+     * @param node the node to update.
+     */
+    private void updateSubtreeSize(Node node) {
+        node.subtreeSize = subtreeSize(node.left) + subtreeSize(node.right) + 1;
+    }
+
+    /**
+     * Helper function to read the stored size of a possibly empty subtree.
+     * @param node root of the subtree.
+     * @return Stored size, or 0 for an empty subtree.
+     */
+    private int subtreeSize(Node node) {
+        return node == null ? 0 : node.subtreeSize;
+    }
+
+    /**
+     * Finds the k-th smallest value, counting from zero, by steering on the subtree sizes.
+     * Runs in O(height), which is O(log n) in balanced mode.
+     * @param k index of the value in sorted order.
+     * @return The value with exactly k smaller values in the tree.
+     * @throws IndexOutOfBoundsException if k is negative or not less than the size of the tree.
+     */
+    public T select(int k) {
+        Objects.checkIndex(k, size);
+        Node currentNode = root;
+        while (true) {
+            int leftSize = subtreeSize(currentNode.left);
+            if (k == leftSize) return currentNode.data;
+            if (k < leftSize) {
+                currentNode = currentNode.left;
             }
-            if (currentNode.right != null) {
-                queue.offer(currentNode.right);
+            else {
+                // Skip the left subtree and this node.
+                k -= leftSize + 1;
+                currentNode = currentNode.right;
             }
         }
-        return result;
     }
 
     /**
-     * Performs an iterative in order traversal.
-     * @return List of elements in order visited by in order traversal.
+     * Counts the values strictly smaller than the given value, which need not be in the tree.
+     * When it is, this is its index in sorted order, the inverse of select. Runs in O(height).
+     * @param data the value to rank.
+     * @return Count of values less than data.
+     */
+    public int rank(T data) {
+        return countBelow(data, false);
+    }
+
+    /**
+     * Counts the values smaller than, or when inclusive at most, the given value in a single descent.
+     * @param data the bound, which need not be in the tree.
+     * @param inclusive True to count a value equal to data.
+     * @return Count of values below the bound.
      */
-    private List<T> inorderTraversal() {
-        List<T> result = new ArrayList<T>();
-        if (root == null) return result;
-        Stack<Node> stack = new Stack<>();
+    private int countBelow(T data, boolean inclusive) {
+        int count = 0;
         Node currentNode = root;
-        while (currentNode != null || stack.size() > 0) {
-            while (currentNode != null) {
-                stack.push(currentNode);
+        while (currentNode != null) {
+            int comparison = compare(data, currentNode.data);
+            if (comparison < 0 || (comparison == 0 && !inclusive)) {
+                if (comparison == 0) return count + subtreeSize(currentNode.left);
                 currentNode = currentNode.left;
             }
-            currentNode = stack.pop();
-            result.add(currentNode.data);
-            currentNode = currentNode.right;
+            else {
+                count += subtreeSize(currentNode.left) + 1;
+                if (comparison == 0) return count;
+                currentNode = currentNode.right;
+            }
         }
-        return result;
+        return count;
     }
 
     /**
-     * Performs an iterative postorder traversal.
-     * @return List of elements in order visited by postorder traversal.
+     * Counts the values within the half open range [low, high). Runs in O(height), regardless of the count.
+     * @param low inclusive lower bound.
+     * @param high exclusive upper bound.
+     * @return Count of values v with low <= v < high.
+     * @throws IllegalArgumentException if low is greater than high.
      */
-    private List<T> postorderTraversal() {
-        List<T> result = new ArrayList<T>();
-        if (root == null) return result;
-        Stack<Node> stack = new Stack<>();
-        stack.push(root);
-        Node previousNode = null;
-        while (!stack.isEmpty()) {
-            Node currentNode = stack.peek();
-            if (previousNode == null || previousNode.left == currentNode || previousNode.right == currentNode) {
-                if (currentNode.left != null)
-                    stack.push(currentNode.left);
-                else if (currentNode.right != null)
-                    stack.push(currentNode.right);
-                else {
-                    stack.pop();
-                    result.add(currentNode.data);
-                }
+    public int countRange(T low, T high) throws IllegalArgumentException {
+        checkRange(low, high);
+        return rank(high) - rank(low);
+    }
+
+    /**
+     * Returns a lazy view of the values within the half open range [low, high), in ascending order.
+     * Each iteration descends once to the first value in range and then walks in order until the upper bound,
+     * so it costs O(height + count). Iterators of the view fail fast as the tree iterators do, and reflect the
+     * tree as it is when each iterator is created. This is subSet(low, high) as an Iterable.
+     * @param low inclusive lower bound.
+     * @param high exclusive upper bound.
+     * @return Iterable over the values v with low <= v < high.
+     * @throws IllegalArgumentException if low is greater than high.
+     */
+    public Iterable<T> range(T low, T high) throws IllegalArgumentException {
+        return subSet(low, true, high, false);
+    }
+
+    @Override
+    public T first() {
+        if (root == null) throw new NoSuchElementException();
+        return findMin(root).data;
+    }
+
+    @Override
+    public T last() {
+        if (root == null) throw new NoSuchElementException();
+        return findMax(root).data;
+    }
+
+    @Override
+    public T lower(T data) {
+        return valueOf(floorNode(data, false));
+    }
+
+    @Override
+    public T floor(T data) {
+        return valueOf(floorNode(data, true));
+    }
+
+    @Override
+    public T ceiling(T data) {
+        return valueOf(ceilingNode(data, true));
+    }
+
+    @Override
+    public T higher(T data) {
+        return valueOf(ceilingNode(data, false));
+    }
+
+    @Override
+    public T pollFirst() {
+        return pollNode(root == null ? null : findMin(root));
+    }
+
+    @Override
+    public T pollLast() {
+        return pollNode(root == null ? null : findMax(root));
+    }
+
+    /**
+     * Returns a lazy iterator over the values in ascending order, stepping through the parent links.
+     * The iterator is fail-fast and supports removal.
+     * @return Iterator over the values in order.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return iterator(TraversalType.INORDER);
+    }
+
+    @Override
+    public Iterator<T> descendingIterator() {
+        return new InorderIterator(root == null ? null : findMax(root), null, true);
+    }
+
+    /**
+     * Returns the in order spliterator, which splits by subtree, so the stream of the set may be made parallel.
+     * @return Spliterator over the values in order.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return spliterator(TraversalType.INORDER);
+    }
+
+    @Override
+    public NavigableSet<T> descendingSet() {
+        return new SubSet(true, null, false, true, null, false, true);
+    }
+
+    /**
+     * Returns a live view of the values between two bounds. Values added through the view must be within them.
+     * @throws IllegalArgumentException if fromElement is greater than toElement.
+     */
+    @Override
+    public NavigableSet<T> subSet(T fromElement, boolean fromInclusive, T toElement, boolean toInclusive)
+            throws IllegalArgumentException {
+        return new SubSet(false, fromElement, fromInclusive, false, toElement, toInclusive, false);
+    }
+
+    @Override
+    public NavigableSet<T> headSet(T toElement, boolean inclusive) {
+        return new SubSet(true, null, false, false, toElement, inclusive, false);
+    }
+
+    @Override
+    public NavigableSet<T> tailSet(T fromElement, boolean inclusive) {
+        return new SubSet(false, fromElement, inclusive, true, null, false, false);
+    }
+
+    @Override
+    public SortedSet<T> subSet(T fromElement, T toElement) throws IllegalArgumentException {
+        return subSet(fromElement, true, toElement, false);
+    }
+
+    @Override
+    public SortedSet<T> headSet(T toElement) {
+        return headSet(toElement, false);
+    }
+
+    @Override
+    public SortedSet<T> tailSet(T fromElement) {
+        return tailSet(fromElement, true);
+    }
+
+    /**
+     * Finds the node holding the smallest value above, or when inclusive at least, the given value in a single
+     * descent.
+     * @param data the bound, which need not be in the tree.
+     * @param inclusive True to accept a value equal to data.
+     * @return The node, or null if no value qualifies.
+     */
+    private Node ceilingNode(T data, boolean inclusive) {
+        Node candidate = null;
+        Node currentNode = root;
+        while (currentNode != null) {
+            int comparison = compare(data, currentNode.data);
+            if (comparison == 0 && inclusive) return currentNode;
+            if (comparison < 0) {
+                candidate = currentNode;
+                currentNode = currentNode.left;
             }
-            else if (currentNode.left == previousNode) {
-                if (currentNode.right != null)
-                    stack.push(currentNode.right);
-                else {
-                    stack.pop();
-                    result.add(currentNode.data);
-                }
+            else {
+                currentNode = currentNode.right;
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * Finds the node holding the largest value below, or when inclusive at most, the given value in a single
+     * descent.
+     * @param data the bound, which need not be in the tree.
+     * @param inclusive True to accept a value equal to data.
+     * @return The node, or null if no value qualifies.
+     */
+    private Node floorNode(T data, boolean inclusive) {
+        Node candidate = null;
+        Node currentNode = root;
+        while (currentNode != null) {
+            int comparison = compare(data, currentNode.data);
+            if (comparison == 0 && inclusive) return currentNode;
+            if (comparison > 0) {
+                candidate = currentNode;
+                currentNode = currentNode.right;
             }
-            else if (currentNode.right == previousNode) {
-                stack.pop();
-                result.add(currentNode.data);
+            else {
+                currentNode = currentNode.left;
             }
-            previousNode = currentNode;
         }
-        return result;
+        return candidate;
+    }
+
+    /**
+     * Helper function to read the value of a node that may be missing.
+     * @param node the node, or null.
+     * @return The node's value, or null.
+     */
+    private T valueOf(Node node) {
+        return node == null ? null : node.data;
+    }
+
+    /**
+     * Finds the node following the given one in order. Walking every node this way climbs each link at most
+     * once, so a full iteration is O(n) and each step O(1) amortized.
+     * @param node node to start from.
+     * @return The next node, or null if node holds the largest value.
+     */
+    private Node successor(Node node) {
+        if (node.right != null) return findMin(node.right);
+        Node parentNode = node.parent;
+        // Climb while coming up from a right child, as those ancestors are smaller.
+        while (parentNode != null && node == parentNode.right) {
+            node = parentNode;
+            parentNode = parentNode.parent;
+        }
+        return parentNode;
+    }
+
+    /**
+     * Finds the node preceding the given one in order.
+     * @param node node to start from.
+     * @return The previous node, or null if node holds the smallest value.
+     */
+    private Node predecessor(Node node) {
+        if (node.left != null) return findMax(node.left);
+        Node parentNode = node.parent;
+        while (parentNode != null && node == parentNode.left) {
+            node = parentNode;
+            parentNode = parentNode.parent;
+        }
+        return parentNode;
+    }
+
+    /**
+     * Validates the bounds of a range.
+     * @param low inclusive lower bound.
+     * @param high exclusive upper bound.
+     * @throws IllegalArgumentException if low is greater than high.
+     */
+    private void checkRange(T low, T high) throws IllegalArgumentException {
+        if (compare(low, high) > 0) throw new IllegalArgumentException("Range lower bound is greater than upper bound");
+    }
+
+    /**
+     * Locates the minimum node in the BST rooted at node.
+     * @param node current node under consideration.
+     * @return Node representing the minimum data value.
+     */
+    private Node findMin(Node node) {
+        while (node.left != null) node = node.left;
+        return node;
+    }
+
+    /**
+     * Locates the maximum node in the BST rooted at node.
+     * @param node current node under consideration.
+     * @return Node representing the maximum data value.
+     */
+    private Node findMax(Node node) {
+        while (node.right != null) node = node.right;
+        return node;
+    }
+
+    /**
+     * Walks from the given node towards the root restoring the AVL invariant after a mutation beneath it.
+     * The walk stops as soon as a subtree's height is unchanged, as nothing above it can be affected.
+     * @param node the lowest node whose subtree changed.
+     */
+    private void retrace(Node node) {
+        while (node != null) {
+            int previousHeight = node.height;
+            Node parentNode = node.parent;
+            Node subtreeRoot = rebalance(node);
+            if (subtreeRoot.height == previousHeight) return;
+            node = parentNode;
+        }
+    }
+
+    /**
+     * Restores the AVL invariant at the given node after one of its subtrees changed height by at most one.
+     * @param node the node whose children may be out of balance.
+     * @return The node now rooting this subtree, which differs from node if a rotation was performed.
+     */
+    private Node rebalance(Node node) {
+        updateHeight(node);
+        int balance = balanceFactor(node);
+        // Left heavy. A right leaning left child needs a left rotation first (left-right case).
+        if (balance > 1) {
+            if (balanceFactor(node.left) < 0) rotateLeft(node.left);
+            return rotateRight(node);
+        }
+        // Right heavy. A left leaning right child needs a right rotation first (right-left case).
+        if (balance < -1) {
+            if (balanceFactor(node.right) > 0) rotateRight(node.right);
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    /**
+     * Rotates the subtree rooted at node to the right, promoting its left child into node's place.
+     * @param node root of the subtree to rotate.
+     * @return The new root of the subtree.
+     */
+    private Node rotateRight(Node node) {
+        if (metricsCounters != null) metricsCounters.rotated();
+        Node pivot = node.left;
+        node.left = pivot.right;
+        if (pivot.right != null) pivot.right.parent = node;
+        pivot.parent = node.parent;
+        replaceChild(node.parent, node, pivot);
+        pivot.right = node;
+        node.parent = pivot;
+        updateHeight(node);
+        updateHeight(pivot);
+        // The pivot takes over the whole subtree, while node loses the pivot's other side.
+        pivot.subtreeSize = node.subtreeSize;
+        updateSubtreeSize(node);
+        return pivot;
+    }
+
+    /**
+     * Rotates the subtree rooted at node to the left, promoting its right child into node's place.
+     * @param node root of the subtree to rotate.
+     * @return The new root of the subtree.
+     */
+    private Node rotateLeft(Node node) {
+        if (metricsCounters != null) metricsCounters.rotated();
+        Node pivot = node.right;
+        node.right = pivot.left;
+        if (pivot.left != null) pivot.left.parent = node;
+        pivot.parent = node.parent;
+        replaceChild(node.parent, node, pivot);
+        pivot.left = node;
+        node.parent = pivot;
+        updateHeight(node);
+        updateHeight(pivot);
+        // The pivot takes over the whole subtree, while node loses the pivot's other side.
+        pivot.subtreeSize = node.subtreeSize;
+        updateSubtreeSize(node);
+        return pivot;
+    }
+
+    /**
+     * Recomputes the stored height of a node from the stored heights of its children.
+     * @param node the node to update.
+     */
+    private void updateHeight(Node node) {
+        node.height = Math.max(nodeHeight(node.left), nodeHeight(node.right)) + 1;
+    }
+
+    /**
+     * Helper function to read the stored height of a possibly empty subtree.
+     * @param node root of the subtree.
+     * @return Stored height, or 0 for an empty subtree.
+     */
+    private int nodeHeight(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Helper function to compute the difference between the heights of the left and right subtrees.
+     * @param node the node under consideration.
+     * @return Positive when left heavy, negative when right heavy.
+     */
+    private int balanceFactor(Node node) {
+        return nodeHeight(node.left) - nodeHeight(node.right);
+    }
+
+    /**
+     * Calculates the height of the BST.
+     * @return int height of longest branch in tree.
+     */
+    public int height() {
+        // Stored heights are exact in balanced mode, so no walk is required.
+        if (balanced) return nodeHeight(root);
+        // Otherwise count the levels breadth first, which avoids recursing down degenerate branches.
+        int height = 0;
+        if (root == null) return height;
+        Queue<Node> queue = new ArrayDeque<>();
+        queue.offer(root);
+        while (!queue.isEmpty()) {
+            height++;
+            for (int levelSize = queue.size(); levelSize > 0; levelSize--) {
+                Node currentNode = queue.poll();
+                if (currentNode.left != null) queue.offer(currentNode.left);
+                if (currentNode.right != null) queue.offer(currentNode.right);
+            }
+        }
+        return height;
+    }
+
+    /**
+     * Indicates if metrics are being counted.
+     * @return True if operations are counted.
+     */
+    public boolean isMetricsEnabled() {
+        return metricsCounters != null;
+    }
+
+    /**
+     * Starts or stops counting metrics. Enabling metrics that are already enabled keeps the counts, and
+     * disabling them discards the counts. While enabled, add, contains and remove count the depth of the descent
+     * they make anyway, so metrics add no comparisons.
+     * @param enabled True to count operations.
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        if (!enabled) metricsCounters = null;
+        else if (metricsCounters == null) metricsCounters = new TreeMetrics.Counters();
+    }
+
+    /**
+     * Takes a snapshot of the tree's shape and the operations counted since metrics were enabled. Computing the
+     * height walks the whole tree unless it is balanced, so this takes O(n) for a tree that does not rebalance
+     * itself.
+     * @return Metrics for the tree, with no operations counted if metrics are disabled.
+     */
+    public TreeMetrics getMetrics() {
+        TreeMetrics.Counters counters = (metricsCounters != null) ? metricsCounters : new TreeMetrics.Counters();
+        return counters.snapshot(size, height());
+    }
+
+    /**
+     * Indicates if contains consults a miss filter.
+     * @return True if the filter is enabled.
+     */
+    public boolean isMissFilterEnabled() {
+        return missFilter != null;
+    }
+
+    /**
+     * Enables a miss filter on the values' hash codes, as by enableMissFilter with Object::hashCode.
+     * @param expectedSize count of values the filter is first sized for.
+     * @param falsePositiveRate largest acceptable rate of misses the filter fails to answer, such as 0.01.
+     * @throws IllegalArgumentException if expectedSize is negative or the rate is not between 0 and 1 exclusive.
+     */
+    public void enableMissFilter(int expectedSize, double falsePositiveRate) throws IllegalArgumentException {
+        enableMissFilter(expectedSize, falsePositiveRate, Object::hashCode);
+    }
+
+    /**
+     * Enables a cuckoo filter that lets contains answer most misses without descending the tree, and filled with
+     * the values already present. Adds and removals keep the filter up to date, and it is rebuilt larger when it
+     * fills up, so it never answers a value in the tree as absent. A miss the filter can not rule out searches the
+     * tree as before, which happens at most at the given rate. Halving the rate takes one more fingerprint bit, up
+     * to 16 bits, which give about 0.012%. Fingerprints are stored in 2 byte slots, between 1.05 and 2.1 per value.
+     * The hash function must agree with the tree's order: values the order finds equal must hash alike. Natural
+     * orderings consistent with equals and hashCode satisfy this, but a comparator such as
+     * String.CASE_INSENSITIVE_ORDER needs a matching function, such as one hashing the lower-case string.
+     * If too many values share a hash code for the filter to hold them, more than eight in the worst case, it is
+     * disabled rather than risk answering a present value as absent. Enabling it again replaces the filter and
+     * resets its statistics. While metrics are enabled, a lookup the filter answers counts as a contains that
+     * descended to depth 0, so the metrics still count every call.
+     * @param expectedSize count of values the filter is first sized for.
+     * @param falsePositiveRate largest acceptable rate of misses the filter fails to answer, such as 0.01.
+     * @param hashFunction hash of each value, consistent with the order of the tree.
+     * @throws IllegalArgumentException if expectedSize is negative or the rate is not between 0 and 1 exclusive.
+     */
+    public void enableMissFilter(int expectedSize, double falsePositiveRate, ToIntFunction<? super T> hashFunction)
+            throws IllegalArgumentException {
+        if (expectedSize < 0) throw new IllegalArgumentException("Expected size must not be negative");
+        int fingerprintBits = CuckooFilter.fingerprintBits(falsePositiveRate);
+        missFilterHash = hashFunction;
+        missFilterCounters = new MissFilterStats.Counters();
+        missFilter = new CuckooFilter(Math.min(CuckooFilter.MAX_CAPACITY, Math.max(expectedSize, size)),
+                fingerprintBits);
+        for (T value : this) {
+            if (!missFilter.add(hashFunction.applyAsInt(value))) {
+                rebuildMissFilter(size);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Disables the miss filter, discarding it and its statistics.
+     */
+    public void disableMissFilter() {
+        missFilter = null;
+        missFilterHash = null;
+        missFilterCounters = null;
+    }
+
+    /**
+     * Takes a snapshot of the miss filter and the lookups it has answered since it was enabled.
+     * @return Statistics for the filter, all zero if it is disabled.
+     */
+    public MissFilterStats getMissFilterStats() {
+        MissFilterStats.Counters counters = (missFilterCounters != null)
+                ? missFilterCounters : new MissFilterStats.Counters();
+        return counters.snapshot(missFilter);
+    }
+
+    /**
+     * Adds a value just added to the tree to the miss filter, rebuilding the filter larger if it is full.
+     * @param data the value.
+     */
+    private void addToMissFilter(T data) {
+        if (!missFilter.add(missFilterHash.applyAsInt(data))) rebuildMissFilter(2 * missFilter.size());
+    }
+
+    /**
+     * Replaces the miss filter with one holding every value of the tree, doubling the capacity until they fit.
+     * Failing while at most half full means the hash codes collide, which more room will not fix, so the filter
+     * is then disabled.
+     * @param capacity count of values the new filter is sized for.
+     */
+    private void rebuildMissFilter(int capacity) {
+        int fingerprintBits = missFilter.fingerprintBits();
+        while (true) {
+            CuckooFilter filter = new CuckooFilter(Math.min(CuckooFilter.MAX_CAPACITY, capacity), fingerprintBits);
+            boolean complete = true;
+            for (T value : this) {
+                if (!filter.add(missFilterHash.applyAsInt(value))) {
+                    complete = false;
+                    break;
+                }
+            }
+            if (complete) {
+                missFilter = filter;
+                missFilterCounters.rebuilt();
+                return;
+            }
+            if (filter.size() <= filter.capacity() / 2 || filter.capacity() >= CuckooFilter.MAX_CAPACITY) {
+                disableMissFilter();
+                return;
+            }
+            capacity = 2 * filter.capacity();
+        }
+    }
+
+    /**
+     * Helper Function to print the current tree.
+     * @param printStream Output stream object to print string data.
+     */
+    public void printTree(PrintStream printStream) {
+        try {
+            dump(printStream, TreeDumpOptions.<T>builder().build());
+        }
+        catch (IOException e) {
+            // PrintStream records errors rather than throwing them, so this is never reached.
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the whole tree as the indented text printed by printTree.
+     * @param out destination of the dump.
+     * @return Count of nodes written.
+     * @throws IOException if writing to out fails.
+     */
+    public long dump(Appendable out) throws IOException {
+        return dump(out, TreeDumpOptions.<T>builder().build());
+    }
+
+    /**
+     * Writes the tree, or the subtree selected by the options, to out in pre order. Each node is written as it
+     * is visited, without recursion and without building the output in memory, so the dump holds O(height)
+     * nodes whatever the size of the tree and works on degenerate trees of any depth. Wrap a Writer in a
+     * BufferedWriter when dumping large trees, as every node takes several small appends.
+     * Subtrees below the depth limit and nodes past the node limit are skipped. The subtree size written with
+     * each node in JSON lines shows where descendants were skipped, and the text and DOT formats end with a
+     * count of the skipped nodes.
+     * @param out destination of the dump.
+     * @param options format, limits and subtree of the dump.
+     * @return Count of nodes written.
+     * @throws IOException if writing to out fails.
+     * @throws IllegalArgumentException if the depth or node limit is negative.
+     * @throws NoSuchElementException if the subtree root is not in the tree.
+     * @throws ConcurrentModificationException if the tree is modified during the dump.
+     */
+    public long dump(Appendable out, TreeDumpOptions<T> options)
+            throws IOException, IllegalArgumentException, NoSuchElementException {
+        if (options.getMaxDepth() < 0) throw new IllegalArgumentException("Depth limit must not be negative");
+        if (options.getMaxNodes() < 0) throw new IllegalArgumentException("Node limit must not be negative");
+        Node start = root;
+        if (options.getSubtreeRoot() != null) {
+            start = findNode(options.getSubtreeRoot());
+            if (start == null) throw new NoSuchElementException("Subtree root is not in the tree");
+        }
+        TreeDumpFormat format = options.getFormat();
+        int expectedModCount = modCount;
+        if (format == TreeDumpFormat.DOT) out.append("digraph BinarySearchTree {\n");
+        long written = 0;
+        // Pre order with the right child pushed first, so the stack never holds more than height + 1 frames.
+        Deque<DumpFrame> stack = new ArrayDeque<>();
+        if (start != null) stack.push(new DumpFrame(start, 0, -1, ""));
+        while (!stack.isEmpty() && written < options.getMaxNodes()) {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            DumpFrame frame = stack.pop();
+            long id = written++;
+            writeDumpNode(out, format, frame, id);
+            Node node = frame.node;
+            if (frame.depth == options.getMaxDepth()) continue;
+            if (node.right != null) {
+                stack.push(new DumpFrame(node.right, frame.depth + 1, id, PRINT_RIGHT_CHILD_EDGE));
+            }
+            if (node.left != null) {
+                String pointer = (node.right != null) ? PRINT_LEFT_CHILD_SIBLING_EDGE : PRINT_LEFT_CHILD_EDGE;
+                stack.push(new DumpFrame(node.left, frame.depth + 1, id, pointer));
+            }
+        }
+        long skipped = (start == null ? 0 : start.subtreeSize) - written;
+        if (format == TreeDumpFormat.TEXT && skipped > 0) {
+            out.append("(").append(Long.toString(skipped)).append(" nodes not shown)\n");
+        }
+        if (format == TreeDumpFormat.DOT) {
+            if (skipped > 0) out.append("  // ").append(Long.toString(skipped)).append(" nodes not shown\n");
+            out.append("}\n");
+        }
+        return written;
+    }
+
+    /**
+     * Writes a single node of a dump.
+     * @param out destination of the dump.
+     * @param format format of the dump.
+     * @param frame the node with its position in the dump.
+     * @param id pre order index of the node in the dump.
+     */
+    private void writeDumpNode(Appendable out, TreeDumpFormat format, DumpFrame frame, long id) throws IOException {
+        boolean right = frame.pointer.equals(PRINT_RIGHT_CHILD_EDGE);
+        switch (format) {
+            case TEXT:
+                // The padding from the left, a pointer bar, the node value, and a newline to begin the next node.
+                for (int i = 0; i < frame.depth; i++) out.append(PRINT_PADDING);
+                out.append(frame.pointer).append(frame.node.toString()).append('\n');
+                break;
+            case DOT:
+                out.append("  n").append(Long.toString(id)).append(" [label=");
+                appendQuoted(out, frame.node.toString(), false);
+                out.append("];\n");
+                if (frame.parentId >= 0) {
+                    out.append("  n").append(Long.toString(frame.parentId)).append(" -> n").append(Long.toString(id))
+                            .append(right ? " [label=\"R\"];\n" : " [label=\"L\"];\n");
+                }
+                break;
+            default:
+                out.append("{\"id\":").append(Long.toString(id));
+                if (frame.parentId >= 0) {
+                    out.append(",\"parent\":").append(Long.toString(frame.parentId))
+                            .append(right ? ",\"side\":\"right\"" : ",\"side\":\"left\"");
+                }
+                else {
+                    out.append(",\"parent\":null,\"side\":null");
+                }
+                out.append(",\"depth\":").append(Integer.toString(frame.depth))
+                        .append(",\"size\":").append(Integer.toString(frame.node.subtreeSize))
+                        .append(",\"key\":");
+                appendQuoted(out, frame.node.toString(), true);
+                out.append("}\n");
+        }
+    }
+
+    /**
+     * Appends a value as a quoted string, escaping quotes, backslashes and control characters.
+     * @param out destination.
+     * @param value string to quote.
+     * @param json True for JSON escapes, false for DOT, which only escapes quotes, backslashes and line breaks.
+     */
+    private static void appendQuoted(Appendable out, String value, boolean json) throws IOException {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            }
+            else if (c == '\n') {
+                out.append("\\n");
+            }
+            else if (json && c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            }
+            else if (c == '\r') {
+                out.append("\\r");
+            }
+            else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+
+    /**
+     * A node waiting to be written by dump, with the parts of its line that depend on its position.
+     */
+    private class DumpFrame {
+        final Node node;
+        final int depth;
+        // Pre order index of the parent in the dump, or -1 for the first node.
+        final long parentId;
+        // Branch drawn before the node in the text format.
+        final String pointer;
+
+        DumpFrame(Node node, int depth, long parentId, String pointer) {
+            this.node = node;
+            this.depth = depth;
+            this.parentId = parentId;
+            this.pointer = pointer;
+        }
+    }
+
+    /**
+     * Helper function to route Binary Search Tree traversals.
+     * The list is filled from the lazy iterator for the traversal. Prefer iterator or stream when the caller
+     * does not need every element, as they never hold more than O(height) nodes.
+     * @param type of traversal to perform (Preorder, Inorder, Postorder)
+     * @return List of values retrieved from tree in ordering requested.
+     * @throws IllegalArgumentException if an incorrect traversal is provided.
+     */
+    public List<T> traverse(TraversalType type) throws IllegalArgumentException {
+        List<T> result = new ArrayList<>(size);
+        iterator(type).forEachRemaining(result::add);
+        return result;
+    }
+
+    /**
+     * Returns a lazy iterator over the tree in the requested order. Only the nodes on the path to the next
+     * element are held, so it uses O(height) memory and stopping early costs nothing.
+     * The iterator is fail-fast: it throws ConcurrentModificationException if the tree is changed after
+     * the iterator is created, other than through the iterator. The in order iterator walks the parent links
+     * rather than holding a stack, and supports removal. The other orders do not.
+     * @param type of traversal to perform (Preorder, Inorder, Postorder)
+     * @return Iterator over the values in the ordering requested.
+     * @throws IllegalArgumentException if an incorrect traversal is provided.
+     */
+    public Iterator<T> iterator(TraversalType type) throws IllegalArgumentException {
+        // Breaks aren't necessary on switch statement because returns make subsequent
+        // cases unreachable
+        switch(type) {
+            case PREORDER:
+                return new PreorderIterator();
+            case INORDER:
+                return new InorderIterator(root == null ? null : findMin(root), null, false);
+            case POSTORDER:
+                return new PostorderIterator();
+        }
+        throw new IllegalArgumentException("Invalid traversal type provided");
+    }
+
+    /**
+     * Returns a lazy, sequential stream over the tree in the requested order.
+     * The in order stream splits by subtree, so it may be made parallel. The other orders are streamed from
+     * their iterators and split poorly. Like the iterators, the stream is fail-fast.
+     * @param type of traversal to perform (Preorder, Inorder, Postorder)
+     * @return Stream of the values in the ordering requested.
+     * @throws IllegalArgumentException if an incorrect traversal is provided.
+     */
+    public Stream<T> stream(TraversalType type) throws IllegalArgumentException {
+        return StreamSupport.stream(spliterator(type), false);
+    }
+
+    /**
+     * Returns a spliterator over the tree in the requested order.
+     * @param type of traversal to perform (Preorder, Inorder, Postorder)
+     * @return Spliterator over the values in the ordering requested.
+     * @throws IllegalArgumentException if an incorrect traversal is provided.
+     */
+    public Spliterator<T> spliterator(TraversalType type) throws IllegalArgumentException {
+        if (type == TraversalType.INORDER) return new InorderSpliterator();
+        return Spliterators.spliterator(iterator(type), size,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    /**
+     * Base class for the traversal iterators, holding the fail-fast check.
+     */
+    private abstract class TreeIterator implements Iterator<T> {
+        // Count of modifications the tree had when this iterator was created.
+        private final int expectedModCount = modCount;
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (!hasNext()) throw new NoSuchElementException();
+            return nextNode().data;
+        }
+
+        /**
+         * Advances the traversal. Only called when hasNext is true.
+         * @return The next node in the traversal.
+         */
+        abstract Node nextNode();
+    }
+
+    /**
+     * Visits root, then left, then right. The stack holds the right children still to be visited along the
+     * current path, so it never exceeds the height of the tree.
+     */
+    private class PreorderIterator extends TreeIterator {
+        private final Deque<Node> stack = new ArrayDeque<>();
+
+        PreorderIterator() {
+            if (root != null) stack.push(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        Node nextNode() {
+            Node currentNode = stack.pop();
+            // Right is pushed first so the left subtree is visited before it.
+            if (currentNode.right != null) stack.push(currentNode.right);
+            if (currentNode.left != null) stack.push(currentNode.left);
+            return currentNode;
+        }
+    }
+
+    /**
+     * Visits the values in order, or in reverse order when descending, by stepping to the successor or predecessor
+     * through the parent links. A walk over part of the tree stops at a fence: the value just past its end, which
+     * is compared by identity so each step costs no comparison. Removal works as in TreeMap: a node with two
+     * children takes its successor's value and the successor's node is unlinked, so an ascending walk continues
+     * from the node just removed.
+     */
+    private class InorderIterator implements Iterator<T> {
+        private Node next;
+        // Value at which the walk stops, or null to walk to the end of the tree. Trees hold no nulls.
+        private final T fence;
+        private final boolean descending;
+        private Node lastReturned = null;
+        // Count of modifications the tree had when this iterator was created or last removed a value.
+        private int expectedModCount = modCount;
+
+        InorderIterator(Node first, T fence, boolean descending) {
+            this.next = first;
+            this.fence = fence;
+            this.descending = descending;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null && next.data != fence;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (!hasNext()) throw new NoSuchElementException();
+            lastReturned = next;
+            next = descending ? predecessor(next) : successor(next);
+            return lastReturned.data;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) throw new IllegalStateException();
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (!descending && lastReturned.left != null && lastReturned.right != null) next = lastReturned;
+            deleteNode(lastReturned);
+            expectedModCount = modCount;
+            lastReturned = null;
+        }
+    }
+
+    /**
+     * Visits left, then right, then root. The stack holds the path from the root to the next node to visit.
+     */
+    private class PostorderIterator extends TreeIterator {
+        private final Deque<Node> stack = new ArrayDeque<>();
+
+        PostorderIterator() {
+            pushFirstLeafPath(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        Node nextNode() {
+            Node currentNode = stack.pop();
+            // Finishing a left child means its parent's right subtree is next, if there is one.
+            Node parentNode = stack.peek();
+            if (parentNode != null && parentNode.left == currentNode) pushFirstLeafPath(parentNode.right);
+            return currentNode;
+        }
+
+        /**
+         * Pushes the path down to the first node visited in the subtree, preferring left children.
+         * @param node root of the subtree, which may be null.
+         */
+        private void pushFirstLeafPath(Node node) {
+            while (node != null) {
+                stack.push(node);
+                node = (node.left != null) ? node.left : node.right;
+            }
+        }
+    }
+
+    /**
+     * Live view of the values between optional bounds, in ascending or descending order. Bounds are kept in the
+     * tree's ascending order whatever the direction of the view, and every operation is answered from the tree
+     * with at most a descent or two, so views of views cost no more than views of the tree.
+     */
+    private final class SubSet extends AbstractSet<T> implements NavigableSet<T> {
+        // Indicates the view has no lower bound, and low is unused.
+        private final boolean fromStart;
+        private final T low;
+        private final boolean lowInclusive;
+        // Indicates the view has no upper bound, and high is unused.
+        private final boolean toEnd;
+        private final T high;
+        private final boolean highInclusive;
+        private final boolean descending;
+
+        SubSet(boolean fromStart, T low, boolean lowInclusive, boolean toEnd, T high, boolean highInclusive,
+               boolean descending) throws IllegalArgumentException {
+            // Comparing a lone bound with itself rejects nulls and values of the wrong type up front, as TreeSet does.
+            if (!fromStart && !toEnd) checkRange(low, high);
+            else if (!fromStart) compare(low, low);
+            else if (!toEnd) compare(high, high);
+            this.fromStart = fromStart;
+            this.low = low;
+            this.lowInclusive = lowInclusive;
+            this.toEnd = toEnd;
+            this.high = high;
+            this.highInclusive = highInclusive;
+            this.descending = descending;
+        }
+
+        private boolean tooLow(T data) {
+            if (fromStart) return false;
+            int comparison = compare(data, low);
+            return comparison < 0 || (comparison == 0 && !lowInclusive);
+        }
+
+        private boolean tooHigh(T data) {
+            if (toEnd) return false;
+            int comparison = compare(data, high);
+            return comparison > 0 || (comparison == 0 && !highInclusive);
+        }
+
+        private boolean inRange(T data) {
+            return !tooLow(data) && !tooHigh(data);
+        }
+
+        /**
+         * Checks a bound for a nested view. An exclusive bound may sit on an excluded bound of this view, as the
+         * nested view still holds nothing outside this one.
+         * @param data the bound.
+         * @param inclusive True if the nested view includes the bound.
+         * @return True if the bound is allowed.
+         */
+        private boolean inRange(T data, boolean inclusive) {
+            if (inclusive) return inRange(data);
+            return (fromStart || compare(data, low) >= 0) && (toEnd || compare(data, high) <= 0);
+        }
+
+        private Node lowestInRange() {
+            Node node = fromStart ? (root == null ? null : findMin(root)) : ceilingNode(low, lowInclusive);
+            return node == null || tooHigh(node.data) ? null : node;
+        }
+
+        private Node highestInRange() {
+            Node node = toEnd ? (root == null ? null : findMax(root)) : floorNode(high, highInclusive);
+            return node == null || tooLow(node.data) ? null : node;
+        }
+
+        private Node ceilingInRange(T data, boolean inclusive) {
+            if (tooLow(data)) return lowestInRange();
+            Node node = ceilingNode(data, inclusive);
+            return node == null || tooHigh(node.data) ? null : node;
+        }
+
+        private Node floorInRange(T data, boolean inclusive) {
+            if (tooHigh(data)) return highestInRange();
+            Node node = floorNode(data, inclusive);
+            return node == null || tooLow(node.data) ? null : node;
+        }
+
+        private Iterator<T> ascendingIterator() {
+            // The walk stops at the first value above the range.
+            T fence = toEnd ? null : valueOf(ceilingNode(high, !highInclusive));
+            return new InorderIterator(lowestInRange(), fence, false);
+        }
+
+        private Iterator<T> reverseIterator() {
+            T fence = fromStart ? null : valueOf(floorNode(low, !lowInclusive));
+            return new InorderIterator(highestInRange(), fence, true);
+        }
+
+        @Override
+        public int size() {
+            // Values at or below the upper bound, less those below the lower bound.
+            int count = (toEnd ? BinarySearchTree.this.size : countBelow(high, highInclusive))
+                    - (fromStart ? 0 : countBelow(low, !lowInclusive));
+            // A view such as (5, 5] holds nothing, yet its bounds count one value each way.
+            return Math.max(count, 0);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return lowestInRange() == null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object data) {
+            return inRange((T) data) && BinarySearchTree.this.contains(data);
+        }
+
+        /**
+         * Adds a value to the tree through the view.
+         * @throws IllegalArgumentException if the value is outside the bounds of the view.
+         */
+        @Override
+        public boolean add(T data) throws IllegalArgumentException {
+            if (!inRange(data)) throw new IllegalArgumentException("Value is outside the bounds of the view");
+            return BinarySearchTree.this.add(data);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean remove(Object data) {
+            return inRange((T) data) && BinarySearchTree.this.remove(data);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return descending ? reverseIterator() : ascendingIterator();
+        }
+
+        @Override
+        public Iterator<T> descendingIterator() {
+            return descending ? ascendingIterator() : reverseIterator();
+        }
+
+        @Override
+        public Comparator<? super T> comparator() {
+            // Collections.reverseOrder(null) reverses the natural ordering.
+            return descending ? Collections.reverseOrder(comparator) : comparator;
+        }
+
+        @Override
+        public T first() {
+            Node node = descending ? highestInRange() : lowestInRange();
+            if (node == null) throw new NoSuchElementException();
+            return node.data;
+        }
+
+        @Override
+        public T last() {
+            Node node = descending ? lowestInRange() : highestInRange();
+            if (node == null) throw new NoSuchElementException();
+            return node.data;
+        }
+
+        @Override
+        public T lower(T data) {
+            return valueOf(descending ? ceilingInRange(data, false) : floorInRange(data, false));
+        }
+
+        @Override
+        public T floor(T data) {
+            return valueOf(descending ? ceilingInRange(data, true) : floorInRange(data, true));
+        }
+
+        @Override
+        public T ceiling(T data) {
+            return valueOf(descending ? floorInRange(data, true) : ceilingInRange(data, true));
+        }
+
+        @Override
+        public T higher(T data) {
+            return valueOf(descending ? floorInRange(data, false) : ceilingInRange(data, false));
+        }
+
+        @Override
+        public T pollFirst() {
+            return pollNode(descending ? highestInRange() : lowestInRange());
+        }
+
+        @Override
+        public T pollLast() {
+            return pollNode(descending ? lowestInRange() : highestInRange());
+        }
+
+        @Override
+        public NavigableSet<T> descendingSet() {
+            return new SubSet(fromStart, low, lowInclusive, toEnd, high, highInclusive, !descending);
+        }
+
+        /**
+         * @throws IllegalArgumentException if a bound is outside this view or fromElement follows toElement.
+         */
+        @Override
+        public NavigableSet<T> subSet(T fromElement, boolean fromInclusive, T toElement, boolean toInclusive)
+                throws IllegalArgumentException {
+            if (!inRange(fromElement, fromInclusive)) throw new IllegalArgumentException("From element out of range");
+            if (!inRange(toElement, toInclusive)) throw new IllegalArgumentException("To element out of range");
+            if (descending) return new SubSet(false, toElement, toInclusive, false, fromElement, fromInclusive, true);
+            return new SubSet(false, fromElement, fromInclusive, false, toElement, toInclusive, false);
+        }
+
+        /**
+         * @throws IllegalArgumentException if the bound is outside this view.
+         */
+        @Override
+        public NavigableSet<T> headSet(T toElement, boolean inclusive) throws IllegalArgumentException {
+            if (!inRange(toElement, inclusive)) throw new IllegalArgumentException("To element out of range");
+            if (descending) return new SubSet(false, toElement, inclusive, toEnd, high, highInclusive, true);
+            return new SubSet(fromStart, low, lowInclusive, false, toElement, inclusive, false);
+        }
+
+        /**
+         * @throws IllegalArgumentException if the bound is outside this view.
+         */
+        @Override
+        public NavigableSet<T> tailSet(T fromElement, boolean inclusive) throws IllegalArgumentException {
+            if (!inRange(fromElement, inclusive)) throw new IllegalArgumentException("From element out of range");
+            if (descending) return new SubSet(fromStart, low, lowInclusive, false, fromElement, inclusive, true);
+            return new SubSet(false, fromElement, inclusive, toEnd, high, highInclusive, false);
+        }
+
+        @Override
+        public SortedSet<T> subSet(T fromElement, T toElement) throws IllegalArgumentException {
+            return subSet(fromElement, true, toElement, false);
+        }
+
+        @Override
+        public SortedSet<T> headSet(T toElement) throws IllegalArgumentException {
+            return headSet(toElement, false);
+        }
+
+        @Override
+        public SortedSet<T> tailSet(T fromElement) throws IllegalArgumentException {
+            return tailSet(fromElement, true);
+        }
+    }
+
+    /**
+     * Builds a perfectly balanced subtree from sorted values in the order they are read. The left subtree is
+     * built first, then the node takes the next value, then the right subtree is built, so each value lands in
+     * its in order position. Recursion depth is the height of the result, which is logarithmic.
+     */
+    private class SortedBuilder {
+        private final Iterator<? extends T> values;
+        private T previous;
+
+        SortedBuilder(Iterator<? extends T> values) {
+            this.values = values;
+        }
+
+        /**
+         * Builds a subtree from the next count values, setting heights and subtree sizes as it goes.
+         * @param count number of values in the subtree.
+         * @return Root of the subtree, or null when count is 0. The caller sets its parent.
+         * @throws IllegalArgumentException if the iterator runs out or the values are not in order.
+         */
+        Node build(int count) throws IllegalArgumentException {
+            if (count == 0) return null;
+            // Any extra node goes right, so the left subtree is never the taller one.
+            int leftCount = (count - 1) / 2;
+            Node left = build(leftCount);
+            if (!values.hasNext()) throw new IllegalArgumentException("Fewer values provided than the given count");
+            T data = values.next();
+            if (previous != null && compare(previous, data) >= 0) {
+                throw new IllegalArgumentException("Values are not in strictly ascending order");
+            }
+            previous = data;
+            Node node = new Node(null, data);
+            node.left = left;
+            node.right = build(count - 1 - leftCount);
+            if (node.left != null) node.left.parent = node;
+            if (node.right != null) node.right.parent = node;
+            updateHeight(node);
+            node.subtreeSize = count;
+            return node;
+        }
+    }
+
+    /**
+     * Set operations performed by merging two in order iterators.
+     */
+    private enum SetOperation {
+        UNION, INTERSECTION, DIFFERENCE
+    }
+
+    /**
+     * Merges two ascending iterators into the ascending result of a set operation, one comparison per step.
+     * Stops as soon as no further value can be produced, so intersections and differences do not read the
+     * rest of a longer input.
+     */
+    private static final class MergeIterator<T> implements Iterator<T> {
+        private final Iterator<T> first;
+        private final Iterator<T> second;
+        private final SetOperation operation;
+        private final Comparator<? super T> order;
+        // Heads of each input, null once it is exhausted. Trees hold no nulls so null can mark the end.
+        private T firstHead;
+        private T secondHead;
+        private T next;
+
+        MergeIterator(Iterator<T> first, Iterator<T> second, SetOperation operation, Comparator<? super T> order) {
+            this.first = first;
+            this.second = second;
+            this.operation = operation;
+            this.order = order;
+            firstHead = first.hasNext() ? first.next() : null;
+            secondHead = second.hasNext() ? second.next() : null;
+            next = advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (next == null) throw new NoSuchElementException();
+            T result = next;
+            next = advance();
+            return result;
+        }
+
+        /**
+         * Consumes input until the next value of the result is found.
+         * @return The next value, or null when the result is complete.
+         */
+        private T advance() {
+            while (firstHead != null || secondHead != null) {
+                if (operation == SetOperation.INTERSECTION && (firstHead == null || secondHead == null)) return null;
+                if (operation == SetOperation.DIFFERENCE && firstHead == null) return null;
+                int comparison;
+                if (secondHead == null) comparison = -1;
+                else if (firstHead == null) comparison = 1;
+                else comparison = order.compare(firstHead, secondHead);
+                T value;
+                if (comparison < 0) {
+                    value = firstHead;
+                    firstHead = first.hasNext() ? first.next() : null;
+                    if (operation != SetOperation.INTERSECTION) return value;
+                }
+                else if (comparison > 0) {
+                    value = secondHead;
+                    secondHead = second.hasNext() ? second.next() : null;
+                    if (operation == SetOperation.UNION) return value;
+                }
+                else {
+                    value = firstHead;
+                    firstHead = first.hasNext() ? first.next() : null;
+                    secondHead = second.hasNext() ? second.next() : null;
+                    if (operation != SetOperation.DIFFERENCE) return value;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Pushes the given node and its chain of left children, leaving the smallest on top.
+     * @param stack stack to push to.
+     * @param node root of the subtree, which may be null.
+     */
+    private void pushLeftSpine(Deque<Node> stack, Node node) {
+        while (node != null) {
+            stack.push(node);
+            node = node.left;
+        }
+    }
+
+    /**
+     * In order spliterator that splits by subtree. The elements remaining are the optional single node first,
+     * then each node on the stack from top to bottom followed by its right subtree.
+     * Splitting hands the prefix above the bottom of the stack, which is a whole left subtree, to a new
+     * spliterator. When only one node is left on the stack, it is split into that node with the left half of
+     * its right subtree, and the rest. Sizes are exact until the first split, and estimated by halving after.
+     */
+    private class InorderSpliterator implements Spliterator<T> {
+        private final int expectedModCount;
+        private final Deque<Node> stack;
+        // Node to visit on its own, without its right subtree, before the stack.
+        private Node first;
+        private long estimatedSize;
+        // Indicates the size is exact, which stops holding once the spliterator is split.
+        private boolean exactSize;
+
+        InorderSpliterator() {
+            this(modCount, new ArrayDeque<>(), null, size, true);
+            pushLeftSpine(stack, root);
+        }
+
+        private InorderSpliterator(int expectedModCount, Deque<Node> stack, Node first, long estimatedSize,
+                                   boolean exactSize) {
+            this.expectedModCount = expectedModCount;
+            this.stack = stack;
+            this.first = first;
+            this.estimatedSize = estimatedSize;
+            this.exactSize = exactSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (action == null) throw new NullPointerException();
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            Node node = first;
+            if (node != null) {
+                first = null;
+            }
+            else {
+                if (stack.isEmpty()) return false;
+                node = stack.pop();
+                pushLeftSpine(stack, node.right);
+            }
+            if (estimatedSize > 0) estimatedSize--;
+            action.accept(node.data);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (action == null) throw new NullPointerException();
+            while (tryAdvance(action)) { }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            Deque<Node> prefix = new ArrayDeque<>();
+            Node prefixFirst = first;
+            if (stack.size() > 1) {
+                // Everything above the bottom node is its left subtree, visited before it.
+                Node bottom = stack.removeLast();
+                prefix.addAll(stack);
+                stack.clear();
+                stack.push(bottom);
+            }
+            else if (stack.size() == 1 && first == null && stack.peek().right != null) {
+                // The prefix takes the node and the left half of its right subtree, leaving the right half.
+                Node node = stack.pop();
+                prefixFirst = node;
+                pushLeftSpine(prefix, node.right.left);
+                stack.push(node.right);
+            }
+            else {
+                return null;
+            }
+            first = null;
+            estimatedSize >>>= 1;
+            exactSize = false;
+            return new InorderSpliterator(expectedModCount, prefix, prefixFirst, estimatedSize, false);
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimatedSize;
+        }
+
+        @Override
+        public int characteristics() {
+            return (exactSize ? Spliterator.SIZED : 0)
+                    | Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+
+        /**
+         * Values are reported in the tree's order.
+         * @return The tree's comparator, or null for natural ordering.
+         */
+        @Override
+        public Comparator<? super T> getComparator() {
+            return comparator;
+        }
     }
 }
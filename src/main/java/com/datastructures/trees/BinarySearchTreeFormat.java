@@ -0,0 +1,173 @@
+package com.datastructures.trees;
+
+import com.algorithms.sort.RecordCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+
+/**
+ * Reads and writes binary search trees in a compact, versioned binary format holding the keys in ascending order.
+ * Keys are encoded with a RecordCodec, so any key type with a codec can be stored.
+ *
+ * Version 1 of the format is laid out as follows, with every integer big-endian:
+ * <pre>
+ *     int  magic          0x42535446, "BSTF"
+ *     int  version        1
+ *     int  keySize        the codec's fixed size, or -1 for variable sized keys
+ *     int  count          number of keys
+ *     int  offsets[count + 1]   only for variable sized keys: start of each key relative to the keys,
+ *                               followed by the end of the last key
+ *     byte keys[]         the encoded keys in ascending order, with no separators
+ * </pre>
+ * Fixed size keys need no offset table, as key i starts at i * keySize. The offsets let a mapped file be
+ * binary searched in place, without reading every key to find the one in the middle.
+ * The structure of the tree is not stored: loading rebuilds a perfectly balanced tree from the sorted keys in
+ * O(n), whatever shape the saved tree had. Files are mapped into memory as a single buffer, which limits them
+ * to 2 GB.
+ */
+public final class BinarySearchTreeFormat {
+
+    // Identifies a file in this format, "BSTF" in ASCII.
+    static final int MAGIC = 0x42535446;
+    // Version of the layout written by this class.
+    static final int VERSION = 1;
+    // Size of the fixed header in bytes.
+    static final int HEADER_SIZE = 4 * Integer.BYTES;
+    // Size of the buffer used when writing.
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+
+    private BinarySearchTreeFormat() {
+    }
+
+    /**
+     * Writes the tree to a file, replacing any existing file.
+     * @param tree tree to be saved.
+     * @param codec codec for the keys.
+     * @param file path of the file.
+     * @param <T> Comparable type.
+     * @throws IOException if writing fails.
+     * @throws IllegalArgumentException if the encoded keys exceed 2 GB or the tree is ordered by a comparator.
+     */
+    public static <T extends Comparable<T>> void save(BinarySearchTree<T> tree, RecordCodec<T> codec, Path file)
+            throws IOException, IllegalArgumentException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            save(tree, codec, channel);
+        }
+    }
+
+    /**
+     * Writes the tree to a channel, streaming the keys through a fixed size buffer. The channel is left open.
+     * Variable sized keys are encoded twice, once to size the offset table and once to write them.
+     * @param tree tree to be saved.
+     * @param codec codec for the keys.
+     * @param channel channel to write to.
+     * @param <T> Comparable type.
+     * @throws IOException if writing fails.
+     * @throws IllegalArgumentException if the encoded keys exceed 2 GB or the tree is ordered by a comparator.
+     */
+    public static <T extends Comparable<T>> void save(BinarySearchTree<T> tree, RecordCodec<T> codec,
+                                                      WritableByteChannel channel)
+            throws IOException, IllegalArgumentException {
+        if (tree.getComparator() != null) throw new IllegalArgumentException("Only trees in natural order can be saved");
+        int keySize = codec.fixedSize();
+        int count = tree.getSize();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(keySize).putInt(count);
+        if (keySize < 0) {
+            // Offsets are computed before anything else is written, so an oversized tree leaves the output empty.
+            int[] offsets = new int[count + 1];
+            long offset = 0;
+            Iterator<T> keys = tree.iterator(TraversalType.INORDER);
+            for (int i = 0; i < count; i++) {
+                offset += codec.encodedSize(keys.next());
+                if (offset > Integer.MAX_VALUE) throw new IllegalArgumentException("Encoded keys exceed 2 GB");
+                offsets[i + 1] = (int) offset;
+            }
+            for (int value : offsets) {
+                if (buffer.remaining() < Integer.BYTES) flush(buffer, channel);
+                buffer.putInt(value);
+            }
+        }
+        else if ((long) keySize * count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Encoded keys exceed 2 GB");
+        }
+        for (Iterator<T> keys = tree.iterator(TraversalType.INORDER); keys.hasNext(); ) {
+            T key = keys.next();
+            int size = (keySize >= 0) ? keySize : codec.encodedSize(key);
+            if (buffer.remaining() < size) {
+                flush(buffer, channel);
+                // A key larger than the buffer gets a buffer of its own size.
+                if (buffer.capacity() < size) buffer = ByteBuffer.allocateDirect(size);
+            }
+            codec.encode(key, buffer);
+        }
+        flush(buffer, channel);
+    }
+
+    /**
+     * Writes out and clears the buffer.
+     */
+    private static void flush(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Loads a tree that does not rebalance itself from a file.
+     * @param file path of the file.
+     * @param codec codec the keys were saved with.
+     * @param <T> Comparable type.
+     * @return A perfectly balanced tree holding the saved keys.
+     * @throws IOException if reading fails or the file is not a valid tree file for the codec.
+     */
+    public static <T extends Comparable<T>> BinarySearchTree<T> load(Path file, RecordCodec<T> codec)
+            throws IOException {
+        return load(file, codec, false);
+    }
+
+    /**
+     * Loads a tree from a file by mapping it and building the tree straight from the mapped keys in O(n).
+     * @param file path of the file.
+     * @param codec codec the keys were saved with.
+     * @param balanced True to keep the tree balanced through later insertions and removals.
+     * @param <T> Comparable type.
+     * @return A perfectly balanced tree holding the saved keys.
+     * @throws IOException if reading fails or the file is not a valid tree file for the codec.
+     */
+    public static <T extends Comparable<T>> BinarySearchTree<T> load(Path file, RecordCodec<T> codec,
+                                                                     boolean balanced) throws IOException {
+        MappedTreeView<T> view = map(file, codec);
+        try {
+            return BinarySearchTree.fromSorted(view.iterator(), view.getSize(), balanced);
+        }
+        catch (IllegalArgumentException e) {
+            throw new IOException("Keys in " + file + " are not in ascending order", e);
+        }
+    }
+
+    /**
+     * Maps a file for querying in place, without building a tree.
+     * @param file path of the file.
+     * @param codec codec the keys were saved with.
+     * @param <T> Comparable type.
+     * @return A read only view of the saved keys.
+     * @throws IOException if reading fails or the file is not a valid tree file for the codec.
+     */
+    public static <T extends Comparable<T>> MappedTreeView<T> map(Path file, RecordCodec<T> codec) throws IOException {
+        MappedByteBuffer buffer;
+        // The mapping stays valid after the channel is closed.
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) throw new IOException("File is too large to map: " + file);
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        return new MappedTreeView<>(buffer, codec);
+    }
+}
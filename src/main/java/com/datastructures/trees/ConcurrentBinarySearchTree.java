@@ -0,0 +1,315 @@
+package com.datastructures.trees;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class implements a binary search tree that is safe to use from many threads at once.
+ * Reads take no locks: contains and the traversals follow volatile child links and never block or retry, so they
+ * are wait-free. Writes lock only the nodes they change, so writers in different parts of the tree proceed in parallel.
+ *
+ * The design relies on nodes never moving. Data is final, there are no rotations and removal never copies a
+ * successor's value into another node, so once a key is in the tree the path to it only changes by nodes above
+ * it being unlinked, which a reader part way down that path passes straight through. Removal is logical first:
+ * the node is marked deleted. A deleted node with fewer than two children is then unlinked by pointing its parent
+ * at its only child. A deleted node with two children stays in place as a routing node until one of its subtrees
+ * empties, or until its key is added again and the node is revived.
+ *
+ * Locks are always taken parent before child. Nodes never gain new ancestors, so this order can not cycle and
+ * writers can not deadlock. A writer that finds its nodes changed between descending and locking starts again.
+ * Traversals, height and size are weakly consistent: they reflect some of the writes made while they run.
+ * In this implementation, there are no duplicates.
+ * @param <T> Comparable type.
+ */
+public class ConcurrentBinarySearchTree<T extends Comparable<T>> {
+
+    /**
+     * The node class represents a single node within the tree. Its monitor guards changes to its child links
+     * and flags; reads of them need no lock.
+     */
+    private static final class Node<T> {
+        final T data;
+        volatile Node<T> left;
+        volatile Node<T> right;
+        // The key is logically absent, but the node may still route searches to its children.
+        volatile boolean deleted;
+        // The node has been removed from the tree and must not gain children or be revived.
+        volatile boolean unlinked;
+
+        Node(T data) {
+            this.data = data;
+        }
+    }
+
+    // Sentinel above the root. Its left child is the root, which lets the root be replaced like any other child.
+    private final Node<T> head = new Node<>(null);
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Returns the count of keys in the tree.
+     * @return int count of keys present.
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    /**
+     * Indicates if any keys exist in the tree.
+     * @return Boolean indicating if the tree is empty.
+     */
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    /**
+     * Determines if a given value exists in the tree. Takes no locks and never retries.
+     * @param data the data to search.
+     * @return boolean indicating if a live node with the data is found.
+     */
+    public boolean contains(T data) {
+        Node<T> currentNode = head.left;
+        while (currentNode != null) {
+            int comparison = data.compareTo(currentNode.data);
+            if (comparison == 0) return !currentNode.deleted;
+            currentNode = comparison < 0 ? currentNode.left : currentNode.right;
+        }
+        return false;
+    }
+
+    /**
+     * Adds the given data to the tree. Only the node that gains a child, or the deleted node being revived, is locked.
+     * @param data to be added to tree.
+     * @return boolean indicating if the data was added to the tree.
+     */
+    public boolean add(T data) {
+        while (true) {
+            Node<T> parentNode = head;
+            Node<T> currentNode = head.left;
+            int comparison = -1;
+            while (currentNode != null) {
+                comparison = data.compareTo(currentNode.data);
+                if (comparison == 0) break;
+                parentNode = currentNode;
+                currentNode = comparison < 0 ? currentNode.left : currentNode.right;
+            }
+            if (currentNode != null) {
+                // The key already has a node. It is either live, or deleted and waiting to be revived.
+                synchronized (currentNode) {
+                    if (currentNode.unlinked) continue;
+                    if (!currentNode.deleted) return false;
+                    currentNode.deleted = false;
+                }
+                size.incrementAndGet();
+                return true;
+            }
+            synchronized (parentNode) {
+                // Another writer may have unlinked the parent or filled the empty link since it was read.
+                if (parentNode.unlinked) continue;
+                if (comparison < 0) {
+                    if (parentNode.left != null) continue;
+                    parentNode.left = new Node<>(data);
+                }
+                else {
+                    if (parentNode.right != null) continue;
+                    parentNode.right = new Node<>(data);
+                }
+            }
+            size.incrementAndGet();
+            return true;
+        }
+    }
+
+    /**
+     * Removes the node with the provided data value from the tree. The node and its parent are locked.
+     * @param data to be removed.
+     * @return Boolean indicating success or failure of removal.
+     */
+    public boolean remove(T data) {
+        while (true) {
+            Node<T> parentNode = head;
+            Node<T> currentNode = head.left;
+            while (currentNode != null) {
+                int comparison = data.compareTo(currentNode.data);
+                if (comparison == 0) break;
+                parentNode = currentNode;
+                currentNode = comparison < 0 ? currentNode.left : currentNode.right;
+            }
+            if (currentNode == null || currentNode.deleted) return false;
+            synchronized (parentNode) {
+                synchronized (currentNode) {
+                    if (!isLinkedChild(parentNode, currentNode)) continue;
+                    if (currentNode.deleted) return false;
+                    currentNode.deleted = true;
+                    if (currentNode.left == null || currentNode.right == null) unlink(parentNode, currentNode);
+                }
+            }
+            size.decrementAndGet();
+            // Removing a child may leave a deleted parent with a single child, in which case it can go too.
+            if (parentNode != head && parentNode.deleted) unlinkRoutingNode(parentNode.data);
+            return true;
+        }
+    }
+
+    /**
+     * Unlinks a deleted routing node if it has been left with fewer than two children. Found by key, as nodes
+     * do not track their parent.
+     * @param data key of the routing node.
+     */
+    private void unlinkRoutingNode(T data) {
+        while (true) {
+            Node<T> parentNode = head;
+            Node<T> currentNode = head.left;
+            while (currentNode != null) {
+                int comparison = data.compareTo(currentNode.data);
+                if (comparison == 0) break;
+                parentNode = currentNode;
+                currentNode = comparison < 0 ? currentNode.left : currentNode.right;
+            }
+            if (currentNode == null) return;
+            synchronized (parentNode) {
+                synchronized (currentNode) {
+                    if (!isLinkedChild(parentNode, currentNode)) continue;
+                    // Revived, or still routing between two subtrees.
+                    if (!currentNode.deleted || (currentNode.left != null && currentNode.right != null)) return;
+                    unlink(parentNode, currentNode);
+                }
+            }
+            if (parentNode != head && parentNode.deleted) {
+                data = parentNode.data;
+                continue;
+            }
+            return;
+        }
+    }
+
+    /**
+     * Checks, under both nodes' locks, that the node is still a child of the parent and both are in the tree.
+     */
+    private boolean isLinkedChild(Node<T> parentNode, Node<T> node) {
+        return !parentNode.unlinked && !node.unlinked && (parentNode.left == node || parentNode.right == node);
+    }
+
+    /**
+     * Replaces a node with its only child, or with nothing. Callers hold both nodes' locks.
+     * @param parentNode parent of the node.
+     * @param node node with at most one child.
+     */
+    private void unlink(Node<T> parentNode, Node<T> node) {
+        Node<T> child = (node.left != null) ? node.left : node.right;
+        node.unlinked = true;
+        if (parentNode.left == node) {
+            parentNode.left = child;
+        }
+        else {
+            parentNode.right = child;
+        }
+    }
+
+    /**
+     * Calculates the height of the tree, counting routing nodes still in place.
+     * @return int height of longest branch in tree.
+     */
+    public int height() {
+        int height = 0;
+        Node<T> root = head.left;
+        if (root == null) return height;
+        Queue<Node<T>> queue = new ArrayDeque<>();
+        queue.offer(root);
+        while (!queue.isEmpty()) {
+            height++;
+            for (int levelSize = queue.size(); levelSize > 0; levelSize--) {
+                Node<T> currentNode = queue.poll();
+                Node<T> left = currentNode.left;
+                Node<T> right = currentNode.right;
+                if (left != null) queue.offer(left);
+                if (right != null) queue.offer(right);
+            }
+        }
+        return height;
+    }
+
+    /**
+     * Helper function to route tree traversals. Traversals take no locks and skip deleted nodes.
+     * @param type of traversal to perform (Preorder, Inorder, Postorder)
+     * @return List of values retrieved from tree in ordering requested.
+     * @throws IllegalArgumentException if an incorrect traversal is provided.
+     */
+    public List<T> traverse(TraversalType type) throws IllegalArgumentException {
+        switch(type) {
+            case PREORDER:
+                return preorderTraversal();
+            case INORDER:
+                return inorderTraversal();
+            case POSTORDER:
+                return postorderTraversal();
+        }
+        throw new IllegalArgumentException("Invalid traversal type provided");
+    }
+
+    /**
+     * Performs an iterative preorder traversal. Each child link is read once, so a node is visited at most once
+     * even if the links change during the walk.
+     * @return List of elements in order visited by preorder traversal.
+     */
+    private List<T> preorderTraversal() {
+        List<T> result = new ArrayList<>();
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        Node<T> root = head.left;
+        if (root != null) stack.push(root);
+        while (!stack.isEmpty()) {
+            Node<T> currentNode = stack.pop();
+            if (!currentNode.deleted) result.add(currentNode.data);
+            Node<T> left = currentNode.left;
+            Node<T> right = currentNode.right;
+            if (right != null) stack.push(right);
+            if (left != null) stack.push(left);
+        }
+        return result;
+    }
+
+    /**
+     * Performs an iterative in order traversal.
+     * @return List of elements in order visited by in order traversal.
+     */
+    private List<T> inorderTraversal() {
+        List<T> result = new ArrayList<>();
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        Node<T> currentNode = head.left;
+        while (currentNode != null || !stack.isEmpty()) {
+            while (currentNode != null) {
+                stack.push(currentNode);
+                currentNode = currentNode.left;
+            }
+            currentNode = stack.pop();
+            if (!currentNode.deleted) result.add(currentNode.data);
+            currentNode = currentNode.right;
+        }
+        return result;
+    }
+
+    /**
+     * Performs an iterative postorder traversal. Children are recorded as the walk descends so the
+     * node is emitted after exactly the children that were seen, even if the links change meanwhile.
+     * @return List of elements in order visited by postorder traversal.
+     */
+    private List<T> postorderTraversal() {
+        // Emitting reversed (node, right, left) preorder gives (left, right, node).
+        Deque<T> reversed = new ArrayDeque<>();
+        Deque<Node<T>> stack = new ArrayDeque<>();
+        Node<T> root = head.left;
+        if (root != null) stack.push(root);
+        while (!stack.isEmpty()) {
+            Node<T> currentNode = stack.pop();
+            if (!currentNode.deleted) reversed.push(currentNode.data);
+            Node<T> left = currentNode.left;
+            Node<T> right = currentNode.right;
+            if (left != null) stack.push(left);
+            if (right != null) stack.push(right);
+        }
+        return new ArrayList<>(reversed);
+    }
+}
@@ -0,0 +1,226 @@
+package com.datastructures.trees;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Approximate set of hash codes that answers "definitely absent" or "possibly present", with deletion.
+ * Each hash code is reduced to a short fingerprint stored in one of two candidate buckets of four slots, found by
+ * partial-key cuckoo hashing: the second bucket is the first XOR a hash of the fingerprint, so either bucket can
+ * be found from the other and the fingerprint alone when a fingerprint is moved to make room. A lookup reads at
+ * most two buckets. With b slots per bucket and f bit fingerprints the false positive rate is at most 2b / 2^f,
+ * so f is chosen as ceil(log2(8 / rate)), up to 16 bits. Tables fill to about 95% before an insertion fails.
+ * When an insertion fails after moving fingerprints around, the fingerprint left over is kept aside as a victim
+ * so no hash code is ever forgotten. The filter then accepts no more insertions and should be rebuilt larger.
+ * Removing a hash code that was never added may remove another with the same fingerprint, causing a false
+ * negative, so callers only remove what they added.
+ */
+final class CuckooFilter {
+
+    // Slots per bucket. Four gives a 95% load factor for a modest rise in false positives.
+    static final int BUCKET_SIZE = 4;
+    // Widest fingerprint, as fingerprints are stored in shorts.
+    static final int MAX_FINGERPRINT_BITS = 16;
+    // Largest capacity, keeping the slot array within the limits of an array.
+    static final int MAX_CAPACITY = 1 << 30;
+    // Load factor the table is sized for.
+    private static final double TARGET_LOAD = 0.95;
+    // Fingerprints moved before an insertion gives up.
+    private static final int MAX_KICKS = 500;
+
+    // Fingerprints of bucket i occupy slots[i * BUCKET_SIZE, (i + 1) * BUCKET_SIZE). Zero marks an empty slot.
+    private final short[] slots;
+    private final int bucketMask;
+    private final int fingerprintBits;
+    private final int fingerprintMask;
+    private final SplittableRandom random = new SplittableRandom();
+    private int count = 0;
+    // Fingerprint left without a slot by a failed insertion, or 0, with the bucket it belongs to.
+    private int victimFingerprint = 0;
+    private int victimBucket;
+
+    /**
+     * Constructs an empty filter.
+     * @param capacity count of hash codes the filter should hold. Rounded up to a power of two count of buckets.
+     * @param fingerprintBits width of the fingerprints, between 1 and 16.
+     * @throws IllegalArgumentException if capacity is negative or above MAX_CAPACITY, or the width is invalid.
+     */
+    CuckooFilter(int capacity, int fingerprintBits) throws IllegalArgumentException {
+        if (capacity < 0 || capacity > MAX_CAPACITY) throw new IllegalArgumentException("Capacity out of range");
+        if (fingerprintBits < 1 || fingerprintBits > MAX_FINGERPRINT_BITS) {
+            throw new IllegalArgumentException("Fingerprint width must be between 1 and 16 bits");
+        }
+        long buckets = Math.max(1, (long) Math.ceil(capacity / (BUCKET_SIZE * TARGET_LOAD)));
+        // A power of two count of buckets lets a mask stand in for the modulus in alternate.
+        long rounded = buckets == 1 ? 1 : Long.highestOneBit(buckets - 1) << 1;
+        int bucketCount = (int) Math.min(MAX_CAPACITY / BUCKET_SIZE, rounded);
+        this.slots = new short[bucketCount * BUCKET_SIZE];
+        this.bucketMask = bucketCount - 1;
+        this.fingerprintBits = fingerprintBits;
+        this.fingerprintMask = (int) ((1L << fingerprintBits) - 1);
+    }
+
+    /**
+     * Calculates the fingerprint width giving at most the requested false positive rate.
+     * @param falsePositiveRate rate of false positives, between 0 and 1 exclusive.
+     * @return Width in bits, at most 16, which bounds the rate at about 0.00012.
+     * @throws IllegalArgumentException if the rate is not between 0 and 1 exclusive.
+     */
+    static int fingerprintBits(double falsePositiveRate) throws IllegalArgumentException {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1 exclusive");
+        }
+        double bits = Math.ceil(Math.log(2 * BUCKET_SIZE / falsePositiveRate) / Math.log(2));
+        return (int) Math.min(MAX_FINGERPRINT_BITS, bits);
+    }
+
+    /**
+     * Adds a hash code.
+     * @param hash the hash code.
+     * @return True if it was stored, or false if the filter is full. A hash code that fails is still reported
+     * as possibly present, but the filter accepts nothing more until rebuilt.
+     */
+    boolean add(int hash) {
+        if (victimFingerprint != 0) return false;
+        long mixed = mix(hash);
+        int fingerprint = fingerprint(mixed);
+        int bucket = (int) mixed & bucketMask;
+        count++;
+        if (insert(bucket, fingerprint) || insert(alternate(bucket, fingerprint), fingerprint)) return true;
+        // Evict a random fingerprint to its other bucket, and repeat with whatever that displaces.
+        if (random.nextBoolean()) bucket = alternate(bucket, fingerprint);
+        for (int kick = 0; kick < MAX_KICKS; kick++) {
+            int slot = bucket * BUCKET_SIZE + random.nextInt(BUCKET_SIZE);
+            int displaced = slots[slot] & 0xFFFF;
+            slots[slot] = (short) fingerprint;
+            fingerprint = displaced;
+            bucket = alternate(bucket, fingerprint);
+            if (insert(bucket, fingerprint)) return true;
+        }
+        victimFingerprint = fingerprint;
+        victimBucket = bucket;
+        return false;
+    }
+
+    /**
+     * Tests a hash code.
+     * @param hash the hash code.
+     * @return False if it was definitely never added, true if it possibly was.
+     */
+    boolean mightContain(int hash) {
+        long mixed = mix(hash);
+        int fingerprint = fingerprint(mixed);
+        int bucket = (int) mixed & bucketMask;
+        int alternate = alternate(bucket, fingerprint);
+        if (victimFingerprint == fingerprint && (victimBucket == bucket || victimBucket == alternate)) return true;
+        return find(bucket, fingerprint) >= 0 || find(alternate, fingerprint) >= 0;
+    }
+
+    /**
+     * Removes a hash code that was added.
+     * @param hash the hash code.
+     * @return True if a matching fingerprint was found and removed.
+     */
+    boolean remove(int hash) {
+        long mixed = mix(hash);
+        int fingerprint = fingerprint(mixed);
+        int bucket = (int) mixed & bucketMask;
+        int alternate = alternate(bucket, fingerprint);
+        if (victimFingerprint == fingerprint && (victimBucket == bucket || victimBucket == alternate)) {
+            victimFingerprint = 0;
+            count--;
+            return true;
+        }
+        int slot = find(bucket, fingerprint);
+        if (slot < 0) slot = find(alternate, fingerprint);
+        if (slot < 0) return false;
+        slots[slot] = 0;
+        count--;
+        // The freed slot may be one the victim can take.
+        if (victimFingerprint != 0 && (insert(victimBucket, victimFingerprint)
+                || insert(alternate(victimBucket, victimFingerprint), victimFingerprint))) {
+            victimFingerprint = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Removes every hash code, keeping the capacity.
+     */
+    void clear() {
+        Arrays.fill(slots, (short) 0);
+        count = 0;
+        victimFingerprint = 0;
+    }
+
+    /**
+     * Count of hash codes held, including one held as a victim.
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Count of slots in the table.
+     */
+    int capacity() {
+        return slots.length;
+    }
+
+    int fingerprintBits() {
+        return fingerprintBits;
+    }
+
+    /**
+     * Indicates a failed insertion has left the filter unable to take more.
+     */
+    boolean isFull() {
+        return victimFingerprint != 0;
+    }
+
+    private boolean insert(int bucket, int fingerprint) {
+        int slot = find(bucket, 0);
+        if (slot < 0) return false;
+        slots[slot] = (short) fingerprint;
+        return true;
+    }
+
+    /**
+     * Finds a slot of a bucket holding a fingerprint.
+     * @param bucket the bucket.
+     * @param fingerprint fingerprint to find, or 0 for an empty slot.
+     * @return Index of the slot, or -1 if none holds it.
+     */
+    private int find(int bucket, int fingerprint) {
+        int start = bucket * BUCKET_SIZE;
+        for (int slot = start; slot < start + BUCKET_SIZE; slot++) {
+            if ((slots[slot] & 0xFFFF) == fingerprint) return slot;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the other bucket of a fingerprint. Applying this twice returns the original bucket.
+     */
+    private int alternate(int bucket, int fingerprint) {
+        return (bucket ^ (int) mix(fingerprint)) & bucketMask;
+    }
+
+    /**
+     * Takes a nonzero fingerprint from the high half of a mixed hash, leaving the low half to pick the bucket.
+     */
+    private int fingerprint(long mixed) {
+        int fingerprint = (int) (mixed >>> 32) & fingerprintMask;
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+
+    /**
+     * Spreads a hash code over 64 bits with the SplitMix64 finalizer, so hash codes differing in a few bits, such
+     * as those of consecutive Integers, land in unrelated buckets with unrelated fingerprints.
+     */
+    private static long mix(int hash) {
+        long mixed = (hash + 0x9E3779B97F4A7C15L) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 31)) * 0x94D049BB133111EBL;
+        return mixed ^ (mixed >>> 29);
+    }
+}
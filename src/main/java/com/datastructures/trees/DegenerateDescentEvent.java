@@ -0,0 +1,32 @@
+package com.datastructures.trees;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for an operation on a BinarySearchTree that descended more than twice the optimal height
+ * for the tree's size, a sign the tree is degenerating. Only trees with metrics enabled measure their descents,
+ * and the event is disabled unless a recording enables com.datastructures.trees.DegenerateDescent.
+ */
+@Name("com.datastructures.trees.DegenerateDescent")
+@Label("Degenerate Tree Descent")
+@Category({"Data Structures", "Trees"})
+@Description("An operation on a binary search tree that descended more than twice the optimal height")
+final class DegenerateDescentEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Depth")
+    @Description("Number of nodes the operation compared against")
+    int depth;
+
+    @Label("Size")
+    int size;
+
+    @Label("Optimal Height")
+    int optimalHeight;
+}
@@ -0,0 +1,157 @@
+package com.datastructures.trees;
+
+import lombok.Getter;
+
+import java.util.Iterator;
+
+/**
+ * An immutable, read optimized copy of a set of sorted values laid out in Eytzinger order: the array holds an
+ * implicit binary search tree level by level, with the root at index 1 and the children of index k at 2k and
+ * 2k + 1. The top levels of the tree share the first few cache lines, and a search reads one array slot per level
+ * with no child pointers to load.
+ * Searches descend without leaving the loop early on a match. The path taken is recorded in the bits of the
+ * index, and the answer is recovered from it once the descent reaches the bottom, so each level costs one
+ * comparison and no unpredictable branch on its result.
+ * The snapshot is built in O(n) from values in ascending order and does not change afterwards, so it may be
+ * read from many threads at once.
+ * @param <T> Comparable type.
+ */
+public class EytzingerSnapshot<T extends Comparable<T>> {
+
+    // Largest supported size. Searches step to index 2k + 1, which must not overflow an int.
+    static final int MAX_SIZE = (1 << 30) - 1;
+
+    // Values in Eytzinger order. Index 0 is unused so that child indices are 2k and 2k + 1.
+    private final Object[] values;
+    @Getter
+    private final int size;
+
+    /**
+     * Constructs a snapshot of the values of a tree.
+     * @param tree tree to copy. Later changes to it are not reflected in the snapshot.
+     * @throws IllegalArgumentException if the tree's comparator disagrees with the natural ordering of its values.
+     */
+    public EytzingerSnapshot(BinarySearchTree<T> tree) throws IllegalArgumentException {
+        this(tree.iterator(TraversalType.INORDER), tree.getSize());
+    }
+
+    /**
+     * Constructs a snapshot of values in strictly ascending order.
+     * @param values iterator over sorted values. Only the first count values are read.
+     * @param count number of values to read.
+     * @throws IllegalArgumentException if count is negative or above MAX_SIZE, the iterator holds fewer than
+     * count values or the values are not in strictly ascending order.
+     */
+    public EytzingerSnapshot(Iterator<? extends T> values, int count) throws IllegalArgumentException {
+        checkSize(count);
+        this.size = count;
+        this.values = new Object[count + 1];
+        T previous = null;
+        // Walk the implicit tree in order, so the sorted values land in their Eytzinger positions.
+        for (int k = firstInOrder(1, count); k != 0; k = nextInOrder(k, count)) {
+            if (!values.hasNext()) throw new IllegalArgumentException("Fewer values provided than the given count");
+            T value = values.next();
+            if (previous != null && previous.compareTo(value) >= 0) {
+                throw new IllegalArgumentException("Values are not in strictly ascending order");
+            }
+            this.values[k] = value;
+            previous = value;
+        }
+    }
+
+    /**
+     * Indicates if any values exist in the snapshot.
+     * @return Boolean indicating if the snapshot is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Determines if a given value exists in the snapshot.
+     * @param value the value to search.
+     * @return boolean indicating if the value is found.
+     */
+    public boolean contains(T value) {
+        int k = ceilingIndex(value);
+        return k != 0 && value(k).compareTo(value) == 0;
+    }
+
+    /**
+     * Finds the least value greater than or equal to the given value.
+     * @param value the value to search.
+     * @return The ceiling of value, or null if there is none.
+     */
+    public T ceiling(T value) {
+        int k = ceilingIndex(value);
+        return k == 0 ? null : value(k);
+    }
+
+    /**
+     * Finds the greatest value less than or equal to the given value.
+     * @param value the value to search.
+     * @return The floor of value, or null if there is none.
+     */
+    public T floor(T value) {
+        int k = 1;
+        // Step right past every value not above the target. The last right step was taken at the floor.
+        while (k <= size) k = 2 * k + (value(k).compareTo(value) <= 0 ? 1 : 0);
+        // Drop the trailing left steps and the final right step to return to that node.
+        k >>>= Integer.numberOfTrailingZeros(k) + 1;
+        return k == 0 ? null : value(k);
+    }
+
+    /**
+     * Locates the least value greater than or equal to the given value.
+     * @param value the value to search.
+     * @return Index of the ceiling, or 0 if there is none.
+     */
+    private int ceilingIndex(T value) {
+        int k = 1;
+        // Step left at every value not below the target. The last left step was taken at the ceiling.
+        while (k <= size) k = 2 * k + (value(k).compareTo(value) < 0 ? 1 : 0);
+        // Drop the trailing right steps and the final left step to return to that node.
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    /**
+     * Validates the number of values a snapshot is built from.
+     * @param count number of values.
+     * @throws IllegalArgumentException if count is negative or above MAX_SIZE.
+     */
+    static void checkSize(int count) throws IllegalArgumentException {
+        if (count < 0) throw new IllegalArgumentException("Count must not be negative");
+        if (count > MAX_SIZE) throw new IllegalArgumentException("Count exceeds maximum snapshot size");
+    }
+
+    @SuppressWarnings("unchecked")
+    private T value(int k) {
+        return (T) values[k];
+    }
+
+    /**
+     * Finds the first index visited by an in order walk of the implicit tree rooted at k.
+     * @param k root of the subtree.
+     * @param size number of values in the whole tree.
+     * @return The leftmost index of the subtree, or 0 if it is empty.
+     */
+    static int firstInOrder(int k, int size) {
+        if (k > size) return 0;
+        while (2 * k <= size) k = 2 * k;
+        return k;
+    }
+
+    /**
+     * Finds the index after k in an in order walk of an implicit tree.
+     * @param k current index.
+     * @param size number of values in the tree.
+     * @return The next index, or 0 once the walk is complete.
+     */
+    static int nextInOrder(int k, int size) {
+        // The next index is the leftmost of the right subtree when there is one.
+        if (2 * k + 1 <= size) return firstInOrder(2 * k + 1, size);
+        // Otherwise climb while coming up from a right child, then once more to the parent.
+        k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+        return k;
+    }
+}
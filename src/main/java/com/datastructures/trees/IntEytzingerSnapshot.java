@@ -0,0 +1,106 @@
+package com.datastructures.trees;
+
+import lombok.Getter;
+
+import java.util.OptionalInt;
+
+import static com.datastructures.trees.EytzingerSnapshot.checkSize;
+import static com.datastructures.trees.EytzingerSnapshot.firstInOrder;
+import static com.datastructures.trees.EytzingerSnapshot.nextInOrder;
+
+/**
+ * An immutable, read optimized copy of a set of sorted int keys in Eytzinger order, as in EytzingerSnapshot.
+ * Keys are stored inline in an int array, so sixteen of them share a cache line and the first four levels of the
+ * implicit tree sit in the first line. Each level of a search is a single int comparison whose result is added
+ * to the index, which the JIT compiles to a conditional move rather than a branch.
+ */
+public class IntEytzingerSnapshot {
+
+    // Keys in Eytzinger order. Index 0 is unused so that child indices are 2k and 2k + 1.
+    private final int[] keys;
+    @Getter
+    private final int size;
+
+    /**
+     * Constructs a snapshot of the keys of a tree.
+     * @param tree tree to copy. Later changes to it are not reflected in the snapshot.
+     */
+    public IntEytzingerSnapshot(IntBinarySearchTree tree) {
+        this(tree.toArray());
+    }
+
+    /**
+     * Constructs a snapshot of keys in strictly ascending order.
+     * @param sortedKeys sorted keys. The array is copied.
+     * @throws IllegalArgumentException if the array is longer than EytzingerSnapshot.MAX_SIZE or its keys are not
+     * in strictly ascending order.
+     */
+    public IntEytzingerSnapshot(int[] sortedKeys) throws IllegalArgumentException {
+        checkSize(sortedKeys.length);
+        this.size = sortedKeys.length;
+        this.keys = new int[size + 1];
+        // Walk the implicit tree in order, so the sorted keys land in their Eytzinger positions.
+        int i = 0;
+        for (int k = firstInOrder(1, size); k != 0; k = nextInOrder(k, size)) {
+            if (i > 0 && sortedKeys[i - 1] >= sortedKeys[i]) {
+                throw new IllegalArgumentException("Keys are not in strictly ascending order");
+            }
+            keys[k] = sortedKeys[i++];
+        }
+    }
+
+    /**
+     * Indicates if any keys exist in the snapshot.
+     * @return Boolean indicating if the snapshot is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Determines if a given key exists in the snapshot.
+     * @param key the key to search.
+     * @return boolean indicating if the key is found.
+     */
+    public boolean contains(int key) {
+        int k = ceilingIndex(key);
+        return k != 0 && keys[k] == key;
+    }
+
+    /**
+     * Finds the least key greater than or equal to the given key.
+     * @param key the key to search.
+     * @return The ceiling of key, or empty if there is none.
+     */
+    public OptionalInt ceiling(int key) {
+        int k = ceilingIndex(key);
+        return k == 0 ? OptionalInt.empty() : OptionalInt.of(keys[k]);
+    }
+
+    /**
+     * Finds the greatest key less than or equal to the given key.
+     * @param key the key to search.
+     * @return The floor of key, or empty if there is none.
+     */
+    public OptionalInt floor(int key) {
+        int k = 1;
+        // Step right past every key not above the target. The last right step was taken at the floor.
+        while (k <= size) k = 2 * k + (keys[k] <= key ? 1 : 0);
+        // Drop the trailing left steps and the final right step to return to that node.
+        k >>>= Integer.numberOfTrailingZeros(k) + 1;
+        return k == 0 ? OptionalInt.empty() : OptionalInt.of(keys[k]);
+    }
+
+    /**
+     * Locates the least key greater than or equal to the given key.
+     * @param key the key to search.
+     * @return Index of the ceiling, or 0 if there is none.
+     */
+    private int ceilingIndex(int key) {
+        int k = 1;
+        // Step left at every key not below the target. The last left step was taken at the ceiling.
+        while (k <= size) k = 2 * k + (keys[k] < key ? 1 : 0);
+        // Drop the trailing right steps and the final left step to return to that node.
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+}
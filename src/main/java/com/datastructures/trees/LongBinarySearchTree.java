@@ -0,0 +1,78 @@
+package com.datastructures.trees;
+
+import java.util.function.LongConsumer;
+
+/**
+ * This class implements a binary search tree of primitive long keys, maintained as an AVL tree.
+ * Nodes are stored as parallel arrays of keys, child slots and heights rather than as objects, so a key costs
+ * 8 bytes plus 9 bytes of structure, against roughly 40 bytes for a BinarySearchTree node plus 16 for the boxed
+ * Long, and a search reads arrays instead of chasing pointers. Removed slots are reused before the
+ * storage grows. The nodes may be kept off the Java heap, which keeps very large trees out of the garbage
+ * collector's way at the cost of a bounds checked buffer read per access.
+ * In this implementation, there are no duplicates.
+ */
+public class LongBinarySearchTree extends PrimitiveBinarySearchTree {
+
+    /**
+     * Constructs an empty tree on the Java heap.
+     */
+    public LongBinarySearchTree() {
+        this(DEFAULT_CAPACITY, false);
+    }
+
+    /**
+     * Constructs an empty tree.
+     * @param initialCapacity number of keys to make room for up front.
+     * @param offHeap True to keep the nodes in direct buffers outside the Java heap.
+     * @throws IllegalArgumentException if initialCapacity is negative.
+     */
+    public LongBinarySearchTree(int initialCapacity, boolean offHeap) throws IllegalArgumentException {
+        super(Long.BYTES, initialCapacity, offHeap);
+    }
+
+    /**
+     * Determines if a given key exists in the tree.
+     * @param key the key to search.
+     * @return boolean indicating if the key is found.
+     */
+    public boolean contains(long key) {
+        return containsKey(key);
+    }
+
+    /**
+     * Adds the given key to the tree.
+     * @param key to be added to tree.
+     * @return boolean indicating if the key was added to the tree.
+     */
+    public boolean add(long key) {
+        return addKey(key);
+    }
+
+    /**
+     * Removes the given key from the tree.
+     * @param key to be removed.
+     * @return Boolean indicating success or failure of removal.
+     */
+    public boolean remove(long key) {
+        return removeKey(key);
+    }
+
+    /**
+     * Visits every key in ascending order.
+     * @param action called with each key.
+     */
+    public void forEach(LongConsumer action) {
+        forEachKey(action);
+    }
+
+    /**
+     * Copies the keys into an array in ascending order.
+     * @return Sorted array of every key.
+     */
+    public long[] toArray() {
+        long[] keys = new long[getSize()];
+        int[] index = new int[1];
+        forEachKey(key -> keys[index[0]++] = key);
+        return keys;
+    }
+}
@@ -0,0 +1,186 @@
+package com.datastructures.trees;
+
+import com.algorithms.sort.RecordCodec;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import static com.datastructures.trees.BinarySearchTreeFormat.HEADER_SIZE;
+import static com.datastructures.trees.BinarySearchTreeFormat.MAGIC;
+import static com.datastructures.trees.BinarySearchTreeFormat.VERSION;
+
+/**
+ * A read only view of a tree saved in the BinarySearchTreeFormat, queried in place in a mapped buffer.
+ * Searches binary search the sorted keys, decoding only the O(log n) keys they compare against, so a view is
+ * usable as soon as the file is mapped and the operating system pages in just the parts that are read.
+ * The view never changes and is safe to query from many threads at once.
+ * @param <T> Comparable type.
+ */
+public class MappedTreeView<T extends Comparable<T>> implements Iterable<T> {
+
+    private final ByteBuffer buffer;
+    private final RecordCodec<T> codec;
+    // The codec's fixed key size, or -1 when the offset table locates each key.
+    private final int keySize;
+    @Getter
+    private final int size;
+    // Position in the buffer where the keys start.
+    private final int keysStart;
+
+    /**
+     * Constructs a view over a buffer holding a saved tree, checking its header and length.
+     * @param buffer buffer positioned anywhere, holding the whole file from index 0.
+     * @param codec codec the keys were saved with.
+     * @throws IOException if the buffer does not hold a valid tree file for the codec.
+     */
+    MappedTreeView(ByteBuffer buffer, RecordCodec<T> codec) throws IOException {
+        this.buffer = buffer;
+        this.codec = codec;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a binary search tree file");
+        }
+        int version = buffer.getInt(Integer.BYTES);
+        if (version != VERSION) throw new IOException("Unsupported binary search tree file version " + version);
+        keySize = buffer.getInt(2 * Integer.BYTES);
+        size = buffer.getInt(3 * Integer.BYTES);
+        if (keySize != codec.fixedSize()) throw new IOException("File was not written with the given codec");
+        if (size < 0) throw new IOException("Corrupt binary search tree file");
+        long expectedLength;
+        if (keySize >= 0) {
+            keysStart = HEADER_SIZE;
+            expectedLength = keysStart + (long) keySize * size;
+        }
+        else {
+            long tableEnd = HEADER_SIZE + (size + 1L) * Integer.BYTES;
+            if (tableEnd > buffer.capacity()) throw new IOException("Truncated binary search tree file");
+            keysStart = (int) tableEnd;
+            expectedLength = keysStart + (long) offset(size);
+        }
+        if (expectedLength != buffer.capacity()) throw new IOException("Truncated binary search tree file");
+    }
+
+    /**
+     * Indicates if any keys exist in the view.
+     * @return Boolean indicating if the view is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Decodes the key at the given position in sorted order.
+     * @param index position of the key, from 0.
+     * @return The key with exactly index smaller keys.
+     * @throws IndexOutOfBoundsException if index is negative or not less than the size.
+     */
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        return key(buffer.duplicate(), index);
+    }
+
+    /**
+     * Determines if a given key exists in the view.
+     * @param key the key to search.
+     * @return boolean indicating if the key is found.
+     */
+    public boolean contains(T key) {
+        ByteBuffer reader = buffer.duplicate();
+        int index = ceilingIndex(reader, key);
+        return index < size && key(reader, index).compareTo(key) == 0;
+    }
+
+    /**
+     * Finds the least key greater than or equal to the given key.
+     * @param key the key to search.
+     * @return The ceiling of key, or null if there is none.
+     */
+    public T ceiling(T key) {
+        ByteBuffer reader = buffer.duplicate();
+        int index = ceilingIndex(reader, key);
+        return index < size ? key(reader, index) : null;
+    }
+
+    /**
+     * Finds the greatest key less than or equal to the given key.
+     * @param key the key to search.
+     * @return The floor of key, or null if there is none.
+     */
+    public T floor(T key) {
+        ByteBuffer reader = buffer.duplicate();
+        int index = ceilingIndex(reader, key);
+        if (index < size) {
+            T ceiling = key(reader, index);
+            if (ceiling.compareTo(key) == 0) return ceiling;
+        }
+        return index > 0 ? key(reader, index - 1) : null;
+    }
+
+    /**
+     * Binary searches for the first key not less than the given key.
+     * @param reader buffer to decode with.
+     * @param key the key to search.
+     * @return Index of the ceiling, or size if there is none.
+     */
+    private int ceilingIndex(ByteBuffer reader, T key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (key(reader, middle).compareTo(key) < 0) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Decodes the key at the given index.
+     * @param reader buffer to decode with, whose position is moved.
+     * @param index position of the key in sorted order.
+     * @return The decoded key.
+     */
+    private T key(ByteBuffer reader, int index) {
+        if (keySize >= 0) {
+            reader.position(keysStart + index * keySize);
+            return codec.decode(reader, keySize);
+        }
+        int start = offset(index);
+        reader.position(keysStart + start);
+        return codec.decode(reader, offset(index + 1) - start);
+    }
+
+    /**
+     * Reads an entry of the offset table.
+     * @param index entry of the table, from 0 to size.
+     * @return Offset of the key's first byte from the start of the keys.
+     */
+    private int offset(int index) {
+        return buffer.getInt(HEADER_SIZE + index * Integer.BYTES);
+    }
+
+    /**
+     * Returns an iterator decoding the keys in ascending order.
+     * @return Iterator over the keys.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private final ByteBuffer reader = buffer.duplicate();
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public T next() {
+                if (index >= size) throw new NoSuchElementException();
+                return key(reader, index++);
+            }
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package com.datastructures.trees;
+
+import lombok.Getter;
+
+/**
+ * A snapshot of the miss filter of a BinarySearchTree and the lookups it has answered since it was enabled.
+ * Every contains call asks the filter first. A definite miss is answered by the filter alone, without touching a
+ * node. Otherwise the tree is searched, and a search that finds nothing was a false positive of the filter.
+ */
+public final class MissFilterStats {
+
+    /**
+     * Count of contains calls answered while the filter was enabled.
+     */
+    @Getter
+    private final long lookups;
+    /**
+     * Count of lookups the filter answered as definitely absent, skipping the search.
+     */
+    @Getter
+    private final long definiteMisses;
+    /**
+     * Count of lookups the filter passed on to a search that found nothing.
+     */
+    @Getter
+    private final long falsePositives;
+    /**
+     * Count of times the filter was rebuilt larger after filling up, or to match a rebuilt tree.
+     */
+    @Getter
+    private final long rebuilds;
+    /**
+     * Count of values the filter holds.
+     */
+    @Getter
+    private final int size;
+    /**
+     * Count of fingerprint slots in the filter.
+     */
+    @Getter
+    private final int capacity;
+    /**
+     * Width of each fingerprint in bits.
+     */
+    @Getter
+    private final int fingerprintBits;
+
+    private MissFilterStats(Counters counters, int size, int capacity, int fingerprintBits) {
+        this.lookups = counters.lookups;
+        this.definiteMisses = counters.definiteMisses;
+        this.falsePositives = counters.falsePositives;
+        this.rebuilds = counters.rebuilds;
+        this.size = size;
+        this.capacity = capacity;
+        this.fingerprintBits = fingerprintBits;
+    }
+
+    /**
+     * Counts the lookups the filter passed on to a search, whether or not the value was found.
+     * @return Lookups less definite misses.
+     */
+    public long getFilterHits() {
+        return lookups - definiteMisses;
+    }
+
+    /**
+     * Calculates the observed false positive rate, over the lookups of values that were absent.
+     * @return False positives divided by all lookups that found nothing, or 0 if there were none.
+     */
+    public double getFalsePositiveRate() {
+        long absent = definiteMisses + falsePositives;
+        return absent == 0 ? 0 : (double) falsePositives / absent;
+    }
+
+    /**
+     * Calculates how full the filter is. Insertions start failing, and the filter is rebuilt, at about 0.95.
+     * @return Size divided by capacity, or 0 for a filter with no slots.
+     */
+    public double getLoadFactor() {
+        return capacity == 0 ? 0 : (double) size / capacity;
+    }
+
+    @Override
+    public String toString() {
+        return "MissFilterStats{lookups=" + lookups
+                + ", definiteMisses=" + definiteMisses
+                + ", falsePositives=" + falsePositives
+                + ", falsePositiveRate=" + String.format("%.4f", getFalsePositiveRate())
+                + ", rebuilds=" + rebuilds
+                + ", size=" + size
+                + ", capacity=" + capacity
+                + ", loadFactor=" + String.format("%.2f", getLoadFactor())
+                + ", fingerprintBits=" + fingerprintBits + '}';
+    }
+
+    /**
+     * Mutable counters held by a tree while its miss filter is enabled.
+     */
+    static final class Counters {
+        private long lookups;
+        private long definiteMisses;
+        private long falsePositives;
+        private long rebuilds;
+
+        /**
+         * Counts a lookup.
+         * @param passed True if the filter passed the lookup on to a search.
+         * @param found True if the search found the value. Ignored when the lookup was not passed on.
+         */
+        void lookedUp(boolean passed, boolean found) {
+            lookups++;
+            if (!passed) definiteMisses++;
+            else if (!found) falsePositives++;
+        }
+
+        void rebuilt() {
+            rebuilds++;
+        }
+
+        /**
+         * Takes a snapshot of the counters.
+         * @param filter the filter, or null for an empty snapshot.
+         * @return Immutable statistics.
+         */
+        MissFilterStats snapshot(CuckooFilter filter) {
+            if (filter == null) return new MissFilterStats(this, 0, 0, 0);
+            return new MissFilterStats(this, filter.size(), filter.capacity(), filter.fingerprintBits());
+        }
+    }
+}
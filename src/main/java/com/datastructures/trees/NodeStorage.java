@@ -0,0 +1,249 @@
+package com.datastructures.trees;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Struct-of-arrays storage for the nodes of the primitive trees. A node is an index, or slot, into parallel
+ * arrays of keys, left and right child slots and subtree heights, so a node costs its key plus 9 bytes and
+ * no object header or pointer.
+ * Keys are read and written as longs whatever their stored width, which lets one tree implementation
+ * serve both int and long keys. Storage either lives on the heap in primitive arrays, or off the heap in
+ * direct buffers, which keeps large trees out of the garbage collector's way.
+ * Slots are numbered from 0. Growth is the caller's responsibility.
+ */
+abstract class NodeStorage {
+
+    // Slot value standing for no node.
+    static final int NIL = -1;
+
+    /**
+     * Creates storage for the given number of nodes.
+     * @param keyBytes width of each key, Integer.BYTES or Long.BYTES.
+     * @param capacity number of nodes to hold.
+     * @param offHeap True to keep nodes in direct buffers outside the Java heap.
+     * @return Empty storage.
+     */
+    static NodeStorage create(int keyBytes, int capacity, boolean offHeap) {
+        return offHeap ? new OffHeap(keyBytes, capacity) : new Heap(keyBytes, capacity);
+    }
+
+    abstract long key(int slot);
+
+    abstract void setKey(int slot, long key);
+
+    abstract int left(int slot);
+
+    abstract void setLeft(int slot, int child);
+
+    abstract int right(int slot);
+
+    abstract void setRight(int slot, int child);
+
+    abstract int height(int slot);
+
+    abstract void setHeight(int slot, int height);
+
+    /**
+     * @return Number of nodes the storage holds.
+     */
+    abstract int capacity();
+
+    /**
+     * Copies the storage into storage of a larger capacity, keeping every slot's contents.
+     * @param capacity new number of nodes to hold.
+     * @return Storage of the new capacity, which may be this storage.
+     */
+    abstract NodeStorage grow(int capacity);
+
+    /**
+     * @return True if nodes are kept outside the Java heap.
+     */
+    abstract boolean isOffHeap();
+
+    /**
+     * Heap storage in primitive arrays. Only the key array matching the key width is allocated.
+     */
+    private static final class Heap extends NodeStorage {
+        private int[] intKeys;
+        private long[] longKeys;
+        private int[] left;
+        private int[] right;
+        // AVL heights never exceed 1.44 log2 of the node count, so a byte is enough for any array sized tree.
+        private byte[] heights;
+
+        Heap(int keyBytes, int capacity) {
+            if (keyBytes == Integer.BYTES) intKeys = new int[capacity];
+            else longKeys = new long[capacity];
+            left = new int[capacity];
+            right = new int[capacity];
+            heights = new byte[capacity];
+        }
+
+        @Override
+        long key(int slot) {
+            return intKeys != null ? intKeys[slot] : longKeys[slot];
+        }
+
+        @Override
+        void setKey(int slot, long key) {
+            if (intKeys != null) intKeys[slot] = (int) key;
+            else longKeys[slot] = key;
+        }
+
+        @Override
+        int left(int slot) {
+            return left[slot];
+        }
+
+        @Override
+        void setLeft(int slot, int child) {
+            left[slot] = child;
+        }
+
+        @Override
+        int right(int slot) {
+            return right[slot];
+        }
+
+        @Override
+        void setRight(int slot, int child) {
+            right[slot] = child;
+        }
+
+        @Override
+        int height(int slot) {
+            return heights[slot];
+        }
+
+        @Override
+        void setHeight(int slot, int height) {
+            heights[slot] = (byte) height;
+        }
+
+        @Override
+        int capacity() {
+            return left.length;
+        }
+
+        @Override
+        NodeStorage grow(int capacity) {
+            if (intKeys != null) intKeys = Arrays.copyOf(intKeys, capacity);
+            else longKeys = Arrays.copyOf(longKeys, capacity);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            heights = Arrays.copyOf(heights, capacity);
+            return this;
+        }
+
+        @Override
+        boolean isOffHeap() {
+            return false;
+        }
+    }
+
+    /**
+     * Off heap storage in direct buffers, one per field, in the platform's byte order.
+     * A direct buffer holds at most Integer.MAX_VALUE bytes, which caps the capacity at about 268 million nodes
+     * with long keys. The memory is released when the storage is garbage collected.
+     */
+    private static final class OffHeap extends NodeStorage {
+        private final int keyBytes;
+        private ByteBuffer keys;
+        private ByteBuffer left;
+        private ByteBuffer right;
+        private ByteBuffer heights;
+
+        OffHeap(int keyBytes, int capacity) {
+            this.keyBytes = keyBytes;
+            keys = allocate((long) capacity * keyBytes);
+            left = allocate((long) capacity * Integer.BYTES);
+            right = allocate((long) capacity * Integer.BYTES);
+            heights = allocate(capacity);
+        }
+
+        /**
+         * Allocates a direct buffer, rejecting sizes a buffer can not index.
+         * @param bytes size of the buffer.
+         * @return Direct buffer in native byte order.
+         */
+        private static ByteBuffer allocate(long bytes) {
+            if (bytes > Integer.MAX_VALUE) throw new IllegalArgumentException("Capacity exceeds off heap buffer limit");
+            return ByteBuffer.allocateDirect((int) bytes).order(ByteOrder.nativeOrder());
+        }
+
+        /**
+         * Copies a buffer's full contents to the start of a new, larger buffer.
+         * @param buffer buffer to copy.
+         * @param bytes size of the new buffer.
+         * @return The new buffer.
+         */
+        private static ByteBuffer copy(ByteBuffer buffer, long bytes) {
+            ByteBuffer grown = allocate(bytes);
+            grown.put(buffer.duplicate().clear());
+            grown.clear();
+            return grown;
+        }
+
+        @Override
+        long key(int slot) {
+            return keyBytes == Integer.BYTES ? keys.getInt(slot * Integer.BYTES) : keys.getLong(slot * Long.BYTES);
+        }
+
+        @Override
+        void setKey(int slot, long key) {
+            if (keyBytes == Integer.BYTES) keys.putInt(slot * Integer.BYTES, (int) key);
+            else keys.putLong(slot * Long.BYTES, key);
+        }
+
+        @Override
+        int left(int slot) {
+            return left.getInt(slot * Integer.BYTES);
+        }
+
+        @Override
+        void setLeft(int slot, int child) {
+            left.putInt(slot * Integer.BYTES, child);
+        }
+
+        @Override
+        int right(int slot) {
+            return right.getInt(slot * Integer.BYTES);
+        }
+
+        @Override
+        void setRight(int slot, int child) {
+            right.putInt(slot * Integer.BYTES, child);
+        }
+
+        @Override
+        int height(int slot) {
+            return heights.get(slot);
+        }
+
+        @Override
+        void setHeight(int slot, int height) {
+            heights.put(slot, (byte) height);
+        }
+
+        @Override
+        int capacity() {
+            return heights.capacity();
+        }
+
+        @Override
+        NodeStorage grow(int capacity) {
+            keys = copy(keys, (long) capacity * keyBytes);
+            left = copy(left, (long) capacity * Integer.BYTES);
+            right = copy(right, (long) capacity * Integer.BYTES);
+            heights = copy(heights, capacity);
+            return this;
+        }
+
+        @Override
+        boolean isOffHeap() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.datastructures.trees;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This class implements an immutable, or persistent, binary search tree maintained as an AVL tree.
+ * Adding or removing a value returns a new version of the tree and leaves the original untouched. Only the
+ * nodes on the path to the change are copied, O(log n) of them, and every other subtree is shared between the
+ * two versions.
+ * Since a version never changes, holding a reference to it is a consistent snapshot, taken in O(1). A writer
+ * can publish versions to any number of reader threads through a single volatile field, and the readers need
+ * no locks:
+ * <pre>
+ *     volatile PersistentBinarySearchTree&lt;Integer&gt; current = new PersistentBinarySearchTree&lt;&gt;();
+ *     // Writer
+ *     current = current.add(42);
+ *     // Readers
+ *     PersistentBinarySearchTree&lt;Integer&gt; snapshot = current;
+ * </pre>
+ * Writers from more than one thread must coordinate, for example with compareAndSet on an AtomicReference,
+ * or updates may be lost.
+ * In this implementation, there are no duplicates.
+ * @param <T> Comparable type.
+ */
+public final class PersistentBinarySearchTree<T extends Comparable<T>> implements Iterable<T> {
+
+    /**
+     * The node class represents a single, immutable node. Nodes are shared between versions, so they never
+     * change once built. Recursion over nodes is bounded by the height, which is logarithmic.
+     */
+    private static final class Node<T> {
+        final T data;
+        final Node<T> left;
+        final Node<T> right;
+        final int height;
+        // Count of nodes in the subtree rooted at this node, including itself.
+        final int size;
+
+        Node(T data, Node<T> left, Node<T> right) {
+            this.data = data;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    private final Node<T> root;
+
+    /**
+     * Constructs an empty tree.
+     */
+    public PersistentBinarySearchTree() {
+        this(null);
+    }
+
+    private PersistentBinarySearchTree(Node<T> root) {
+        this.root = root;
+    }
+
+    /**
+     * Builds a perfectly balanced tree from values in strictly ascending order, in O(n).
+     * @param values iterator over sorted values. Only the first count values are read.
+     * @param count number of values to read.
+     * @param <T> Comparable type.
+     * @return A tree of minimum height holding the values.
+     * @throws IllegalArgumentException if count is negative, the iterator holds fewer than count values or
+     * the values are not in strictly ascending order.
+     */
+    public static <T extends Comparable<T>> PersistentBinarySearchTree<T> fromSorted(Iterator<? extends T> values,
+                                                                                     int count)
+            throws IllegalArgumentException {
+        if (count < 0) throw new IllegalArgumentException("Count must not be negative");
+        return new PersistentBinarySearchTree<>(buildSorted(values, count, new Object[1]));
+    }
+
+    /**
+     * Builds a perfectly balanced subtree from the next count values, left subtree first so each value lands
+     * in its in order position.
+     * @param values iterator over sorted values.
+     * @param count number of values in the subtree.
+     * @param previous holder for the last value read, used to check the order.
+     * @return Root of the subtree, or null when count is 0.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> Node<T> buildSorted(Iterator<? extends T> values, int count,
+                                                                 Object[] previous) {
+        if (count == 0) return null;
+        int leftCount = (count - 1) / 2;
+        Node<T> left = buildSorted(values, leftCount, previous);
+        if (!values.hasNext()) throw new IllegalArgumentException("Fewer values provided than the given count");
+        T data = values.next();
+        if (previous[0] != null && ((T) previous[0]).compareTo(data) >= 0) {
+            throw new IllegalArgumentException("Values are not in strictly ascending order");
+        }
+        previous[0] = data;
+        return new Node<>(data, left, buildSorted(values, count - 1 - leftCount, previous));
+    }
+
+    /**
+     * Returns the count of values in the tree.
+     * @return int count of values present.
+     */
+    public int getSize() {
+        return size(root);
+    }
+
+    /**
+     * Indicates if any values exist in the tree.
+     * @return Boolean indicating if the tree is empty.
+     */
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Calculates the height of the tree. Heights are stored, so this is O(1).
+     * @return int height of longest branch in tree.
+     */
+    public int height() {
+        return height(root);
+    }
+
+    /**
+     * Determines if a given value exists in the tree.
+     * @param data the data to search.
+     * @return boolean indicating if a node with the data is found.
+     */
+    public boolean contains(T data) {
+        Node<T> currentNode = root;
+        while (currentNode != null) {
+            int comparison = data.compareTo(currentNode.data);
+            if (comparison == 0) return true;
+            currentNode = comparison < 0 ? currentNode.left : currentNode.right;
+        }
+        return false;
+    }
+
+    /**
+     * Returns a version of the tree with the given value added.
+     * @param data to be added.
+     * @return A new version sharing all but O(log n) nodes with this one, or this version if the value is present.
+     */
+    public PersistentBinarySearchTree<T> add(T data) {
+        Node<T> newRoot = insert(root, data);
+        return newRoot == root ? this : new PersistentBinarySearchTree<>(newRoot);
+    }
+
+    /**
+     * Returns a version of the tree with the given value removed.
+     * @param data to be removed.
+     * @return A new version sharing all but O(log n) nodes with this one, or this version if the value is absent.
+     */
+    public PersistentBinarySearchTree<T> remove(T data) {
+        Node<T> newRoot = delete(root, data);
+        return newRoot == root ? this : new PersistentBinarySearchTree<>(newRoot);
+    }
+
+    /**
+     * Copies the path to the insertion point, rebalancing the copies on the way back up.
+     * @param node root of the subtree.
+     * @param data to be added.
+     * @return Root of the new subtree, or node itself if the value was already present.
+     */
+    private static <T extends Comparable<T>> Node<T> insert(Node<T> node, T data) {
+        if (node == null) return new Node<>(data, null, null);
+        int comparison = data.compareTo(node.data);
+        if (comparison == 0) return node;
+        if (comparison < 0) {
+            Node<T> left = insert(node.left, data);
+            return left == node.left ? node : balance(node.data, left, node.right);
+        }
+        Node<T> right = insert(node.right, data);
+        return right == node.right ? node : balance(node.data, node.left, right);
+    }
+
+    /**
+     * Copies the path to the value being removed, rebalancing the copies on the way back up.
+     * A node with two children is replaced by a copy holding its in order successor.
+     * @param node root of the subtree.
+     * @param data to be removed.
+     * @return Root of the new subtree, or node itself if the value was not present.
+     */
+    private static <T extends Comparable<T>> Node<T> delete(Node<T> node, T data) {
+        if (node == null) return null;
+        int comparison = data.compareTo(node.data);
+        if (comparison < 0) {
+            Node<T> left = delete(node.left, data);
+            return left == node.left ? node : balance(node.data, left, node.right);
+        }
+        if (comparison > 0) {
+            Node<T> right = delete(node.right, data);
+            return right == node.right ? node : balance(node.data, node.left, right);
+        }
+        if (node.left == null) return node.right;
+        if (node.right == null) return node.left;
+        Node<T> successor = node.right;
+        while (successor.left != null) successor = successor.left;
+        return balance(successor.data, node.left, deleteMin(node.right));
+    }
+
+    /**
+     * Copies the path to the minimum of a subtree without it.
+     * @param node root of a non-empty subtree.
+     * @return Root of the new subtree.
+     */
+    private static <T> Node<T> deleteMin(Node<T> node) {
+        if (node.left == null) return node.right;
+        return balance(node.data, deleteMin(node.left), node.right);
+    }
+
+    /**
+     * Builds a node from subtrees whose heights differ by at most two, rotating if they differ by two.
+     * Rotations build new nodes rather than relinking, as the subtrees' roots may be shared.
+     * @param data value of the node.
+     * @param left left subtree.
+     * @param right right subtree.
+     * @return Root of the balanced subtree.
+     */
+    private static <T> Node<T> balance(T data, Node<T> left, Node<T> right) {
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+        // Left heavy. A right leaning left child needs a double rotation (left-right case).
+        if (leftHeight > rightHeight + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node<>(left.data, left.left, new Node<>(data, left.right, right));
+            }
+            Node<T> pivot = left.right;
+            return new Node<>(pivot.data, new Node<>(left.data, left.left, pivot.left),
+                    new Node<>(data, pivot.right, right));
+        }
+        // Right heavy. A left leaning right child needs a double rotation (right-left case).
+        if (rightHeight > leftHeight + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node<>(right.data, new Node<>(data, left, right.left), right.right);
+            }
+            Node<T> pivot = right.left;
+            return new Node<>(pivot.data, new Node<>(data, left, pivot.left),
+                    new Node<>(right.data, pivot.right, right.right));
+        }
+        return new Node<>(data, left, right);
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Returns an iterator over the values in ascending order. The version can not change, so the iterator
+     * needs no modification checks and is safe to use from any thread.
+     * @return Lazy in order iterator holding O(height) nodes.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private final Deque<Node<T>> stack = new ArrayDeque<>();
+
+            {
+                pushLeftSpine(root);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (stack.isEmpty()) throw new NoSuchElementException();
+                Node<T> currentNode = stack.pop();
+                pushLeftSpine(currentNode.right);
+                return currentNode.data;
+            }
+
+            private void pushLeftSpine(Node<T> node) {
+                for (; node != null; node = node.left) stack.push(node);
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), getSize(), Spliterator.ORDERED | Spliterator.SORTED
+                | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+    }
+
+    /**
+     * Returns a sequential stream over the values in ascending order.
+     * @return Stream of the values.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+}
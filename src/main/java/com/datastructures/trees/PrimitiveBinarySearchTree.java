@@ -0,0 +1,313 @@
+package com.datastructures.trees;
+
+import lombok.Getter;
+
+import java.util.function.LongConsumer;
+
+import static com.datastructures.trees.NodeStorage.NIL;
+
+/**
+ * Shared implementation of the primitive, array backed AVL trees. Nodes are slots in a NodeStorage rather
+ * than objects, keys are compared as longs, and removed slots are kept on a free list and reused before the
+ * storage grows. Without parent links, mutations record their path from the root in a fixed array and
+ * retrace it, so no operation recurses or allocates.
+ * In this implementation, there are no duplicates.
+ */
+public abstract class PrimitiveBinarySearchTree {
+
+    // Capacity used when none is given.
+    static final int DEFAULT_CAPACITY = 16;
+    // AVL trees are at most 1.44 log2(n + 2) high, under 46 for any int count of nodes.
+    private static final int MAX_HEIGHT = 64;
+
+    @Getter
+    private int size = 0;
+    private NodeStorage storage;
+    private int root = NIL;
+    // Head of the chain of freed slots, linked through their left child.
+    private int freeSlot = NIL;
+    // Slots below this have been handed out at least once.
+    private int usedSlots = 0;
+    // Path from the root recorded by each mutation, reused to avoid allocation.
+    private final int[] path = new int[MAX_HEIGHT];
+
+    /**
+     * Constructs an empty tree.
+     * @param keyBytes width of each key, Integer.BYTES or Long.BYTES.
+     * @param initialCapacity number of nodes to make room for up front.
+     * @param offHeap True to keep the nodes in direct buffers outside the Java heap.
+     * @throws IllegalArgumentException if initialCapacity is negative.
+     */
+    PrimitiveBinarySearchTree(int keyBytes, int initialCapacity, boolean offHeap) throws IllegalArgumentException {
+        if (initialCapacity < 0) throw new IllegalArgumentException("Initial capacity must not be negative");
+        storage = NodeStorage.create(keyBytes, Math.max(initialCapacity, 1), offHeap);
+    }
+
+    /**
+     * Indicates if any keys exist in the tree.
+     * @return Boolean indicating if the tree is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of nodes the tree can hold before its storage grows.
+     * @return int capacity in nodes.
+     */
+    public int getCapacity() {
+        return storage.capacity();
+    }
+
+    /**
+     * Indicates if the nodes are kept outside the Java heap.
+     * @return Boolean indicating off heap storage.
+     */
+    public boolean isOffHeap() {
+        return storage.isOffHeap();
+    }
+
+    /**
+     * Calculates the height of the tree. Heights are stored, so this is O(1).
+     * @return int height of longest branch in tree.
+     */
+    public int height() {
+        return nodeHeight(root);
+    }
+
+    /**
+     * Determines if a given key exists in the tree.
+     * @param key the key to search.
+     * @return boolean indicating if the key is found.
+     */
+    boolean containsKey(long key) {
+        int slot = root;
+        while (slot != NIL) {
+            long slotKey = storage.key(slot);
+            if (key == slotKey) return true;
+            slot = key < slotKey ? storage.left(slot) : storage.right(slot);
+        }
+        return false;
+    }
+
+    /**
+     * Adds the given key to the tree.
+     * @param key to be added to tree.
+     * @return boolean indicating if the key was added to the tree.
+     */
+    boolean addKey(long key) {
+        if (root == NIL) {
+            root = allocate(key);
+            size++;
+            return true;
+        }
+        // Descend to the insertion point, recording the path to retrace.
+        int depth = 0;
+        int slot = root;
+        int parent;
+        long parentKey;
+        do {
+            parent = slot;
+            parentKey = storage.key(slot);
+            if (key == parentKey) return false;
+            path[depth++] = slot;
+            slot = key < parentKey ? storage.left(slot) : storage.right(slot);
+        } while (slot != NIL);
+        // Allocation may replace the storage, so it happens before the child link is written.
+        int node = allocate(key);
+        if (key < parentKey) {
+            storage.setLeft(parent, node);
+        }
+        else {
+            storage.setRight(parent, node);
+        }
+        size++;
+        retrace(depth);
+        return true;
+    }
+
+    /**
+     * Removes the given key from the tree.
+     * A node with two children takes the key of its in order successor, and the successor,
+     * which has no left child, is unlinked in its place.
+     * @param key to be removed.
+     * @return Boolean indicating success or failure of removal.
+     */
+    boolean removeKey(long key) {
+        int depth = 0;
+        int slot = root;
+        while (slot != NIL) {
+            long slotKey = storage.key(slot);
+            if (key == slotKey) break;
+            path[depth++] = slot;
+            slot = key < slotKey ? storage.left(slot) : storage.right(slot);
+        }
+        if (slot == NIL) return false;
+        if (storage.left(slot) != NIL && storage.right(slot) != NIL) {
+            // Continue the recorded path down to the successor.
+            int node = slot;
+            path[depth++] = node;
+            slot = storage.right(node);
+            while (storage.left(slot) != NIL) {
+                path[depth++] = slot;
+                slot = storage.left(slot);
+            }
+            storage.setKey(node, storage.key(slot));
+        }
+        int child = (storage.left(slot) != NIL) ? storage.left(slot) : storage.right(slot);
+        replaceChild(depth == 0 ? NIL : path[depth - 1], slot, child);
+        release(slot);
+        size--;
+        retrace(depth);
+        return true;
+    }
+
+    /**
+     * Walks the recorded path from its deepest node towards the root restoring the AVL invariant.
+     * The walk stops as soon as a subtree's height is unchanged, as nothing above it can be affected.
+     * @param depth number of nodes on the recorded path.
+     */
+    private void retrace(int depth) {
+        for (int i = depth - 1; i >= 0; i--) {
+            int node = path[i];
+            int previousHeight = storage.height(node);
+            int subtreeRoot = rebalance(node);
+            if (subtreeRoot != node) replaceChild(i == 0 ? NIL : path[i - 1], node, subtreeRoot);
+            if (storage.height(subtreeRoot) == previousHeight) return;
+        }
+    }
+
+    /**
+     * Restores the AVL invariant at the given node after one of its subtrees changed height by at most one.
+     * @param node the node whose children may be out of balance.
+     * @return The node now rooting this subtree. The caller links it to the parent.
+     */
+    private int rebalance(int node) {
+        updateHeight(node);
+        int balance = balanceFactor(node);
+        // Left heavy. A right leaning left child needs a left rotation first (left-right case).
+        if (balance > 1) {
+            int left = storage.left(node);
+            if (balanceFactor(left) < 0) storage.setLeft(node, rotateLeft(left));
+            return rotateRight(node);
+        }
+        // Right heavy. A left leaning right child needs a right rotation first (right-left case).
+        if (balance < -1) {
+            int right = storage.right(node);
+            if (balanceFactor(right) > 0) storage.setRight(node, rotateRight(right));
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    /**
+     * Rotates the subtree rooted at node to the right, promoting its left child.
+     * @param node root of the subtree to rotate.
+     * @return The new root of the subtree. The caller links it to the parent.
+     */
+    private int rotateRight(int node) {
+        int pivot = storage.left(node);
+        storage.setLeft(node, storage.right(pivot));
+        storage.setRight(pivot, node);
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+
+    /**
+     * Rotates the subtree rooted at node to the left, promoting its right child.
+     * @param node root of the subtree to rotate.
+     * @return The new root of the subtree. The caller links it to the parent.
+     */
+    private int rotateLeft(int node) {
+        int pivot = storage.right(node);
+        storage.setRight(node, storage.left(pivot));
+        storage.setLeft(pivot, node);
+        updateHeight(node);
+        updateHeight(pivot);
+        return pivot;
+    }
+
+    /**
+     * Points the parent link that referenced oldChild at newChild. A NIL parent indicates oldChild is the root.
+     * @param parent parent of oldChild, or NIL.
+     * @param oldChild child being replaced.
+     * @param newChild replacement child, which may be NIL.
+     */
+    private void replaceChild(int parent, int oldChild, int newChild) {
+        if (parent == NIL) {
+            root = newChild;
+        }
+        else if (storage.left(parent) == oldChild) {
+            storage.setLeft(parent, newChild);
+        }
+        else {
+            storage.setRight(parent, newChild);
+        }
+    }
+
+    private void updateHeight(int node) {
+        storage.setHeight(node, Math.max(nodeHeight(storage.left(node)), nodeHeight(storage.right(node))) + 1);
+    }
+
+    private int nodeHeight(int node) {
+        return node == NIL ? 0 : storage.height(node);
+    }
+
+    private int balanceFactor(int node) {
+        return nodeHeight(storage.left(node)) - nodeHeight(storage.right(node));
+    }
+
+    /**
+     * Takes a slot for a new leaf, reusing a freed slot before growing the storage by half.
+     * @param key key of the new node.
+     * @return The slot of the new node.
+     */
+    private int allocate(long key) {
+        int slot = freeSlot;
+        if (slot != NIL) {
+            freeSlot = storage.left(slot);
+        }
+        else {
+            if (usedSlots == storage.capacity()) {
+                int capacity = storage.capacity();
+                if (capacity == Integer.MAX_VALUE) throw new IllegalStateException("Tree is at maximum capacity");
+                storage = storage.grow((int) Math.min(Integer.MAX_VALUE, capacity + (capacity >> 1) + 1L));
+            }
+            slot = usedSlots++;
+        }
+        storage.setKey(slot, key);
+        storage.setLeft(slot, NIL);
+        storage.setRight(slot, NIL);
+        storage.setHeight(slot, 1);
+        return slot;
+    }
+
+    /**
+     * Returns a slot to the free list.
+     * @param slot slot no longer in the tree.
+     */
+    private void release(int slot) {
+        storage.setLeft(slot, freeSlot);
+        freeSlot = slot;
+    }
+
+    /**
+     * Visits every key in ascending order, using a stack of at most the tree's height.
+     * @param action called with each key.
+     */
+    void forEachKey(LongConsumer action) {
+        int[] stack = new int[MAX_HEIGHT];
+        int depth = 0;
+        int slot = root;
+        while (slot != NIL || depth > 0) {
+            while (slot != NIL) {
+                stack[depth++] = slot;
+                slot = storage.left(slot);
+            }
+            slot = stack[--depth];
+            action.accept(storage.key(slot));
+            slot = storage.right(slot);
+        }
+    }
+}
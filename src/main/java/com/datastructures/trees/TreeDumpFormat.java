@@ -0,0 +1,11 @@
+package com.datastructures.trees;
+
+/**
+ * Enum to define the output format of a tree dump. Nodes are written in pre order in every format.
+ * Text: The indented outline printed by printTree, one node per line.
+ * Dot: A Graphviz digraph, with each edge labeled L or R.
+ * Json lines: One JSON object per line and node, holding its id, parent id, side, depth, subtree size and key.
+ */
+public enum TreeDumpFormat {
+    TEXT, DOT, JSON_LINES
+}
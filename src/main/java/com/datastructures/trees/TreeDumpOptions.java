@@ -0,0 +1,34 @@
+package com.datastructures.trees;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Options for BinarySearchTree.dump, built with a builder. Every option has a default, so
+ * {@code TreeDumpOptions.<Integer>builder().build()} dumps the whole tree as text.
+ * @param <T> Comparable type of the tree.
+ */
+@Getter
+@Builder
+public class TreeDumpOptions<T> {
+
+    /**
+     * Format of the output.
+     */
+    @Builder.Default
+    private final TreeDumpFormat format = TreeDumpFormat.TEXT;
+    /**
+     * Deepest level to write, counting the first node written as depth 0. Deeper nodes are skipped.
+     */
+    @Builder.Default
+    private final int maxDepth = Integer.MAX_VALUE;
+    /**
+     * Largest number of nodes to write. The dump stops once it has written this many.
+     */
+    @Builder.Default
+    private final long maxNodes = Long.MAX_VALUE;
+    /**
+     * Key of the node whose subtree is written, or null to write the whole tree.
+     */
+    private final T subtreeRoot;
+}
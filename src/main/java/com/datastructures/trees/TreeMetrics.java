@@ -0,0 +1,167 @@
+package com.datastructures.trees;
+
+import lombok.Getter;
+
+/**
+ * A snapshot of the shape of a BinarySearchTree and the operations counted on it since metrics were enabled.
+ * The descent depth of an operation is the number of nodes it compared against. In a tree of minimum height it
+ * never exceeds the optimal height, floor(log2(size)) + 1, while in a degenerate tree it approaches the size.
+ * The degeneration ratio compares the actual height with the optimal height: it stays below 1.45 for a balanced
+ * tree and grows towards size / log2(size) as the tree degenerates into a list.
+ */
+public final class TreeMetrics {
+
+    /**
+     * Operations whose descents are counted.
+     */
+    public enum Operation {
+        ADD,
+        CONTAINS,
+        REMOVE
+    }
+
+    /**
+     * Count of values in the tree.
+     */
+    @Getter
+    private final int size;
+    /**
+     * Height of the tree.
+     */
+    @Getter
+    private final int height;
+    /**
+     * Count of rotations performed while rebalancing. Always 0 for a tree that does not rebalance itself.
+     */
+    @Getter
+    private final long rotations;
+    /**
+     * Count of operations that descended more than twice the optimal height for the tree's size at the time.
+     */
+    @Getter
+    private final long degenerateDescents;
+    private final long[] operations;
+    private final long[] totalDepths;
+    private final int[] maxDepths;
+
+    private TreeMetrics(int size, int height, Counters counters) {
+        this.size = size;
+        this.height = height;
+        this.rotations = counters.rotations;
+        this.degenerateDescents = counters.degenerateDescents;
+        this.operations = counters.operations.clone();
+        this.totalDepths = counters.totalDepths.clone();
+        this.maxDepths = counters.maxDepths.clone();
+    }
+
+    /**
+     * Calculates the minimum height of a tree holding the given number of values.
+     * @param size number of values.
+     * @return floor(log2(size)) + 1, or 0 for an empty tree.
+     */
+    public static int optimalHeight(int size) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(size);
+    }
+
+    /**
+     * Calculates how far the tree is from minimum height.
+     * @return Height divided by the optimal height for the size, or 1 for an empty tree.
+     */
+    public double getDegenerationRatio() {
+        return size == 0 ? 1 : (double) height / optimalHeight(size);
+    }
+
+    /**
+     * Returns the count of the given operation.
+     * @param operation the operation.
+     * @return Count of calls, whether or not they found or changed anything.
+     */
+    public long getOperations(Operation operation) {
+        return operations[operation.ordinal()];
+    }
+
+    /**
+     * Calculates the mean descent depth of the given operation.
+     * @param operation the operation.
+     * @return Mean number of nodes compared against per call, or 0 if there were no calls.
+     */
+    public double getAverageDepth(Operation operation) {
+        long count = operations[operation.ordinal()];
+        return count == 0 ? 0 : (double) totalDepths[operation.ordinal()] / count;
+    }
+
+    /**
+     * Returns the deepest descent of the given operation.
+     * @param operation the operation.
+     * @return Largest number of nodes compared against in a single call.
+     */
+    public int getMaxDepth(Operation operation) {
+        return maxDepths[operation.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder()
+                .append("TreeMetrics{size=").append(size)
+                .append(", height=").append(height)
+                .append(", degenerationRatio=").append(String.format("%.2f", getDegenerationRatio()))
+                .append(", rotations=").append(rotations)
+                .append(", degenerateDescents=").append(degenerateDescents);
+        for (Operation operation : Operation.values()) {
+            sb.append(", ").append(operation.name().toLowerCase()).append("={count=").append(getOperations(operation))
+                    .append(", averageDepth=").append(String.format("%.2f", getAverageDepth(operation)))
+                    .append(", maxDepth=").append(getMaxDepth(operation)).append('}');
+        }
+        return sb.append('}').toString();
+    }
+
+    /**
+     * Mutable counters held by a tree while metrics are enabled.
+     */
+    static final class Counters {
+        private final long[] operations = new long[Operation.values().length];
+        private final long[] totalDepths = new long[Operation.values().length];
+        private final int[] maxDepths = new int[Operation.values().length];
+        private long rotations;
+        private long degenerateDescents;
+
+        void rotated() {
+            rotations++;
+        }
+
+        /**
+         * Counts an operation, emitting a DegenerateDescentEvent if it descended more than twice the optimal height.
+         * @param operation the operation.
+         * @param depth number of nodes the operation compared against.
+         * @param size size of the tree when the operation started.
+         */
+        void descended(Operation operation, int depth, int size) {
+            int index = operation.ordinal();
+            operations[index]++;
+            totalDepths[index] += depth;
+            if (depth > maxDepths[index]) maxDepths[index] = depth;
+            int optimalHeight = optimalHeight(size);
+            if (depth > 2 * optimalHeight) {
+                degenerateDescents++;
+                DegenerateDescentEvent event = new DegenerateDescentEvent();
+                if (event.shouldCommit()) {
+                    event.operation = operation.name();
+                    event.depth = depth;
+                    event.size = size;
+                    event.optimalHeight = optimalHeight;
+                    event.commit();
+                }
+            }
+        }
+
+        /**
+         * Takes a snapshot of the counters.
+         * @param size current size of the tree.
+         * @param height current height of the tree.
+         * @return Immutable metrics.
+         */
+        TreeMetrics snapshot(int size, int height) {
+            return new TreeMetrics(size, height, this);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.algorithms.sort;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveMergeSorterTest {
+    // Large enough to produce many runs and trigger galloping.
+    private static final Integer VALUE_COUNT = 100000;
+
+    /**
+     * Value sorted only by key, remembering its original position so stability can be verified.
+     */
+    private static class Entry implements Comparable<Entry> {
+        final int key;
+        final int position;
+
+        Entry(int key, int position) {
+            this.key = key;
+            this.position = position;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return Integer.compare(key, other.key);
+        }
+    }
+
+    @Test
+    void adaptiveMergeSorterRandomTest() {
+        ArrayList<Integer> values = new ArrayList<>();
+        Random random = new Random();
+        for (int i = 0; i < VALUE_COUNT; ++i) {
+            values.add(random.nextInt());
+        }
+        ArrayList<Integer> expected = new ArrayList<>(values);
+        Collections.sort(expected);
+        AdaptiveMergeSorter<Integer> sorter = new AdaptiveMergeSorter<>(values);
+        assertEquals(expected, sorter.sort());
+        assertTrue(sorter.getRunCount() > 1);
+        assertEquals(sorter.getRunCount() - 1, sorter.getMergeCount());
+    }
+
+    @Test
+    void adaptiveMergeSorterSortedAndReversedTest() {
+        ArrayList<Integer> values = new ArrayList<>();
+        for (int i = 0; i < VALUE_COUNT; ++i) values.add(i);
+        ArrayList<Integer> expected = new ArrayList<>(values);
+
+        // Sorted input is a single run and needs no merging.
+        AdaptiveMergeSorter<Integer> sorter = new AdaptiveMergeSorter<>(new ArrayList<>(values));
+        assertEquals(expected, sorter.sort());
+        assertEquals(1, sorter.getRunCount());
+        assertEquals(0, sorter.getMergeCount());
+
+        // Strictly descending input is a single run reversed in place.
+        Collections.reverse(values);
+        sorter = new AdaptiveMergeSorter<>(values);
+        assertEquals(expected, sorter.sort());
+        assertEquals(1, sorter.getRunCount());
+        assertEquals(0, sorter.getMergeCount());
+    }
+
+    @Test
+    void adaptiveMergeSorterNearlySortedTest() {
+        // Ascending blocks with a few out of order values, like log data arriving slightly late.
+        ArrayList<Integer> values = new ArrayList<>();
+        Random random = new Random();
+        for (int i = 0; i < VALUE_COUNT; ++i) {
+            values.add(random.nextInt(100) == 0 ? i - random.nextInt(50) : i);
+        }
+        ArrayList<Integer> expected = new ArrayList<>(values);
+        Collections.sort(expected);
+        AdaptiveMergeSorter<Integer> sorter = new AdaptiveMergeSorter<>(values);
+        assertEquals(expected, sorter.sort());
+        assertTrue(sorter.getGallopCount() > 0);
+    }
+
+    @Test
+    void adaptiveMergeSorterStabilityTest() {
+        ArrayList<Entry> values = new ArrayList<>();
+        Random random = new Random();
+        // Few distinct keys so most comparisons are ties, interleaved with descending stretches.
+        for (int i = 0; i < VALUE_COUNT; ++i) {
+            int key = (i % 1000 < 500) ? random.nextInt(8) : 8 - (i % 1000) / 125;
+            values.add(new Entry(key, i));
+        }
+        ArrayList<Entry> sortedValues = new AdaptiveMergeSorter<>(values).sort();
+        for (int i = 1; i < sortedValues.size(); i++) {
+            Entry previous = sortedValues.get(i-1);
+            Entry current = sortedValues.get(i);
+            assertTrue(previous.key < current.key || (previous.key == current.key && previous.position < current.position));
+        }
+    }
+
+    @Test
+    void adaptiveMergeSorterSmallInputTest() {
+        Integer[] values = {5, 3, 9, 1, 1, 0, -4, 12};
+        ArrayList<Integer> sortedValues = new AdaptiveMergeSorter<>(values).sort();
+        for (int i = 1; i < sortedValues.size(); i++) {
+            assertTrue(sortedValues.get(i) >= sortedValues.get(i-1));
+        }
+        assertTrue(new AdaptiveMergeSorter<>(new Integer[0]).sort().isEmpty());
+    }
+
+    @Test
+    void adaptiveMergeSorterComparatorTest() {
+        Random random = new Random();
+        ArrayList<Integer> values = new ArrayList<>();
+        for (int i = 0; i < VALUE_COUNT; ++i) values.add(random.nextInt());
+        ArrayList<Integer> expected = new ArrayList<>(values);
+        expected.sort(Comparator.reverseOrder());
+        assertEquals(expected, new AdaptiveMergeSorter<>(values, Comparator.reverseOrder()).sort());
+    }
+
+    @Test
+    void adaptiveMergeSorterKeyExtractorTest() {
+        Random random = new Random();
+        ArrayList<Entry> values = new ArrayList<>();
+        for (int i = 0; i < VALUE_COUNT; ++i) values.add(new Entry(random.nextInt(100), i));
+        AtomicInteger keyCount = new AtomicInteger();
+        // Sorting by the negated key orders descending, with ties kept in their original order.
+        AdaptiveMergeSorter<Entry> sorter = new AdaptiveMergeSorter<>(values, entry -> {
+            keyCount.incrementAndGet();
+            return -entry.key;
+        });
+        ArrayList<Entry> sortedValues = sorter.sort();
+        assertEquals(VALUE_COUNT.intValue(), keyCount.get());
+        assertTrue(sorter.getMergeCount() > 0);
+        for (int i = 1; i < sortedValues.size(); i++) {
+            Entry previous = sortedValues.get(i-1);
+            Entry current = sortedValues.get(i);
+            assertTrue(previous.key > current.key || (previous.key == current.key && previous.position < current.position));
+        }
+    }
+}
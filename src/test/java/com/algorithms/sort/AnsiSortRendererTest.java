@@ -0,0 +1,58 @@
+package com.algorithms.sort;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AnsiSortRendererTest {
+
+    @Test
+    void ansiSortRendererLiveTest() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BubbleSorter<Integer> sorter = new BubbleSorter<>(new ArrayList<>(Arrays.asList(2, 1)), false);
+        sorter.setListener(AnsiSortRenderer.live(sorter.data, new PrintStream(output, true)));
+        sorter.sort();
+        String separator = "_".repeat(50) + System.lineSeparator();
+        String expected = separator + "2 1 " + System.lineSeparator() + separator
+                + "Swapping: 2 <-> 1" + System.lineSeparator()
+                + separator + "\u001B[31m1\u001B[0m \u001B[32m2\u001B[0m " + System.lineSeparator() + separator
+                + separator + "1 2 " + System.lineSeparator() + separator;
+        assertEquals(expected, output.toString());
+    }
+
+    @Test
+    void ansiSortRendererReplayTest() throws IOException {
+        ArrayList<Integer> initial = new ArrayList<>(Arrays.asList(5, 3, 9, 1, 7, 2));
+        Path file = Files.createTempFile("sort", ".trace");
+        try {
+            ByteArrayOutputStream liveOutput = new ByteArrayOutputStream();
+            ArrayList<Integer> data = new ArrayList<>(initial);
+            InsertionSorter<Integer> sorter = new InsertionSorter<>(data);
+            try (SortTraceRecorder recorder = new SortTraceRecorder(file)) {
+                sorter.setListener(SortListener.combine(recorder,
+                        AnsiSortRenderer.live(data, new PrintStream(liveOutput, true, StandardCharsets.UTF_8))));
+                sorter.sort();
+            }
+            // Replaying the trace over the initial data renders exactly what the live renderer did.
+            ByteArrayOutputStream replayOutput = new ByteArrayOutputStream();
+            SortTrace.replay(file, AnsiSortRenderer.replay(initial,
+                    new PrintStream(replayOutput, true, StandardCharsets.UTF_8)));
+            assertEquals(liveOutput.toString(StandardCharsets.UTF_8), replayOutput.toString(StandardCharsets.UTF_8));
+            assertTrue(replayOutput.toString(StandardCharsets.UTF_8).contains("1 2 3 5 7 9 "));
+            assertEquals(Arrays.asList(5, 3, 9, 1, 7, 2), initial);
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.algorithms.sort;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchSorterTest {
+    // Determine the count of lists to sort in each batch.
+    private static final int LIST_COUNT = 2000;
+
+    @Test
+    void batchSorterForkJoinTest() throws InterruptedException {
+        Random random = new Random();
+        List<ArrayList<Integer>> lists = new ArrayList<>();
+        // Sizes on both sides of each algorithm threshold, and one list large enough to be sorted in parallel.
+        for (int i = 0; i < LIST_COUNT; i++) lists.add(randomList(random, random.nextInt(BatchSorter.INSERTION_THRESHOLD * 4)));
+        lists.add(randomList(random, BatchSorter.PARALLEL_THRESHOLD));
+        List<List<Integer>> expected = sortedCopies(lists, Comparator.naturalOrder());
+        BatchSorter<Integer> sorter = new BatchSorter<>(ForkJoinPool.commonPool(), 64);
+        List<ArrayList<Integer>> sorted = sorter.sortAll(lists).join();
+        assertEquals(expected, sorted);
+        // Lists are sorted in place and returned in submission order.
+        for (int i = 0; i < lists.size(); i++) assertSame(lists.get(i), sorted.get(i));
+        assertEquals(0, sorter.getPending());
+    }
+
+    @Test
+    void batchSorterFixedPoolComparatorTest() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Random random = new Random();
+            List<ArrayList<Integer>> lists = new ArrayList<>();
+            for (int i = 0; i < LIST_COUNT; i++) lists.add(randomList(random, random.nextInt(500)));
+            List<List<Integer>> expected = sortedCopies(lists, Comparator.reverseOrder());
+            BatchSorter<Integer> sorter = new BatchSorter<>(executor, 8, Comparator.reverseOrder());
+            assertEquals(expected, sorter.sortAll(lists.stream()).join());
+            assertEquals(Arrays.asList(3, 2, 1), sorter.submit(new ArrayList<>(Arrays.asList(2, 3, 1))).join());
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void batchSorterBackpressureTest() throws InterruptedException {
+        // An executor that only queues tasks, so the test decides when each sort runs.
+        Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        BatchSorter<Integer> sorter = new BatchSorter<>(tasks::add, 2);
+        CompletableFuture<ArrayList<Integer>> first = sorter.submit(new ArrayList<>(Arrays.asList(2, 1)));
+        sorter.submit(new ArrayList<>(Arrays.asList(4, 3)));
+        assertEquals(2, sorter.getPending());
+        Thread producer = new Thread(() -> {
+            try {
+                sorter.submit(new ArrayList<>(Arrays.asList(6, 5)));
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        producer.join(200);
+        // The third submission waits for room.
+        assertTrue(producer.isAlive());
+        assertEquals(2, tasks.size());
+        tasks.poll().run();
+        assertEquals(Arrays.asList(1, 2), first.join());
+        producer.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(producer.isAlive());
+        assertEquals(2, sorter.getPending());
+        while (!tasks.isEmpty()) tasks.poll().run();
+        assertEquals(0, sorter.getPending());
+    }
+
+    @Test
+    void batchSorterFailureTest() throws InterruptedException {
+        BatchSorter<Integer> rejecting = new BatchSorter<>(task -> {
+            throw new RejectedExecutionException();
+        }, 1);
+        assertThrows(RejectedExecutionException.class, () -> rejecting.submit(new ArrayList<>()));
+        // A rejected list does not hold on to its room.
+        assertEquals(0, rejecting.getPending());
+
+        BatchSorter<Integer> sorter = new BatchSorter<>(Runnable::run, 1);
+        ArrayList<Integer> withNull = new ArrayList<>(Arrays.asList(1, null, 0));
+        CompletableFuture<List<ArrayList<Integer>>> sorted =
+                sorter.sortAll(Arrays.asList(new ArrayList<>(Arrays.asList(2, 1)), withNull));
+        CompletionException failure = assertThrows(CompletionException.class, sorted::join);
+        assertTrue(failure.getCause() instanceof NullPointerException);
+        assertEquals(0, sorter.getPending());
+        assertThrows(IllegalArgumentException.class, () -> new BatchSorter<Integer>(Runnable::run, 0));
+    }
+
+    private static ArrayList<Integer> randomList(Random random, int size) {
+        ArrayList<Integer> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) values.add(random.nextInt(size + 1));
+        return values;
+    }
+
+    private static List<List<Integer>> sortedCopies(List<ArrayList<Integer>> lists, Comparator<Integer> order) {
+        return lists.stream().map(list -> {
+            List<Integer> copy = new ArrayList<>(list);
+            copy.sort(order);
+            return copy;
+        }).collect(Collectors.toList());
+    }
+}
@@ -2,10 +2,15 @@ package com.algorithms.sort;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.Random;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class BubbleSorterTest {
 
@@ -45,4 +50,60 @@ public class BubbleSorterTest {
         }
     }
 
+    @Test
+    void bubbleSorterPrimitiveIntTest() {
+        Random random = new Random();
+        int[] values = random.ints(VALUE_COUNT).toArray();
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+        BubbleSorter.sort(values);
+        assertArrayEquals(expected, values);
+    }
+
+    @Test
+    void bubbleSorterPrimitiveLongTest() {
+        Random random = new Random();
+        long[] values = random.longs(VALUE_COUNT).toArray();
+        long[] expected = values.clone();
+        Arrays.sort(expected);
+        BubbleSorter.sort(values);
+        assertArrayEquals(expected, values);
+    }
+
+    @Test
+    void bubbleSorterPrimitiveDoubleTest() {
+        // Include the values the < operator cannot order.
+        double[] values = {3.5, Double.NaN, -0.0, 0.0, -1.25, Double.NEGATIVE_INFINITY, 0.0, -0.0, 7.0};
+        double[] expected = values.clone();
+        Arrays.sort(expected);
+        BubbleSorter.sort(values);
+        assertArrayEquals(expected, values);
+    }
+
+    @Test
+    void bubbleSorterComparatorTest() {
+        ArrayList<String> values = new ArrayList<>(Arrays.asList("b", "C", "a", "B", "c", "A"));
+        ArrayList<String> sortedValues = new BubbleSorter<>(values, String.CASE_INSENSITIVE_ORDER, VISUALIZE).sort();
+        // Equal values under the comparator keep their original order.
+        assertEquals(Arrays.asList("a", "A", "b", "B", "C", "c"), sortedValues);
+        ArrayList<Integer> numbers = new ArrayList<>(Arrays.asList(3, 1, 2));
+        assertEquals(Arrays.asList(3, 2, 1), new BubbleSorter<>(numbers, Comparator.<Integer>reverseOrder(), VISUALIZE).sort());
+    }
+
+    @Test
+    void bubbleSorterKeyExtractorTest() {
+        ArrayList<String> values = new ArrayList<>();
+        Random random = new Random();
+        for (int i = 0; i < VALUE_COUNT; ++i) values.add(" " + (char) ('a' + random.nextInt(26)) + random.nextInt(10));
+        ArrayList<String> expected = new ArrayList<>(values);
+        expected.sort(Comparator.comparing(value -> value.trim().toLowerCase()));
+        AtomicInteger keyCount = new AtomicInteger();
+        // Each normalized key is computed once, where a comparator would compute two per comparison.
+        ArrayList<String> sortedValues = new BubbleSorter<>(values, value -> {
+            keyCount.incrementAndGet();
+            return value.trim().toLowerCase();
+        }, VISUALIZE).sort();
+        assertEquals(expected, sortedValues);
+        assertEquals(VALUE_COUNT.intValue(), keyCount.get());
+    }
 }
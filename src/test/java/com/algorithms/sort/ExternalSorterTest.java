@@ -0,0 +1,98 @@
+package com.algorithms.sort;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ExternalSorterTest {
+    // Enough values to spill many runs under the small memory budget used below.
+    private static final Integer VALUE_COUNT = 20000;
+    // Small budget so the test exercises spilling and multi-pass merging.
+    private static final long MEMORY_BUDGET = 16 * 1024;
+
+    @Test
+    void externalSorterFileTest() throws IOException {
+        Path directory = Files.createTempDirectory("external-sort");
+        try {
+            Random random = new Random();
+            List<Long> values = new ArrayList<>();
+            for (int i = 0; i < VALUE_COUNT; i++) values.add(random.nextLong());
+            Path input = directory.resolve("input.bin");
+            Path output = directory.resolve("output.bin");
+            try (ExternalSorter.RecordWriter<Long> writer = new ExternalSorter.RecordWriter<>(
+                    FileChannel.open(input, StandardOpenOption.CREATE, StandardOpenOption.WRITE), RecordCodec.LONG)) {
+                for (Long value : values) writer.write(value);
+            }
+            // Fixed size values are stored without a length prefix.
+            assertEquals((long) VALUE_COUNT * Long.BYTES, Files.size(input));
+
+            ExternalSorter<Long> sorter = new ExternalSorter<>(RecordCodec.LONG, MEMORY_BUDGET, directory, 4);
+            sorter.sort(input, output);
+            assertTrue(sorter.getRunCount() > 4);
+            assertTrue(sorter.getMergePassCount() > 1);
+
+            List<Long> sortedValues = new ArrayList<>();
+            try (ExternalSorter.RecordReader<Long> reader = new ExternalSorter.RecordReader<>(
+                    FileChannel.open(output, StandardOpenOption.READ), RecordCodec.LONG)) {
+                reader.forEachRemaining(sortedValues::add);
+            }
+            Collections.sort(values);
+            assertEquals(values, sortedValues);
+            // Only the input and output remain once the run files are cleaned up.
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(2, files.count());
+            }
+        }
+        finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) Files.delete(file);
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    void externalSorterIteratorTest() throws IOException {
+        Random random = new Random();
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < VALUE_COUNT; i++) values.add(Integer.toString(random.nextInt(), 36) + "é中😀");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ExternalSorter<String> sorter = new ExternalSorter<>(RecordCodec.STRING, MEMORY_BUDGET);
+        sorter.sort(values.iterator(), output);
+        assertTrue(sorter.getRunCount() > 1);
+
+        List<String> sortedValues = new ArrayList<>();
+        new ExternalSorter.RecordReader<>(Channels.newChannel(new ByteArrayInputStream(output.toByteArray())), RecordCodec.STRING)
+                .forEachRemaining(sortedValues::add);
+        Collections.sort(values);
+        assertEquals(values, sortedValues);
+    }
+
+    @Test
+    void externalSorterInMemoryTest() throws IOException {
+        // Input within the budget is sorted without spilling.
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ExternalSorter<Integer> sorter = new ExternalSorter<>(RecordCodec.INTEGER, MEMORY_BUDGET);
+        sorter.sort(List.of(5, -3, 9, 0).iterator(), output);
+        assertEquals(0, sorter.getRunCount());
+        List<Integer> sortedValues = new ArrayList<>();
+        new ExternalSorter.RecordReader<>(Channels.newChannel(new ByteArrayInputStream(output.toByteArray())), RecordCodec.INTEGER)
+                .forEachRemaining(sortedValues::add);
+        assertEquals(List.of(-3, 0, 5, 9), sortedValues);
+    }
+}
@@ -0,0 +1,54 @@
+package com.algorithms.sort;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class KeyedSorterTest {
+    // Large enough that a per-comparison key would be computed many times per value.
+    private static final int VALUE_COUNT = 10000;
+
+    @Test
+    void keyedSorterParsedKeyTest() {
+        Random random = new Random();
+        String[] values = new String[VALUE_COUNT];
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            values[i] = "event " + i + " at " + LocalDate.ofEpochDay(random.nextInt(1000));
+        }
+        String[] expected = values.clone();
+        Arrays.sort(expected, Comparator.comparing(KeyedSorterTest::parseDate));
+        AtomicInteger keyCount = new AtomicInteger();
+        KeyedSorter.sortByKey(values, value -> {
+            keyCount.incrementAndGet();
+            return parseDate(value);
+        });
+        // Ties on the date keep their original order, as in the stable Arrays.sort.
+        assertArrayEquals(expected, values);
+        assertEquals(VALUE_COUNT, keyCount.get());
+    }
+
+    @Test
+    void keyedSorterKeyComparatorTest() {
+        ArrayList<String> values = new ArrayList<>(Arrays.asList(" Beta", "alpha ", "GAMMA", "beta", " Alpha"));
+        ArrayList<String> sorted = KeyedSorter.sortByKey(values, String::trim, String.CASE_INSENSITIVE_ORDER);
+        assertSame(values, sorted);
+        assertEquals(Arrays.asList("alpha ", " Alpha", " Beta", "beta", "GAMMA"), sorted);
+        // A null comparator orders the keys naturally.
+        KeyedSorter.sortByKey(values, String::length, null);
+        assertEquals(Arrays.asList("beta", " Beta", "GAMMA", "alpha ", " Alpha"), values);
+        assertEquals(new ArrayList<String>(), KeyedSorter.sortByKey(new ArrayList<String>(), String::length));
+    }
+
+    private static LocalDate parseDate(String value) {
+        return LocalDate.parse(value.substring(value.lastIndexOf(' ') + 1));
+    }
+}
@@ -0,0 +1,114 @@
+package com.algorithms.sort;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelMergeSorterTest {
+    // Large enough that the sort and its merges are split across tasks.
+    private static final Integer VALUE_COUNT = 200000;
+
+    /**
+     * Value sorted only by key, remembering its original position so stability can be verified.
+     */
+    private static class Entry implements Comparable<Entry> {
+        final int key;
+        final int position;
+
+        Entry(int key, int position) {
+            this.key = key;
+            this.position = position;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return Integer.compare(key, other.key);
+        }
+    }
+
+    @Test
+    void parallelMergeSorterIntegerTest() {
+        ArrayList<Integer> values = new ArrayList<>();
+        Random random = new Random();
+        for (int i = 0; i < VALUE_COUNT; ++i) {
+            values.add(random.nextInt());
+        }
+        ArrayList<Integer> expected = new ArrayList<>(values);
+        Collections.sort(expected);
+        ParallelMergeSorter<Integer> sorter = new ParallelMergeSorter<>(values);
+        assertEquals(expected, sorter.sort());
+    }
+
+    @Test
+    void parallelMergeSorterStabilityTest() {
+        ArrayList<Entry> values = new ArrayList<>();
+        Random random = new Random();
+        // Few distinct keys so most comparisons are ties.
+        for (int i = 0; i < VALUE_COUNT; ++i) {
+            values.add(new Entry(random.nextInt(16), i));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ArrayList<Entry> sortedValues = new ParallelMergeSorter<>(values, 8, pool).sort();
+            for (int i = 1; i < sortedValues.size(); i++) {
+                Entry previous = sortedValues.get(i-1);
+                Entry current = sortedValues.get(i);
+                assertTrue(previous.key < current.key || (previous.key == current.key && previous.position < current.position));
+            }
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void parallelMergeSorterArrayTest() {
+        Integer[] values = {5, 3, 9, 1, 1, 0, -4, 12};
+        ArrayList<Integer> sortedValues = new ParallelMergeSorter<>(values, 2, ForkJoinPool.commonPool()).sort();
+        assertEquals(List.of(-4, 0, 1, 1, 3, 5, 9, 12), sortedValues);
+        assertTrue(new ParallelMergeSorter<>(new Integer[0]).sort().isEmpty());
+    }
+
+    @Test
+    void parallelMergeSorterInvalidThresholdTest() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParallelMergeSorter<>(new ArrayList<Integer>(), 0, ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    void parallelMergeSorterComparatorTest() {
+        ArrayList<Integer> values = new ArrayList<>();
+        Random random = new Random();
+        for (int i = 0; i < VALUE_COUNT; ++i) values.add(random.nextInt());
+        List<Integer> expected = new ArrayList<>(values);
+        expected.sort(Collections.reverseOrder());
+        assertEquals(expected, new ParallelMergeSorter<>(values, Collections.reverseOrder()).sort());
+    }
+
+    @Test
+    void parallelMergeSorterKeyExtractorTest() {
+        ArrayList<Entry> values = new ArrayList<>();
+        Random random = new Random();
+        for (int i = 0; i < VALUE_COUNT; ++i) values.add(new Entry(random.nextInt(100), i));
+        AtomicInteger keyCount = new AtomicInteger();
+        ArrayList<Entry> sortedValues = new ParallelMergeSorter<>(values, entry -> {
+            keyCount.incrementAndGet();
+            return -entry.key;
+        }, 16, ForkJoinPool.commonPool()).sort();
+        assertEquals(VALUE_COUNT.intValue(), keyCount.get());
+        for (int i = 1; i < sortedValues.size(); i++) {
+            Entry previous = sortedValues.get(i-1);
+            Entry current = sortedValues.get(i);
+            assertTrue(previous.key > current.key || (previous.key == current.key && previous.position < current.position));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.algorithms.sort;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RadixSorterTest {
+    // Large enough to use the counting passes rather than the insertion sort cutoff.
+    private static final Integer VALUE_COUNT = 10000;
+
+    /**
+     * Record with an int, long and String field to sort by.
+     */
+    private static class Record {
+        final int id;
+        final long timestamp;
+        final String name;
+
+        Record(int id, long timestamp, String name) {
+            this.id = id;
+            this.timestamp = timestamp;
+            this.name = name;
+        }
+    }
+
+    @Test
+    void radixSorterIntTest() {
+        Random random = new Random();
+        int[] values = random.ints(VALUE_COUNT).toArray();
+        // Include the extremes so the sign handling is exercised.
+        values[0] = Integer.MIN_VALUE;
+        values[1] = Integer.MAX_VALUE;
+        values[2] = -1;
+        values[3] = 0;
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+        RadixSorter.sort(values);
+        assertArrayEquals(expected, values);
+    }
+
+    @Test
+    void radixSorterLongTest() {
+        Random random = new Random();
+        long[] values = random.longs(VALUE_COUNT).toArray();
+        values[0] = Long.MIN_VALUE;
+        values[1] = Long.MAX_VALUE;
+        long[] expected = values.clone();
+        Arrays.sort(expected);
+        RadixSorter.sort(values);
+        assertArrayEquals(expected, values);
+
+        // Small non-negative values share their upper bytes, so most passes are skipped.
+        long[] smallValues = random.longs(VALUE_COUNT, 0, 1000).toArray();
+        long[] smallExpected = smallValues.clone();
+        Arrays.sort(smallExpected);
+        RadixSorter.sort(smallValues);
+        assertArrayEquals(smallExpected, smallValues);
+    }
+
+    @Test
+    void radixSorterStringTest() {
+        Random random = new Random();
+        String[] values = new String[VALUE_COUNT];
+        for (int i = 0; i < VALUE_COUNT; i++) values[i] = randomString(random);
+        // Characters outside Latin-1 must order by their full UTF-16 value.
+        values[0] = "中文";
+        values[1] = "ÿ";
+        values[2] = "";
+        String[] expected = values.clone();
+        Arrays.sort(expected);
+        RadixSorter.sort(values);
+        assertArrayEquals(expected, values);
+    }
+
+    @Test
+    void radixSorterKeyExtractorTest() {
+        Random random = new Random();
+        Record[] records = new Record[VALUE_COUNT];
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            // Narrow key ranges produce many ties so stability is checked as well.
+            records[i] = new Record(random.nextInt(100) - 50, random.nextInt(1000) * 1000000007L, randomString(random).substring(0, 1));
+        }
+
+        Record[] expected = records.clone();
+        Arrays.sort(expected, Comparator.comparingInt(record -> record.id));
+        RadixSorter.sortByIntKey(records, record -> record.id);
+        assertArrayEquals(expected, records);
+
+        expected = records.clone();
+        Arrays.sort(expected, Comparator.comparingLong(record -> record.timestamp));
+        RadixSorter.sortByLongKey(records, record -> record.timestamp);
+        assertArrayEquals(expected, records);
+
+        expected = records.clone();
+        Arrays.sort(expected, Comparator.comparing(record -> record.name));
+        RadixSorter.sortByStringKey(records, record -> record.name);
+        assertArrayEquals(expected, records);
+    }
+
+    @Test
+    void radixSorterListKeyExtractorTest() {
+        Random random = new Random();
+        ArrayList<Record> records = new ArrayList<>();
+        for (int i = 0; i < VALUE_COUNT; i++) records.add(new Record(random.nextInt(), 0, randomString(random)));
+        ArrayList<Record> expected = new ArrayList<>(records);
+        expected.sort(Comparator.comparing(record -> record.name));
+        assertEquals(expected, RadixSorter.sortByStringKey(records, record -> record.name));
+        expected.sort(Comparator.comparingInt(record -> record.id));
+        assertEquals(expected, RadixSorter.sortByIntKey(records, record -> record.id));
+    }
+
+    /**
+     * Generates short Strings over a small alphabet so many share prefixes.
+     */
+    private static String randomString(Random random) {
+        StringBuilder sb = new StringBuilder();
+        for (int length = 1 + random.nextInt(12); length > 0; length--) sb.append((char) ('a' + random.nextInt(4)));
+        return sb.toString();
+    }
+
+    @Test
+    void radixSorterDoubleKeyTest() {
+        Random random = new Random();
+        Double[] values = random.doubles(VALUE_COUNT, -1000, 1000).boxed().toArray(Double[]::new);
+        values[0] = Double.NaN;
+        values[1] = -0.0;
+        values[2] = 0.0;
+        values[3] = Double.NEGATIVE_INFINITY;
+        values[4] = Double.MAX_VALUE;
+        Double[] expected = values.clone();
+        Arrays.sort(expected);
+        RadixSorter.sortByDoubleKey(values, Double::doubleValue);
+        assertArrayEquals(expected, values);
+
+        ArrayList<Double> list = new ArrayList<>(Arrays.asList(values));
+        Collections.shuffle(list, random);
+        assertEquals(Arrays.asList(expected), RadixSorter.sortByDoubleKey(list, Double::doubleValue));
+    }
+}
@@ -0,0 +1,88 @@
+package com.algorithms.sort;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SelectorTest {
+    // Determine the count of random values to generate for test cases.
+    private static final int VALUE_COUNT = 10000;
+
+    @Test
+    void selectorGenericTest() {
+        Random random = new Random();
+        Integer[] values = new Integer[VALUE_COUNT];
+        // A narrow range gives long runs of equal values.
+        for (int i = 0; i < VALUE_COUNT; i++) values[i] = random.nextInt(100);
+        Integer[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (int k : new int[] {0, 1, VALUE_COUNT / 2, VALUE_COUNT - 1, random.nextInt(VALUE_COUNT)}) {
+            Integer[] data = values.clone();
+            assertEquals(sorted[k], Selector.select(data, k));
+            for (int i = 0; i < k; i++) assertTrue(data[i] <= data[k]);
+            for (int i = k + 1; i < VALUE_COUNT; i++) assertTrue(data[i] >= data[k]);
+        }
+        for (int k : new int[] {0, 1, 100, VALUE_COUNT}) {
+            Integer[] data = values.clone();
+            Selector.partialSort(data, k);
+            assertArrayEquals(Arrays.copyOf(sorted, k), Arrays.copyOf(data, k));
+        }
+        ArrayList<Integer> list = new ArrayList<>(Arrays.asList(values));
+        assertEquals(sorted[VALUE_COUNT / 2], Selector.select(list, VALUE_COUNT / 2));
+        Selector.partialSort(list, 10);
+        assertEquals(Arrays.asList(Arrays.copyOf(sorted, 10)), list.subList(0, 10));
+        assertThrows(IndexOutOfBoundsException.class, () -> Selector.select(values, VALUE_COUNT));
+        assertThrows(IndexOutOfBoundsException.class, () -> Selector.partialSort(values, VALUE_COUNT + 1));
+    }
+
+    @Test
+    void selectorAdversarialTest() {
+        // Organ pipe input (ascending then descending) defeats median of three pivots and forces the
+        // median of medians fallback, which must still select correctly.
+        int[] values = new int[VALUE_COUNT];
+        for (int i = 0; i < VALUE_COUNT; i++) values[i] = Math.min(i, VALUE_COUNT - i);
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (int k = 0; k < VALUE_COUNT; k += 997) assertEquals(sorted[k], Selector.select(values.clone(), k));
+        int[] same = new int[VALUE_COUNT];
+        assertEquals(0, Selector.select(same, VALUE_COUNT / 2));
+    }
+
+    @Test
+    void selectorPrimitiveTest() {
+        Random random = new Random();
+        int[] ints = random.ints(VALUE_COUNT).toArray();
+        long[] longs = random.longs(VALUE_COUNT).toArray();
+        double[] doubles = random.doubles(VALUE_COUNT).toArray();
+        doubles[0] = Double.NaN;
+        doubles[1] = -0.0;
+        doubles[2] = 0.0;
+        int[] sortedInts = ints.clone();
+        long[] sortedLongs = longs.clone();
+        double[] sortedDoubles = doubles.clone();
+        Arrays.sort(sortedInts);
+        Arrays.sort(sortedLongs);
+        Arrays.sort(sortedDoubles);
+        for (int k : new int[] {0, VALUE_COUNT / 3, VALUE_COUNT - 1}) {
+            assertEquals(sortedInts[k], Selector.select(ints.clone(), k));
+            assertEquals(sortedLongs[k], Selector.select(longs.clone(), k));
+            assertEquals(Double.valueOf(sortedDoubles[k]), Double.valueOf(Selector.select(doubles.clone(), k)));
+        }
+        int[] partialInts = ints.clone();
+        Selector.partialSort(partialInts, 100);
+        assertArrayEquals(Arrays.copyOf(sortedInts, 100), Arrays.copyOf(partialInts, 100));
+        long[] partialLongs = longs.clone();
+        Selector.partialSort(partialLongs, 100);
+        assertArrayEquals(Arrays.copyOf(sortedLongs, 100), Arrays.copyOf(partialLongs, 100));
+        double[] partialDoubles = doubles.clone();
+        Selector.partialSort(partialDoubles, VALUE_COUNT);
+        assertArrayEquals(sortedDoubles, partialDoubles);
+    }
+}
@@ -0,0 +1,107 @@
+package com.algorithms.sort;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SortMetricsTest {
+    // Determine the count of values to sort for test cases.
+    private static final int VALUE_COUNT = 100;
+
+    private static ArrayList<Integer> values(boolean reversed) {
+        ArrayList<Integer> values = new ArrayList<>();
+        for (int i = 0; i < VALUE_COUNT; i++) values.add(reversed ? VALUE_COUNT - i : i);
+        return values;
+    }
+
+    @Test
+    void sortMetricsBubbleSorterTest() {
+        SortMetrics metrics = new SortMetrics();
+        BubbleSorter<Integer> sorter = new BubbleSorter<>(values(true), false);
+        sorter.setListener(metrics);
+        sorter.sort();
+        // Reversed input is the worst case: every pair is compared and swapped.
+        long pairs = (long) VALUE_COUNT * (VALUE_COUNT - 1) / 2;
+        assertEquals(1, metrics.getSorts());
+        assertEquals(VALUE_COUNT, metrics.getElements());
+        assertEquals(pairs, metrics.getComparisons());
+        assertEquals(pairs, metrics.getSwaps());
+        assertEquals(VALUE_COUNT - 1, metrics.getPasses());
+        assertEquals((VALUE_COUNT - 1) / 2.0, metrics.getComparisonsPerElement(), 1e-9);
+
+        // Sorted input stops after one pass. Counts accumulate until reset.
+        BubbleSorter<Integer> sortedSorter = new BubbleSorter<>(values(false), false);
+        sortedSorter.setListener(metrics);
+        sortedSorter.sort();
+        assertEquals(2, metrics.getSorts());
+        assertEquals(pairs + VALUE_COUNT - 1, metrics.getComparisons());
+        assertEquals(VALUE_COUNT, metrics.getPasses());
+        metrics.reset();
+        assertEquals(0, metrics.getComparisons());
+        assertEquals(0.0, metrics.getComparisonsPerElement(), 0);
+    }
+
+    @Test
+    void sortMetricsInsertionSorterTest() {
+        SortMetrics metrics = new SortMetrics();
+        InsertionSorter<Integer> sorter = new InsertionSorter<>(values(false));
+        sorter.setListener(metrics);
+        sorter.sort();
+        // Sorted input needs a single comparison per value placed.
+        assertEquals(VALUE_COUNT - 1, metrics.getComparisons());
+        assertEquals(0, metrics.getSwaps());
+        assertEquals(VALUE_COUNT - 1, metrics.getPasses());
+
+        metrics.reset();
+        InsertionSorter<Integer> reversedSorter = new InsertionSorter<>(values(true));
+        reversedSorter.setListener(metrics);
+        ArrayList<Integer> sorted = reversedSorter.sort();
+        assertEquals(values(false).size(), sorted.size());
+        for (int i = 1; i < sorted.size(); i++) assertTrue(sorted.get(i) > sorted.get(i - 1));
+        long pairs = (long) VALUE_COUNT * (VALUE_COUNT - 1) / 2;
+        assertEquals(pairs, metrics.getComparisons());
+        assertEquals(pairs, metrics.getSwaps());
+
+        // Detached metrics stop counting.
+        reversedSorter.setListener(null);
+        new InsertionSorter<>(values(true)).sort();
+        assertEquals(pairs, metrics.getComparisons());
+    }
+
+    @Test
+    void sortMetricsFlightRecorderTest() throws IOException {
+        Path file = Files.createTempFile("sort", ".jfr");
+        try {
+            // No metrics are attached, so the counts come from the enabled event alone.
+            try (Recording recording = new Recording()) {
+                recording.enable("com.algorithms.sort.Sort");
+                recording.start();
+                new BubbleSorter<>(values(true), false).sort();
+                recording.stop();
+                recording.dump(file);
+            }
+            List<RecordedEvent> events = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (event.getEventType().getName().equals("com.algorithms.sort.Sort")) events.add(event);
+            }
+            assertEquals(1, events.size());
+            RecordedEvent event = events.get(0);
+            assertEquals("BubbleSorter", event.getString("algorithm"));
+            assertEquals(VALUE_COUNT, event.getInt("size"));
+            assertEquals((long) VALUE_COUNT * (VALUE_COUNT - 1) / 2, event.getLong("comparisons"));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.algorithms.sort;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class SortTraceRecorderTest {
+    // Determine the count of random values to sort for test cases.
+    private static final int VALUE_COUNT = 200;
+
+    /**
+     * Listener recording every event as a string, to compare event sequences.
+     */
+    private static class EventLog implements SortListener {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void sortStarted(int size) {
+            events.add("start " + size);
+        }
+
+        @Override
+        public void compared(int firstIndex, int secondIndex) {
+            events.add("compare " + firstIndex + " " + secondIndex);
+        }
+
+        @Override
+        public void swapped(int firstIndex, int secondIndex) {
+            events.add("swap " + firstIndex + " " + secondIndex);
+        }
+
+        @Override
+        public void passCompleted() {
+            events.add("pass");
+        }
+
+        @Override
+        public void sortFinished() {
+            events.add("finish");
+        }
+    }
+
+    private static ArrayList<Integer> randomValues() {
+        Random random = new Random();
+        ArrayList<Integer> values = new ArrayList<>();
+        for (int i = 0; i < VALUE_COUNT; i++) values.add(random.nextInt(VALUE_COUNT));
+        return values;
+    }
+
+    @Test
+    void sortTraceRecorderReplayTest() throws IOException {
+        Path file = Files.createTempFile("sort", ".trace");
+        try {
+            EventLog live = new EventLog();
+            // A tiny ring makes the sorting thread wait for the writer many times over.
+            try (SortTraceRecorder recorder = new SortTraceRecorder(file, 16)) {
+                BubbleSorter<Integer> bubbleSorter = new BubbleSorter<>(randomValues(), false);
+                bubbleSorter.setListener(SortListener.combine(live, recorder));
+                bubbleSorter.sort();
+                InsertionSorter<Integer> insertionSorter = new InsertionSorter<>(randomValues());
+                insertionSorter.setListener(SortListener.combine(live, recorder));
+                insertionSorter.sort();
+            }
+            EventLog replayed = new EventLog();
+            SortTrace.replay(file, replayed);
+            assertEquals(live.events, replayed.events);
+            assertEquals(SortTrace.HEADER_SIZE + (long) Long.BYTES * live.events.size(), Files.size(file));
+
+            SortMetrics metrics = new SortMetrics();
+            SortTrace.replay(file, metrics);
+            assertEquals(2, metrics.getSorts());
+            assertEquals(2L * VALUE_COUNT, metrics.getElements());
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void sortTraceRecorderInvalidTest() throws IOException {
+        Path file = Files.createTempFile("sort", ".trace");
+        try {
+            assertThrows(IllegalArgumentException.class, () -> new SortTraceRecorder(file, 10));
+            SortTraceRecorder recorder = new SortTraceRecorder(file);
+            recorder.close();
+            assertThrows(IllegalStateException.class, () -> recorder.sortStarted(1));
+            // An empty trace replays nothing, a trace cut mid event or a foreign file is rejected.
+            SortTrace.replay(file, new EventLog());
+            Files.write(file, new byte[] {0x53, 0x52, 0x54, 0x54, 0, 0, 0, 1, 0, 0, 0});
+            assertThrows(IOException.class, () -> SortTrace.replay(file, new EventLog()));
+            Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+            assertThrows(IOException.class, () -> SortTrace.replay(file, new EventLog()));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void sortTraceRecorderChannelTest() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WritableByteChannel channel = Channels.newChannel(bytes);
+        EventLog live = new EventLog();
+        try (SortTraceRecorder recorder = new SortTraceRecorder(channel, 16)) {
+            InsertionSorter<Integer> sorter = new InsertionSorter<>(randomValues());
+            sorter.setListener(SortListener.combine(live, recorder));
+            sorter.sort();
+        }
+        assertFalse(channel.isOpen());
+        assertEquals(SortTrace.HEADER_SIZE + Long.BYTES * live.events.size(), bytes.size());
+        assertThrows(IllegalArgumentException.class, () -> new SortTraceRecorder(channel, 0));
+    }
+}
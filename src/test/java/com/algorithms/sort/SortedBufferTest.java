@@ -0,0 +1,131 @@
+package com.algorithms.sort;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class SortedBufferTest {
+    // Determine the count of random values to generate for test cases.
+    private static final int VALUE_COUNT = 10000;
+
+    @Test
+    void sortedBufferAddTest() {
+        Random random = new Random();
+        SortedBuffer<Integer> buffer = new SortedBuffer<>(0);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            Integer value = random.nextInt(1000);
+            buffer.add(value);
+            expected.add(value);
+            // Polling from both ends leaves free space at the front and exercises both shift directions.
+            if (i % 7 == 0) {
+                Collections.sort(expected);
+                assertEquals(expected.remove(0), buffer.pollFirst());
+            }
+            if (i % 11 == 0 && !expected.isEmpty()) {
+                Collections.sort(expected);
+                assertEquals(expected.remove(expected.size() - 1), buffer.pollLast());
+            }
+        }
+        Collections.sort(expected);
+        assertEquals(expected, buffer.view());
+        assertEquals(expected.size(), buffer.size());
+        assertEquals(expected.get(0), buffer.peekFirst());
+        assertEquals(expected.get(expected.size() - 1), buffer.peekLast());
+        assertEquals(expected.get(expected.size() / 2), buffer.get(expected.size() / 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(buffer.size()));
+        assertThrows(NullPointerException.class, () -> buffer.add(null));
+        buffer.clear();
+        assertTrue(buffer.isEmpty());
+        assertNull(buffer.pollFirst());
+        assertNull(buffer.pollLast());
+        assertNull(buffer.peekFirst());
+    }
+
+    @Test
+    void sortedBufferAddAllTest() {
+        Random random = new Random();
+        SortedBuffer<Integer> buffer = new SortedBuffer<>();
+        List<Integer> expected = new ArrayList<>();
+        // Nearly sorted batches, as out-of-order events arrive, drained from the front as a queue.
+        for (int tick = 0; tick < 100; tick++) {
+            List<Integer> batch = new ArrayList<>();
+            int batchSize = random.nextInt(200);
+            for (int i = 0; i < batchSize; i++) batch.add(tick * 100 + random.nextInt(300));
+            buffer.addAll(batch);
+            expected.addAll(batch);
+            Collections.sort(expected);
+            for (int i = 0; i < 50 && !expected.isEmpty(); i++) assertEquals(expected.remove(0), buffer.pollFirst());
+            assertEquals(expected, buffer.view());
+        }
+        buffer.addAll(Collections.singletonList(-1));
+        assertEquals(Integer.valueOf(-1), buffer.peekFirst());
+        assertThrows(NullPointerException.class, () -> buffer.addAll(Arrays.asList(1, null)));
+    }
+
+    @Test
+    void sortedBufferStabilityTest() {
+        SortedBuffer<Event> buffer = new SortedBuffer<>();
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 100; i++) events.add(new Event(i % 5, i));
+        for (Event event : events.subList(0, 50)) buffer.add(event);
+        buffer.addAll(events.subList(50, 100));
+        // Equal timestamps keep their arrival order, both within and across adds and batches.
+        for (int i = 1; i < buffer.size(); i++) {
+            Event previous = buffer.get(i - 1);
+            Event current = buffer.get(i);
+            assertTrue(previous.time < current.time || (previous.time == current.time && previous.seq < current.seq));
+        }
+    }
+
+    @Test
+    void sortedBufferViewTest() {
+        SortedBuffer<String> buffer = new SortedBuffer<>();
+        List<String> view = buffer.view();
+        assertSame(view, buffer.view());
+        buffer.addAll(Arrays.asList("c", "a", "b"));
+        assertEquals(Arrays.asList("a", "b", "c"), view);
+        buffer.add("aa");
+        assertEquals(Arrays.asList("a", "aa", "b", "c"), view);
+        assertThrows(UnsupportedOperationException.class, () -> view.add("d"));
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(0));
+        Iterator<String> iterator = view.iterator();
+        iterator.next();
+        buffer.pollFirst();
+        try {
+            iterator.next();
+            fail("Iterator should fail after the buffer changed");
+        }
+        catch (ConcurrentModificationException e) {
+            // Expected.
+        }
+    }
+
+    private static final class Event implements Comparable<Event> {
+        private final int time;
+        private final int seq;
+
+        private Event(int time, int seq) {
+            this.time = time;
+            this.seq = seq;
+        }
+
+        @Override
+        public int compareTo(Event other) {
+            return Integer.compare(time, other.time);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.algorithms.sort;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TopKTest {
+    // Determine the count of random values to generate for test cases.
+    private static final int VALUE_COUNT = 100000;
+
+    @Test
+    void topKGenericTest() {
+        Random random = new Random();
+        List<Integer> values = random.ints(VALUE_COUNT, 0, 1000).boxed().collect(Collectors.toList());
+        List<Integer> ascending = new ArrayList<>(values);
+        Collections.sort(ascending);
+        List<Integer> descending = new ArrayList<>(ascending);
+        Collections.reverse(descending);
+        for (int k : new int[] {1, 100, 5000}) {
+            assertEquals(descending.subList(0, k), TopK.largest(values.iterator(), k));
+            assertEquals(ascending.subList(0, k), TopK.smallest(values.stream(), k));
+        }
+        // Fewer values than k returns them all, and k of 0 returns none.
+        assertEquals(Arrays.asList(3, 2, 1), TopK.largest(Arrays.asList(2, 3, 1).iterator(), 10));
+        assertTrue(TopK.largest(values.iterator(), 0).isEmpty());
+        assertTrue(TopK.smallest(new ArrayList<String>().stream(), 5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> TopK.largest(values.iterator(), -1));
+    }
+
+    @Test
+    void topKPrimitiveTest() {
+        Random random = new Random();
+        int[] ints = random.ints(VALUE_COUNT).toArray();
+        long[] longs = random.longs(VALUE_COUNT).toArray();
+        double[] doubles = random.doubles(VALUE_COUNT, -1, 1).toArray();
+        doubles[0] = Double.NaN;
+        doubles[1] = Double.NEGATIVE_INFINITY;
+        doubles[2] = -0.0;
+        int[] sortedInts = ints.clone();
+        long[] sortedLongs = longs.clone();
+        double[] sortedDoubles = doubles.clone();
+        Arrays.sort(sortedInts);
+        Arrays.sort(sortedLongs);
+        Arrays.sort(sortedDoubles);
+        int k = 1000;
+        assertArrayEquals(Arrays.copyOf(sortedInts, k), TopK.smallest(Arrays.stream(ints), k));
+        assertArrayEquals(Arrays.copyOf(sortedLongs, k), TopK.smallest(Arrays.stream(longs), k));
+        assertArrayEquals(Arrays.copyOf(sortedDoubles, k), TopK.smallest(Arrays.stream(doubles), k));
+        int[] largestInts = TopK.largest(Arrays.stream(ints), k);
+        long[] largestLongs = TopK.largest(Arrays.stream(longs), k);
+        double[] largestDoubles = TopK.largest(Arrays.stream(doubles), k);
+        for (int i = 0; i < k; i++) {
+            assertEquals(sortedInts[VALUE_COUNT - 1 - i], largestInts[i]);
+            assertEquals(sortedLongs[VALUE_COUNT - 1 - i], largestLongs[i]);
+            assertEquals(Double.valueOf(sortedDoubles[VALUE_COUNT - 1 - i]), Double.valueOf(largestDoubles[i]));
+        }
+        assertTrue(Double.isNaN(largestDoubles[0]));
+        assertArrayEquals(new int[] {Integer.MIN_VALUE, -1}, TopK.smallest(IntStream.of(5, -1, Integer.MIN_VALUE), 2));
+        assertEquals(0, TopK.largest(IntStream.empty(), 3).length);
+    }
+}
@@ -0,0 +1,117 @@
+package com.datastructures.trees;
+
+import com.algorithms.sort.RecordCodec;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinarySearchTreeFormatTest {
+    // Determine the count of random values to generate for test cases
+    private static final Integer VALUE_COUNT = 100000;
+
+    @Test
+    void binarySearchTreeFormatSortedIntegerTest() throws IOException {
+        // Sorted input degenerates an unbalanced tree. Loading rebuilds it balanced.
+        Path file = Files.createTempFile("tree", ".bin");
+        try {
+            BinarySearchTree<Integer> bst = new BinarySearchTree<>();
+            for (int i = 0; i < 1000; i++) bst.add(i - 500);
+            assertEquals(1000, bst.height());
+            BinarySearchTreeFormat.save(bst, RecordCodec.INTEGER, file);
+            // Fixed size keys are stored back to back after the header.
+            assertEquals(BinarySearchTreeFormat.HEADER_SIZE + 1000L * Integer.BYTES, Files.size(file));
+            BinarySearchTree<Integer> loaded = BinarySearchTreeFormat.load(file, RecordCodec.INTEGER);
+            assertEquals(bst.traverse(TraversalType.INORDER), loaded.traverse(TraversalType.INORDER));
+            assertEquals(10, loaded.height());
+            assertTrue(!loaded.isBalanced());
+            assertTrue(BinarySearchTreeFormat.load(file, RecordCodec.INTEGER, true).isBalanced());
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void binarySearchTreeFormatStringTest() throws IOException {
+        Path file = Files.createTempFile("tree", ".bin");
+        try {
+            Random random = new Random();
+            BinarySearchTree<String> bst = new BinarySearchTree<>(true);
+            for (int i = 0; i < VALUE_COUNT; i++) bst.add(Integer.toString(random.nextInt(), 36) + "é中😀");
+            bst.add("");
+            BinarySearchTreeFormat.save(bst, RecordCodec.STRING, file);
+            BinarySearchTree<String> loaded = BinarySearchTreeFormat.load(file, RecordCodec.STRING, true);
+            assertEquals(bst.getSize(), loaded.getSize());
+            assertEquals(bst.traverse(TraversalType.INORDER), loaded.traverse(TraversalType.INORDER));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void binarySearchTreeFormatEmptyTest() throws IOException {
+        Path file = Files.createTempFile("tree", ".bin");
+        try {
+            BinarySearchTreeFormat.save(new BinarySearchTree<Long>(), RecordCodec.LONG, file);
+            assertTrue(BinarySearchTreeFormat.load(file, RecordCodec.LONG).isEmpty());
+            BinarySearchTreeFormat.save(new BinarySearchTree<String>(), RecordCodec.STRING, file);
+            assertTrue(BinarySearchTreeFormat.load(file, RecordCodec.STRING).isEmpty());
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void binarySearchTreeFormatInvalidFileTest() throws IOException {
+        Path file = Files.createTempFile("tree", ".bin");
+        try {
+            BinarySearchTree<Long> bst = new BinarySearchTree<>();
+            for (long i = 0; i < 10; i++) bst.add(i);
+            BinarySearchTreeFormat.save(bst, RecordCodec.LONG, file);
+            // A different codec, a truncated file and a foreign file are all rejected.
+            assertThrows(IOException.class, () -> BinarySearchTreeFormat.load(file, RecordCodec.INTEGER));
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(Files.size(file) - 1);
+            }
+            assertThrows(IOException.class, () -> BinarySearchTreeFormat.load(file, RecordCodec.LONG));
+            Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+            assertThrows(IOException.class, () -> BinarySearchTreeFormat.load(file, RecordCodec.LONG));
+            // A newer version of the format is refused rather than misread.
+            ByteBuffer header = ByteBuffer.allocate(BinarySearchTreeFormat.HEADER_SIZE);
+            header.putInt(BinarySearchTreeFormat.MAGIC).putInt(BinarySearchTreeFormat.VERSION + 1).putInt(8).putInt(0);
+            Files.write(file, header.array());
+            assertThrows(IOException.class, () -> BinarySearchTreeFormat.load(file, RecordCodec.LONG));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void binarySearchTreeFormatComparatorTest() throws IOException {
+        // Files are read back in natural order, so a tree in any other order is refused before anything is written.
+        Path file = Files.createTempFile("tree", ".bin");
+        try {
+            BinarySearchTree<Integer> bst = new BinarySearchTree<>(Comparator.reverseOrder());
+            for (int i = 0; i < 10; i++) bst.add(i);
+            assertThrows(IllegalArgumentException.class, () -> BinarySearchTreeFormat.save(bst, RecordCodec.INTEGER, file));
+            assertEquals(0, Files.size(file));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+}
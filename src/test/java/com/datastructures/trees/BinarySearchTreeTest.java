@@ -3,11 +3,26 @@ package com.datastructures.trees;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.Comparator;
+import java.util.NavigableSet;
 
 /**
  * Test class for Binary Search Tree.
@@ -91,4 +106,651 @@ public class BinarySearchTreeTest {
         List<Integer> postOrderResults = bst.traverse(TraversalType.POSTORDER);
         for (int i = 0; i < values.length; i++) assertEquals(expectedResults[i],postOrderResults.get(i));
     }
+
+    @Test
+    void binarySearchTreeBalancedSortedInsertionTest() {
+        // Sorted insertion degenerates an unbalanced tree into a list.
+        int count = 100000;
+        BinarySearchTree<Integer> bst = new BinarySearchTree<>(true);
+        for (int i = 0; i < count; i++) assertTrue(bst.add(i));
+        assertEquals(count, bst.getSize());
+        // AVL trees are at most ~1.44 log2(n) tall.
+        assertTrue(bst.height() <= 1.44 * (Math.log(count + 2) / Math.log(2)));
+        for (int i = 0; i < count; i++) assertTrue(bst.contains(i));
+        for (int i = 0; i < count; i += 2) assertTrue(bst.remove(i));
+        assertEquals(count / 2, bst.getSize());
+        assertTrue(bst.height() <= 1.44 * (Math.log(count / 2 + 2) / Math.log(2)));
+        for (int i = 0; i < count; i++) assertEquals(i % 2 == 1, bst.contains(i));
+    }
+
+    @Test
+    void binarySearchTreeBalancedAddRemoveContainsTest() {
+        BinarySearchTree<Integer> bst = new BinarySearchTree<>(true);
+        Random random = new Random();
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < VALUE_COUNT; ++i) {
+            Integer value = random.nextInt();
+            values.add(value);
+            bst.add(value);
+        }
+        for (Integer value : values) assertTrue(bst.contains(value));
+        List<Integer> inOrderResults = bst.traverse(TraversalType.INORDER);
+        for (int i = 1; i < inOrderResults.size(); i++) assertTrue(inOrderResults.get(i - 1) < inOrderResults.get(i));
+        if (VERIFY_VISUALLY) bst.printTree(System.out);
+        for (Integer value : values) bst.remove(value);
+        assertTrue(bst.isEmpty());
+        assertEquals(0, bst.height());
+    }
+
+    @Test
+    void binarySearchTreeDegenerateRemoveTest() {
+        // Sorted insertion produces a single long branch that would overflow a recursive implementation.
+        int count = 100000;
+        BinarySearchTree<Integer> bst = new BinarySearchTree<>();
+        for (int i = 0; i < count; i++) bst.add(i);
+        assertEquals(count, bst.height());
+        for (int i = count - 1; i >= 0; i -= 2) assertTrue(bst.remove(i));
+        assertEquals(count / 2, bst.getSize());
+        for (int i = 0; i < count; i += 2) assertTrue(bst.remove(i));
+        assertTrue(bst.isEmpty());
+    }
+
+    @Test
+    void binarySearchTreeStringTest() {
+        // String comparisons return the character difference rather than -1, 0 or 1.
+        BinarySearchTree<String> bst = new BinarySearchTree<>();
+        String[] values = {"mango", "apple", "zucchini", "banana", "cherry", "kiwi"};
+        for (String value : values) assertTrue(bst.add(value));
+        assertTrue(!bst.add("kiwi"));
+        assertTrue(bst.remove("mango"));
+        assertTrue(!bst.remove("mango"));
+        assertTrue(bst.remove("apple"));
+        List<String> expectedResults = List.of("banana", "cherry", "kiwi", "zucchini");
+        assertEquals(expectedResults, bst.traverse(TraversalType.INORDER));
+    }
+
+    @Test
+    void binarySearchTreeBalancedRandomMutationTest() {
+        // Mixed insertions and removals over a small key space exercise every rotation case.
+        BinarySearchTree<Integer> bst = new BinarySearchTree<>(true);
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random();
+        for (int i = 0; i < 20000; i++) {
+            Integer value = random.nextInt(500);
+            if (random.nextBoolean()) assertEquals(expected.add(value), bst.add(value));
+            else assertEquals(expected.remove(value), bst.remove(value));
+        }
+        assertEquals(expected.size(), bst.getSize());
+        assertEquals(new ArrayList<>(expected), bst.traverse(TraversalType.INORDER));
+        assertTrue(bst.height() <= 1.44 * (Math.log(expected.size() + 2) / Math.log(2)));
+    }
+
+    @Test
+    void binarySearchTreeTraversalOrderTest() {
+        /*    Tree Structure
+                    8
+                  /    \
+                 4      12
+                / \    /  \
+               2   6  10   14
+         */
+        BinarySearchTree<Integer> bst = new BinarySearchTree<>();
+        for (Integer value : new Integer[] {8, 4, 12, 2, 6, 10, 14}) bst.add(value);
+        // A level order walk would give 8, 4, 12, 2, 6, 10, 14.
+        assertEquals(List.of(8, 4, 2, 6, 12, 10, 14), bst.traverse(TraversalType.PREORDER));
+        assertEquals(List.of(2, 4, 6, 8, 10, 12, 14), bst.traverse(TraversalType.INORDER));
+        assertEquals(List.of(2, 6, 4, 10, 14, 12, 8), bst.traverse(TraversalType.POSTORDER));
+        for (TraversalType type : TraversalType.values()) {
+            assertEquals(bst.traverse(type), bst.stream(type).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void binarySearchTreeIteratorTest() {
+        BinarySearchTree<Integer> bst = new BinarySearchTree<>();
+        Random random = new Random();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < VALUE_COUNT; ++i) {
+            Integer value = random.nextInt();
+            expected.add(value);
+            bst.add(value);
+        }
+        // Stopping early only visits what is needed.
+        assertEquals(new ArrayList<>(expected).subList(0, 5),
+                bst.stream(TraversalType.INORDER).limit(5).collect(Collectors.toList()));
+        for (TraversalType type : TraversalType.values()) {
+            Iterator<Integer> iterator = bst.iterator(type);
+            List<Integer> visited = new ArrayList<>();
+            while (iterator.hasNext()) visited.add(iterator.next());
+            assertEquals(expected.size(), visited.size());
+            assertEquals(expected, new TreeSet<>(visited));
+            assertThrows(NoSuchElementException.class, iterator::next);
+        }
+        assertFalse(new BinarySearchTree<Integer>().iterator(TraversalType.POSTORDER).hasNext());
+    }
+
+    @Test
+    void binarySearchTreeIteratorFailFastTest() {
+        BinarySearchTree<Integer> bst = new BinarySearchTree<>(true);
+        for (int i = 0; i < VALUE_COUNT; i++) bst.add(i);
+        for (TraversalType type : TraversalType.values()) {
+            Iterator<Integer> iterator = bst.iterator(type);
+            iterator.next();
+            bst.add(VALUE_COUNT + 1);
+            assertThrows(ConcurrentModificationException.class, iterator::next);
+            bst.remove(VALUE_COUNT + 1);
+        }
+        Spliterator<Integer> spliterator = bst.spliterator(TraversalType.INORDER);
+        bst.remove(0);
+        assertThrows(ConcurrentModificationException.class, () -> spliterator.tryAdvance(value -> { }));
+        // Adding a value already present is not a modification.
+        Iterator<Integer> iterator = bst.iterator(TraversalType.INORDER);
+        bst.add(1);
+        assertEquals(Integer.valueOf(1), iterator.next());
+    }
+
+    @Test
+    void binarySearchTreeSpliteratorTest() {
+        // Degenerate and balanced trees split differently, so both are checked.
+        for (boolean balanced : new boolean[] {false, true}) {
+            BinarySearchTree<Integer> bst = new BinarySearchTree<>(balanced);
+            List<Integer> values = new ArrayList<>();
+            for (int i = 0; i < 10000; i++) values.add(i);
+            Collections.shuffle(values);
+            for (Integer value : values) bst.add(value);
+            Collections.sort(values);
+            // Splitting all the way down and concatenating the pieces in encounter order gives every value once, in order.
+            List<Integer> pieces = new ArrayList<>();
+            splitAndCollect(bst.spliterator(TraversalType.INORDER), pieces);
+            assertEquals(values, pieces);
+            assertEquals(values, bst.stream(TraversalType.INORDER).parallel().collect(Collectors.toList()));
+            assertEquals(values.stream().mapToLong(Integer::longValue).sum(),
+                    bst.stream(TraversalType.INORDER).parallel().mapToLong(Integer::longValue).sum());
+        }
+        Spliterator<Integer> spliterator = new BinarySearchTree<Integer>().spliterator(TraversalType.INORDER);
+        assertEquals(0, spliterator.estimateSize());
+        assertEquals(null, spliterator.trySplit());
+    }
+
+    @Test
+    void binarySearchTreeOrderStatisticsTest() {
+        // Sizes must survive rotations and two child removals, so both modes are mutated randomly.
+        for (boolean balanced : new boolean[] {false, true}) {
+            BinarySearchTree<Integer> bst = new BinarySearchTree<>(balanced);
+            TreeSet<Integer> expected = new TreeSet<>();
+            Random random = new Random();
+            for (int i = 0; i < 5000; i++) {
+                Integer value = random.nextInt(2000);
+                if (random.nextInt(3) > 0) assertEquals(expected.add(value), bst.add(value));
+                else assertEquals(expected.remove(value), bst.remove(value));
+            }
+            List<Integer> sorted = new ArrayList<>(expected);
+            for (int k = 0; k < sorted.size(); k++) {
+                assertEquals(sorted.get(k), bst.select(k));
+                assertEquals(k, bst.rank(sorted.get(k)));
+            }
+            for (int i = 0; i < 200; i++) {
+                Integer low = random.nextInt(2200) - 100;
+                Integer high = low + random.nextInt(500);
+                assertEquals(expected.headSet(low).size(), bst.rank(low));
+                assertEquals(expected.subSet(low, high).size(), bst.countRange(low, high));
+                List<Integer> inRange = new ArrayList<>();
+                bst.range(low, high).forEach(inRange::add);
+                assertEquals(new ArrayList<>(expected.subSet(low, high)), inRange);
+            }
+        }
+    }
+
+    @Test
+    void binarySearchTreeOrderStatisticsBoundsTest() {
+        BinarySearchTree<Integer> bst = new BinarySearchTree<>();
+        for (Integer value : new Integer[] {3, 7, 5, 11, 1, 14}) bst.add(value);
+        assertThrows(IndexOutOfBoundsException.class, () -> bst.select(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> bst.select(6));
+        assertThrows(IllegalArgumentException.class, () -> bst.countRange(5, 4));
+        assertThrows(IllegalArgumentException.class, () -> bst.range(5, 4));
+        assertEquals(0, bst.countRange(5, 5));
+        assertFalse(bst.range(5, 5).iterator().hasNext());
+        assertEquals(6, bst.rank(100));
+        // The view is lazy, so it sees values added after it was created.
+        Iterable<Integer> view = bst.range(4, 12);
+        bst.add(9);
+        List<Integer> inRange = new ArrayList<>();
+        view.forEach(inRange::add);
+        assertEquals(List.of(5, 7, 9, 11), inRange);
+    }
+
+    @Test
+    void binarySearchTreeFromSortedTest() {
+        int count = 100000;
+        Integer[] values = new Integer[count];
+        for (int i = 0; i < count; i++) values[i] = i * 2;
+        BinarySearchTree<Integer> bst = BinarySearchTree.fromSorted(values);
+        assertEquals(count, bst.getSize());
+        // A perfectly balanced tree of n nodes has height ceil(log2(n + 1)).
+        assertEquals(32 - Integer.numberOfLeadingZeros(count), bst.height());
+        assertEquals(List.of(values), bst.traverse(TraversalType.INORDER));
+        assertEquals(Integer.valueOf(2000), bst.select(1000));
+        // Sorted input would degenerate the unbalanced tree if added one at a time.
+        for (int i = 0; i < count; i++) bst.add(i * 2 + 1);
+        assertEquals(count * 2, bst.getSize());
+
+        BinarySearchTree<Integer> balancedTree = BinarySearchTree.fromSorted(List.of(values), true);
+        TreeSet<Integer> expected = new TreeSet<>(List.of(values));
+        Random random = new Random();
+        for (int i = 0; i < 10000; i++) {
+            Integer value = random.nextInt(count * 2);
+            if (random.nextBoolean()) assertEquals(expected.add(value), balancedTree.add(value));
+            else assertEquals(expected.remove(value), balancedTree.remove(value));
+        }
+        assertEquals(new ArrayList<>(expected), balancedTree.traverse(TraversalType.INORDER));
+        assertTrue(balancedTree.height() <= 1.44 * Math.log(expected.size()) / Math.log(2));
+
+        BinarySearchTree<String> strings = BinarySearchTree.fromSorted(List.of("a", "b", "c").iterator(), 2);
+        assertEquals(List.of("a", "b"), strings.traverse(TraversalType.INORDER));
+        assertTrue(BinarySearchTree.fromSorted(new Integer[0]).isEmpty());
+    }
+
+    @Test
+    void binarySearchTreeFromSortedInvalidTest() {
+        assertThrows(IllegalArgumentException.class, () -> BinarySearchTree.fromSorted(new Integer[] {1, 3, 2}));
+        assertThrows(IllegalArgumentException.class, () -> BinarySearchTree.fromSorted(new Integer[] {1, 2, 2}));
+        assertThrows(IllegalArgumentException.class, () -> BinarySearchTree.fromSorted(List.of(1, 2).iterator(), 3));
+        assertThrows(IllegalArgumentException.class, () -> BinarySearchTree.fromSorted(List.of(1, 2).iterator(), -1));
+    }
+
+    @Test
+    void binarySearchTreeSetOperationsTest() {
+        Random random = new Random();
+        BinarySearchTree<Integer> first = new BinarySearchTree<>();
+        BinarySearchTree<Integer> second = new BinarySearchTree<>(true);
+        TreeSet<Integer> firstValues = new TreeSet<>();
+        TreeSet<Integer> secondValues = new TreeSet<>();
+        for (int i = 0; i < 2000; i++) {
+            Integer value = random.nextInt(3000);
+            first.add(value);
+            firstValues.add(value);
+            value = random.nextInt(3000);
+            second.add(value);
+            secondValues.add(value);
+        }
+        TreeSet<Integer> union = new TreeSet<>(firstValues);
+        union.addAll(secondValues);
+        TreeSet<Integer> intersection = new TreeSet<>(firstValues);
+        intersection.retainAll(secondValues);
+        TreeSet<Integer> difference = new TreeSet<>(firstValues);
+        difference.removeAll(secondValues);
+        assertEquals(new ArrayList<>(union), first.union(second).traverse(TraversalType.INORDER));
+        assertEquals(new ArrayList<>(intersection), first.intersect(second).traverse(TraversalType.INORDER));
+        assertEquals(new ArrayList<>(difference), first.difference(second).traverse(TraversalType.INORDER));
+        assertTrue(first.difference(first).isEmpty());
+        assertEquals(union.size(), first.union(second).getSize());
+        // Results keep the mode of the tree they were called on.
+        assertTrue(second.intersect(first).isBalanced());
+
+        assertTrue(first.addAll(second));
+        assertEquals(new ArrayList<>(union), first.traverse(TraversalType.INORDER));
+        assertFalse(first.addAll(second));
+        assertFalse(first.addAll(first));
+        assertEquals(union.size(), first.getSize());
+        assertEquals(Integer.valueOf(union.first()), first.select(0));
+
+        // A small tree is added value by value instead of rebuilding this one, so a degenerate tree keeps its shape.
+        BinarySearchTree<Integer> chain = new BinarySearchTree<>(false);
+        for (int i = 0; i < 1000; i++) chain.add(i);
+        int height = chain.height();
+        BinarySearchTree<Integer> small = new BinarySearchTree<>(false);
+        small.add(500);
+        small.add(1000);
+        assertTrue(chain.addAll((Collection<Integer>) small));
+        assertEquals(height + 1, chain.height());
+        assertEquals(1001, chain.getSize());
+        assertFalse(chain.addAll(small));
+        assertThrows(IllegalArgumentException.class,
+                () -> chain.addAll(new BinarySearchTree<Integer>(Comparator.reverseOrder(), false)));
+    }
+
+    @Test
+    void binarySearchTreeDumpTextTest() throws IOException {
+        BinarySearchTree<Integer> bst = new BinarySearchTree<>();
+        for (Integer value : new Integer[] {3, 7, 5, 11, 1, 14}) bst.add(value);
+        String expected = "3\n"
+                + "│  ├──Left Child: 1\n"
+                + "│  └──Right Child: 7\n"
+                + "│  │  ├──Left Child: 5\n"
+                + "│  │  └──Right Child: 11\n"
+                + "│  │  │  └──Right Child: 14\n";
+        StringBuilder sb = new StringBuilder();
+        assertEquals(6, bst.dump(sb));
+        assertEquals(expected, sb.toString());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        bst.printTree(new PrintStream(output, true, StandardCharsets.UTF_8));
+        assertEquals(expected, output.toString(StandardCharsets.UTF_8));
+
+        // Limits and subtree selection.
+        sb.setLength(0);
+        bst.dump(sb, TreeDumpOptions.<Integer>builder().maxDepth(1).build());
+        assertEquals("3\n│  ├──Left Child: 1\n│  └──Right Child: 7\n(3 nodes not shown)\n", sb.toString());
+        sb.setLength(0);
+        assertEquals(2, bst.dump(sb, TreeDumpOptions.<Integer>builder().subtreeRoot(11).build()));
+        assertEquals("11\n│  └──Right Child: 14\n", sb.toString());
+        sb.setLength(0);
+        assertEquals(4, bst.dump(sb, TreeDumpOptions.<Integer>builder().subtreeRoot(3).maxNodes(4).build()));
+        assertTrue(sb.toString().endsWith("│  │  ├──Left Child: 5\n(2 nodes not shown)\n"));
+        assertThrows(NoSuchElementException.class,
+                () -> bst.dump(new StringBuilder(), TreeDumpOptions.<Integer>builder().subtreeRoot(4).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> bst.dump(new StringBuilder(), TreeDumpOptions.<Integer>builder().maxDepth(-1).build()));
+        sb.setLength(0);
+        assertEquals(0, new BinarySearchTree<Integer>().dump(sb));
+        assertEquals("", sb.toString());
+    }
+
+    @Test
+    void binarySearchTreeDumpMachineReadableTest() throws IOException {
+        BinarySearchTree<String> bst = new BinarySearchTree<>();
+        for (String value : new String[] {"m", "a\"b", "z\n"}) bst.add(value);
+        StringBuilder sb = new StringBuilder();
+        bst.dump(sb, TreeDumpOptions.<String>builder().format(TreeDumpFormat.JSON_LINES).build());
+        assertEquals("{\"id\":0,\"parent\":null,\"side\":null,\"depth\":0,\"size\":3,\"key\":\"m\"}\n"
+                + "{\"id\":1,\"parent\":0,\"side\":\"left\",\"depth\":1,\"size\":1,\"key\":\"a\\\"b\"}\n"
+                + "{\"id\":2,\"parent\":0,\"side\":\"right\",\"depth\":1,\"size\":1,\"key\":\"z\\n\"}\n",
+                sb.toString());
+        sb.setLength(0);
+        bst.dump(sb, TreeDumpOptions.<String>builder().format(TreeDumpFormat.DOT).maxNodes(2).build());
+        assertEquals("digraph BinarySearchTree {\n"
+                + "  n0 [label=\"m\"];\n"
+                + "  n1 [label=\"a\\\"b\"];\n"
+                + "  n0 -> n1 [label=\"L\"];\n"
+                + "  // 1 nodes not shown\n"
+                + "}\n", sb.toString());
+    }
+
+    @Test
+    void binarySearchTreeDumpDegenerateTest() throws IOException {
+        // A list-shaped tree far deeper than the call stack allows for recursion. Building it is quadratic.
+        int count = 20000;
+        BinarySearchTree<Integer> bst = new BinarySearchTree<>();
+        for (int i = 0; i < count; i++) bst.add(i);
+        long[] lines = new long[1];
+        Appendable lineCounter = new Appendable() {
+            @Override
+            public Appendable append(CharSequence csq) {
+                for (int i = 0; i < csq.length(); i++) append(csq.charAt(i));
+                return this;
+            }
+
+            @Override
+            public Appendable append(CharSequence csq, int start, int end) {
+                return append(csq.subSequence(start, end));
+            }
+
+            @Override
+            public Appendable append(char c) {
+                if (c == '\n') lines[0]++;
+                return this;
+            }
+        };
+        assertEquals(count, bst.dump(lineCounter, TreeDumpOptions.<Integer>builder()
+                .format(TreeDumpFormat.JSON_LINES).build()));
+        assertEquals(count, lines[0]);
+        BinarySearchTree<Integer> modified = new BinarySearchTree<>();
+        for (int i = 0; i < 10; i++) modified.add(i);
+        assertThrows(ConcurrentModificationException.class, () -> modified.dump(new Appendable() {
+            @Override
+            public Appendable append(CharSequence csq) {
+                modified.add(-1);
+                return this;
+            }
+
+            @Override
+            public Appendable append(CharSequence csq, int start, int end) {
+                return append(csq);
+            }
+
+            @Override
+            public Appendable append(char c) {
+                return this;
+            }
+        }));
+    }
+
+    /**
+     * Recursively splits the spliterator, consuming the prefix before the remainder to preserve encounter order.
+     */
+    private static void splitAndCollect(Spliterator<Integer> spliterator, List<Integer> results) {
+        // Advancing between splits exercises splitting part way through a traversal.
+        spliterator.tryAdvance(results::add);
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        if (prefix == null) {
+            spliterator.forEachRemaining(results::add);
+            return;
+        }
+        splitAndCollect(prefix, results);
+        splitAndCollect(spliterator, results);
+    }
+
+    @Test
+    void binarySearchTreeComparatorTest() {
+        for (boolean balanced : new boolean[] {false, true}) {
+            BinarySearchTree<String> tree = new BinarySearchTree<>(String.CASE_INSENSITIVE_ORDER, balanced);
+            assertTrue(tree.add("beta"));
+            assertTrue(tree.add("Alpha"));
+            assertTrue(tree.add("gamma"));
+            // Values the comparator finds equal are duplicates.
+            assertFalse(tree.add("BETA"));
+            assertTrue(tree.contains("ALPHA"));
+            assertEquals(1, tree.rank("Beta"));
+            List<String> values = new ArrayList<>();
+            tree.iterator(TraversalType.INORDER).forEachRemaining(values::add);
+            assertEquals(List.of("Alpha", "beta", "gamma"), values);
+            assertTrue(tree.remove("GAMMA"));
+            assertEquals(2, tree.getSize());
+            assertEquals(String.CASE_INSENSITIVE_ORDER, tree.getComparator());
+        }
+
+        Random random = new Random();
+        BinarySearchTree<Integer> descending = new BinarySearchTree<>(Comparator.reverseOrder(), true);
+        BinarySearchTree<Integer> otherDescending = new BinarySearchTree<>(Comparator.reverseOrder());
+        TreeSet<Integer> expected = new TreeSet<>(Comparator.reverseOrder());
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            int value = random.nextInt(VALUE_COUNT);
+            descending.add(value);
+            expected.add(value);
+            otherDescending.add(random.nextInt(VALUE_COUNT));
+        }
+        assertEquals(new ArrayList<>(expected), descending.stream(TraversalType.INORDER).collect(Collectors.toList()));
+        assertEquals(Comparator.reverseOrder(), descending.spliterator(TraversalType.INORDER).getComparator());
+        // Set operations merge in the shared order and keep it.
+        BinarySearchTree<Integer> union = descending.union(otherDescending);
+        expected.addAll(otherDescending.stream(TraversalType.INORDER).collect(Collectors.toList()));
+        assertEquals(new ArrayList<>(expected), union.stream(TraversalType.INORDER).collect(Collectors.toList()));
+        assertEquals(Comparator.reverseOrder(), union.getComparator());
+        assertThrows(IllegalArgumentException.class, () -> descending.union(new BinarySearchTree<>()));
+    }
+
+    @Test
+    void binarySearchTreeNavigableSetTest() {
+        // Navigation must survive rotations and two child removals, so both modes are mutated randomly.
+        for (boolean balanced : new boolean[] {false, true}) {
+            BinarySearchTree<Integer> bst = new BinarySearchTree<>(balanced);
+            TreeSet<Integer> expected = new TreeSet<>();
+            Random random = new Random();
+            for (int i = 0; i < 3000; i++) {
+                Integer value = random.nextInt(1000);
+                if (random.nextInt(3) > 0) assertEquals(expected.add(value), bst.add(value));
+                else assertEquals(expected.remove(value), bst.remove(value));
+            }
+            assertEquals(expected, bst);
+            assertEquals(expected.hashCode(), bst.hashCode());
+            assertEquals(expected.first(), bst.first());
+            assertEquals(expected.last(), bst.last());
+            for (int value = -5; value < 1005; value++) {
+                assertEquals(expected.lower(value), bst.lower(value));
+                assertEquals(expected.floor(value), bst.floor(value));
+                assertEquals(expected.ceiling(value), bst.ceiling(value));
+                assertEquals(expected.higher(value), bst.higher(value));
+            }
+            assertEquals(new ArrayList<>(expected.descendingSet()), new ArrayList<>(bst.descendingSet()));
+            for (int i = 0; i < 100; i++) {
+                Integer low = random.nextInt(1100) - 50;
+                Integer high = low + random.nextInt(400);
+                boolean lowInclusive = random.nextBoolean();
+                boolean highInclusive = random.nextBoolean();
+                NavigableSet<Integer> expectedView = expected.subSet(low, lowInclusive, high, highInclusive);
+                NavigableSet<Integer> view = bst.subSet(low, lowInclusive, high, highInclusive);
+                assertNavigableEquals(expectedView, view);
+                assertNavigableEquals(expectedView.descendingSet(), view.descendingSet());
+                assertNavigableEquals(expected.headSet(high, highInclusive), bst.headSet(high, highInclusive));
+                assertNavigableEquals(expected.tailSet(low, lowInclusive), bst.tailSet(low, lowInclusive));
+                // Views of views, in both directions, split strictly inside the bounds.
+                if (high - low < 2) continue;
+                Integer middle = low + (high - low) / 2;
+                assertNavigableEquals(expectedView.headSet(middle, true), view.headSet(middle, true));
+                assertNavigableEquals(expectedView.descendingSet().headSet(middle, false),
+                        view.descendingSet().headSet(middle, false));
+                assertNavigableEquals(expectedView.descendingSet().subSet(high, highInclusive, middle, false),
+                        view.descendingSet().subSet(high, highInclusive, middle, false));
+            }
+            while (!expected.isEmpty()) {
+                assertEquals(expected.pollFirst(), bst.pollFirst());
+                assertEquals(expected.pollLast(), bst.pollLast());
+            }
+            assertEquals(null, bst.pollFirst());
+            assertThrows(NoSuchElementException.class, bst::first);
+        }
+    }
+
+    @Test
+    void binarySearchTreeIteratorRemoveTest() {
+        // Removing nodes with two children moves values between nodes, which the iterators must follow.
+        for (boolean balanced : new boolean[] {false, true}) {
+            BinarySearchTree<Integer> bst = new BinarySearchTree<>(balanced);
+            TreeSet<Integer> expected = new TreeSet<>();
+            Random random = new Random();
+            for (int i = 0; i < 2000; i++) {
+                Integer value = random.nextInt(5000);
+                expected.add(value);
+                bst.add(value);
+            }
+            List<Integer> visited = new ArrayList<>();
+            for (Iterator<Integer> iterator = bst.iterator(); iterator.hasNext(); ) {
+                Integer value = iterator.next();
+                visited.add(value);
+                if (value % 3 == 0) iterator.remove();
+            }
+            assertEquals(new ArrayList<>(expected), visited);
+            expected.removeIf(value -> value % 3 == 0);
+            assertEquals(expected, bst);
+            for (Iterator<Integer> iterator = bst.descendingIterator(); iterator.hasNext(); ) {
+                if (iterator.next() % 2 == 0) iterator.remove();
+            }
+            expected.removeIf(value -> value % 2 == 0);
+            assertEquals(new ArrayList<>(expected), new ArrayList<>(bst));
+            // Removing through a view leaves the values around it.
+            bst.subSet(1000, 2000).clear();
+            expected.subSet(1000, 2000).clear();
+            assertEquals(new ArrayList<>(expected), new ArrayList<>(bst));
+            assertEquals(expected.size(), bst.size());
+        }
+        BinarySearchTree<Integer> bst = new BinarySearchTree<>();
+        for (int i = 0; i < 10; i++) bst.add(i);
+        Iterator<Integer> iterator = bst.iterator();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        iterator.next();
+        iterator.remove();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        bst.add(20);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+        NavigableSet<Integer> view = bst.subSet(2, true, 5, false);
+        assertThrows(IllegalArgumentException.class, () -> view.add(5));
+        assertThrows(IllegalArgumentException.class, () -> view.subSet(1, 4));
+        assertThrows(IllegalArgumentException.class, () -> bst.subSet(5, 2));
+        assertTrue(view.add(2) == false && view.contains(4) && !view.contains(5));
+        bst.clear();
+        assertTrue(bst.isEmpty() && view.isEmpty());
+        assertEquals(0, view.size());
+    }
+
+    private static void assertNavigableEquals(NavigableSet<Integer> expected, NavigableSet<Integer> actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+        assertEquals(new ArrayList<>(expected), new ArrayList<>(actual));
+        List<Integer> descending = new ArrayList<>();
+        actual.descendingIterator().forEachRemaining(descending::add);
+        assertEquals(new ArrayList<>(expected.descendingSet()), descending);
+        if (!expected.isEmpty()) {
+            assertEquals(expected.first(), actual.first());
+            assertEquals(expected.last(), actual.last());
+        }
+        for (int value = expected.isEmpty() ? 0 : expected.first() - 3, i = 0; i < 8; i++, value += 2) {
+            assertEquals(expected.lower(value), actual.lower(value));
+            assertEquals(expected.floor(value), actual.floor(value));
+            assertEquals(expected.ceiling(value), actual.ceiling(value));
+            assertEquals(expected.higher(value), actual.higher(value));
+            assertEquals(expected.contains(value), actual.contains(value));
+        }
+    }
+
+    @Test
+    void binarySearchTreeMissFilterTest() {
+        // A degenerate tree, where every miss would otherwise walk the whole list.
+        BinarySearchTree<Integer> bst = new BinarySearchTree<>();
+        for (int i = 0; i < 1000; i += 2) bst.add(i);
+        assertFalse(bst.isMissFilterEnabled());
+        bst.enableMissFilter(100, 0.01);
+        assertTrue(bst.isMissFilterEnabled());
+        // Growing past the expected size rebuilds the filter without losing values.
+        for (int i = 1000; i < 20000; i += 2) bst.add(i);
+        bst.setMetricsEnabled(true);
+        for (int i = 0; i < 20000; i++) assertEquals(i % 2 == 0, bst.contains(i));
+        MissFilterStats stats = bst.getMissFilterStats();
+        assertEquals(20000, stats.getLookups());
+        assertEquals(10000, stats.getDefiniteMisses() + stats.getFalsePositives());
+        assertEquals(10000 + stats.getFalsePositives(), stats.getFilterHits());
+        assertTrue(stats.getFalsePositiveRate() < 0.02, stats.toString());
+        assertTrue(stats.getRebuilds() > 0);
+        assertEquals(10000, stats.getSize());
+        // Every lookup is counted, and those the filter answered count as descents of depth 0.
+        TreeMetrics metrics = bst.getMetrics();
+        assertEquals(stats.getLookups(), metrics.getOperations(TreeMetrics.Operation.CONTAINS));
+        assertTrue(metrics.getAverageDepth(TreeMetrics.Operation.CONTAINS)
+                < metrics.getMaxDepth(TreeMetrics.Operation.CONTAINS) / 2.0);
+        // Removals, polls, iterator removals and merges keep the filter in step.
+        for (int i = 0; i < 5000; i += 2) bst.remove(i);
+        bst.pollLast();
+        Iterator<Integer> iterator = bst.iterator();
+        iterator.next();
+        iterator.remove();
+        BinarySearchTree<Integer> odd = new BinarySearchTree<>();
+        for (int i = 1; i < 100; i += 2) odd.add(i);
+        bst.addAll(odd);
+        TreeSet<Integer> expected = new TreeSet<>(bst);
+        assertEquals(expected.size(), bst.getMissFilterStats().getSize());
+        for (int i = 0; i < 20000; i++) assertEquals(expected.contains(i), bst.contains(i));
+        // A value that can not be compared with the tree's still throws rather than being filtered out.
+        assertThrows(ClassCastException.class, () -> bst.contains("x"));
+        bst.clear();
+        assertFalse(bst.contains(6000));
+        bst.disableMissFilter();
+        assertEquals(0, bst.getMissFilterStats().getLookups());
+        assertThrows(IllegalArgumentException.class, () -> bst.enableMissFilter(-1, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> bst.enableMissFilter(10, 1.5));
+    }
+
+    @Test
+    void binarySearchTreeMissFilterHashTest() {
+        // The hash must match the order, so a case insensitive tree hashes the lower case string.
+        BinarySearchTree<String> bst = new BinarySearchTree<>(String.CASE_INSENSITIVE_ORDER);
+        bst.enableMissFilter(16, 0.001, value -> value.toLowerCase().hashCode());
+        bst.add("Alpha");
+        assertTrue(bst.contains("ALPHA"));
+        assertFalse(bst.contains("beta"));
+        // Values sharing one hash code beyond what the filter holds disable it rather than hide values.
+        BinarySearchTree<Integer> colliding = new BinarySearchTree<>();
+        colliding.enableMissFilter(16, 0.01, value -> 7);
+        for (int i = 0; i < 20; i++) colliding.add(i);
+        assertFalse(colliding.isMissFilterEnabled());
+        for (int i = 0; i < 20; i++) assertTrue(colliding.contains(i));
+    }
 }
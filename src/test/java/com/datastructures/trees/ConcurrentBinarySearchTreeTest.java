@@ -0,0 +1,161 @@
+package com.datastructures.trees;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for Concurrent Binary Search Tree.
+ * The stress tests run writers and readers against the same tree and verify the final contents,
+ * and that keys which are never removed are never reported missing while writers are active.
+ */
+public class ConcurrentBinarySearchTreeTest {
+
+    // Count of threads used by the stress tests.
+    private static final int THREAD_COUNT = 8;
+    // Count of operations each writer thread performs.
+    private static final int OPERATION_COUNT = 20000;
+
+    @Test
+    void concurrentBinarySearchTreeSingleThreadTest() {
+        ConcurrentBinarySearchTree<Integer> bst = new ConcurrentBinarySearchTree<>();
+        Integer[] values = {3, 7, 5, 11, 1, 14};
+        for (Integer value : values) assertTrue(bst.add(value));
+        assertTrue(!bst.add(7));
+        assertEquals(List.of(3, 1, 7, 5, 11, 14), bst.traverse(TraversalType.PREORDER));
+        assertEquals(List.of(1, 3, 5, 7, 11, 14), bst.traverse(TraversalType.INORDER));
+        assertEquals(List.of(1, 5, 14, 11, 7, 3), bst.traverse(TraversalType.POSTORDER));
+        // 7 has two children so it stays as a routing node, then is revived.
+        assertTrue(bst.remove(7));
+        assertTrue(!bst.contains(7));
+        assertEquals(List.of(1, 3, 5, 11, 14), bst.traverse(TraversalType.INORDER));
+        assertTrue(bst.add(7));
+        assertTrue(bst.contains(7));
+        for (Integer value : values) assertTrue(bst.remove(value));
+        assertTrue(bst.isEmpty());
+        assertEquals(0, bst.height());
+    }
+
+    @Test
+    void concurrentBinarySearchTreeDisjointWritersTest() throws Exception {
+        // Each writer owns the keys congruent to its index, so the expected final contents are known exactly.
+        ConcurrentBinarySearchTree<Integer> bst = new ConcurrentBinarySearchTree<>();
+        List<TreeSet<Integer>> expected = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) expected.add(new TreeSet<>());
+        runConcurrently(THREAD_COUNT, index -> {
+            Random random = new Random(index);
+            TreeSet<Integer> owned = expected.get(index);
+            for (int i = 0; i < OPERATION_COUNT; i++) {
+                Integer value = random.nextInt(2000) * THREAD_COUNT + index;
+                if (random.nextInt(3) > 0) assertEquals(owned.add(value), bst.add(value));
+                else assertEquals(owned.remove(value), bst.remove(value));
+            }
+        });
+        TreeSet<Integer> union = new TreeSet<>();
+        for (TreeSet<Integer> owned : expected) union.addAll(owned);
+        assertEquals(union.size(), bst.getSize());
+        assertEquals(new ArrayList<>(union), bst.traverse(TraversalType.INORDER));
+    }
+
+    @Test
+    void concurrentBinarySearchTreeReadersNeverMissStableKeysTest() throws Exception {
+        // Even keys are added up front and never removed. Writers churn the odd keys around them.
+        ConcurrentBinarySearchTree<Integer> bst = new ConcurrentBinarySearchTree<>();
+        int keyRange = 4000;
+        List<Integer> shuffled = new ArrayList<>();
+        for (int i = 0; i < keyRange; i++) shuffled.add(i);
+        Collections.shuffle(shuffled, new Random(1));
+        for (Integer value : shuffled) bst.add(value);
+        AtomicBoolean writersDone = new AtomicBoolean(false);
+        ConcurrentSkipListSet<Integer> missed = new ConcurrentSkipListSet<>();
+        int writers = THREAD_COUNT / 2;
+        runConcurrently(THREAD_COUNT, index -> {
+            Random random = new Random(index);
+            if (index < writers) {
+                for (int i = 0; i < OPERATION_COUNT; i++) {
+                    int value = random.nextInt(keyRange / 2) * 2 + 1;
+                    if (random.nextBoolean()) bst.add(value);
+                    else bst.remove(value);
+                }
+                writersDone.set(true);
+            }
+            else {
+                while (!writersDone.get()) {
+                    int value = random.nextInt(keyRange / 2) * 2;
+                    if (!bst.contains(value)) missed.add(value);
+                }
+            }
+        });
+        assertTrue(missed.isEmpty(), "Stable keys reported missing: " + missed);
+        List<Integer> inOrderResults = bst.traverse(TraversalType.INORDER);
+        assertEquals(bst.getSize(), inOrderResults.size());
+        for (int i = 1; i < inOrderResults.size(); i++) assertTrue(inOrderResults.get(i - 1) < inOrderResults.get(i));
+        for (int i = 0; i < keyRange; i += 2) assertTrue(bst.contains(i));
+    }
+
+    @Test
+    void concurrentBinarySearchTreeContendedTest() throws Exception {
+        // All threads fight over a small key range. Afterwards the size must match the live keys.
+        ConcurrentBinarySearchTree<Integer> bst = new ConcurrentBinarySearchTree<>();
+        runConcurrently(THREAD_COUNT, index -> {
+            Random random = new Random(index);
+            for (int i = 0; i < OPERATION_COUNT; i++) {
+                Integer value = random.nextInt(64);
+                if (random.nextBoolean()) bst.add(value);
+                else bst.remove(value);
+            }
+        });
+        List<Integer> inOrderResults = bst.traverse(TraversalType.INORDER);
+        assertEquals(bst.getSize(), inOrderResults.size());
+        for (int i = 0; i < 64; i++) assertEquals(inOrderResults.contains(i), bst.contains(i));
+        for (Integer value : inOrderResults) assertTrue(bst.remove(value));
+        assertTrue(bst.isEmpty());
+        // Every routing node is unlinked once its subtrees empty.
+        assertEquals(0, bst.height());
+    }
+
+    /**
+     * Functional interface for work run on each stress test thread.
+     */
+    private interface Task {
+        void run(int index) throws Exception;
+    }
+
+    /**
+     * Starts every task at once and rethrows the first failure.
+     */
+    private static void runConcurrently(int threadCount, Task task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(index);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) future.get(60, TimeUnit.SECONDS);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.datastructures.trees;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CuckooFilterTest {
+
+    @Test
+    void cuckooFilterNoFalseNegativesTest() {
+        Random random = new Random();
+        CuckooFilter filter = new CuckooFilter(10000, CuckooFilter.fingerprintBits(0.01));
+        Set<Integer> added = new HashSet<>();
+        while (added.size() < 10000) {
+            int hash = random.nextInt();
+            if (added.add(hash)) assertTrue(filter.add(hash));
+        }
+        assertEquals(10000, filter.size());
+        for (int hash : added) assertTrue(filter.mightContain(hash));
+        // Absent hash codes mostly come back as misses, at about the requested rate.
+        int falsePositives = 0;
+        int lookups = 0;
+        while (lookups < 100000) {
+            int hash = random.nextInt();
+            if (added.contains(hash)) continue;
+            lookups++;
+            if (filter.mightContain(hash)) falsePositives++;
+        }
+        assertTrue(falsePositives < lookups * 0.01, "False positives: " + falsePositives);
+        // Removing half keeps the other half.
+        int removed = 0;
+        for (int hash : added) {
+            if (removed++ % 2 == 0) assertTrue(filter.remove(hash));
+        }
+        removed = 0;
+        for (int hash : added) {
+            if (removed++ % 2 == 1) assertTrue(filter.mightContain(hash));
+        }
+        assertEquals(5000, filter.size());
+        filter.clear();
+        assertEquals(0, filter.size());
+    }
+
+    @Test
+    void cuckooFilterFullTest() {
+        CuckooFilter filter = new CuckooFilter(8, 8);
+        int added = 0;
+        while (filter.add(added)) added++;
+        // The table fills most of the way before an insertion fails, and the failed value is not forgotten.
+        assertTrue(filter.isFull());
+        assertTrue(added >= filter.capacity() / 2);
+        for (int hash = 0; hash <= added; hash++) assertTrue(filter.mightContain(hash));
+        assertFalse(filter.add(added + 1));
+        // Freeing a slot lets the set aside value back in.
+        assertTrue(filter.remove(0));
+        for (int hash = 1; hash <= added; hash++) assertTrue(filter.mightContain(hash));
+        // Equal hash codes share both buckets, so only eight fit.
+        CuckooFilter colliding = new CuckooFilter(1000, 16);
+        for (int i = 0; i < 2 * CuckooFilter.BUCKET_SIZE; i++) assertTrue(colliding.add(42));
+        assertFalse(colliding.add(42));
+    }
+
+    @Test
+    void cuckooFilterFingerprintBitsTest() {
+        assertEquals(10, CuckooFilter.fingerprintBits(0.01));
+        assertEquals(13, CuckooFilter.fingerprintBits(0.001));
+        assertEquals(CuckooFilter.MAX_FINGERPRINT_BITS, CuckooFilter.fingerprintBits(1e-9));
+        assertThrows(IllegalArgumentException.class, () -> CuckooFilter.fingerprintBits(0));
+        assertThrows(IllegalArgumentException.class, () -> CuckooFilter.fingerprintBits(1));
+        assertThrows(IllegalArgumentException.class, () -> new CuckooFilter(-1, 8));
+        assertThrows(IllegalArgumentException.class, () -> new CuckooFilter(16, 17));
+    }
+}
@@ -0,0 +1,65 @@
+package com.datastructures.trees;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EytzingerSnapshotTest {
+
+    @Test
+    void eytzingerSnapshotAllSizesTest() {
+        // Every size up to a few full levels, so each shape of the bottom level is searched.
+        for (int size = 0; size <= 70; size++) {
+            BinarySearchTree<Integer> bst = new BinarySearchTree<>();
+            TreeSet<Integer> expected = new TreeSet<>();
+            for (int i = 0; i < size; i++) {
+                bst.add(i * 2);
+                expected.add(i * 2);
+            }
+            EytzingerSnapshot<Integer> snapshot = new EytzingerSnapshot<>(bst);
+            assertEquals(size, snapshot.getSize());
+            for (int value = -2; value <= size * 2 + 1; value++) {
+                assertEquals(expected.contains(value), snapshot.contains(value));
+                assertEquals(expected.floor(value), snapshot.floor(value));
+                assertEquals(expected.ceiling(value), snapshot.ceiling(value));
+            }
+        }
+    }
+
+    @Test
+    void eytzingerSnapshotRandomTest() {
+        Random random = new Random();
+        BinarySearchTree<String> bst = new BinarySearchTree<>(true);
+        TreeSet<String> expected = new TreeSet<>();
+        for (int i = 0; i < 10000; i++) {
+            String value = Integer.toString(random.nextInt(100000), 36);
+            bst.add(value);
+            expected.add(value);
+        }
+        EytzingerSnapshot<String> snapshot = new EytzingerSnapshot<>(bst);
+        // The snapshot does not follow later changes to the tree.
+        bst.add("!");
+        assertTrue(!snapshot.contains("!"));
+        for (int i = 0; i < 10000; i++) {
+            String value = Integer.toString(random.nextInt(100000), 36);
+            assertEquals(expected.contains(value), snapshot.contains(value));
+            assertEquals(expected.floor(value), snapshot.floor(value));
+            assertEquals(expected.ceiling(value), snapshot.ceiling(value));
+        }
+    }
+
+    @Test
+    void eytzingerSnapshotInvalidTest() {
+        assertThrows(IllegalArgumentException.class, () -> new EytzingerSnapshot<>(List.of(1, 1).iterator(), 2));
+        assertThrows(IllegalArgumentException.class, () -> new EytzingerSnapshot<>(List.of(2, 1).iterator(), 2));
+        assertThrows(IllegalArgumentException.class, () -> new EytzingerSnapshot<>(List.of(1).iterator(), 2));
+        assertThrows(IllegalArgumentException.class, () -> new EytzingerSnapshot<>(List.of(1).iterator(), -1));
+        assertTrue(new EytzingerSnapshot<>(List.<Integer>of().iterator(), 0).isEmpty());
+    }
+}
@@ -0,0 +1,63 @@
+package com.datastructures.trees;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class IntEytzingerSnapshotTest {
+
+    @Test
+    void intEytzingerSnapshotAllSizesTest() {
+        // Every size up to a few full levels, so each shape of the bottom level is searched.
+        for (int size = 0; size <= 70; size++) {
+            int[] keys = new int[size];
+            TreeSet<Integer> expected = new TreeSet<>();
+            for (int i = 0; i < size; i++) {
+                keys[i] = i * 2;
+                expected.add(i * 2);
+            }
+            IntEytzingerSnapshot snapshot = new IntEytzingerSnapshot(keys);
+            assertEquals(size, snapshot.getSize());
+            for (int key = -2; key <= size * 2 + 1; key++) assertMatches(expected, snapshot, key);
+        }
+    }
+
+    @Test
+    void intEytzingerSnapshotRandomTest() {
+        Random random = new Random();
+        IntBinarySearchTree bst = new IntBinarySearchTree();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt();
+            bst.add(key);
+            expected.add(key);
+        }
+        bst.add(Integer.MIN_VALUE);
+        bst.add(Integer.MAX_VALUE);
+        expected.add(Integer.MIN_VALUE);
+        expected.add(Integer.MAX_VALUE);
+        IntEytzingerSnapshot snapshot = new IntEytzingerSnapshot(bst);
+        assertEquals(expected.size(), snapshot.getSize());
+        for (int i = 0; i < 100000; i++) assertMatches(expected, snapshot, random.nextInt());
+        for (Integer key : expected) assertMatches(expected, snapshot, key);
+    }
+
+    @Test
+    void intEytzingerSnapshotInvalidTest() {
+        assertThrows(IllegalArgumentException.class, () -> new IntEytzingerSnapshot(new int[] {1, 1}));
+        assertThrows(IllegalArgumentException.class, () -> new IntEytzingerSnapshot(new int[] {1, 3, 2}));
+    }
+
+    private static void assertMatches(TreeSet<Integer> expected, IntEytzingerSnapshot snapshot, int key) {
+        Integer floor = expected.floor(key);
+        Integer ceiling = expected.ceiling(key);
+        assertEquals(expected.contains(key), snapshot.contains(key));
+        assertEquals(floor == null ? OptionalInt.empty() : OptionalInt.of(floor), snapshot.floor(key));
+        assertEquals(ceiling == null ? OptionalInt.empty() : OptionalInt.of(ceiling), snapshot.ceiling(key));
+    }
+}
@@ -0,0 +1,79 @@
+package com.datastructures.trees;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LongBinarySearchTreeTest {
+    // Determine the count of random operations to perform for test cases
+    private static final Integer VALUE_COUNT = 50000;
+    // Keys are drawn from a small range so additions and removals collide.
+    private static final int VALUE_RANGE = 10000;
+
+    @Test
+    void longBinarySearchTreeRandomMutationTest() {
+        // Heap and off heap storage must behave identically.
+        for (boolean offHeap : new boolean[] {false, true}) {
+            LongBinarySearchTree bst = new LongBinarySearchTree(0, offHeap);
+            assertEquals(offHeap, bst.isOffHeap());
+            TreeSet<Long> expected = new TreeSet<>();
+            Random random = new Random();
+            for (int i = 0; i < VALUE_COUNT; i++) {
+                long value = random.nextLong() % VALUE_RANGE;
+                if (random.nextInt(3) > 0) assertEquals(expected.add(value), bst.add(value));
+                else assertEquals(expected.remove(value), bst.remove(value));
+            }
+            assertEquals(expected.size(), bst.getSize());
+            for (int i = 0; i < VALUE_RANGE; i++) assertEquals(expected.contains((long) i), bst.contains(i));
+            assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), bst.toArray());
+            List<Long> visited = new ArrayList<>();
+            bst.forEach(visited::add);
+            assertEquals(new ArrayList<>(expected), visited);
+            assertTrue(bst.height() <= 1.44 * Math.log(expected.size() + 2) / Math.log(2));
+        }
+    }
+
+    @Test
+    void longBinarySearchTreeSortedInsertionTest() {
+        // Sorted input stays balanced, and the extreme keys compare correctly.
+        LongBinarySearchTree bst = new LongBinarySearchTree();
+        for (long i = 0; i < VALUE_COUNT; i++) bst.add(i);
+        assertTrue(bst.add(Long.MIN_VALUE));
+        assertTrue(bst.add(Long.MAX_VALUE));
+        assertEquals(VALUE_COUNT + 2, bst.getSize());
+        assertTrue(bst.height() <= 1.44 * Math.log(VALUE_COUNT + 2) / Math.log(2) + 1);
+        long[] keys = bst.toArray();
+        assertEquals(Long.MIN_VALUE, keys[0]);
+        assertEquals(Long.MAX_VALUE, keys[keys.length - 1]);
+        for (int i = 1; i < keys.length; i++) assertTrue(keys[i - 1] < keys[i]);
+    }
+
+    @Test
+    void longBinarySearchTreeSlotReuseTest() {
+        for (boolean offHeap : new boolean[] {false, true}) {
+            LongBinarySearchTree bst = new LongBinarySearchTree(4, offHeap);
+            for (int i = 0; i < 1000; i++) bst.add(i * 7L);
+            int capacity = bst.getCapacity();
+            // Removed slots are reused, so refilling the tree does not grow its storage.
+            for (int round = 0; round < 3; round++) {
+                for (int i = 0; i < 1000; i++) assertTrue(bst.remove(i * 7L));
+                assertTrue(bst.isEmpty());
+                assertEquals(0, bst.height());
+                for (int i = 999; i >= 0; i--) assertTrue(bst.add(i * 7L));
+            }
+            assertEquals(capacity, bst.getCapacity());
+            assertTrue(bst.contains(6993));
+            assertFalse(bst.contains(6994));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new LongBinarySearchTree(-1, false));
+    }
+}
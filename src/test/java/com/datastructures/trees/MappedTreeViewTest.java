@@ -0,0 +1,78 @@
+package com.datastructures.trees;
+
+import com.algorithms.sort.RecordCodec;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MappedTreeViewTest {
+    // Determine the count of random values to generate for test cases
+    private static final Integer VALUE_COUNT = 10000;
+
+    @Test
+    void mappedTreeViewLongTest() throws IOException {
+        Random random = new Random();
+        TreeSet<Long> expected = new TreeSet<>();
+        BinarySearchTree<Long> bst = new BinarySearchTree<>(true);
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            long value = random.nextInt(VALUE_COUNT * 4);
+            expected.add(value);
+            bst.add(value);
+        }
+        Path file = Files.createTempFile("tree", ".bin");
+        try {
+            BinarySearchTreeFormat.save(bst, RecordCodec.LONG, file);
+            MappedTreeView<Long> view = BinarySearchTreeFormat.map(file, RecordCodec.LONG);
+            assertEquals(expected.size(), view.getSize());
+            List<Long> sorted = new ArrayList<>(expected);
+            for (int i = 0; i < sorted.size(); i++) assertEquals(sorted.get(i), view.get(i));
+            for (long value = -1; value <= VALUE_COUNT * 4; value++) {
+                assertEquals(expected.contains(value), view.contains(value));
+                assertEquals(expected.floor(value), view.floor(value));
+                assertEquals(expected.ceiling(value), view.ceiling(value));
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> view.get(sorted.size()));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void mappedTreeViewStringTest() throws IOException {
+        Random random = new Random();
+        TreeSet<String> expected = new TreeSet<>();
+        BinarySearchTree<String> bst = new BinarySearchTree<>();
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            String value = Integer.toString(random.nextInt(VALUE_COUNT * 4), 36);
+            expected.add(value);
+            bst.add(value);
+        }
+        Path file = Files.createTempFile("tree", ".bin");
+        try {
+            BinarySearchTreeFormat.save(bst, RecordCodec.STRING, file);
+            MappedTreeView<String> view = BinarySearchTreeFormat.map(file, RecordCodec.STRING);
+            List<String> contents = new ArrayList<>();
+            view.forEach(contents::add);
+            assertEquals(new ArrayList<>(expected), contents);
+            for (int i = 0; i < VALUE_COUNT; i++) {
+                String value = Integer.toString(random.nextInt(VALUE_COUNT * 4), 36);
+                assertEquals(expected.contains(value), view.contains(value));
+                assertEquals(expected.floor(value), view.floor(value));
+                assertEquals(expected.ceiling(value), view.ceiling(value));
+            }
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.datastructures.trees;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PersistentBinarySearchTreeTest {
+    // Determine the count of random operations to perform for test cases
+    private static final Integer VALUE_COUNT = 20000;
+
+    @Test
+    void persistentBinarySearchTreeVersionsTest() {
+        // Every version must keep its own contents, however many versions follow it.
+        Random random = new Random();
+        PersistentBinarySearchTree<Integer> tree = new PersistentBinarySearchTree<>();
+        TreeSet<Integer> expected = new TreeSet<>();
+        List<PersistentBinarySearchTree<Integer>> versions = new ArrayList<>();
+        List<List<Integer>> expectedVersions = new ArrayList<>();
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            Integer value = random.nextInt(2000);
+            if (random.nextInt(3) > 0) {
+                PersistentBinarySearchTree<Integer> next = tree.add(value);
+                assertEquals(expected.add(value), next != tree);
+                tree = next;
+            }
+            else {
+                PersistentBinarySearchTree<Integer> next = tree.remove(value);
+                assertEquals(expected.remove(value), next != tree);
+                tree = next;
+            }
+            if (i % 1000 == 0) {
+                versions.add(tree);
+                expectedVersions.add(new ArrayList<>(expected));
+            }
+        }
+        assertEquals(expected.size(), tree.getSize());
+        assertEquals(new ArrayList<>(expected), tree.stream().collect(Collectors.toList()));
+        assertTrue(tree.height() <= 1.44 * Math.log(expected.size() + 2) / Math.log(2));
+        for (int i = 0; i < versions.size(); i++) {
+            List<Integer> contents = new ArrayList<>();
+            versions.get(i).forEach(contents::add);
+            assertEquals(expectedVersions.get(i), contents);
+            assertEquals(expectedVersions.get(i).size(), versions.get(i).getSize());
+        }
+        for (int i = 0; i < 2000; i++) assertEquals(expected.contains(i), tree.contains(i));
+    }
+
+    @Test
+    void persistentBinarySearchTreeUnchangedTest() {
+        PersistentBinarySearchTree<String> empty = new PersistentBinarySearchTree<>();
+        assertTrue(empty.isEmpty());
+        assertSame(empty, empty.remove("a"));
+        PersistentBinarySearchTree<String> tree = empty.add("b").add("a").add("c");
+        assertSame(tree, tree.add("a"));
+        assertSame(tree, tree.remove("d"));
+        assertTrue(empty.isEmpty());
+        assertEquals(2, tree.remove("b").getSize());
+        assertTrue(tree.contains("b"));
+        assertFalse(tree.remove("b").contains("b"));
+    }
+
+    @Test
+    void persistentBinarySearchTreeFromSortedTest() {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < VALUE_COUNT; i++) values.add(i * 3);
+        PersistentBinarySearchTree<Integer> tree = PersistentBinarySearchTree.fromSorted(values.iterator(), values.size());
+        assertEquals(values, tree.stream().collect(Collectors.toList()));
+        assertEquals(32 - Integer.numberOfLeadingZeros(VALUE_COUNT), tree.height());
+        // The built tree is a valid AVL tree, so later versions stay balanced.
+        for (int i = 0; i < VALUE_COUNT; i += 2) tree = tree.remove(i * 3);
+        assertEquals(VALUE_COUNT / 2, tree.getSize());
+        assertTrue(tree.height() <= 1.44 * Math.log(tree.getSize() + 2) / Math.log(2));
+        assertThrows(IllegalArgumentException.class, () -> PersistentBinarySearchTree.fromSorted(List.of(2, 1).iterator(), 2));
+        assertThrows(IllegalArgumentException.class, () -> PersistentBinarySearchTree.fromSorted(List.of(1).iterator(), 2));
+    }
+
+    @Test
+    void persistentBinarySearchTreePublishTest() throws InterruptedException {
+        // A writer publishes versions through one reference while readers check each version they see is whole.
+        AtomicReference<PersistentBinarySearchTree<Integer>> current = new AtomicReference<>(new PersistentBinarySearchTree<>());
+        AtomicBoolean done = new AtomicBoolean(false);
+        AtomicReference<String> failure = new AtomicReference<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread reader = new Thread(() -> {
+                while (!done.get()) {
+                    PersistentBinarySearchTree<Integer> snapshot = current.get();
+                    // The writer only adds even values below 2 * VALUE_COUNT, in order, so versions are prefixes.
+                    List<Integer> contents = snapshot.stream().collect(Collectors.toList());
+                    for (int j = 0; j < contents.size(); j++) {
+                        if (contents.get(j) != j * 2) failure.set("Version is not a prefix: " + contents);
+                    }
+                    if (contents.size() != snapshot.getSize()) failure.set("Size does not match contents");
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+        for (int i = 0; i < VALUE_COUNT; i++) current.set(current.get().add(i * 2));
+        done.set(true);
+        for (Thread reader : readers) reader.join();
+        assertEquals(null, failure.get());
+        assertEquals((int) VALUE_COUNT, current.get().getSize());
+    }
+}
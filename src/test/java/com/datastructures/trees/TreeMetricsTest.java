@@ -0,0 +1,110 @@
+package com.datastructures.trees;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TreeMetricsTest {
+    // Determine the count of values to add for test cases.
+    private static final int VALUE_COUNT = 1023;
+
+    @Test
+    void treeMetricsDegenerateTest() {
+        BinarySearchTree<Integer> bst = new BinarySearchTree<>();
+        assertFalse(bst.isMetricsEnabled());
+        bst.setMetricsEnabled(true);
+        // Sorted insertion degenerates the tree into a list, so the nth add compares against n - 1 nodes.
+        for (int i = 0; i < VALUE_COUNT; i++) bst.add(i);
+        bst.contains(VALUE_COUNT - 1);
+        bst.contains(-1);
+        bst.remove(0);
+        TreeMetrics metrics = bst.getMetrics();
+        assertEquals(VALUE_COUNT - 1, metrics.getSize());
+        assertEquals(VALUE_COUNT - 1, metrics.getHeight());
+        assertEquals(VALUE_COUNT, metrics.getOperations(TreeMetrics.Operation.ADD));
+        assertEquals(VALUE_COUNT - 1, metrics.getMaxDepth(TreeMetrics.Operation.ADD));
+        assertEquals((VALUE_COUNT - 1) / 2.0, metrics.getAverageDepth(TreeMetrics.Operation.ADD), 1e-9);
+        assertEquals(2, metrics.getOperations(TreeMetrics.Operation.CONTAINS));
+        assertEquals(VALUE_COUNT, metrics.getMaxDepth(TreeMetrics.Operation.CONTAINS));
+        assertEquals(1, metrics.getMaxDepth(TreeMetrics.Operation.REMOVE));
+        assertEquals(0, metrics.getRotations());
+        assertTrue(metrics.getDegenerateDescents() > 0);
+        assertTrue(metrics.getDegenerationRatio() > 50);
+
+        bst.setMetricsEnabled(false);
+        bst.contains(1);
+        assertEquals(0, bst.getMetrics().getOperations(TreeMetrics.Operation.CONTAINS));
+    }
+
+    @Test
+    void treeMetricsBalancedTest() {
+        BinarySearchTree<Integer> bst = new BinarySearchTree<>(true);
+        bst.setMetricsEnabled(true);
+        for (int i = 0; i < VALUE_COUNT; i++) bst.add(i);
+        for (int i = 0; i < VALUE_COUNT; i++) assertTrue(bst.contains(i));
+        TreeMetrics metrics = bst.getMetrics();
+        // Ascending insertion into an AVL tree builds a perfect tree.
+        assertEquals(10, TreeMetrics.optimalHeight(VALUE_COUNT));
+        assertEquals(10, metrics.getHeight());
+        assertEquals(1.0, metrics.getDegenerationRatio(), 1e-9);
+        assertTrue(metrics.getRotations() > 0);
+        assertEquals(0, metrics.getDegenerateDescents());
+        assertEquals(10, metrics.getMaxDepth(TreeMetrics.Operation.CONTAINS));
+        assertEquals(1.0, new BinarySearchTree<Integer>().getMetrics().getDegenerationRatio(), 0);
+    }
+
+    @Test
+    void treeMetricsFlightRecorderTest() throws IOException {
+        Path file = Files.createTempFile("tree", ".jfr");
+        try {
+            BinarySearchTree<Integer> bst = new BinarySearchTree<>();
+            bst.setMetricsEnabled(true);
+            try (Recording recording = new Recording()) {
+                recording.enable("com.datastructures.trees.DegenerateDescent");
+                recording.start();
+                for (int i = 0; i < 100; i++) bst.add(i);
+                recording.stop();
+                recording.dump(file);
+            }
+            int events = 0;
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (!event.getEventType().getName().equals("com.datastructures.trees.DegenerateDescent")) continue;
+                events++;
+                assertEquals("ADD", event.getString("operation"));
+                assertTrue(event.getInt("depth") > 2 * event.getInt("optimalHeight"));
+            }
+            assertEquals(bst.getMetrics().getDegenerateDescents(), events);
+            assertTrue(events > 0);
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void treeMetricsComparisonCostTest() {
+        // Metrics count the depth of the descent each operation makes anyway, so they add no comparisons.
+        long[] comparisons = new long[2];
+        for (int enabled = 0; enabled < 2; enabled++) {
+            int index = enabled;
+            BinarySearchTree<Integer> bst = new BinarySearchTree<>((first, second) -> {
+                comparisons[index]++;
+                return Integer.compare(first, second);
+            }, true);
+            bst.setMetricsEnabled(enabled == 1);
+            for (int i = 0; i < VALUE_COUNT; i++) bst.add(i * 7 % VALUE_COUNT);
+            for (int i = -10; i < VALUE_COUNT + 10; i++) bst.contains(i);
+            for (int i = 0; i < VALUE_COUNT; i += 3) bst.remove(i);
+        }
+        assertEquals(comparisons[0], comparisons[1]);
+    }
+}